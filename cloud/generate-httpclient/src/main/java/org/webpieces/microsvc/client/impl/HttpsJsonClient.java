@@ -53,6 +53,8 @@ public class HttpsJsonClient {
 
     private FutureHelper futureUtil;
 
+    private SSLContext sslContext;
+
     @Inject
     public HttpsJsonClient(
             HttpsConfig httpsConfig,
@@ -198,20 +200,41 @@ public class HttpsJsonClient {
 
     }
 
+    /**
+     * Engines come from one SSLContext and are created for the host:port so the context's client session cache
+     * resumes the session of the last connection to that server instead of a full handshake on each connect
+     */
     public SSLEngine createEngine(String host, int port) {
 
         try {
 
-            InputStream in = this.getClass().getResourceAsStream(httpsConfig.getKeyStoreLocation());
+            SSLEngine engine = getSslContext().createSSLEngine(host, port);
+
+            engine.setUseClientMode(true);
+
+            return engine;
+
+        } catch (Exception ex) {
+            throw new RuntimeException("Could not create SSLEngine", ex);
+        }
+
+    }
+
+    private synchronized SSLContext getSslContext() throws Exception {
+
+        if (sslContext != null) {
+            return sslContext;
+        }
+
+        try (InputStream in = this.getClass().getResourceAsStream(httpsConfig.getKeyStoreLocation())) {
 
             if (in == null) {
                 throw new IllegalStateException("keyStoreLocation=" + httpsConfig.getKeyStoreLocation() + " was not found on classpath");
             }
 
-            //char[] passphrase = password.toCharArray();
             // First initialize the key and trust material.
             KeyStore ks = KeyStore.getInstance("JKS");
-            SSLContext sslContext = SSLContext.getInstance("TLS");
+            SSLContext context = SSLContext.getInstance("TLS");
 
             ks.load(in, httpsConfig.getKeyStorePassword().toCharArray());
 
@@ -222,18 +245,13 @@ public class HttpsJsonClient {
 
             tmf.init(ks);
 
-            sslContext.init(null, tmf.getTrustManagers(), null);
+            context.init(null, tmf.getTrustManagers(), null);
 
             //****************Client side specific*********************
 
-            SSLEngine engine = sslContext.createSSLEngine(host, port);
+            sslContext = context;
+            return sslContext;
 
-            engine.setUseClientMode(true);
-
-            return engine;
-
-        } catch (Exception ex) {
-            throw new RuntimeException("Could not create SSLEngine", ex);
         }
 
     }
@@ -3,6 +3,7 @@ package org.webpieces.asyncserver.impl;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import org.webpieces.util.futures.XFuture;
 
 import org.webpieces.nio.api.channels.ChannelSession;
@@ -27,6 +28,21 @@ public class ProxyTCPChannel implements TCPChannel {
 		return channel.write(b);
 	}
 
+	@Override
+	public XFuture<Void> write(ByteBuffer[] buffers) {
+		return channel.write(buffers);
+	}
+
+	@Override
+	public XFuture<Void> transferFrom(FileChannel file, long position, long count) {
+		return channel.transferFrom(file, position, count);
+	}
+
+	@Override
+	public boolean isTransferFromSupported() {
+		return channel.isTransferFromSupported();
+	}
+
 	public XFuture<Void> close() {
 		//technically we are not closed until FutureOperation does it's callback, but remove because we also
 		//do not need to call close a second time...
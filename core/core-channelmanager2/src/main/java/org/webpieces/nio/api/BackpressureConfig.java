@@ -28,6 +28,14 @@ public class BackpressureConfig {
 	 */
 	private Integer startReadingThreshold = TwoPools.DEFAULT_MAX_BASE_BUFFER_SIZE*3;
 
+	/**
+	 * Once a socket backs up, writes queue up(ie. many small http2 frames).  When the socket is writable again, we
+	 * write up to this many bytes of the queued buffers in one gathering write(writev) instead of one syscall per buffer.
+	 *
+	 * setting this to null turns this off and writes one buffer at a time
+	 */
+	private Integer maxGatheringWriteBytes = 256 * 1024;
+
 	public Integer getMaxBytes() {
 		return maxBytes;
 	}
@@ -44,4 +52,12 @@ public class BackpressureConfig {
 		this.startReadingThreshold = startReadingThreshold;
 	}
 
+	public Integer getMaxGatheringWriteBytes() {
+		return maxGatheringWriteBytes;
+	}
+
+	public void setMaxGatheringWriteBytes(Integer maxGatheringWriteBytes) {
+		this.maxGatheringWriteBytes = maxGatheringWriteBytes;
+	}
+
 }
@@ -1,6 +1,8 @@
 package org.webpieces.nio.api;
 
 import java.nio.channels.spi.SelectorProvider;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Executor;
 
 import org.webpieces.data.api.BufferPool;
@@ -27,6 +29,30 @@ public abstract class ChannelManagerFactory {
 	}
 	
 	public static ChannelManagerFactory createFactory(JdkSelect apis, MeterRegistry metrics) {
+		return createFactory(List.of(apis), metrics);
+	}
+
+	/**
+	 * Creates a factory whose ChannelManagers run one selector thread per core.  Accepted sockets
+	 * are spread round robin over the selectors and each socket stays on one selector for it's
+	 * whole life so reads/writes for any one socket are still in order
+	 */
+	public static ChannelManagerFactory createMultiSelectorFactory(MeterRegistry metrics) {
+		return createMultiSelectorFactory(Runtime.getRuntime().availableProcessors(), metrics);
+	}
+
+	public static ChannelManagerFactory createMultiSelectorFactory(int numSelectors, MeterRegistry metrics) {
+		if(numSelectors < 1)
+			throw new IllegalArgumentException("numSelectors must be 1 or more.  numSelectors="+numSelectors);
+		SelectorProvider provider = SelectorProvider.provider();
+		List<JdkSelect> selectors = new ArrayList<>();
+		for(int i = 0; i < numSelectors; i++) {
+			selectors.add(new JdkSelectorImpl(provider));
+		}
+		return createFactory(selectors, metrics);
+	}
+
+	public static ChannelManagerFactory createFactory(List<JdkSelect> apis, MeterRegistry metrics) {
 		return new BasChanSvcFactory(apis, metrics);
 	}
 	
@@ -44,7 +70,7 @@ public abstract class ChannelManagerFactory {
 	 * thread pool you give us.  We use a trick such that all data still comes in the pieces read off
 	 * the socket but the SessionExecutor layer ensures data enters your thread pool in order while not allowing
 	 * one channel to starve one thread....That makes it sound like it would get out of order, but the details
-	 * are encapsulated in SessionExecutorImpl if you would like to read that class to see how it is done.  
+	 * are encapsulated in SessionExecutorLockFree if you would like to read that class to see how it is done.  
 	 * 
 	 * @param id
 	 * @param pool
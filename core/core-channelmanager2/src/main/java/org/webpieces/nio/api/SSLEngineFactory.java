@@ -1,9 +1,29 @@
 package org.webpieces.nio.api;
 
+import java.util.concurrent.Executor;
+
 import javax.net.ssl.SSLEngine;
 
 public interface SSLEngineFactory {
 
 	public SSLEngine createSslEngine();
+
+	/**
+	 * The delegated tasks of a handshake(RSA/ECDHE key exchange) run on this executor so a storm of new connections
+	 * does not stall the threads reading every other connection.  It should be bounded as tasks it rejects run on
+	 * the reading thread like when this is null(the default).
+	 */
+	public default Executor getHandshakeExecutor() {
+		return null;
+	}
+
+	/**
+	 * true and between reads a connection holds no pooled buffers, only a copy of any partial record it received.
+	 * That copy costs a little cpu but with many mostly idle connections, each then holds a few bytes instead of
+	 * a 17k+ buffer
+	 */
+	public default boolean isReleaseBuffersWhenIdle() {
+		return false;
+	}
 		
 }
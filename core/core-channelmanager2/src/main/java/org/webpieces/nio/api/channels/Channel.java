@@ -3,6 +3,7 @@ package org.webpieces.nio.api.channels;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import org.webpieces.util.futures.XFuture;
 
 import org.webpieces.nio.api.handlers.DataListener;
@@ -62,6 +63,40 @@ public interface Channel extends RegisterableChannel {
 	 */
 	public XFuture<Void> connect(SocketAddress addr, DataListener listener);
 	public XFuture<Void> write(ByteBuffer b);
+
+	/**
+	 * A gathering write.  The buffers go out in order exactly like calling write(ByteBuffer) for each but plaintext
+	 * tcp channels send them with one writev so callers can send a small header plus a large body without
+	 * copying them into one buffer first.  The future resolves once the last buffer is written.
+	 * 
+	 * Buffers we don't own(ie. views of a cached body) should be passed as read only views since written buffers
+	 * are released to the BufferPool and read only buffers are never pooled
+	 */
+	public default XFuture<Void> write(ByteBuffer[] buffers) {
+		XFuture<Void> future = XFuture.completedFuture(null);
+		for(ByteBuffer b : buffers) {
+			future = write(b);
+		}
+		return future;
+	}
+
+	/**
+	 * sendfile.  Writes count bytes of the file starting at position straight from the file into the socket
+	 * using FileChannel.transferTo so the bytes never get copied into the java heap.  The bytes are queued
+	 * behind any writes not yet sent out just like write(ByteBuffer) is.  The file is NOT closed by the
+	 * channel so close it when the future resolves.
+	 * 
+	 * Only plaintext tcp channels support this(ssl needs to encrypt the bytes so they must come through
+	 * the heap) so check isTransferFromSupported() first
+	 */
+	public default XFuture<Void> transferFrom(FileChannel file, long position, long count) {
+		throw new UnsupportedOperationException(this+" does not support transferFrom.  check isTransferFromSupported() first");
+	}
+
+	public default boolean isTransferFromSupported() {
+		return false;
+	}
+
 	public XFuture<Void> close();
     
     /**
@@ -17,6 +17,12 @@ public interface JdkSelect
 
 	JdkDatagramChannel openDatagram() throws IOException;
 
+	/**
+	 * Moves a freshly accepted (and not yet registered) socket over to this selector so a
+	 * different polling thread than the one that accepted it can service it
+	 */
+	JdkSocketChannel adopt(JdkSocketChannel acceptedChannel);
+
     void wakeup();
 
     void startPollingThread(SelectorListener manager2, String threadName);
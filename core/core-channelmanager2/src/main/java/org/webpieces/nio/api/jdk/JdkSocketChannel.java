@@ -6,6 +6,7 @@ import java.net.SocketAddress;
 import java.net.SocketException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
 import java.nio.channels.SelectionKey;
 
 
@@ -43,6 +44,22 @@ public interface JdkSocketChannel
      */
     int write(ByteBuffer b) throws IOException;
 
+    /**
+     * A gathering write(writev) of many buffers in one call
+     * 
+     * @return the number of bytes written
+     * @throws IOException 
+     */
+    long write(ByteBuffer[] srcs, int offset, int length) throws IOException;
+
+    /**
+     * sendfile from the file straight into this socket(FileChannel.transferTo)
+     * 
+     * @return the number of bytes written
+     * @throws IOException 
+     */
+    long transferFrom(FileChannel file, long position, long count) throws IOException;
+
     /**
      * @param b
      * @return the number of bytes read
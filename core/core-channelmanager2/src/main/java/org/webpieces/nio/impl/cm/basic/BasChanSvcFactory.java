@@ -1,5 +1,6 @@
 package org.webpieces.nio.impl.cm.basic;
 
+import java.util.List;
 import java.util.concurrent.Executor;
 
 import org.webpieces.data.api.BufferPool;
@@ -19,17 +20,19 @@ import io.micrometer.core.instrument.MeterRegistry;
  */
 public class BasChanSvcFactory extends ChannelManagerFactory {
 	
-	private JdkSelect select;
+	private List<JdkSelect> selects;
 	private MeterRegistry metrics;
 
-	public BasChanSvcFactory(JdkSelect apis, MeterRegistry metrics) {
-		this.select = apis;
+	public BasChanSvcFactory(List<JdkSelect> apis, MeterRegistry metrics) {
+		if(apis.isEmpty())
+			throw new IllegalArgumentException("There must be at least one JdkSelect");
+		this.selects = apis;
 		this.metrics = metrics;
 	}
 
 	@Override
 	public ChannelManager createSingleThreadedChanMgr(String name, BufferPool pool, BackpressureConfig config) {
-		BasChannelService mgr = new BasChannelService(name, select, pool, config, metrics);
+		BasChannelService mgr = new BasChannelService(name, selects, pool, config, metrics);
 		return new SslChannelService(mgr, pool, metrics);
 	}
 
@@ -6,6 +6,7 @@ import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.net.SocketException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.SelectionKey;
 import java.util.ArrayList;
 import java.util.List;
@@ -46,6 +47,7 @@ public abstract class BasChannelImpl
     private long waitingBytesCounter = 0;
 	private ConcurrentLinkedQueue<WriteInfo> dataToBeWritten = new ConcurrentLinkedQueue<WriteInfo>();
 	private int maxBytesWaitingSize = 500_000;
+	private Integer maxGatheringWriteBytes;
 	
 	private boolean inDelayedWriteMode;
 	private boolean isRecording;
@@ -69,6 +71,7 @@ public abstract class BasChannelImpl
 		this.router = router;
 		this.maxUnackedBytes = config.getMaxBytes();
 		this.readingThreshold = config.getStartReadingThreshold();
+		this.maxGatheringWriteBytes = config.getMaxGatheringWriteBytes();
 	}
 	
 	/* (non-Javadoc)
@@ -83,6 +86,33 @@ public abstract class BasChannelImpl
 
 	public abstract int readImpl(ByteBuffer b);
 	protected abstract int writeImpl(ByteBuffer b);
+
+	/**
+	 * A gathering write.  Channels that can't do it in one call(udp) just write one buffer at a time
+	 */
+	protected long writeImpl(ByteBuffer[] buffers, int offset, int length) {
+		long total = 0;
+		for(int i = offset; i < offset+length; i++) {
+			total += writeImpl(buffers[i]);
+			if(buffers[i].hasRemaining())
+				break;
+		}
+		return total;
+	}
+
+	/**
+	 * @return true if each write is sent as one message(udp) so a write must never be split into smaller writes
+	 */
+	protected boolean isDatagram() {
+		return false;
+	}
+
+	/**
+	 * sendfile.  Only channels that return true from isTransferFromSupported override this
+	 */
+	protected long transferImpl(FileChannel file, long position, long count) {
+		throw new UnsupportedOperationException(this+" does not support transferFrom");
+	}
    
 	@Override
 	public XFuture<Void> connect(SocketAddress addr, DataListener listener) {
@@ -129,7 +159,54 @@ public abstract class BasChannelImpl
 	public XFuture<Void> write(ByteBuffer b) {
 		if(b.remaining() == 0)
 			throw new IllegalArgumentException(this+"buffer has no data");
-		else if(!selMgr.isRunning())
+		verifyWritable();
+		
+		if(apiLog.isTraceEnabled())
+			apiLog.trace(this+"Basic.write");
+		
+		return writeSynchronized(b)
+				.thenApply(v -> {
+					pool.releaseBuffer(b);
+					return null;
+				});
+	}
+
+	@Override
+	public XFuture<Void> write(ByteBuffer[] buffers) {
+		for(ByteBuffer b : buffers) {
+			if(b.remaining() == 0)
+				throw new IllegalArgumentException(this+"buffer has no data");
+		}
+		verifyWritable();
+
+		if(apiLog.isTraceEnabled())
+			apiLog.trace(this+"Basic.write buffers="+buffers.length);
+
+		return writeSynchronized(buffers)
+				.thenApply(v -> {
+					for(ByteBuffer b : buffers) {
+						pool.releaseBuffer(b);
+					}
+					return null;
+				});
+	}
+
+	@Override
+	public XFuture<Void> transferFrom(FileChannel file, long position, long count) {
+		if(!isTransferFromSupported())
+			throw new UnsupportedOperationException(this+" does not support transferFrom.  check isTransferFromSupported() first");
+		else if(count <= 0)
+			throw new IllegalArgumentException(this+"count must be > 0 and was="+count);
+		verifyWritable();
+
+		if(apiLog.isTraceEnabled())
+			apiLog.trace(this+"Basic.transferFrom count="+count);
+
+		return transferSynchronized(new WriteInfo(file, position, count, new XFuture<Void>()));
+	}
+
+	private void verifyWritable() {
+		if(!selMgr.isRunning())
 			throw new IllegalStateException(this+"ChannelManager must be running and is stopped");		
 		else if(channelState == ChannelState.CLOSED) {
 			//TODO: dhiller I feel like we should give the client a few writes before we start throwing if
@@ -143,15 +220,6 @@ public abstract class BasChannelImpl
 		} else if(channelState != ChannelState.CONNECTED) {
 			throw new NioException(this+"The Channel is not connected yet");
 		}
-		
-		if(apiLog.isTraceEnabled())
-			apiLog.trace(this+"Basic.write");
-		
-		return writeSynchronized(b)
-				.thenApply(v -> {
-					pool.releaseBuffer(b);
-					return null;
-				});
 	}
 	
 	private XFuture<Void> writeSynchronized(ByteBuffer b) {
@@ -162,7 +230,7 @@ public abstract class BasChannelImpl
 		synchronized (writeLock ) {
 			if(!inDelayedWriteMode) {
 				int totalToWriteOut = b.remaining();
-				int written = writeImpl(b);
+				int written = writeOut(b);
 				if(written != totalToWriteOut) {
 					if(b.remaining() + written != totalToWriteOut)
 						throw new IllegalStateException(this+"Something went wrong.  b.remaining()="+b.remaining()+" written="+written+" total="+totalToWriteOut);
@@ -190,15 +258,160 @@ public abstract class BasChannelImpl
         return future;
 	}
 
+	/**
+	 * Same as writeSynchronized(ByteBuffer) except whatever does not fit in the nic buffer is queued as one
+	 * WriteInfo per buffer and the returned future is the last buffer's
+	 */
+	private XFuture<Void> writeSynchronized(ByteBuffer[] buffers) {
+		XFuture<Void> future = new XFuture<Void>();
+		synchronized (writeLock) {
+			int index = 0;
+			if(!inDelayedWriteMode) {
+				index = writeOut(buffers);
+				if(index == buffers.length) {
+					if(log.isTraceEnabled())
+						log.trace(this+" wrote buffers on client thread");
+					return XFuture.completedFuture(null);
+				}
+
+				registerForWrites();
+				inDelayedWriteMode = true;
+			}
+
+			if(log.isTraceEnabled())
+				log.trace(this+"sent "+(buffers.length - index)+" buffers to queue");
+			for(int i = index; i < buffers.length; i++) {
+				XFuture<Void> promise = future;
+				if(i != buffers.length - 1)
+					promise = new XFuture<Void>();
+				dataToBeWritten.add(new WriteInfo(buffers[i], promise));
+				waitingBytesCounter += buffers[i].remaining();
+			}
+		}
+
+		return future;
+	}
+
+	/**
+	 * Same as writeSynchronized except the file region stays in the file and the kernel copies it to the
+	 * socket.  When the nic buffer fills up, the rest of the region is queued in order with the other writes
+	 */
+	private XFuture<Void> transferSynchronized(WriteInfo region) {
+		synchronized (writeLock) {
+			if(!inDelayedWriteMode) {
+				transferOut(region);
+				if(region.getRemaining() == 0) {
+					if(log.isTraceEnabled())
+						log.trace(this+" transferred file on client thread");
+					return XFuture.completedFuture(null);
+				}
+
+				registerForWrites();
+				inDelayedWriteMode = true;
+			}
+
+			if(log.isTraceEnabled())
+				log.trace(this+"sent file region to queue");
+			dataToBeWritten.add(region);
+			waitingBytesCounter += region.getRemaining();
+		}
+
+		return region.getPromise();
+	}
+
+	/**
+	 * transferTo may send less than asked even when the nic buffer has room(linux caps each sendfile call) so
+	 * we keep going until it sends nothing
+	 */
+	private long transferOut(WriteInfo region) {
+		long totalWritten = 0;
+		while(region.getRemaining() > 0) {
+			long written = transferImpl(region.getFile(), region.getPosition(), region.getRemaining());
+			if(written <= 0)
+				break; //nic buffer is full
+			region.advance(written);
+			totalWritten += written;
+		}
+		return totalWritten;
+	}
+
+	/**
+	 * Writes with writev in batches of up to maxGatheringWriteBytes like writeGathering does for the queue(or
+	 * one buffer at a time if gathering is off)
+	 * 
+	 * @return the index of the first buffer that was not completely written
+	 */
+	private int writeOut(ByteBuffer[] buffers) {
+		int index = 0;
+		while(index < buffers.length) {
+			int end = index + 1;
+			if(maxGatheringWriteBytes != null) {
+				long batchBytes = buffers[index].remaining();
+				while(end < buffers.length && batchBytes + buffers[end].remaining() <= maxGatheringWriteBytes) {
+					batchBytes += buffers[end].remaining();
+					end++;
+				}
+			}
+
+			if(end - index == 1)
+				writeOut(buffers[index]);
+			else
+				writeImpl(buffers, index, end - index);
+
+			while(index < end && !buffers[index].hasRemaining()) {
+				index++;
+			}
+			if(index < end)
+				return index; //nic buffer is full
+		}
+		return index;
+	}
+
+	/**
+	 * With a direct BufferPool, we copy heap buffers through one pooled direct buffer at a time ourselves.  Otherwise
+	 * the jdk copies the whole heap buffer into a temporary direct buffer it caches per thread, sized to the largest
+	 * write that thread ever did.  A datagram is not copied here as splitting it would send several datagrams.
+	 */
+	private int writeOut(ByteBuffer b) {
+		if(b.isDirect() || !pool.isDirect() || isDatagram())
+			return writeImpl(b);
+
+		int totalWritten = 0;
+		while(b.hasRemaining()) {
+			ByteBuffer direct = pool.nextBuffer(Math.min(b.remaining(), pool.getSuggestedBufferSize()));
+			int toCopy = Math.min(b.remaining(), direct.remaining());
+			ByteBuffer chunk = b.duplicate();
+			chunk.limit(chunk.position() + toCopy);
+			direct.put(chunk);
+			direct.flip();
+
+			int written;
+			try {
+				written = writeImpl(direct);
+			} finally {
+				direct.position(direct.limit()); //unsent bytes are still in b so mark the copy read
+				pool.releaseBuffer(direct);
+			}
+
+			b.position(b.position() + written);
+			totalWritten += written;
+			if(written < toCopy)
+				break; //nic buffer is full
+		}
+		return totalWritten;
+	}
+
 	//synchronized with writeAll as both try to go through every element in the queue
 	//while most of the time there will be no contention(only on the close do we hit this)
 	private synchronized List<XFuture<Void>> failAllWritesInQueue() {
 		List<XFuture<Void>> copy = new ArrayList<>();
 		while(!dataToBeWritten.isEmpty()) {
 			WriteInfo runnable = dataToBeWritten.remove();
-			ByteBuffer buffer = runnable.getBuffer();
-			buffer.position(buffer.limit()); //mark buffer read before releasing it
-			pool.releaseBuffer(buffer);
+			if(!runnable.isFileRegion()) {
+				ByteBuffer buffer = runnable.getBuffer();
+				buffer.position(buffer.limit()); //mark buffer read before releasing it
+				pool.releaseBuffer(buffer);
+			}
 			copy.add(runnable.getPromise());
 		}
 		
@@ -224,28 +437,17 @@ public abstract class BasChannelImpl
 	        	throw new IllegalStateException(this+"bug, I am not sure this is possible..it shouldn't be...look into");
 	
 	        while(!dataToBeWritten.isEmpty()) {
-	            WriteInfo writer = dataToBeWritten.peek();
-	            ByteBuffer buffer = writer.getBuffer();
-	            int initialSize = buffer.remaining();
-	    		int wroteOut = this.writeImpl(buffer);
-	            if(buffer.hasRemaining()) {
-					if(buffer.remaining() + wroteOut != initialSize)
-						throw new IllegalStateException(this+"Something went wrong.  b.remaining()="+buffer.remaining()+" written="+wroteOut+" total="+initialSize);
-					
+	            boolean wroteAll;
+	            if(maxGatheringWriteBytes == null)
+	            	wroteAll = writeOne(finishedPromises);
+	            else
+	            	wroteAll = writeGathering(finishedPromises);
+
+	            if(!wroteAll) {
 	                if(log.isTraceEnabled())
 						log.trace(this+"Did not write all data out");
-	                int leftOverSize = buffer.remaining();
-	                int writtenOut = initialSize - leftOverSize;
-	                waitingBytesCounter -= writtenOut;
-	                break;
+	            	break;
 	            }
-	            
-	            //if it finished, remove the item from the queue.  It
-	            //does not need to be run again.
-	            dataToBeWritten.poll();
-
-	            waitingBytesCounter -= initialSize;
-	            finishedPromises.add(writer.getPromise());
 	        }
 	        
 	        //we are registered for writes with ANY size queue
@@ -263,6 +465,95 @@ public abstract class BasChannelImpl
         }
     }
 		
+	/**
+	 * @return false if the nic buffer filled up before the buffer was fully written
+	 */
+	private boolean writeOne(List<XFuture<Void>> finishedPromises) {
+        WriteInfo writer = dataToBeWritten.peek();
+        if(writer.isFileRegion())
+        	return writeFileRegion(writer, finishedPromises);
+
+        ByteBuffer buffer = writer.getBuffer();
+        int initialSize = buffer.remaining();
+		int wroteOut = writeOut(buffer);
+        if(buffer.hasRemaining()) {
+			if(buffer.remaining() + wroteOut != initialSize)
+				throw new IllegalStateException(this+"Something went wrong.  b.remaining()="+buffer.remaining()+" written="+wroteOut+" total="+initialSize);
+			
+            int leftOverSize = buffer.remaining();
+            int writtenOut = initialSize - leftOverSize;
+            waitingBytesCounter -= writtenOut;
+            return false;
+        }
+        
+        //if it finished, remove the item from the queue.  It
+        //does not need to be run again.
+        dataToBeWritten.poll();
+
+        waitingBytesCounter -= initialSize;
+        finishedPromises.add(writer.getPromise());
+        return true;
+	}
+
+	private boolean writeFileRegion(WriteInfo region, List<XFuture<Void>> finishedPromises) {
+		long wroteOut = transferOut(region);
+		waitingBytesCounter -= wroteOut;
+		if(region.getRemaining() > 0)
+			return false;
+
+		dataToBeWritten.poll();
+		finishedPromises.add(region.getPromise());
+		return true;
+	}
+
+	/**
+	 * Writes as many queued buffers as fit in maxGatheringWriteBytes with one writev syscall.  The jdk copies heap
+	 * buffers into it's temporary direct buffers here as well but never more than maxGatheringWriteBytes per write.
+	 * 
+	 * @return false if the nic buffer filled up before all the gathered buffers were written
+	 */
+	private boolean writeGathering(List<XFuture<Void>> finishedPromises) {
+		List<WriteInfo> batch = new ArrayList<>();
+		long batchBytes = 0;
+		for(WriteInfo writer : dataToBeWritten) {
+			if(writer.isFileRegion())
+				break; //file regions go out on their own with transferTo
+			int size = writer.getBuffer().remaining();
+			if(!batch.isEmpty() && batchBytes + size > maxGatheringWriteBytes)
+				break;
+			batch.add(writer);
+			batchBytes += size;
+		}
+
+		if(batch.size() <= 1)
+			return writeOne(finishedPromises);
+
+		ByteBuffer[] buffers = new ByteBuffer[batch.size()];
+		for(int i = 0; i < buffers.length; i++) {
+			buffers[i] = batch.get(i).getBuffer();
+		}
+
+		long wroteOut = writeImpl(buffers, 0, buffers.length);
+
+		long leftOver = 0;
+		for(ByteBuffer buffer : buffers) {
+			leftOver += buffer.remaining();
+		}
+		if(leftOver + wroteOut != batchBytes)
+			throw new IllegalStateException(this+"Something went wrong.  remaining="+leftOver+" written="+wroteOut+" total="+batchBytes);
+
+		waitingBytesCounter -= wroteOut;
+
+		//complete the promise of every buffer that went out completely.  The rest stay queued
+		for(WriteInfo writer : batch) {
+			if(writer.getBuffer().hasRemaining())
+				return false;
+			dataToBeWritten.poll();
+			finishedPromises.add(writer.getPromise());
+		}
+		return true;
+	}
+
     public XFuture<Void> bind(SocketAddress addr) {
         if(!(addr instanceof InetSocketAddress))
             throw new IllegalArgumentException(this+"Can only bind to InetSocketAddress addressses");
@@ -1,5 +1,8 @@
 package org.webpieces.nio.impl.cm.basic;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.net.ssl.SSLEngine;
 
 import org.webpieces.data.api.BufferPool;
@@ -25,23 +28,30 @@ import io.micrometer.core.instrument.MeterRegistry;
  */
 class BasChannelService implements ChannelManager {
 
-	private SelectorManager2 selMgr;
-    private JdkSelect selector;
+	private SelectorBalancer balancer;
 	private boolean started;
 	private BufferPool pool;
-	private KeyProcessor processor;
 	private BackpressureConfig config;
 	private String name;
 
-	BasChannelService(String name, JdkSelect apis, BufferPool pool, BackpressureConfig config, MeterRegistry metrics) {
+	BasChannelService(String name, List<JdkSelect> apis, BufferPool pool, BackpressureConfig config, MeterRegistry metrics) {
 		this.name = name;
 		if(config == null)
 			throw new IllegalArgumentException("config must be supplied");
 		this.pool = pool;
 		this.config = config;
-		processor = new KeyProcessor(name, apis, pool, metrics);
-		selMgr = new SelectorManager2(apis, processor, name);
-        this.selector = apis;
+		
+		List<SelectorManager2> managers = new ArrayList<>();
+		for(int i = 0; i < apis.size(); i++) {
+			//keep the old thread and metric name when there is only one selector
+			String selectorName = name;
+			if(apis.size() > 1)
+				selectorName = name+i;
+			JdkSelect select = apis.get(i);
+			KeyProcessor processor = new KeyProcessor(selectorName, select, pool, metrics);
+			managers.add(new SelectorManager2(select, processor, selectorName));
+		}
+		balancer = new SelectorBalancer(managers);
         start();
 	}
 	
@@ -51,7 +61,8 @@ class BasChannelService implements ChannelManager {
         if(listener == null)
         	throw new IllegalArgumentException("connectionListener cannot be null");
         String fullId = name+"."+id;
-        return new BasTCPServerChannel(fullId, selector, selMgr, processor, listener, pool, config);
+        SelectorManager2 selMgr = balancer.next();
+        return new BasTCPServerChannel(fullId, selMgr.getSelector(), selMgr, balancer, listener, pool, config);
 	}
 	
 	@Override
@@ -76,7 +87,8 @@ class BasChannelService implements ChannelManager {
     public TCPChannel createTCPChannel(String id) {
         preconditionChecks(id);
         String fullId = name+"."+id;
-        return new BasTCPChannel(fullId, selector, selMgr, processor, pool, config);
+        SelectorManager2 selMgr = balancer.next();
+        return new BasTCPChannel(fullId, selMgr.getSelector(), selMgr, selMgr.getKeyProcessor(), pool, config);
 	}
 
 	@Override
@@ -88,7 +100,8 @@ class BasChannelService implements ChannelManager {
     public UDPChannel createUDPChannel(String id) {
         preconditionChecks(id);
         String fullId = name+"."+id;
-        return new UDPChannelImpl(fullId, selector, selMgr, processor, pool, config);
+        SelectorManager2 selMgr = balancer.next();
+        return new UDPChannelImpl(fullId, selMgr.getSelector(), selMgr, selMgr.getKeyProcessor(), pool, config);
     }
     
 	@Override
@@ -101,7 +114,7 @@ class BasChannelService implements ChannelManager {
     
 	public void start() {
 		started = true;
-		selMgr.start();
+		balancer.start();
 	}
 	
 	/* (non-Javadoc)
@@ -109,7 +122,7 @@ class BasChannelService implements ChannelManager {
 	 */
 	public void stop() {
 		started = false;
-		selMgr.stop();
+		balancer.stop();
 	}
 
 	@Override
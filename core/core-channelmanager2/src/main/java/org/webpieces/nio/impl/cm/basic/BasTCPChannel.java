@@ -9,6 +9,7 @@ import java.net.SocketException;
 import java.nio.ByteBuffer;
 import java.nio.channels.AsynchronousCloseException;
 import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
 import java.nio.channels.SelectionKey;
 import org.webpieces.util.futures.XFuture;
 
@@ -94,14 +95,41 @@ class BasTCPChannel extends BasChannelImpl implements TCPChannel {
 		try {
 			return channel.write(b);
 		} catch (IOException e) {
-			if(e.getMessage() != null && e.getMessage().equals("Broken pipe")) {
-				isClosed = true; //special flag as jdk channel.isClosed in streaming can happen a FULL 1-2 seconds after this due to NIC buffer backup
-				throw new NioClosedChannelException(this+"Remote end must have disconnected: Broken Pipe", e);
-			} else if(e instanceof AsynchronousCloseException) {
-				throw new NioClosedChannelException(this+"Channel already closed", e);
-			}
-			throw new NioException(e);
+			throw translateWriteException(e);
+		}
+	}
+
+	@Override
+	protected long writeImpl(ByteBuffer[] buffers, int offset, int length) {
+		try {
+			return channel.write(buffers, offset, length);
+		} catch (IOException e) {
+			throw translateWriteException(e);
+		}
+	}
+
+	@Override
+	protected long transferImpl(FileChannel file, long position, long count) {
+		try {
+			return channel.transferFrom(file, position, count);
+		} catch (IOException e) {
+			throw translateWriteException(e);
+		}
+	}
+
+	@Override
+	public boolean isTransferFromSupported() {
+		return true;
+	}
+
+	private RuntimeException translateWriteException(IOException e) {
+		if(e.getMessage() != null && e.getMessage().equals("Broken pipe")) {
+			isClosed = true; //special flag as jdk channel.isClosed in streaming can happen a FULL 1-2 seconds after this due to NIC buffer backup
+			return new NioClosedChannelException(this+"Remote end must have disconnected: Broken Pipe", e);
+		} else if(e instanceof AsynchronousCloseException) {
+			return new NioClosedChannelException(this+"Channel already closed", e);
 		}
+		return new NioException(e);
 	}
 	
 	public int readImpl(ByteBuffer b) {
@@ -35,13 +35,13 @@ class BasTCPServerChannel extends RegisterableChannelImpl implements TCPServerCh
 	private final ConnectionListener connectionListener;
 	private BufferPool pool;	
 	private int channelCount = 0;
-	private KeyProcessor router;
+	private SelectorBalancer balancer;
 	private BackpressureConfig config;
 	
-	public BasTCPServerChannel(String id, JdkSelect c, SelectorManager2 selMgr, KeyProcessor router,
+	public BasTCPServerChannel(String id, JdkSelect c, SelectorManager2 selMgr, SelectorBalancer balancer,
 			ConnectionListener listener, BufferPool pool, BackpressureConfig config) {
 		super(id, selMgr);
-		this.router = router;
+		this.balancer = balancer;
 		this.connectionListener = listener;
         this.pool = pool;
 		this.config = config;
@@ -70,11 +70,16 @@ class BasTCPServerChannel extends RegisterableChannelImpl implements TCPServerCh
 			JdkSocketChannel newChan = channel.accept();
 			if(newChan == null)
 				return false;
+			
+			//spread the accepted sockets over all the selector threads(if there is more than one)
+			SelectorManager2 chanSelMgr = balancer.next();
+			if(chanSelMgr != selMgr)
+				newChan = chanSelMgr.getSelector().adopt(newChan);
 			newChan.configureBlocking(false);
             
             SocketAddress remoteAddress = newChan.getRemoteAddress();
 			String serverSocketId = id+"."+newSocketNum;
-			BasTCPChannel tcpChan = new BasTCPChannel(serverSocketId, newChan, remoteAddress, selMgr, router, pool, config);
+			BasTCPChannel tcpChan = new BasTCPChannel(serverSocketId, newChan, remoteAddress, chanSelMgr, chanSelMgr.getKeyProcessor(), pool, config);
 			if(log.isTraceEnabled())
 				log.trace(tcpChan+"Accepted new incoming connection");
 			XFuture<DataListener> connectFuture = connectionListener.connected(tcpChan, true);
@@ -203,7 +203,8 @@ public final class KeyProcessor {
 
 		MDCUtil.setMDC(channel.isServerSide(), channel.getChannelId());
 
-		ByteBuffer chunk = pool.nextBuffer(1024);
+		//ask for the suggested size since pools with size classes hand back the smallest buffer that fits
+		ByteBuffer chunk = pool.nextBuffer(pool.getSuggestedBufferSize());
 		
 		try {
             if(logBufferNextRead)
@@ -326,7 +327,14 @@ public final class KeyProcessor {
         
         ByteBuffer b = data;
         b.flip();
-        
+
+		if(bytes <= 0) {
+			//nothing was read into the chunk so it goes straight back.  direct pools(DirectBufferArena) would
+			//otherwise report it as a leak
+			b.position(b.limit());
+			pool.releaseBuffer(b);
+		}
+
 		if(bytes < 0) {
 			if(apiLog.isTraceEnabled())
 				apiLog.trace(channel+"far end closed, cancel key, close socket");
@@ -348,6 +356,8 @@ public final class KeyProcessor {
 			//in streaming, we still get data from nic buffer sometimes while socket is closed!  We should not process
 			//that since client (or server closed the socket).  ALSO, channel.isClosed returns false so we could 
 			log.info(channel+"Socket is closed, discarding data from nic buffer still coming in on this socket");
+			b.position(b.limit());
+			pool.releaseBuffer(b);
 			return;
 		}
 		
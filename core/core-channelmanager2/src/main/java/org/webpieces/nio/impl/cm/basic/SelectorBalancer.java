@@ -0,0 +1,41 @@
+package org.webpieces.nio.impl.cm.basic;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out which SelectorManager2(and therefore which KeyProcessor and polling thread) the next
+ * channel will live on.  A channel stays on the selector it was given for it's whole life so all
+ * reads and writes of one channel still happen on one thread and stay in order.
+ */
+class SelectorBalancer {
+
+	private final List<SelectorManager2> managers;
+	private final AtomicInteger counter = new AtomicInteger();
+
+	SelectorBalancer(List<SelectorManager2> managers) {
+		if(managers.isEmpty())
+			throw new IllegalArgumentException("There must be at least one selector");
+		this.managers = managers;
+	}
+
+	SelectorManager2 next() {
+		if(managers.size() == 1)
+			return managers.get(0);
+		int index = Math.floorMod(counter.getAndIncrement(), managers.size());
+		return managers.get(index);
+	}
+
+	void start() {
+		for(SelectorManager2 mgr : managers) {
+			mgr.start();
+		}
+	}
+
+	void stop() {
+		for(SelectorManager2 mgr : managers) {
+			mgr.stop();
+		}
+	}
+
+}
@@ -95,6 +95,10 @@ public class SelectorManager2 implements SelectorListener {
 	JdkSelect getSelector() {
 		return selector;
 	}
+
+	KeyProcessor getKeyProcessor() {
+		return helper;
+	}
 	
 	public XFuture<Void> registerServerSocketChannel(BasTCPServerChannel s, ConnectionListener listener) 
 					throws IOException, InterruptedException {
@@ -1,6 +1,8 @@
 package org.webpieces.nio.impl.cm.basic;
 
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
 import org.webpieces.util.futures.XFuture;
 
 
@@ -9,11 +11,23 @@ public class WriteInfo {
 	private ByteBuffer buffer;
 	private XFuture<Void> handler;
 
+	//for transferFrom(sendfile) writes, buffer is null and this is the region of the file left to send
+	private FileChannel file;
+	private long position;
+	private long remaining;
+
 	public WriteInfo(ByteBuffer b, XFuture<Void> impl) {
 		buffer = b;
 		handler = impl;
 	}
 
+	public WriteInfo(FileChannel file, long position, long count, XFuture<Void> impl) {
+		this.file = file;
+		this.position = position;
+		this.remaining = count;
+		handler = impl;
+	}
+
 	public XFuture<Void> getPromise() {
 		return handler;
 	}
@@ -22,4 +36,25 @@ public class WriteInfo {
 		return buffer;
 	}
 
+	public boolean isFileRegion() {
+		return file != null;
+	}
+
+	public FileChannel getFile() {
+		return file;
+	}
+
+	public long getPosition() {
+		return position;
+	}
+
+	public long getRemaining() {
+		return remaining;
+	}
+
+	public void advance(long written) {
+		position += written;
+		remaining -= written;
+	}
+
 }
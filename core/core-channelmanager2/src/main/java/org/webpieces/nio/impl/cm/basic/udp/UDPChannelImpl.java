@@ -156,6 +156,11 @@ public class UDPChannelImpl extends BasChannelImpl implements UDPChannel {
 		}
 	}
 
+	@Override
+	protected boolean isDatagram() {
+		return true;
+	}
+
 	@Override
 	public boolean isSslChannel() {
 		return false;
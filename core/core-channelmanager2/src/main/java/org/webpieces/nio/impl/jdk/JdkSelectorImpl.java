@@ -62,6 +62,15 @@ public class JdkSelectorImpl implements JdkSelect
 		java.nio.channels.DatagramChannel channel = java.nio.channels.DatagramChannel.open();
 		return new JdkDatagramChannelImpl(channel, selector);
 	}
+
+	@Override
+	public JdkSocketChannel adopt(JdkSocketChannel acceptedChannel) {
+		if(selector == null)
+			throw new IllegalArgumentException("start must be called first to start the thread up");
+		else if(!(acceptedChannel instanceof JdkSocketChannelImpl))
+			throw new IllegalArgumentException("Can only adopt channels created by JdkSelectorImpl. channel="+acceptedChannel);
+		return ((JdkSocketChannelImpl) acceptedChannel).moveTo(selector);
+	}
 	
     /**
      * @see org.webpieces.nio.api.jdk.JdkSelect#wakeup()
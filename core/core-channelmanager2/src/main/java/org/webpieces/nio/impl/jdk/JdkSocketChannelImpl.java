@@ -6,6 +6,7 @@ import java.net.SocketAddress;
 import java.net.SocketException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.SocketChannel;
@@ -24,6 +25,16 @@ public class JdkSocketChannelImpl implements org.webpieces.nio.api.jdk.JdkSocket
 		this.selector = selector;
     }
     
+    /**
+     * The channel can only belong to one of our selectors so this must happen before
+     * the first register call
+     */
+    JdkSocketChannelImpl moveTo(Selector newSelector) {
+    	if(keyFor() != null)
+    		throw new IllegalStateException("Channel is already registered with a selector so cannot move it");
+    	return new JdkSocketChannelImpl(channel, newSelector);
+    }
+    
     /**
      * @throws IOException 
      * @see org.webpieces.nio.api.jdk.JdkSocketChannel#configureBlocking(boolean)
@@ -62,6 +73,22 @@ public class JdkSocketChannelImpl implements org.webpieces.nio.api.jdk.JdkSocket
         return channel.write(b);
     }
 
+    /**
+     * @throws IOException 
+     * @see org.webpieces.nio.api.jdk.JdkSocketChannel#write(java.nio.ByteBuffer[], int, int)
+     */
+    public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+        return channel.write(srcs, offset, length);
+    }
+
+    /**
+     * @throws IOException 
+     * @see org.webpieces.nio.api.jdk.JdkSocketChannel#transferFrom(java.nio.channels.FileChannel, long, long)
+     */
+    public long transferFrom(FileChannel file, long position, long count) throws IOException {
+        return file.transferTo(position, count, channel);
+    }
+
     /**
      * @throws IOException 
      * @see org.webpieces.nio.api.jdk.JdkSocketChannel#read(java.nio.ByteBuffer)
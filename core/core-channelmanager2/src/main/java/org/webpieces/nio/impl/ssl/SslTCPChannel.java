@@ -96,6 +96,28 @@ public class SslTCPChannel extends SslChannel implements TCPChannel {
 		}
 	}
 
+	/**
+	 * The engine encrypts into new buffers anyways so combine the buffers into one plain packet rather than
+	 * creating a TLS record per buffer
+	 */
+	@Override
+	public XFuture<Void> write(ByteBuffer[] buffers) {
+		if(isInPlainTextMode)
+			return realChannel.write(buffers);
+
+		int size = 0;
+		for(ByteBuffer b : buffers) {
+			size += b.remaining();
+		}
+		ByteBuffer combined = pool.nextBuffer(size);
+		for(ByteBuffer b : buffers) {
+			combined.put(b);
+			pool.releaseBuffer(b);
+		}
+		combined.flip();
+		return write(combined);
+	}
+
 	@Override
 	public XFuture<Void> close() {
 		if(sslEngine == null) {
@@ -275,11 +297,11 @@ public class SslTCPChannel extends SslChannel implements TCPChannel {
 				
 				String host = sniServerNames.get(0);
 				SSLEngine engine = sslFactoryWithHost.createSslEngine(host);
-				sslEngine = AsyncSSLFactory.create(realChannel+"", engine, pool, sslListener, sslMetrics);
+				sslEngine = AsyncSSLFactory.create(realChannel+"", engine, pool, sslListener, sslMetrics, sslFactory.getHandshakeExecutor(), sslFactory.isReleaseBuffersWhenIdle());
 				return result.getBuffer(); // return the full accumulated packet(which may just be the buffer passed in above)
 			} else {
 				SSLEngine engine = sslFactory.createSslEngine();
-				sslEngine = AsyncSSLFactory.create(realChannel+"", engine, pool, sslListener, sslMetrics);
+				sslEngine = AsyncSSLFactory.create(realChannel+"", engine, pool, sslListener, sslMetrics, sslFactory.getHandshakeExecutor(), sslFactory.isReleaseBuffersWhenIdle());
 				return b;
 			}
 		}
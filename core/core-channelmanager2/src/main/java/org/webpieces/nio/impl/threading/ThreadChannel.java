@@ -3,6 +3,7 @@ package org.webpieces.nio.impl.threading;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import org.webpieces.util.futures.XFuture;
 
 import org.webpieces.nio.api.channels.Channel;
@@ -39,6 +40,23 @@ public class ThreadChannel implements Channel {
 		return future.thenApplyAsync(p -> null, executor);
 	}
 
+	@Override
+	public XFuture<Void> write(ByteBuffer[] buffers) {
+		XFuture<Void> future = tcpChannel.write(buffers);
+		return future.thenApplyAsync(p -> null, executor);
+	}
+
+	@Override
+	public XFuture<Void> transferFrom(FileChannel file, long position, long count) {
+		XFuture<Void> future = tcpChannel.transferFrom(file, position, count);
+		return future.thenApplyAsync(p -> null, executor);
+	}
+
+	@Override
+	public boolean isTransferFromSupported() {
+		return tcpChannel.isTransferFromSupported();
+	}
+
 	@Override
 	public XFuture<Void> close() {
 		XFuture<Void> future = tcpChannel.close();
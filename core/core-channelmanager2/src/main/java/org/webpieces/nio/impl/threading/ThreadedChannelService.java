@@ -13,7 +13,7 @@ import org.webpieces.nio.api.channels.UDPChannel;
 import org.webpieces.nio.api.handlers.ConnectionListener;
 import org.webpieces.nio.api.handlers.DatagramListener;
 import org.webpieces.util.threading.SessionExecutor;
-import org.webpieces.util.threading.SessionExecutorImpl;
+import org.webpieces.util.threading.SessionExecutorLockFree;
 
 public class ThreadedChannelService implements ChannelManager {
 
@@ -22,7 +22,7 @@ public class ThreadedChannelService implements ChannelManager {
 
 	public ThreadedChannelService(ChannelManager mgr, Executor executor) {
 		this.mgr = mgr;
-		this.executor = new SessionExecutorImpl(executor);
+		this.executor = new SessionExecutorLockFree(executor);
 	}
 
 	@Override
@@ -0,0 +1,61 @@
+package org.webpieces.nio.api;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.webpieces.data.api.TwoPools;
+import org.webpieces.nio.api.channels.TCPChannel;
+import org.webpieces.nio.api.mocks.MockClientSideJdkChannel;
+import org.webpieces.nio.api.mocks.MockDataListener;
+import org.webpieces.nio.api.mocks.MockJdk;
+import org.webpieces.util.futures.XFuture;
+import org.webpieces.util.threading.DirectExecutor;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class TestMultiSelector {
+
+	private ChannelManager mgr;
+	private MockClientSideJdkChannel mockChannel1 = new MockClientSideJdkChannel();
+	private MockClientSideJdkChannel mockChannel2 = new MockClientSideJdkChannel();
+	private MockJdk mockJdk1 = new MockJdk(mockChannel1);
+	private MockJdk mockJdk2 = new MockJdk(mockChannel2);
+
+	@Before
+	public void setup() {
+		ChannelManagerFactory factory = ChannelManagerFactory.createFactory(List.of(mockJdk1, mockJdk2), Metrics.globalRegistry);
+		mgr = factory.createMultiThreadedChanMgr("multi", new TwoPools("pl", new SimpleMeterRegistry()), new BackpressureConfig(), new DirectExecutor());
+	}
+
+	@Test
+	public void testChannelsSpreadAcrossSelectors() {
+		TCPChannel channel1 = mgr.createTCPChannel("first");
+		TCPChannel channel2 = mgr.createTCPChannel("second");
+
+		mockChannel1.addConnectReturnValue(true);
+		mockChannel2.addConnectReturnValue(true);
+
+		//second selector thread is not the current thread so it must wake up that selector
+		mockJdk1.setThread(Thread.currentThread());
+		XFuture<Void> future1 = channel1.connect(new InetSocketAddress(4444), new MockDataListener());
+		XFuture<Void> future2 = channel2.connect(new InetSocketAddress(4445), new MockDataListener());
+
+		Assert.assertTrue(future1.isDone());
+		Assert.assertTrue(mockChannel1.isRegisteredForReads());
+		Assert.assertFalse(future2.isDone());
+		Assert.assertFalse(mockChannel2.isRegisteredForReads());
+		Assert.assertEquals(0, mockJdk1.getNumTimesWokenUp());
+		Assert.assertEquals(1, mockJdk2.getNumTimesWokenUp());
+
+		mockJdk2.setThread(Thread.currentThread());
+		mockJdk2.fireSelector();
+
+		Assert.assertTrue(future2.isDone());
+		Assert.assertTrue(mockChannel2.isRegisteredForReads());
+	}
+
+}
@@ -1,12 +1,17 @@
 package org.webpieces.nio.api;
 
 import java.net.InetSocketAddress;
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import org.webpieces.util.futures.XFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -26,6 +31,7 @@ public class TestWriting {
 	private MockClientSideJdkChannel mockChannel = new MockClientSideJdkChannel();
 	private MockJdk mockJdk = new MockJdk(mockChannel);
 	private TCPChannel channel;
+	private Path tempFile;
 
 	
 	@Before
@@ -45,6 +51,12 @@ public class TestWriting {
 		Assert.assertTrue(mockChannel.isRegisteredForReads());
 	}
 
+	@After
+	public void tearDown() throws IOException {
+		if(tempFile != null)
+			Files.delete(tempFile);
+	}
+
 	@Test
 	public void testImmediateWrite() throws InterruptedException, ExecutionException, TimeoutException {
 		mockChannel.setNumBytesToConsume(2);
@@ -92,4 +104,138 @@ public class TestWriting {
 		Assert.assertFalse(mockChannel.isRegisteredForWrites());
 		Assert.assertEquals(5, mockChannel.nextByte());
 	}
+
+	@Test
+	public void testQueuedWritesGoOutInOneGatheringWrite() throws InterruptedException, ExecutionException, TimeoutException {
+		XFuture<Void> future1 = channel.write(ByteBuffer.wrap(new byte[] { 1, 2 }));
+		XFuture<Void> future2 = channel.write(ByteBuffer.wrap(new byte[] { 3, 4 }));
+		XFuture<Void> future3 = channel.write(ByteBuffer.wrap(new byte[] { 5, 6 }));
+		Assert.assertFalse(future1.isDone());
+		Assert.assertTrue(mockChannel.isRegisteredForWrites());
+
+		mockChannel.setReadyToWrite();
+		mockChannel.setNumBytesToConsume(6);
+		mockJdk.setThread(Thread.currentThread()); //simulate being on selector thread
+		mockJdk.fireSelector();
+
+		Assert.assertEquals(1, mockChannel.getNumGatheringWrites());
+		Assert.assertTrue(future1.isDone());
+		Assert.assertTrue(future2.isDone());
+		Assert.assertTrue(future3.isDone());
+		Assert.assertFalse(mockChannel.isRegisteredForWrites());
+		for(int i = 1; i <= 6; i++)
+			Assert.assertEquals(i, mockChannel.nextByte());
+	}
+
+	@Test
+	public void testPartialGatheringWriteOnlyCompletesWrittenBuffers() throws InterruptedException, ExecutionException, TimeoutException {
+		XFuture<Void> future1 = channel.write(ByteBuffer.wrap(new byte[] { 1, 2 }));
+		XFuture<Void> future2 = channel.write(ByteBuffer.wrap(new byte[] { 3, 4 }));
+		XFuture<Void> future3 = channel.write(ByteBuffer.wrap(new byte[] { 5, 6 }));
+
+		mockChannel.setReadyToWrite();
+		mockChannel.setNumBytesToConsume(3);
+		mockJdk.setThread(Thread.currentThread()); //simulate being on selector thread
+		mockJdk.fireSelector();
+
+		Assert.assertTrue(future1.isDone());
+		Assert.assertFalse(future2.isDone());
+		Assert.assertFalse(future3.isDone());
+		Assert.assertTrue(mockChannel.isRegisteredForWrites());
+
+		mockChannel.setNumBytesToConsume(3);
+		mockChannel.setReadyToWrite();
+		mockJdk.fireSelector();
+
+		Assert.assertTrue(future2.isDone());
+		Assert.assertTrue(future3.isDone());
+		Assert.assertFalse(mockChannel.isRegisteredForWrites());
+		for(int i = 1; i <= 6; i++)
+			Assert.assertEquals(i, mockChannel.nextByte());
+	}
+
+	@Test
+	public void testImmediateWriteOfManyBuffersIsOneGatheringWrite() throws InterruptedException, ExecutionException, TimeoutException {
+		mockChannel.setNumBytesToConsume(5);
+		ByteBuffer body = ByteBuffer.wrap(new byte[] { 3, 4, 5 }).asReadOnlyBuffer();
+		XFuture<Void> future = channel.write(new ByteBuffer[] { ByteBuffer.wrap(new byte[] { 1, 2 }), body });
+		future.get(2, TimeUnit.SECONDS);
+
+		Assert.assertEquals(1, mockChannel.getNumGatheringWrites());
+		for(int i = 1; i <= 5; i++)
+			Assert.assertEquals(i, mockChannel.nextByte());
+	}
+
+	@Test
+	public void testWriteOfManyBuffersQueuesWhatDidNotFit() throws InterruptedException, ExecutionException, TimeoutException {
+		mockJdk.setThread(null); //simulate write not on selector thread
+		mockChannel.setNumBytesToConsume(3);
+
+		XFuture<Void> future = channel.write(new ByteBuffer[] {
+				ByteBuffer.wrap(new byte[] { 1, 2 }), ByteBuffer.wrap(new byte[] { 3, 4 }), ByteBuffer.wrap(new byte[] { 5, 6 }) });
+		Assert.assertFalse(future.isDone());
+		Assert.assertEquals(3, mockChannel.getNumBytesConsumed());
+
+		mockChannel.setNumBytesToConsume(3);
+		mockChannel.setReadyToWrite();
+		mockJdk.setThread(Thread.currentThread()); //simulate being on selector thread
+		mockJdk.fireSelector();
+
+		Assert.assertTrue(future.isDone());
+		Assert.assertFalse(mockChannel.isRegisteredForWrites());
+		for(int i = 1; i <= 6; i++)
+			Assert.assertEquals(i, mockChannel.nextByte());
+	}
+
+	@Test
+	public void testImmediateTransferFrom() throws InterruptedException, ExecutionException, TimeoutException, IOException {
+		Assert.assertTrue(channel.isTransferFromSupported());
+		try (FileChannel file = createFile(new byte[] { 0, 7, 8, 9 })) {
+			mockChannel.setNumBytesToConsume(3);
+			XFuture<Void> future = channel.transferFrom(file, 1, 3);
+			future.get(2, TimeUnit.SECONDS);
+		}
+
+		Assert.assertEquals(7, mockChannel.nextByte());
+		Assert.assertEquals(8, mockChannel.nextByte());
+		Assert.assertEquals(9, mockChannel.nextByte());
+	}
+
+	@Test
+	public void testTransferFromQueuedBehindWrites() throws InterruptedException, ExecutionException, TimeoutException, IOException {
+		try (FileChannel file = createFile(new byte[] { 3, 4, 5 })) {
+			XFuture<Void> future1 = channel.write(ByteBuffer.wrap(new byte[] { 1, 2 }));
+			XFuture<Void> future2 = channel.transferFrom(file, 0, 3);
+			XFuture<Void> future3 = channel.write(ByteBuffer.wrap(new byte[] { 6 }));
+			Assert.assertFalse(future2.isDone());
+			Assert.assertEquals(0, mockChannel.getNumTransfers());
+
+			//file region only partially goes out the first time
+			mockChannel.setReadyToWrite();
+			mockChannel.setNumBytesToConsume(3);
+			mockJdk.setThread(Thread.currentThread()); //simulate being on selector thread
+			mockJdk.fireSelector();
+
+			Assert.assertTrue(future1.isDone());
+			Assert.assertFalse(future2.isDone());
+			Assert.assertTrue(mockChannel.isRegisteredForWrites());
+
+			mockChannel.setReadyToWrite();
+			mockChannel.setNumBytesToConsume(3);
+			mockJdk.fireSelector();
+
+			Assert.assertTrue(future2.isDone());
+			Assert.assertTrue(future3.isDone());
+			Assert.assertFalse(mockChannel.isRegisteredForWrites());
+		}
+
+		for(int i = 1; i <= 6; i++)
+			Assert.assertEquals(i, mockChannel.nextByte());
+	}
+
+	private FileChannel createFile(byte[] data) throws IOException {
+		tempFile = Files.createTempFile("testWriting", ".bin");
+		Files.write(tempFile, data);
+		return FileChannel.open(tempFile);
+	}
 }
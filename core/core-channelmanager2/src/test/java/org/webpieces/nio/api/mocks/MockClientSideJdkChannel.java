@@ -5,6 +5,7 @@ import java.net.InetAddress;
 import java.net.SocketAddress;
 import java.net.SocketException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.SelectionKey;
 import java.util.Queue;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -28,6 +29,8 @@ public class MockClientSideJdkChannel extends MockSuperclass implements JdkSocke
 
 	private MockSelectionKey selectionKey;
 	private int numBytesToConsume;
+	private int numGatheringWrites;
+	private int numTransfers;
 	private Queue<Byte> queue = new LinkedBlockingQueue<>();
 	private Queue<byte[]> payloadQueue = new LinkedBlockingQueue<>();
 	private Queue<ByteBuffer> toRead = new LinkedBlockingQueue<>();
@@ -80,6 +83,38 @@ public class MockClientSideJdkChannel extends MockSuperclass implements JdkSocke
 		return min;
 	}
 
+	@Override
+	public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+		numGatheringWrites++;
+		long total = 0;
+		for(int i = offset; i < offset+length; i++) {
+			if(!srcs[i].hasRemaining())
+				continue;
+			int written = write(srcs[i]);
+			total += written;
+			if(srcs[i].hasRemaining())
+				break; //simulate the nic buffer filling up
+		}
+		return total;
+	}
+
+	@Override
+	public long transferFrom(FileChannel file, long position, long count) throws IOException {
+		numTransfers++;
+		ByteBuffer buf = ByteBuffer.allocate((int) Math.min(count, numBytesToConsume));
+		file.read(buf, position);
+		buf.flip();
+		return write(buf);
+	}
+
+	public int getNumTransfers() {
+		return numTransfers;
+	}
+
+	public int getNumGatheringWrites() {
+		return numGatheringWrites;
+	}
+
 	public byte nextByte() {
 		return queue.remove();
 	}
@@ -48,6 +48,11 @@ public class MockJdk extends MockSuperclass implements JdkSelect {
 	public JdkDatagramChannel openDatagram() throws IOException {
 		return null;
 	}
+
+	@Override
+	public JdkSocketChannel adopt(JdkSocketChannel acceptedChannel) {
+		return acceptedChannel;
+	}
 	
 	@Override
 	public void startPollingThread(SelectorListener listener, String threadName) {
@@ -28,5 +28,13 @@ public interface BufferPool {
 	 * demarcate chunks of data to feed to optimize for pool use 
 	 */
 	public int getSuggestedBufferSize();
-	
+
+	/**
+	 * true if this pool hands out direct(off-heap) buffers.  ChannelManager then copies heap buffers that
+	 * clients write through one of our direct buffers instead of letting the jdk do it with it's own
+	 */
+	public default boolean isDirect() {
+		return false;
+	}
+
 }
@@ -2,6 +2,7 @@ package org.webpieces.data.api;
 
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -20,6 +21,16 @@ public interface DataWrapper {
 
 	public byte[] readBytesAt(int offset, int len);
 
+	/**
+	 * Same as readBytesAt(offset, len) but copies into the caller's array so parsers can reuse one array
+	 * instead of creating one per read
+	 */
+	public default void readBytesAt(int offset, byte[] dest, int destOffset, int length) {
+		for(int i = 0; i < length; i++) {
+			dest[destOffset + i] = readByteAt(offset + i);
+		}
+	}
+
 	public String createStringFrom(int offset, int length, Charset charSet);
 
 	public String createStringFromUtf8(int offset, int length);
@@ -44,6 +55,20 @@ public interface DataWrapper {
 	 * 
 	 */
 	public void addUnderlyingBuffersToList(List<ByteBuffer> buffers);
+
+	/**
+	 * Views of the underlying buffers in order for a gathering write.  Writing them moves the position of the
+	 * views only so this DataWrapper still reads the same afterwards
+	 */
+	public default ByteBuffer[] createByteBuffers() {
+		List<ByteBuffer> buffers = new ArrayList<>();
+		addUnderlyingBuffersToList(buffers);
+		ByteBuffer[] views = new ByteBuffer[buffers.size()];
+		for(int i = 0; i < views.length; i++) {
+			views[i] = buffers.get(i).duplicate();
+		}
+		return views;
+	}
 	
 	public void releaseUnderlyingBuffers(BufferPool pool);
 }
@@ -9,5 +9,13 @@ public class DataWrapperGeneratorFactory {
 	public static DataWrapperGenerator createDataWrapperGenerator() {
 		return new DataWrapperGeneratorImpl();
 	}
+
+	/**
+	 * Chains created by this generator find a byte with a binary search over cached offsets instead of walking
+	 * every wrapper.  Use it where large bodies are chained from many socket reads and then read byte by byte
+	 */
+	public static DataWrapperGenerator createIndexedDataWrapperGenerator() {
+		return new DataWrapperGeneratorImpl(true);
+	}
 	
 }
@@ -0,0 +1,165 @@
+package org.webpieces.data.api;
+
+import java.nio.ByteBuffer;
+
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.webpieces.data.impl.SlabSizeClass;
+import org.webpieces.metrics.MetricsCreator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * A BufferPool of off-heap buffers.  When the jdk reads or writes a socket with a heap ByteBuffer, it
+ * copies through a temporary direct buffer of it's own(cached per thread and sized to the largest write
+ * that thread ever did).  Handing ChannelManager direct buffers avoids that hidden copy and keeps socket
+ * data out of the java heap.
+ *
+ * Memory is carved out of large slabs, one set of slabs per chunk size(by default the same base and ssl
+ * sizes as TwoPools).  Unlike TwoPools, you really SHOULD release buffers back to this pool as direct
+ * memory is only freed when the GC gets around to it.  If a buffer is dropped without being released, we
+ * count it and log a LEAK error(rate limited, with the allocating stack when debug logging is on for
+ * SlabSizeClass) when the GC collects it.  Slices of that chunk may still be in use so it's slab is retired
+ * and only replaced with a new slab once the GC frees the old one.
+ *
+ * Metrics (all through MetricsCreator with name=id)
+ *   checkout  - buffers handed out of a slab
+ *   exhausted - all slabs are in use so we fell back to an unpooled direct buffer
+ *   oversize  - request larger than the largest chunk so we allocated an unpooled direct buffer
+ * plus gauges per chunk size of free buffers, reserved slab bytes and leaks(buffers garbage collected
+ * without being released)
+ */
+public class DirectBufferArena implements BufferPool {
+
+	//same logger that reports leaks so turning on debug there also records the allocating stacks
+	private static final Logger log = LoggerFactory.getLogger(SlabSizeClass.class);
+
+	public static final int DEFAULT_CHUNKS_PER_SLAB = 64;
+	public static final int DEFAULT_MAX_SLABS = 32;
+
+	private final SlabSizeClass[] sizeClasses;
+	private final boolean recordStacks;
+	private final Counter checkoutCounter;
+	private final Counter exhaustedCounter;
+	private final Counter oversizeCounter;
+
+	@Inject
+	public DirectBufferArena(MeterRegistry metrics) {
+		this("webpieces.directArena", metrics);
+	}
+
+	public DirectBufferArena(String id, MeterRegistry metrics) {
+		this(id, metrics, new int[] {TwoPools.DEFAULT_MAX_BASE_BUFFER_SIZE, TwoPools.DEFAULT_MAX_SSL_BUFFER_SIZE},
+				DEFAULT_CHUNKS_PER_SLAB, DEFAULT_MAX_SLABS, log.isDebugEnabled());
+	}
+
+	/**
+	 * @param chunkSizes buffer sizes in ascending order
+	 * @param maxSlabs max slabs for EACH chunk size so max memory = sum(chunkSize*chunksPerSlab*maxSlabs)
+	 * @param recordStacks record the stack of each allocation to report if it leaks(slow, debug only)
+	 */
+	public DirectBufferArena(String id, MeterRegistry metrics, int[] chunkSizes, int chunksPerSlab, int maxSlabs, boolean recordStacks) {
+		if(chunkSizes.length == 0)
+			throw new IllegalArgumentException("There must be at least one chunk size");
+		this.recordStacks = recordStacks;
+
+		sizeClasses = new SlabSizeClass[chunkSizes.length];
+		for(int i = 0; i < chunkSizes.length; i++) {
+			if(i > 0 && chunkSizes[i] <= chunkSizes[i-1])
+				throw new IllegalArgumentException("chunkSizes must be in ascending order");
+			sizeClasses[i] = new SlabSizeClass(id, chunkSizes[i], chunksPerSlab, maxSlabs);
+			MetricsCreator.createGauge(metrics, id+"."+chunkSizes[i]+".free", sizeClasses[i], (s) -> s.getFreeCount());
+			MetricsCreator.createGauge(metrics, id+"."+chunkSizes[i]+".reservedBytes", sizeClasses[i], (s) -> s.getReservedBytes());
+			MetricsCreator.createGauge(metrics, id+"."+chunkSizes[i]+".leak", sizeClasses[i], (s) -> s.getLeakCount());
+		}
+
+		checkoutCounter = MetricsCreator.createCounter(metrics, id, "checkout", false);
+		exhaustedCounter = MetricsCreator.createCounter(metrics, id, "exhausted", false);
+		oversizeCounter = MetricsCreator.createCounter(metrics, id, "oversize", false);
+	}
+
+	@Override
+	public ByteBuffer nextBuffer(int minSize) {
+		SlabSizeClass sizeClass = classFor(minSize);
+		if(sizeClass == null) {
+			oversizeCounter.increment();
+			return ByteBuffer.allocateDirect(minSize);
+		}
+
+		ByteBuffer buffer = sizeClass.checkout(recordStacks);
+		if(buffer == null) {
+			exhaustedCounter.increment();
+			return ByteBuffer.allocateDirect(sizeClass.getChunkSize());
+		}
+
+		checkoutCounter.increment();
+		return buffer;
+	}
+
+	@Override
+	public void releaseBuffer(ByteBuffer buffer) {
+		if(buffer.remaining() != 0) {
+			throw new IllegalArgumentException("You need to consume all data from your buffer (or "
+					+ "call buffer.position(buffer.limit)) to simulate consuming it though this is ill advised as you"
+					+ "should be reading all your data from your buffer before releasing it");
+		} else if(!buffer.isDirect()) {
+			return; //not one of ours
+		}
+
+		for(SlabSizeClass sizeClass : sizeClasses) {
+			if(sizeClass.release(buffer))
+				return;
+		}
+		//unpooled(oversize or exhausted) buffers are left to the GC
+	}
+
+	@Override
+	public ByteBuffer createWithDataWrapper(DataWrapper data) {
+		ByteBuffer byteBuffer = nextBuffer(data.getReadableSize());
+		byteBuffer.put(data.createByteArray());
+		byteBuffer.flip();
+
+		return byteBuffer;
+	}
+
+	@Override
+	public int getSuggestedBufferSize() {
+		return sizeClasses[0].getChunkSize();
+	}
+
+	@Override
+	public boolean isDirect() {
+		return true;
+	}
+
+	private SlabSizeClass classFor(int minSize) {
+		for(SlabSizeClass sizeClass : sizeClasses) {
+			if(minSize <= sizeClass.getChunkSize())
+				return sizeClass;
+		}
+		return null;
+	}
+
+	/**
+	 * @return number of buffers currently checked out and not yet released(or reported as leaked)
+	 */
+	public int getCheckedOutCount() {
+		int count = 0;
+		for(SlabSizeClass sizeClass : sizeClasses) {
+			count += sizeClass.getCheckedOutCount();
+		}
+		return count;
+	}
+
+	public int getLeakCount() {
+		int count = 0;
+		for(SlabSizeClass sizeClass : sizeClasses) {
+			count += sizeClass.getLeakCount();
+		}
+		return count;
+	}
+
+}
@@ -0,0 +1,211 @@
+package org.webpieces.data.api;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+import javax.inject.Inject;
+
+import org.webpieces.data.impl.SizeClassDepot;
+import org.webpieces.metrics.MetricsCreator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * An alternative to TwoPools for when the one shared queue of TwoPools becomes a point of contention or
+ * when lots of small buffers(http2 frames) are wasting 18k buffers.  Buffers come in size classes(by default
+ * 1k, 4k, the TwoPools base size and the TwoPools ssl size) and a request gets a buffer from the smallest
+ * class that fits.  Each thread keeps a few buffers of each class to itself so the common
+ * checkout/release on the same thread touches no shared state at all.  When a thread's cache is empty it
+ * takes from the shared depot of that class and when it is full, it gives back to the shared depot.
+ *
+ * Metrics (all through MetricsCreator with name=id)
+ *   hit   - buffer came from this thread's cache
+ *   steal - buffer came from the shared depot(released by some other thread usually)
+ *   miss  - nothing pooled so we allocated
+ *   oversize - request larger than the largest class so we allocated and will never pool it
+ */
+public class ShardedBufferPool implements BufferPool, BufferWebManaged {
+
+	public static final int[] DEFAULT_SIZE_CLASSES = new int[] {
+			1024, 4096, TwoPools.DEFAULT_MAX_BASE_BUFFER_SIZE, TwoPools.DEFAULT_MAX_SSL_BUFFER_SIZE
+	};
+
+	private final SizeClassDepot[] depots;
+	private final int suggestedBufferSize;
+	private final boolean isDirect;
+	private final int threadCacheSize;
+	private final ThreadLocal<ThreadCache> threadCaches;
+	private int poolSize;
+
+	private final Counter hitCounter;
+	private final Counter stealCounter;
+	private final Counter missCounter;
+	private final Counter oversizeCounter;
+
+	@Inject
+	public ShardedBufferPool(MeterRegistry metrics) {
+		this("webpieces.shardedBufPool", metrics);
+	}
+
+	public ShardedBufferPool(String id, MeterRegistry metrics) {
+		this(id, metrics, false, DEFAULT_SIZE_CLASSES, 8, 2000);
+	}
+
+	/**
+	 * @param sizeClasses buffer sizes in ascending order
+	 * @param threadCacheSize max buffers of EACH size class that one thread holds on to
+	 * @param poolSize max buffers of EACH size class held in the shared depot
+	 */
+	public ShardedBufferPool(String id, MeterRegistry metrics, boolean isDirect, int[] sizeClasses, int threadCacheSize, int poolSize) {
+		if(sizeClasses.length == 0)
+			throw new IllegalArgumentException("There must be at least one size class");
+		this.isDirect = isDirect;
+		this.threadCacheSize = threadCacheSize;
+		this.poolSize = poolSize;
+
+		depots = new SizeClassDepot[sizeClasses.length];
+		int suggested = sizeClasses[0];
+		for(int i = 0; i < sizeClasses.length; i++) {
+			if(i > 0 && sizeClasses[i] <= sizeClasses[i-1])
+				throw new IllegalArgumentException("sizeClasses must be in ascending order");
+			if(sizeClasses[i] <= TwoPools.DEFAULT_MAX_BASE_BUFFER_SIZE)
+				suggested = sizeClasses[i];
+			depots[i] = new SizeClassDepot(sizeClasses[i], isDirect, poolSize);
+			MetricsCreator.createGauge(metrics, id+"."+sizeClasses[i], depots[i], (d) -> d.getSize());
+		}
+		suggestedBufferSize = suggested;
+		threadCaches = ThreadLocal.withInitial(() -> new ThreadCache(depots.length));
+
+		hitCounter = MetricsCreator.createCounter(metrics, id, "hit", false);
+		stealCounter = MetricsCreator.createCounter(metrics, id, "steal", false);
+		missCounter = MetricsCreator.createCounter(metrics, id, "miss", false);
+		oversizeCounter = MetricsCreator.createCounter(metrics, id, "oversize", false);
+	}
+
+	@Override
+	public ByteBuffer nextBuffer(int minSize) {
+		int index = indexFor(minSize);
+		if(index < 0) {
+			oversizeCounter.increment();
+			if(isDirect)
+				return ByteBuffer.allocateDirect(minSize);
+			return ByteBuffer.allocate(minSize);
+		}
+
+		ByteBuffer buffer = threadCaches.get().poll(index);
+		if(buffer != null) {
+			hitCounter.increment();
+			return buffer;
+		}
+
+		SizeClassDepot depot = depots[index];
+		buffer = depot.poll();
+		if(buffer != null) {
+			stealCounter.increment();
+			return buffer;
+		}
+
+		missCounter.increment();
+		return depot.allocate();
+	}
+
+	@Override
+	public void releaseBuffer(ByteBuffer buffer) {
+		if(buffer.remaining() != 0) {
+			throw new IllegalArgumentException("You need to consume all data from your buffer (or "
+					+ "call buffer.position(buffer.limit)) to simulate consuming it though this is ill advised as you"
+					+ "should be reading all your data from your buffer before releasing it");
+		} else if(buffer.isDirect() != isDirect || buffer.isReadOnly()) {
+			return; //not one of ours or a view of data someone else owns
+		}
+
+		int index = indexOfExactly(buffer.capacity());
+		if(index < 0)
+			return; //discard buffers that are released and are not one of our sizes
+
+		buffer.clear();
+		if(threadCaches.get().offer(index, buffer))
+			return;
+
+		depots[index].offer(buffer);
+	}
+
+	@Override
+	public ByteBuffer createWithDataWrapper(DataWrapper data) {
+		ByteBuffer byteBuffer = nextBuffer(data.getReadableSize());
+		byteBuffer.put(data.createByteArray());
+		byteBuffer.flip();
+
+		return byteBuffer;
+	}
+
+	@Override
+	public int getSuggestedBufferSize() {
+		return suggestedBufferSize;
+	}
+
+	@Override
+	public boolean isDirect() {
+		return isDirect;
+	}
+
+	private int indexFor(int minSize) {
+		for(int i = 0; i < depots.length; i++) {
+			if(minSize <= depots[i].getBufferSize())
+				return i;
+		}
+		return -1;
+	}
+
+	private int indexOfExactly(int capacity) {
+		for(int i = 0; i < depots.length; i++) {
+			if(capacity == depots[i].getBufferSize())
+				return i;
+		}
+		return -1;
+	}
+
+	@Override
+	public String getCategory() {
+		return "Webpieces Core";
+	}
+
+	@Override
+	public void setBufferPoolSize(int size) {
+		this.poolSize = size;
+		for(SizeClassDepot depot : depots) {
+			depot.setMaxBuffers(size);
+		}
+	}
+
+	@Override
+	public int getBufferPoolSize() {
+		return poolSize;
+	}
+
+	private class ThreadCache {
+		private final ArrayDeque<ByteBuffer>[] buffers;
+
+		@SuppressWarnings("unchecked")
+		public ThreadCache(int numClasses) {
+			buffers = new ArrayDeque[numClasses];
+			for(int i = 0; i < numClasses; i++) {
+				buffers[i] = new ArrayDeque<>(threadCacheSize);
+			}
+		}
+
+		public ByteBuffer poll(int index) {
+			return buffers[index].pollFirst();
+		}
+
+		public boolean offer(int index, ByteBuffer buffer) {
+			ArrayDeque<ByteBuffer> cache = buffers[index];
+			if(cache.size() >= threadCacheSize)
+				return false;
+			cache.addFirst(buffer);
+			return true;
+		}
+	}
+
+}
@@ -32,6 +32,7 @@ public class TwoPools implements BufferPool, TwoPoolManaged {
 
     private final BufferCreationPool smallPool;
     private final BufferCreationPool sslPool;
+    private final boolean isDirect;
 
     @Inject
     public TwoPools(MeterRegistry metrics) {
@@ -43,6 +44,7 @@ public class TwoPools implements BufferPool, TwoPoolManaged {
     }
 
     public TwoPools(String id, MeterRegistry metrics, boolean isDirect, int baseBufMaxSize, int sslBufMaxSize) {
+        this.isDirect = isDirect;
         smallPool = new BufferCreationPool(id+".small", metrics, isDirect, baseBufMaxSize);
         sslPool = new BufferCreationPool(id+".small", metrics, isDirect, sslBufMaxSize);
     }
@@ -103,4 +105,9 @@ public class TwoPools implements BufferPool, TwoPoolManaged {
 	public int getSuggestedBufferSize() {
 		return smallPool.getBufferPoolSize();
 	}
+
+	@Override
+	public boolean isDirect() {
+		return isDirect;
+	}
 }
@@ -10,9 +10,7 @@ public abstract class AbstractDataWrapper implements DataWrapper {
 
 	public byte[] readBytesAt(int i, int len) {
 		byte[] bytes = new byte[len];
-		for(int pos = i; pos < i + len; pos++) {
-			bytes[pos - i] = readByteAt(pos);
-		}
+		readBytesAt(i, bytes, 0, len);
 		return bytes;
 	}
 }
@@ -120,7 +120,9 @@ public class BufferCreationPool implements BufferPool, BufferWebManaged {
 			throw new IllegalArgumentException("You need to consume all data from your buffer (or "
 					+ "call buffer.position(buffer.limit)) to simulate consuming it though this is ill advised as you"
 					+ "should be reading all your data from your buffer before releasing it");
-		} 
+		} else if(buffer.isReadOnly()) {
+			return; //a view of data someone else owns so never hand it out
+		}
 
 		checkinCounter.increment();
 
@@ -157,4 +159,9 @@ public class BufferCreationPool implements BufferPool, BufferWebManaged {
 		return bufferSize;
 	}
 
+	@Override
+	public boolean isDirect() {
+		return isDirect;
+	}
+
 }
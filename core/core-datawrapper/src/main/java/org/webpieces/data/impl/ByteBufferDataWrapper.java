@@ -37,6 +37,15 @@ public class ByteBufferDataWrapper extends SliceableDataWrapper {
 		return new String(data, charSet);
 	}
 
+	@Override
+	public void readBytesAt(int offset, byte[] dest, int destOffset, int length) {
+		//a duplicate as many threads may read the same buffer(a cached file for instance) and there is no
+		//absolute bulk get until java 13
+		ByteBuffer view = buffer.duplicate();
+		view.position(offset);
+		view.get(dest, destOffset, length);
+	}
+
 	@Override
 	public byte[] createByteArray() {
 		byte[] data = new byte[buffer.remaining()];
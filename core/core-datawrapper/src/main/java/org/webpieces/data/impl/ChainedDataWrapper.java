@@ -77,7 +77,29 @@ public class ChainedDataWrapper extends AbstractDataWrapper {
 		throw new IndexOutOfBoundsException("offset="+offset+" length="+length+" is larger than size="+getReadableSize());
 	}
 
-	
+	@Override
+	public void readBytesAt(int initialOffset, byte[] dest, int destOffset, int length) {
+		int lengthLeftToRead = length;
+		int offset = initialOffset;
+		for(DataWrapper wrapper : wrappers) {
+			if(lengthLeftToRead == 0)
+				return;
+			int size = wrapper.getReadableSize();
+			if(offset < size) {
+				int toRead = Math.min(size - offset, lengthLeftToRead);
+				wrapper.readBytesAt(offset, dest, destOffset, toRead);
+				destOffset += toRead;
+				lengthLeftToRead -= toRead;
+				offset = 0;
+			} else {
+				offset -= size;
+			}
+		}
+
+		if(lengthLeftToRead > 0)
+			throw new IndexOutOfBoundsException("offset="+initialOffset+" length="+length+" is larger than size="+getReadableSize());
+	}
+
 	@Override
 	public byte[] createByteArray() {
 		byte[] copy = new byte[getReadableSize()];
@@ -12,6 +12,25 @@ public class DataWrapperGeneratorImpl implements DataWrapperGenerator {
 
 	private static final ByteBufferDataWrapper EMPTY_WRAPPER = new ByteBufferDataWrapper(ByteBuffer.allocate(0));
 
+	private final boolean indexChains;
+
+	public DataWrapperGeneratorImpl() {
+		this(false);
+	}
+
+	/**
+	 * @param indexChains true to create IndexedChainedDataWrapper when chaining and splitting
+	 */
+	public DataWrapperGeneratorImpl(boolean indexChains) {
+		this.indexChains = indexChains;
+	}
+
+	private ChainedDataWrapper newChain(List<SliceableDataWrapper> wrappers) {
+		if(indexChains)
+			return new IndexedChainedDataWrapper(wrappers);
+		return new ChainedDataWrapper(wrappers);
+	}
+
 	@Override
 	public DataWrapper wrapString(String string) {
 		return wrapByteArray(string.getBytes());
@@ -69,14 +88,14 @@ public class DataWrapperGeneratorImpl implements DataWrapperGenerator {
 			return firstData;
 		} else if(firstData instanceof ChainedDataWrapper) {
 			ChainedDataWrapper chained = (ChainedDataWrapper) firstData;
-			ChainedDataWrapper newOne = new ChainedDataWrapper(chained.getWrappers());
+			ChainedDataWrapper newOne = newChain(chained.getWrappers());
 			newOne.addMoreData(secondData);
 			return newOne;
 		} else if(!(firstData instanceof SliceableDataWrapper)) {
 			throw new IllegalArgumentException("Only SliceableDataWrappers or ChainedDataWrappers are allowed to be chained");
 		} else if(secondData instanceof ChainedDataWrapper) {
 			//convert first to ChainedDataWrapped and then do above code...
-			ChainedDataWrapper wrapper = new ChainedDataWrapper((SliceableDataWrapper) firstData);
+			ChainedDataWrapper wrapper = newChain(List.of((SliceableDataWrapper) firstData));
 			wrapper.addMoreData(secondData);
 			return wrapper;
 		} else if(!(secondData instanceof SliceableDataWrapper)) {
@@ -85,7 +104,7 @@ public class DataWrapperGeneratorImpl implements DataWrapperGenerator {
 		SliceableDataWrapper first = (SliceableDataWrapper) firstData;
 		SliceableDataWrapper second = (SliceableDataWrapper) secondData;
 
-		return new ChainedDataWrapper(first, second);
+		return newChain(List.of(first, second));
 	}
 
 	@Override
@@ -193,13 +212,13 @@ public class DataWrapperGeneratorImpl implements DataWrapperGenerator {
 
 		DataWrapper wrapper1;
 		if(wrappersInBegin.size() > 0) 
-			wrapper1 = new ChainedDataWrapper(wrappersInBegin);
+			wrapper1 = newChain(wrappersInBegin);
 		else 
 			wrapper1 = EMPTY_WRAPPER;
 		
 		DataWrapper wrapper2;
 		if(wrappersInEnd.size() > 0) 
-			wrapper2 = new ChainedDataWrapper(wrappersInEnd);
+			wrapper2 = newChain(wrappersInEnd);
 		else
 			wrapper2 = EMPTY_WRAPPER;
 		
@@ -0,0 +1,141 @@
+package org.webpieces.data.impl;
+
+import java.nio.charset.Charset;
+import java.util.List;
+
+import org.webpieces.data.api.DataWrapper;
+
+/**
+ * A ChainedDataWrapper that remembers where each wrapper starts so readByteAt is a binary search instead of
+ * walking every wrapper and re-adding sizes.  Parsers reading a large chained body byte by byte are then
+ * O(n log n) instead of O(n^2) and reading the bytes in order hits the last wrapper found without searching.
+ * 
+ * Strings and byte[] that cross wrappers are copied once with readBytesAt rather than concatenated per wrapper
+ * so a multi-byte character split across two buffers also decodes correctly.
+ */
+public class IndexedChainedDataWrapper extends ChainedDataWrapper {
+
+	//ends[i] is the offset just past wrapper i, built on first read as wrappers are only added before then
+	private int[] ends;
+	//the wrapper found on the last lookup
+	private int lastIndex;
+
+	IndexedChainedDataWrapper(List<SliceableDataWrapper> wrappers) {
+		super(wrappers);
+	}
+
+	@Override
+	void addMoreData(DataWrapper secondData) {
+		super.addMoreData(secondData);
+		ends = null;
+		lastIndex = 0;
+	}
+
+	private int[] getEnds() {
+		if(ends == null) {
+			List<SliceableDataWrapper> wrappers = getWrappers();
+			int[] newEnds = new int[wrappers.size()];
+			int end = 0;
+			for(int i = 0; i < newEnds.length; i++) {
+				end += wrappers.get(i).getReadableSize();
+				newEnds[i] = end;
+			}
+			ends = newEnds;
+		}
+		return ends;
+	}
+
+	private int startOf(int index) {
+		if(index == 0)
+			return 0;
+		return getEnds()[index-1];
+	}
+
+	/**
+	 * @return the index of the wrapper holding offset which must be within 0 and size-1
+	 */
+	private int indexOf(int offset) {
+		int[] ends = getEnds();
+		if(offset >= startOf(lastIndex) && offset < ends[lastIndex])
+			return lastIndex;
+
+		int low = 0;
+		int high = ends.length - 1;
+		while(low < high) {
+			int mid = (low + high) >>> 1;
+			if(ends[mid] <= offset)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		lastIndex = low;
+		return low;
+	}
+
+	private void checkBounds(int offset, int length) {
+		if(offset < 0 || length < 0 || offset + length > getReadableSize())
+			throw new IndexOutOfBoundsException("offset="+offset+" length="+length+" is out of bounds of size="+getReadableSize());
+	}
+
+	@Override
+	public int getReadableSize() {
+		int[] ends = getEnds();
+		if(ends.length == 0)
+			return 0;
+		return ends[ends.length-1];
+	}
+
+	@Override
+	public byte readByteAt(int i) {
+		checkBounds(i, 1);
+		int index = indexOf(i);
+		return getWrappers().get(index).readByteAt(i - startOf(index));
+	}
+
+	@Override
+	public void readBytesAt(int offset, byte[] dest, int destOffset, int length) {
+		checkBounds(offset, length);
+		if(length == 0)
+			return;
+
+		List<SliceableDataWrapper> wrappers = getWrappers();
+		int[] ends = getEnds();
+		int index = indexOf(offset);
+		int position = offset;
+		int end = offset + length;
+		while(position < end) {
+			int toRead = Math.min(ends[index], end) - position;
+			wrappers.get(index).readBytesAt(position - startOf(index), dest, destOffset, toRead);
+			destOffset += toRead;
+			position += toRead;
+			index++;
+		}
+	}
+
+	@Override
+	public String createStringFrom(int offset, int length, Charset charSet) {
+		checkBounds(offset, length);
+		if(length == 0)
+			return "";
+
+		int index = indexOf(offset);
+		if(offset + length <= getEnds()[index])
+			return getWrappers().get(index).createStringFrom(offset - startOf(index), length, charSet);
+
+		byte[] bytes = new byte[length];
+		readBytesAt(offset, bytes, 0, length);
+		return new String(bytes, charSet);
+	}
+
+	@Override
+	public byte[] createByteArray() {
+		byte[] copy = new byte[getReadableSize()];
+		readBytesAt(0, copy, 0, copy.length);
+		return copy;
+	}
+
+	@Override
+	public String toString() {
+		return "IndexedChainedData[size="+getReadableSize()+"  containers=" + getWrappers() + "]";
+	}
+}
@@ -0,0 +1,71 @@
+package org.webpieces.data.impl;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The shared(between all threads) free list for ONE buffer size.  Thread caches overflow into here on
+ * release and refill from here when they run dry.  Buffers released on one thread(ie. the session
+ * threads that consume socket data) are then picked up by another(ie. the selector thread reading more)
+ */
+public class SizeClassDepot {
+
+	private final int bufferSize;
+	private final boolean isDirect;
+	private final ConcurrentLinkedQueue<ByteBuffer> freeBuffers = new ConcurrentLinkedQueue<>();
+	//a rough counter...doesn't need to be too accurate..
+	private final AtomicInteger size = new AtomicInteger();
+	private volatile int maxBuffers;
+
+	public SizeClassDepot(int bufferSize, boolean isDirect, int maxBuffers) {
+		this.bufferSize = bufferSize;
+		this.isDirect = isDirect;
+		this.maxBuffers = maxBuffers;
+	}
+
+	/**
+	 * @return a pooled buffer or null if the depot is empty
+	 */
+	public ByteBuffer poll() {
+		ByteBuffer buffer = freeBuffers.poll();
+		if(buffer != null)
+			size.decrementAndGet();
+		return buffer;
+	}
+
+	/**
+	 * @return false if the depot is full and the buffer was discarded to the garbage collector
+	 */
+	public boolean offer(ByteBuffer buffer) {
+		if(size.incrementAndGet() > maxBuffers) {
+			size.decrementAndGet();
+			return false;
+		}
+		freeBuffers.add(buffer);
+		return true;
+	}
+
+	public ByteBuffer allocate() {
+		if(isDirect)
+			return ByteBuffer.allocateDirect(bufferSize);
+		return ByteBuffer.allocate(bufferSize);
+	}
+
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+	public int getSize() {
+		return size.get();
+	}
+
+	public int getMaxBuffers() {
+		return maxBuffers;
+	}
+
+	public void setMaxBuffers(int maxBuffers) {
+		this.maxBuffers = maxBuffers;
+	}
+
+}
@@ -0,0 +1,291 @@
+package org.webpieces.data.impl;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * All the direct memory for ONE chunk size.  Memory is allocated a slab(many chunks) at a time and
+ * each chunk is a slice of a slab so we make very few allocateDirect calls(which are slow and are
+ * only given back to the OS when the GC gets around to it).
+ *
+ * Every chunk that is checked out is tracked with a WeakReference.  If the client drops the chunk
+ * without releasing it, the GC enqueues the reference and we count the leak(and log it with the stack of
+ * whoever allocated it if stacks are turned on).  Slices and duplicates of the chunk(DataWrappers, queued
+ * writes) point at the slab, not at the chunk object, so they may still be using that memory and the chunk
+ * can't be handed out again.  Instead the whole slab is retired.  We drop every reference we have to it
+ * and it's chunks go back to no one, so once the last chunk and view of it is unreachable the GC frees the
+ * slab and a new slab may be allocated in it's place.  Memory is never reused while something can reach it.
+ *
+ * Most of the pipeline never releases buffers so leaks are logged at most once per LEAK_LOG_INTERVAL_MS
+ * with a count of how many were collected since the last log.
+ */
+public class SlabSizeClass {
+
+	private static final Logger log = LoggerFactory.getLogger(SlabSizeClass.class);
+	private static final long LEAK_LOG_INTERVAL_MS = 60_000;
+
+	private final String id;
+	private final int chunkSize;
+	private final int chunksPerSlab;
+	private final int maxSlabs;
+	//only weakly referenced as views of a chunk keep the slab alive(and free chunks are slices of it)
+	private final List<Slab> slabs = new ArrayList<>();
+	private final ReferenceQueue<ByteBuffer> collectedSlabs = new ReferenceQueue<>();
+	private final ConcurrentLinkedQueue<Slot> freeSlots = new ConcurrentLinkedQueue<>();
+	//a rough counter...doesn't need to be too accurate..
+	private final AtomicInteger freeCount = new AtomicInteger();
+	private final ConcurrentHashMap<Object, CheckedOut> checkedOut = new ConcurrentHashMap<>();
+	private final ReferenceQueue<ByteBuffer> leaked = new ReferenceQueue<>();
+	private final AtomicInteger leakCount = new AtomicInteger();
+	private final AtomicInteger leaksSinceLog = new AtomicInteger();
+	private final AtomicLong nextLeakLogTime = new AtomicLong();
+	private volatile int numSlabs;
+
+	public SlabSizeClass(String id, int chunkSize, int chunksPerSlab, int maxSlabs) {
+		this.id = id;
+		this.chunkSize = chunkSize;
+		this.chunksPerSlab = chunksPerSlab;
+		this.maxSlabs = maxSlabs;
+	}
+
+	/**
+	 * @return a chunk or null if there is nothing free and we hit maxSlabs
+	 */
+	public ByteBuffer checkout(boolean recordStack) {
+		countLeaks();
+		removeCollectedSlabs();
+
+		Slot slot = pollFree();
+		if(slot == null) {
+			if(!addSlab())
+				return null;
+			slot = pollFree();
+			if(slot == null)
+				return null; //other threads took the whole new slab
+		}
+
+		ByteBuffer buffer = slot.buffer;
+		slot.buffer = null; //only the client holds it now so the GC can tell us if they lose it
+		Throwable allocatedAt = null;
+		if(recordStack)
+			allocatedAt = new Throwable("Buffer allocated here was never released to "+id);
+		CheckedOut tracker = new CheckedOut(buffer, leaked, slot, allocatedAt);
+		checkedOut.put(tracker, tracker);
+		return buffer;
+	}
+
+	/**
+	 * @return false if this buffer is not one of our chunks
+	 */
+	public boolean release(ByteBuffer buffer) {
+		if(buffer.capacity() != chunkSize)
+			return false;
+
+		CheckedOut tracker = checkedOut.remove(new Lookup(buffer));
+		if(tracker == null)
+			return false;
+		tracker.clear();
+
+		buffer.clear();
+		Slot slot = tracker.slot;
+		if(slot.slab.retired)
+			return true; //dropped so the GC can free the slab once nothing else uses it
+		slot.buffer = buffer;
+		freeSlots.add(slot);
+		freeCount.incrementAndGet();
+		return true;
+	}
+
+	private Slot pollFree() {
+		Slot slot;
+		while((slot = freeSlots.poll()) != null) {
+			freeCount.decrementAndGet();
+			if(!slot.slab.retired)
+				return slot;
+			slot.buffer = null; //retired after this slot was freed
+		}
+		return null;
+	}
+
+	private void countLeaks() {
+		CheckedOut tracker;
+		while((tracker = (CheckedOut) leaked.poll()) != null) {
+			if(checkedOut.remove(tracker) == null)
+				continue; //it was released just before the GC got to it
+
+			//The slot is NOT put back in freeSlots.  Views of the chunk don't keep the chunk object alive so
+			//they may still be reading or writing that memory and another connection would corrupt it
+			retire(tracker.slot.slab);
+			leakCount.incrementAndGet();
+			leaksSinceLog.incrementAndGet();
+			logLeak(tracker);
+		}
+	}
+
+	private void retire(Slab slab) {
+		if(slab.retired)
+			return;
+		slab.retired = true;
+		//our free chunks are slices of the slab and would keep it alive forever
+		for(Slot slot : freeSlots) {
+			if(slot.slab == slab && freeSlots.remove(slot)) {
+				freeCount.decrementAndGet();
+				slot.buffer = null;
+			}
+		}
+	}
+
+	/**
+	 * retired slabs the GC freed no longer count towards maxSlabs
+	 */
+	private void removeCollectedSlabs() {
+		Slab slab;
+		while((slab = (Slab) collectedSlabs.poll()) != null) {
+			removeSlab(slab);
+		}
+	}
+
+	private synchronized void removeSlab(Slab slab) {
+		slabs.remove(slab);
+		numSlabs = slabs.size();
+	}
+
+	private void logLeak(CheckedOut tracker) {
+		long now = System.currentTimeMillis();
+		long nextLogTime = nextLeakLogTime.get();
+		if(now < nextLogTime || !nextLeakLogTime.compareAndSet(nextLogTime, now + LEAK_LOG_INTERVAL_MS))
+			return;
+
+		int count = leaksSinceLog.getAndSet(0);
+		String msg = "LEAK: "+count+" direct buffer(s) of size="+chunkSize+" were garbage collected without being released "
+				+ "since the last report(reported at most every "+LEAK_LOG_INTERVAL_MS+"ms).  total leaks="+leakCount.get();
+		if(tracker.allocatedAt != null)
+			log.error(msg, tracker.allocatedAt);
+		else
+			log.error(msg+".  Turn on debug logging for "+SlabSizeClass.class.getName()+" to see the stack that allocated it");
+	}
+
+	private synchronized boolean addSlab() {
+		if(!freeSlots.isEmpty())
+			return true; //someone else added a slab while we waited
+		else if(slabs.size() >= maxSlabs)
+			return false;
+
+		ByteBuffer memory = ByteBuffer.allocateDirect(chunkSize * chunksPerSlab);
+		Slab slab = new Slab(memory, collectedSlabs);
+		slabs.add(slab);
+		numSlabs = slabs.size();
+		for(int i = 0; i < chunksPerSlab; i++) {
+			Slot slot = new Slot(slab);
+			slot.buffer = slice(memory, i * chunkSize);
+			freeSlots.add(slot);
+			freeCount.incrementAndGet();
+		}
+		return true;
+	}
+
+	private ByteBuffer slice(ByteBuffer memory, int offset) {
+		ByteBuffer slab = memory.duplicate();
+		slab.position(offset);
+		slab.limit(offset + chunkSize);
+		return slab.slice();
+	}
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	public int getFreeCount() {
+		return freeCount.get();
+	}
+
+	public int getCheckedOutCount() {
+		return checkedOut.size();
+	}
+
+	public int getLeakCount() {
+		return leakCount.get();
+	}
+
+	public long getReservedBytes() {
+		return (long) numSlabs * chunksPerSlab * chunkSize;
+	}
+
+	/**
+	 * Cleared by the GC once no chunk or view of the slab's memory is reachable
+	 */
+	private static class Slab extends WeakReference<ByteBuffer> {
+		//a chunk leaked so none of it's chunks are handed out again
+		private volatile boolean retired;
+
+		public Slab(ByteBuffer memory, ReferenceQueue<ByteBuffer> queue) {
+			super(memory, queue);
+		}
+	}
+
+	private static class Slot {
+		private final Slab slab;
+		private volatile ByteBuffer buffer;
+
+		public Slot(Slab slab) {
+			this.slab = slab;
+		}
+	}
+
+	/**
+	 * ByteBuffer.equals/hashCode are based on content so every key in the checkedOut map is by identity
+	 */
+	private static class CheckedOut extends WeakReference<ByteBuffer> {
+		private final int hash;
+		private final Slot slot;
+		private final Throwable allocatedAt;
+
+		public CheckedOut(ByteBuffer buffer, ReferenceQueue<ByteBuffer> queue, Slot slot, Throwable allocatedAt) {
+			super(buffer, queue);
+			this.hash = System.identityHashCode(buffer);
+			this.slot = slot;
+			this.allocatedAt = allocatedAt;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return this == obj;
+		}
+	}
+
+	private static class Lookup {
+		private final ByteBuffer buffer;
+
+		public Lookup(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(buffer);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(!(obj instanceof CheckedOut))
+				return false;
+			return ((CheckedOut) obj).get() == buffer;
+		}
+	}
+
+}
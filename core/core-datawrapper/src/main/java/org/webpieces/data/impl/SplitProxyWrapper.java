@@ -49,12 +49,17 @@ public class SplitProxyWrapper extends SliceableDataWrapper  {
 		return wrapper.createStringFrom(newOffset, length, charSet);
 	}
 
+	@Override
+	public void readBytesAt(int offset, byte[] dest, int destOffset, int length) {
+		if(offset + length > this.length)
+			throw new IndexOutOfBoundsException("offset="+offset+" length="+length+" goes outside of view.length="+this.length);
+		wrapper.readBytesAt(this.offset + offset, dest, destOffset, length);
+	}
+
 	@Override
 	public byte[] createByteArray() {
 		byte[] copy = new byte[length];
-		for(int i = 0; i < copy.length; i++) {
-			copy[i] = readByteAt(i);
-		}
+		readBytesAt(0, copy, 0, length);
 		return copy;
 	}
 
@@ -34,6 +34,24 @@ public class TestByteBufferDataWrapper {
 		Assert.assertEquals("0123456789", str1);
 	}
 	
+	@Test
+	public void testReadBytesAtDoesNotTouchSharedBuffer() {
+		byte[] data = "0123456789".getBytes();
+		ByteBuffer buffer = ByteBuffer.wrap(data);
+		DataWrapper wrapper = dataGen.wrapByteBuffer(buffer);
+
+		//like another thread in the middle of a mark/position/reset read of the same cached buffer
+		buffer.mark();
+		buffer.position(5);
+		byte[] dest = new byte[4];
+		wrapper.readBytesAt(2, dest, 1, 3);
+		Assert.assertEquals(5, buffer.position());
+		buffer.reset();
+
+		Assert.assertEquals("234", new String(dest, 1, 3));
+		Assert.assertEquals(10, wrapper.getReadableSize());
+	}
+
 	@Test
 	public void testMultipleSlicing() {
 		byte[] data = "0123456789987654321".getBytes();
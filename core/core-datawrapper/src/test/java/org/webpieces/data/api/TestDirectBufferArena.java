@@ -0,0 +1,127 @@
+package org.webpieces.data.api;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class TestDirectBufferArena {
+
+	private DirectBufferArena arena;
+
+	@Before
+	public void setup() {
+		//one slab of one chunk per size so exhaustion is easy to hit
+		arena = new DirectBufferArena("test", new SimpleMeterRegistry(), new int[] {1024, 4096}, 1, 1, true);
+	}
+
+	@Test
+	public void testChunksAreDirectAndSized() {
+		ByteBuffer small = arena.nextBuffer(10);
+		ByteBuffer large = arena.nextBuffer(2000);
+		ByteBuffer oversize = arena.nextBuffer(10000);
+
+		Assert.assertTrue(small.isDirect());
+		Assert.assertEquals(1024, small.capacity());
+		Assert.assertEquals(4096, large.capacity());
+		Assert.assertTrue(oversize.isDirect());
+		Assert.assertEquals(10000, oversize.capacity());
+		Assert.assertEquals(2, arena.getCheckedOutCount());
+	}
+
+	@Test
+	public void testReleasedChunkIsReused() {
+		ByteBuffer first = arena.nextBuffer(10);
+		first.put((byte) 5).flip();
+		first.get();
+		arena.releaseBuffer(first);
+
+		ByteBuffer second = arena.nextBuffer(10);
+		Assert.assertSame(first, second);
+		Assert.assertEquals(0, second.position());
+		Assert.assertEquals(second.capacity(), second.limit());
+	}
+
+	@Test
+	public void testExhaustedFallsBackToUnpooled() {
+		ByteBuffer pooled = arena.nextBuffer(10);
+		ByteBuffer unpooled = arena.nextBuffer(10);
+		Assert.assertNotSame(pooled, unpooled);
+		Assert.assertTrue(unpooled.isDirect());
+
+		//unpooled buffers are not tracked so releasing is a no-op
+		arena.releaseBuffer(consumed(unpooled));
+		Assert.assertEquals(1, arena.getCheckedOutCount());
+		arena.releaseBuffer(consumed(pooled));
+		Assert.assertEquals(0, arena.getCheckedOutCount());
+	}
+
+	@Test
+	public void testHeapBufferIsNotPooled() {
+		arena.releaseBuffer(consumed(ByteBuffer.allocate(1024)));
+		Assert.assertEquals(0, arena.getCheckedOutCount());
+	}
+
+	@Test
+	public void testLeakedChunkIsReportedAndNeverReused() throws InterruptedException {
+		ByteBuffer view = leakOneBuffer();
+
+		for(int i = 0; i < 50 && arena.getLeakCount() == 0; i++) {
+			System.gc();
+			Thread.sleep(20);
+			//leaks are counted on checkout and the only chunk is leaked so these are unpooled
+			ByteBuffer buffer = arena.nextBuffer(10);
+			arena.releaseBuffer(consumed(buffer));
+		}
+
+		Assert.assertEquals(1, arena.getLeakCount());
+		Assert.assertEquals(0, arena.getCheckedOutCount());
+
+		//the slice still points at the leaked chunk's memory so the chunk must not be handed out again
+		ByteBuffer next = arena.nextBuffer(10);
+		next.put(0, (byte) 9);
+		Assert.assertEquals(7, view.get(0));
+		Assert.assertEquals(0, arena.getCheckedOutCount());
+	}
+
+	@Test
+	public void testLeakedSlabIsReplacedOnceCollected() throws InterruptedException {
+		leakOneBuffer(); //the slice is dropped too so nothing uses the slab anymore
+
+		boolean pooled = false;
+		for(int i = 0; i < 50 && !pooled; i++) {
+			System.gc();
+			Thread.sleep(20);
+			ByteBuffer buffer = arena.nextBuffer(10);
+			pooled = arena.getCheckedOutCount() == 1;
+			arena.releaseBuffer(consumed(buffer));
+		}
+
+		Assert.assertEquals(1, arena.getLeakCount());
+		Assert.assertTrue("a new slab should replace the collected one", pooled);
+	}
+
+	/**
+	 * @return a slice that is still using the chunk's memory after the chunk itself is garbage collected
+	 */
+	private ByteBuffer leakOneBuffer() {
+		ByteBuffer chunk = arena.nextBuffer(10);
+		chunk.put(0, (byte) 7);
+		return chunk.slice();
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testReleaseWithUnreadData() {
+		ByteBuffer buffer = arena.nextBuffer(10);
+		arena.releaseBuffer(buffer);
+	}
+
+	private ByteBuffer consumed(ByteBuffer buffer) {
+		buffer.position(buffer.limit());
+		return buffer;
+	}
+
+}
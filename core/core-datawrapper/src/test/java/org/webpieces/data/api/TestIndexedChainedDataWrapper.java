@@ -0,0 +1,113 @@
+package org.webpieces.data.api;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.webpieces.data.impl.IndexedChainedDataWrapper;
+
+public class TestIndexedChainedDataWrapper {
+
+	private DataWrapperGenerator dataGen = DataWrapperGeneratorFactory.createIndexedDataWrapperGenerator();
+	private Random random = new Random(7);
+
+	@Test
+	public void testReadsMatchOriginalBytes() {
+		byte[] expected = new byte[5000];
+		random.nextBytes(expected);
+		DataWrapper data = chainInPieces(expected);
+		Assert.assertTrue(data instanceof IndexedChainedDataWrapper);
+
+		Assert.assertEquals(expected.length, data.getReadableSize());
+		for(int i = 0; i < expected.length; i++) {
+			Assert.assertEquals(expected[i], data.readByteAt(i));
+		}
+		//out of order reads go through the binary search instead of the last wrapper found
+		for(int i = 0; i < 1000; i++) {
+			int index = random.nextInt(expected.length);
+			Assert.assertEquals(expected[index], data.readByteAt(index));
+		}
+		Assert.assertArrayEquals(expected, data.createByteArray());
+
+		byte[] dest = new byte[300];
+		data.readBytesAt(1234, dest, 10, 290);
+		for(int i = 0; i < 290; i++) {
+			Assert.assertEquals(expected[1234+i], dest[10+i]);
+		}
+	}
+
+	@Test
+	public void testStringAcrossWrappersWithMultiByteCharSplit() {
+		byte[] utf8 = "café ☃ snowman".getBytes(StandardCharsets.UTF_8);
+		//every byte is its own buffer so each multi-byte character is split
+		DataWrapper data = dataGen.emptyWrapper();
+		for(byte b : utf8) {
+			data = dataGen.chainDataWrappers(data, dataGen.wrapByteArray(new byte[] { b }));
+		}
+
+		Assert.assertEquals("café ☃ snowman", data.createStringFromUtf8(0, utf8.length));
+		Assert.assertEquals("snow", data.createStringFrom(utf8.length - 7, 4, StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testSplitAndChainStayIndexed() {
+		byte[] expected = new byte[2000];
+		random.nextBytes(expected);
+		DataWrapper data = chainInPieces(expected);
+
+		List<? extends DataWrapper> split = dataGen.split(data, 777);
+		Assert.assertTrue(split.get(1) instanceof IndexedChainedDataWrapper);
+		for(int i = 0; i < expected.length - 777; i++) {
+			Assert.assertEquals(expected[777+i], split.get(1).readByteAt(i));
+		}
+
+		DataWrapper rejoined = dataGen.chainDataWrappers(split.get(0), split.get(1));
+		Assert.assertArrayEquals(expected, rejoined.createByteArray());
+	}
+
+	@Test
+	public void testReadPastEndFails() {
+		DataWrapper data = chainInPieces(new byte[100]);
+		try {
+			data.readByteAt(100);
+			Assert.fail("Should have failed");
+		} catch(IndexOutOfBoundsException e) {
+		}
+	}
+
+	@Test
+	public void testByteBuffersAreViews() {
+		byte[] expected = new byte[1000];
+		random.nextBytes(expected);
+		DataWrapper data = chainInPieces(expected);
+
+		ByteBuffer[] buffers = data.createByteBuffers();
+		byte[] copy = new byte[expected.length];
+		int offset = 0;
+		for(ByteBuffer buffer : buffers) {
+			int size = buffer.remaining();
+			buffer.get(copy, offset, size);
+			offset += size;
+		}
+
+		Assert.assertArrayEquals(expected, copy);
+		//consuming the views did not consume the wrapper
+		Assert.assertArrayEquals(expected, data.createByteArray());
+	}
+
+	private DataWrapper chainInPieces(byte[] bytes) {
+		DataWrapper data = dataGen.emptyWrapper();
+		int offset = 0;
+		while(offset < bytes.length) {
+			int size = Math.min(1 + random.nextInt(50), bytes.length - offset);
+			byte[] piece = new byte[size];
+			System.arraycopy(bytes, offset, piece, 0, size);
+			data = dataGen.chainDataWrappers(data, dataGen.wrapByteArray(piece));
+			offset += size;
+		}
+		return data;
+	}
+}
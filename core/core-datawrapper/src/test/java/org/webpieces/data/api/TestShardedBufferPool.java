@@ -0,0 +1,73 @@
+package org.webpieces.data.api;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class TestShardedBufferPool {
+
+	private ShardedBufferPool pool = new ShardedBufferPool("test", new SimpleMeterRegistry(), false, new int[] {1024, 4096, 16384}, 2, 10);
+
+	@Test
+	public void testSmallestSizeClassThatFits() {
+		Assert.assertEquals(1024, pool.nextBuffer(4).capacity());
+		Assert.assertEquals(1024, pool.nextBuffer(1024).capacity());
+		Assert.assertEquals(4096, pool.nextBuffer(1025).capacity());
+		Assert.assertEquals(16384, pool.nextBuffer(16384).capacity());
+		Assert.assertEquals(20000, pool.nextBuffer(20000).capacity());
+	}
+
+	@Test
+	public void testReuseOnSameThread() {
+		ByteBuffer buffer = pool.nextBuffer(100);
+		pool.releaseBuffer(consumed(buffer));
+
+		ByteBuffer next = pool.nextBuffer(500);
+		Assert.assertSame(buffer, next);
+		Assert.assertEquals(0, next.position());
+		Assert.assertEquals(1024, next.limit());
+	}
+
+	@Test
+	public void testOverflowToDepotIsUsedByOtherThread() throws InterruptedException {
+		ByteBuffer b1 = consumed(pool.nextBuffer(2000));
+		ByteBuffer b2 = consumed(pool.nextBuffer(2000));
+		ByteBuffer b3 = consumed(pool.nextBuffer(2000));
+		//thread cache holds 2 so the 3rd goes to the shared depot
+		pool.releaseBuffer(b1);
+		pool.releaseBuffer(b2);
+		pool.releaseBuffer(b3);
+
+		AtomicReference<ByteBuffer> fromOtherThread = new AtomicReference<>();
+		Thread t = new Thread(() -> fromOtherThread.set(pool.nextBuffer(2000)));
+		t.start();
+		t.join();
+
+		Assert.assertSame(b3, fromOtherThread.get());
+	}
+
+	@Test
+	public void testForeignSizesAreNotPooled() {
+		ByteBuffer foreign = consumed(ByteBuffer.allocate(2000));
+		pool.releaseBuffer(foreign);
+
+		Assert.assertNotSame(foreign, pool.nextBuffer(2000));
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testReleaseWithUnreadData() {
+		ByteBuffer buffer = pool.nextBuffer(10);
+		buffer.put((byte) 1).flip();
+		pool.releaseBuffer(buffer);
+	}
+
+	private ByteBuffer consumed(ByteBuffer buffer) {
+		buffer.position(buffer.limit());
+		return buffer;
+	}
+
+}
@@ -0,0 +1,93 @@
+package org.webpieces.plugin.json;
+
+import java.io.IOException;
+
+import org.webpieces.util.exceptions.SneakyThrow;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * Reads json fed in pieces as it arrives(ie. DataFrames of a large upload) with jackson's non-blocking parser.
+ * Each piece is parsed into a TokenBuffer when fed so the caller can let go of the bytes right away and only
+ * the tokens are held until finish() creates the object.  Like the non-blocking parser, only UTF-8 is supported.
+ *
+ * Not thread safe.  Feed the pieces in order from one thread at a time.
+ */
+public class AsyncJsonReader<T> {
+
+	private final ObjectMapper mapper;
+	private final TokenReader<T> reader;
+	private final JsonParser parser;
+	private final ByteArrayFeeder feeder;
+	private final TokenBuffer tokens;
+	private long bytesFed;
+
+	public AsyncJsonReader(ObjectMapper mapper, TokenReader<T> reader) {
+		this.mapper = mapper;
+		this.reader = reader;
+		try {
+			this.parser = mapper.getFactory().createNonBlockingByteArrayParser();
+		} catch (IOException e) {
+			throw SneakyThrow.sneak(e);
+		}
+		this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+		this.tokens = new TokenBuffer(parser);
+	}
+
+	/**
+	 * Parses what it can of data.  data is not referenced once this returns so it can be reused or released
+	 */
+	public void feed(byte[] data, int offset, int length) {
+		if(length == 0)
+			return;
+		bytesFed += length;
+		try {
+			feeder.feedInput(data, offset, offset + length);
+			copyAvailableTokens();
+		} catch (JsonProcessingException e) {
+			throw new JsonReadException(e.getMessage(), e);
+		} catch (IOException e) {
+			throw SneakyThrow.sneak(e);
+		}
+	}
+
+	/**
+	 * @return the object read from all the json fed or null if nothing was fed(like readValue of an empty body)
+	 */
+	public T finish() {
+		try {
+			feeder.endOfInput();
+			copyAvailableTokens();
+			if(bytesFed == 0)
+				return null;
+
+			try (JsonParser tokenParser = tokens.asParser(mapper)) {
+				return reader.read(tokenParser);
+			}
+		} catch (JsonProcessingException e) {
+			throw new JsonReadException(e.getMessage(), e);
+		} catch (IOException e) {
+			throw SneakyThrow.sneak(e);
+		}
+	}
+
+	public long getBytesFed() {
+		return bytesFed;
+	}
+
+	private void copyAvailableTokens() throws IOException {
+		JsonToken token;
+		while((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+			tokens.copyCurrentEvent(parser);
+		}
+	}
+
+	public static interface TokenReader<T> {
+		public T read(JsonParser tokens) throws IOException;
+	}
+}
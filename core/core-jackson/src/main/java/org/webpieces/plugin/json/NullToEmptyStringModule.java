@@ -0,0 +1,215 @@
+package org.webpieces.plugin.json;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.webpieces.util.exceptions.SneakyThrow;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+
+/**
+ * Converts String bean properties while jackson (de)serializes each bean.  Once read, null becomes "" and
+ * everything else is trimmed.  Before writing, blank becomes null(so NON_NULL leaves it out) and everything
+ * else is trimmed.  Like the old reflective pass, only properties with a public getter and setter are
+ * converted and the bean being written is modified.
+ *
+ * The properties of each type are found once when jackson creates the (de)serializer for it instead of
+ * looking up the methods of every object on every request.  The getter and setter are called through
+ * MethodHandles(created at the same time) so there is no Method.invoke access check per call.
+ */
+public class NullToEmptyStringModule extends SimpleModule {
+
+	private static final long serialVersionUID = 1L;
+
+	public NullToEmptyStringModule() {
+		super(NullToEmptyStringModule.class.getSimpleName());
+		setDeserializerModifier(new EmptyStringDeserializerModifier());
+		setSerializerModifier(new NullStringSerializerModifier());
+	}
+
+	private static Map<String, StringProperty> findStringProperties(BeanDescription beanDesc) {
+		Map<String, StringProperty> properties = new HashMap<>();
+		for(BeanPropertyDefinition definition : beanDesc.findProperties()) {
+			if(definition.getRawPrimaryType() != String.class)
+				continue;
+			AnnotatedMethod getter = definition.getGetter();
+			AnnotatedMethod setter = definition.getSetter();
+			if(isPublic(getter) && isPublic(setter))
+				properties.put(definition.getName(), new StringProperty(getter.getAnnotated(), setter.getAnnotated()));
+		}
+		return properties;
+	}
+
+	private static boolean isPublic(AnnotatedMethod method) {
+		return method != null && Modifier.isPublic(method.getModifiers())
+				&& Modifier.isPublic(method.getDeclaringClass().getModifiers());
+	}
+
+	private static class StringProperty {
+		private static final MethodType GETTER_TYPE = MethodType.methodType(String.class, Object.class);
+		private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, String.class);
+
+		//adapted to GETTER_TYPE and SETTER_TYPE so invokeExact works for any bean class
+		private final MethodHandle getter;
+		private final MethodHandle setter;
+
+		public StringProperty(Method getter, Method setter) {
+			try {
+				MethodHandles.Lookup lookup = MethodHandles.lookup();
+				this.getter = lookup.unreflect(getter).asType(GETTER_TYPE);
+				this.setter = lookup.unreflect(setter).asType(SETTER_TYPE);
+			} catch (IllegalAccessException e) {
+				throw SneakyThrow.sneak(e);
+			}
+		}
+
+		public void toEmptyString(Object bean) {
+			String value = get(bean);
+			if(value == null)
+				set(bean, "");
+			else
+				setIfChanged(bean, value, value.trim());
+		}
+
+		public void toNull(Object bean) {
+			String value = get(bean);
+			if(value == null)
+				return;
+			String trimmed = value.trim();
+			setIfChanged(bean, value, trimmed.isEmpty() ? null : trimmed);
+		}
+
+		private void setIfChanged(Object bean, String value, String newValue) {
+			//trim() returns the same instance when there is nothing to trim
+			if(newValue != value)
+				set(bean, newValue);
+		}
+
+		private String get(Object bean) {
+			try {
+				return (String) getter.invokeExact(bean);
+			} catch (Throwable e) {
+				throw SneakyThrow.sneak(e);
+			}
+		}
+
+		private void set(Object bean, String value) {
+			try {
+				setter.invokeExact(bean, value);
+			} catch (Throwable e) {
+				throw SneakyThrow.sneak(e);
+			}
+		}
+	}
+
+	private static class EmptyStringDeserializerModifier extends BeanDeserializerModifier {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config, BeanDescription beanDesc, JsonDeserializer<?> deserializer) {
+			Map<String, StringProperty> properties = findStringProperties(beanDesc);
+			if(properties.isEmpty())
+				return deserializer;
+			return new EmptyStringDeserializer(deserializer, new ArrayList<>(properties.values()));
+		}
+	}
+
+	private static class EmptyStringDeserializer extends DelegatingDeserializer {
+		private static final long serialVersionUID = 1L;
+		private final List<StringProperty> properties;
+
+		public EmptyStringDeserializer(JsonDeserializer<?> delegate, List<StringProperty> properties) {
+			super(delegate);
+			this.properties = properties;
+		}
+
+		@Override
+		protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+			return new EmptyStringDeserializer(newDelegatee, properties);
+		}
+
+		@Override
+		public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+			return convert(super.deserialize(p, ctxt));
+		}
+
+		@Override
+		public Object deserialize(JsonParser p, DeserializationContext ctxt, Object intoValue) throws IOException {
+			return convert(super.deserialize(p, ctxt, intoValue));
+		}
+
+		private Object convert(Object bean) {
+			if(bean == null)
+				return null;
+			for(StringProperty property : properties) {
+				property.toEmptyString(bean);
+			}
+			return bean;
+		}
+	}
+
+	private static class NullStringSerializerModifier extends BeanSerializerModifier {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc, List<BeanPropertyWriter> beanProperties) {
+			Map<String, StringProperty> properties = findStringProperties(beanDesc);
+			if(properties.isEmpty())
+				return beanProperties;
+
+			List<BeanPropertyWriter> writers = new ArrayList<>(beanProperties.size());
+			for(BeanPropertyWriter writer : beanProperties) {
+				StringProperty property = properties.get(writer.getName());
+				if(property == null)
+					writers.add(writer);
+				else
+					writers.add(new NullStringPropertyWriter(writer, property));
+			}
+			return writers;
+		}
+	}
+
+	private static class NullStringPropertyWriter extends BeanPropertyWriter {
+		private static final long serialVersionUID = 1L;
+		private final transient StringProperty property;
+
+		public NullStringPropertyWriter(BeanPropertyWriter base, StringProperty property) {
+			super(base);
+			this.property = property;
+		}
+
+		@Override
+		public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+			property.toNull(bean);
+			super.serializeAsField(bean, gen, prov);
+		}
+
+		@Override
+		public void serializeAsElement(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+			property.toNull(bean);
+			super.serializeAsElement(bean, gen, prov);
+		}
+	}
+}
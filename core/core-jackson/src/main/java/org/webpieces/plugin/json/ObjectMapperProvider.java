@@ -34,6 +34,7 @@ public class ObjectMapperProvider implements Provider<ObjectMapper> {
             mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
             mapper.configOverride(String.class)
                     .setSetterInfo(JsonSetter.Value.forValueNulls(Nulls.AS_EMPTY));
+            mapper.registerModule(new NullToEmptyStringModule());
         }
 
         return mapper;
@@ -0,0 +1,79 @@
+package org.webpieces.plugin.json;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.webpieces.mock.benchmark.Benchmark;
+import org.webpieces.plugin.json.TestJacksonJsonConverter.Person;
+
+/**
+ * Not a unit test.  Run main to see ns/op and bytes allocated/op(from the ThreadMXBean of this thread) for
+ * reading and writing a request sized bean with converting null to empty string on and off.  The difference
+ * between on and off is the cost of the conversion.  Write allocations include creating the bean written.
+ */
+public class JsonConverterBenchmark {
+
+	private static final int OPS_PER_ROUND = 50_000;
+	private static final Benchmark benchmark = new Benchmark(5, 10);
+
+	public static void main(String[] args) {
+		run("convert on", new JacksonJsonConverter(new ObjectMapperProvider(new ConverterConfig(true))));
+		run("convert off", new JacksonJsonConverter(new ObjectMapperProvider(new ConverterConfig(false))));
+	}
+
+	private static void run(String name, JacksonJsonConverter converter) {
+		byte[] json = converter.writeValueAsBytes(createPerson());
+		benchmark.measure(name+" read", "op", OPS_PER_ROUND, () -> readOnce(converter, json));
+		benchmark.measure(name+" write", "op", OPS_PER_ROUND, () -> writeOnce(converter));
+	}
+
+	private static Person createPerson() {
+		Person person = new Person();
+		person.setFirst(" Dean ");
+		person.setMiddle(null);
+		person.setLast("Hiller");
+		List<Person> friends = new ArrayList<>();
+		for(int i = 0; i < 10; i++) {
+			Person friend = new Person();
+			friend.setFirst("friend"+i);
+			friend.setLast("  ");
+			friends.add(friend);
+		}
+		person.setFriends(friends);
+		return person;
+	}
+
+	private static long readOnce(JacksonJsonConverter converter, byte[] json) {
+		int count = 0;
+		long start = System.nanoTime();
+		for(int i = 0; i < OPS_PER_ROUND; i++) {
+			Person person = converter.readValue(json, Person.class);
+			count += person.getFriends().size();
+		}
+		long time = System.nanoTime() - start;
+
+		if(count != OPS_PER_ROUND * 10)
+			throw new IllegalStateException("Bug, did not read every friend");
+		return time;
+	}
+
+	private static long writeOnce(JacksonJsonConverter converter) {
+		//new beans each time as writing trims the bean and the conversion would have nothing to do after the first
+		List<Person> people = new ArrayList<>();
+		for(int i = 0; i < OPS_PER_ROUND; i++) {
+			people.add(createPerson());
+		}
+
+		long size = 0;
+		long start = System.nanoTime();
+		for(Person person : people) {
+			size += converter.writeValueAsBytes(person).length;
+		}
+		long time = System.nanoTime() - start;
+
+		if(size == 0)
+			throw new IllegalStateException("Bug, nothing was written");
+		return time;
+	}
+
+}
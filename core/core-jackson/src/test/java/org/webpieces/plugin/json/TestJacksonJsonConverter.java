@@ -0,0 +1,96 @@
+package org.webpieces.plugin.json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestJacksonJsonConverter {
+
+	private JacksonJsonConverter converter = new JacksonJsonConverter(new ObjectMapperProvider(new ConverterConfig(true)));
+
+	@Test
+	public void testNullAndMissingStringsReadAsEmpty() {
+		Person person = converter.readValue("{\"first\":null,\"last\":\"  Smith \",\"friends\":[{\"first\":\"Bob\"}]}", Person.class);
+
+		Assert.assertEquals("", person.getFirst());
+		Assert.assertEquals("Smith", person.getLast());
+		Assert.assertEquals("", person.getMiddle());
+		Assert.assertEquals("Bob", person.getFriends().get(0).getFirst());
+		Assert.assertEquals("", person.getFriends().get(0).getLast());
+	}
+
+	@Test
+	public void testBlankStringsNotWritten() {
+		Person person = new Person();
+		person.setFirst(" Dean ");
+		person.setLast("   ");
+		Person friend = new Person();
+		friend.setMiddle("");
+		person.getFriends().add(friend);
+
+		String json = converter.writeValueAsString(person);
+
+		Assert.assertEquals("{\"first\":\"Dean\",\"friends\":[{\"friends\":[]}]}", json);
+		//same as before, the bean written is modified too
+		Assert.assertNull(person.getLast());
+	}
+
+	@Test
+	public void testStreamedReadConvertsStrings() {
+		byte[] json = "{\"first\":\" Dean\",\"last\":null}".getBytes(StandardCharsets.UTF_8);
+		AsyncJsonReader<Person> reader = converter.createAsyncReader(Person.class);
+		for(int i = 0; i < json.length; i++) {
+			reader.feed(json, i, 1);
+		}
+		Person person = reader.finish();
+
+		Assert.assertEquals("Dean", person.getFirst());
+		Assert.assertEquals("", person.getLast());
+		Assert.assertEquals("", person.getMiddle());
+	}
+
+	@Test
+	public void testNoConversionWhenTurnedOff() {
+		converter = new JacksonJsonConverter(new ObjectMapperProvider(new ConverterConfig(false)));
+		Person person = converter.readValue("{\"first\":null,\"last\":\" Smith \"}", Person.class);
+
+		Assert.assertNull(person.getFirst());
+		Assert.assertEquals(" Smith ", person.getLast());
+		Assert.assertNull(person.getMiddle());
+	}
+
+	public static class Person {
+		private String first;
+		private String middle;
+		private String last;
+		private List<Person> friends = new ArrayList<>();
+
+		public String getFirst() {
+			return first;
+		}
+		public void setFirst(String first) {
+			this.first = first;
+		}
+		public String getMiddle() {
+			return middle;
+		}
+		public void setMiddle(String middle) {
+			this.middle = middle;
+		}
+		public String getLast() {
+			return last;
+		}
+		public void setLast(String last) {
+			this.last = last;
+		}
+		public List<Person> getFriends() {
+			return friends;
+		}
+		public void setFriends(List<Person> friends) {
+			this.friends = friends;
+		}
+	}
+}
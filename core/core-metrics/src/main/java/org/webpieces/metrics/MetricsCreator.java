@@ -10,6 +10,7 @@ import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 
 /**
@@ -46,6 +47,28 @@ public class MetricsCreator {
 			    .register(metrics);
 	}
 
+	public static DistributionSummary createCountDistribution(MeterRegistry metrics, String name, String type) {
+		return DistributionSummary
+			    .builder(namePrefix+".count")
+			    .tag("name", name)
+			    .tag("type", type)
+			    .distributionStatisticBufferLength(1)
+				.distributionStatisticExpiry(Duration.ofMinutes(10))
+			    .publishPercentiles(0.5, 0.99)
+			    .register(metrics);
+	}
+
+	public static Timer createTimer(MeterRegistry metrics, String name, String type) {
+		return Timer
+			    .builder(namePrefix+".time")
+			    .tag("name", name)
+			    .tag("type", type)
+			    .distributionStatisticBufferLength(1)
+				.distributionStatisticExpiry(Duration.ofMinutes(10))
+			    .publishPercentiles(0.5, 0.99)
+			    .register(metrics);
+	}
+
 	public static <T> void createGauge(MeterRegistry metrics, String name, T obj, ToDoubleFunction<T> valueFunction) {
 		List<Tag> tags = new ArrayList<Tag>();
 		tags.add(Tag.of("name", name));
@@ -0,0 +1,64 @@
+package org.webpieces.mock.benchmark;
+
+import java.lang.management.ManagementFactory;
+
+import org.webpieces.util.exceptions.SneakyThrow;
+
+/**
+ * A small harness for the *Benchmark main classes in the test folders(they are not unit tests).  Each measure
+ * runs warmup rounds so the JIT compiles the code under test, then the measured rounds, and prints ns/op and
+ * bytes allocated/op.  Bytes come from the ThreadMXBean of this thread so it includes everything the round
+ * allocates, even setup the round does not time.
+ *
+ * This is good enough to compare two implementations in the same run.  It is not JMH so don't trust small
+ * differences or compare numbers across machines.
+ */
+public class Benchmark {
+
+	private final int warmupRounds;
+	private final int measuredRounds;
+	private final com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	public Benchmark(int warmupRounds, int measuredRounds) {
+		this.warmupRounds = warmupRounds;
+		this.measuredRounds = measuredRounds;
+	}
+
+	/**
+	 * @param opName what one op is for the output like request which prints ns/request
+	 * @param opsPerRound how many ops each run of the round does
+	 */
+	public void measure(String name, String opName, long opsPerRound, Round round) {
+		try {
+			measureImpl(name, opName, opsPerRound, round);
+		} catch (Exception e) {
+			throw SneakyThrow.sneak(e);
+		}
+	}
+
+	private void measureImpl(String name, String opName, long opsPerRound, Round round) throws Exception {
+		for(int i = 0; i < warmupRounds; i++) {
+			round.run();
+		}
+
+		long threadId = Thread.currentThread().getId();
+		long bytesBefore = threadBean.getThreadAllocatedBytes(threadId);
+
+		long totalNanos = 0;
+		for(int i = 0; i < measuredRounds; i++) {
+			totalNanos += round.run();
+		}
+
+		long bytesAllocated = threadBean.getThreadAllocatedBytes(threadId) - bytesBefore;
+		long total = opsPerRound * measuredRounds;
+		System.out.println(String.format("%-24s ns/%s=%,.1f bytes/%s=%,.1f", name, opName, totalNanos / (double)total,
+				opName, bytesAllocated / (double)total));
+	}
+
+	public interface Round {
+		/**
+		 * @return nanoseconds the ops took so setup in the round is not timed
+		 */
+		long run() throws Exception;
+	}
+}
@@ -1,5 +1,7 @@
 package org.webpieces.ssl.api;
 
+import java.util.concurrent.Executor;
+
 import javax.net.ssl.SSLEngine;
 
 import org.webpieces.data.api.BufferPool;
@@ -23,6 +25,24 @@ public class AsyncSSLFactory {
 		//instance...
 		return new AsyncSSLEngine3Impl(loggingId, engine, pool, listener, metrics);
 	}
+
+	/**
+	 * Same as above except delegated tasks(the expensive key exchange crypto of a handshake) run on handshakeExecutor
+	 * instead of the thread feeding in data so a storm of handshakes does not stall every other connection on that
+	 * thread.  Use a bounded executor.  If it rejects a task, the task runs on the thread feeding in data.
+	 */
+	public static AsyncSSLEngine create(String loggingId, SSLEngine engine, BufferPool pool, SslListener listener, SSLMetrics metrics, Executor handshakeExecutor) {
+		return new AsyncSSLEngine3Impl(loggingId, engine, pool, listener, metrics, handshakeExecutor);
+	}
+
+	/**
+	 * Same as above and if releaseBuffersWhenIdle is true, once the data fed in is processed the engine holds no
+	 * pooled buffers, only a copy of any partial record.  This costs a copy of that partial record but with many
+	 * mostly idle connections, each holds a few bytes instead of a 17k+ buffer.
+	 */
+	public static AsyncSSLEngine create(String loggingId, SSLEngine engine, BufferPool pool, SslListener listener, SSLMetrics metrics, Executor handshakeExecutor, boolean releaseBuffersWhenIdle) {
+		return new AsyncSSLEngine3Impl(loggingId, engine, pool, listener, metrics, handshakeExecutor, releaseBuffersWhenIdle);
+	}
 	
 	public static SSLParser create(String logId, SSLEngine engine, BufferPool pool, SSLMetrics metrics) {
 		return new SSLParserImpl(logId, engine, pool, metrics);
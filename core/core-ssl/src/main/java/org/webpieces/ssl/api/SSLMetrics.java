@@ -1,10 +1,14 @@
 package org.webpieces.ssl.api;
 
+import java.util.concurrent.TimeUnit;
+
 import org.webpieces.metrics.MetricsCreator;
 import org.webpieces.util.acking.AckMetrics;
 
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 public class SSLMetrics {
 
@@ -12,9 +16,19 @@ public class SSLMetrics {
 	private DistributionSummary toSocket;
 	private DistributionSummary fromClient;
 	private DistributionSummary toClient;
+	private DistributionSummary idleRetained;
 	private AckMetrics decryptionAckMetrics;
 	private AckMetrics encryptionAckMetrics;
 
+	private Timer handshakeTime;
+	private Timer handshakeTaskTime;
+	private Timer handshakeTaskWait;
+	private Counter handshakeTaskQueued;
+	private Counter handshakeTaskStarted;
+	private Counter handshakeTaskRejected;
+	private Counter handshakeResumed;
+	private Counter handshakeFull;
+
 	public SSLMetrics(String name, MeterRegistry metrics) {
 		//tags are MUCH cheaper(0) in some clouds than adding a new metric so metric names 
 		//AND instead use tags to separate it out
@@ -22,9 +36,26 @@ public class SSLMetrics {
 		toSocket = MetricsCreator.createSizeDistribution(metrics, name, "ssl", "tosocket");
 		fromClient = MetricsCreator.createSizeDistribution(metrics, name, "ssl", "fromclient");
 		toClient = MetricsCreator.createSizeDistribution(metrics, name, "ssl", "toClient");
+		//buffer bytes a connection holds between reads(ie. while idle)
+		idleRetained = MetricsCreator.createSizeDistribution(metrics, name, "ssl", "idleRetained");
 
 		decryptionAckMetrics = new AckMetrics(metrics, name+".ssl.decryption");
 		encryptionAckMetrics = new AckMetrics(metrics, name+".ssl.encryption");
+
+		//handshake is from the first handshake packet until connected.  The task times are for the delegated
+		//tasks(key exchange crypto) and how long they waited for a thread when run on a handshake executor
+		handshakeTime = MetricsCreator.createTimer(metrics, name, "sslHandshake");
+		handshakeTaskTime = MetricsCreator.createTimer(metrics, name, "sslHandshakeTask");
+		handshakeTaskWait = MetricsCreator.createTimer(metrics, name, "sslHandshakeTaskWait");
+		//the depth is from counters as those are shared by every SSLMetrics of the same name while only the
+		//first gauge of a name is registered
+		handshakeTaskQueued = MetricsCreator.createCounter(metrics, name, "sslHandshakeTaskQueued", false);
+		handshakeTaskStarted = MetricsCreator.createCounter(metrics, name, "sslHandshakeTaskStarted", false);
+		handshakeTaskRejected = MetricsCreator.createCounter(metrics, name, "sslHandshakeTaskRejected", false);
+		MetricsCreator.createGauge(metrics, name+".ssl.handshakeQueue", this, SSLMetrics::getHandshakeQueueDepth);
+		//resumed/(resumed+full) is the resumption rate.  Only full handshakes pay for the key exchange
+		handshakeResumed = MetricsCreator.createCounter(metrics, name, "sslHandshakeResumed", false);
+		handshakeFull = MetricsCreator.createCounter(metrics, name, "sslHandshakeFull", false);
 	}
 
 	public void recordEncryptedBytesFromSocket(int remaining) {
@@ -43,6 +74,58 @@ public class SSLMetrics {
 		fromClient.record(remaining);
 	}
 
+	public void recordIdleRetainedBytes(int bytes) {
+		idleRetained.record(bytes);
+	}
+
+	public void recordHandshakeTime(long nanos) {
+		handshakeTime.record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	public void recordHandshakeTaskTime(long nanos) {
+		handshakeTaskTime.record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	public void recordHandshakeTaskQueued() {
+		handshakeTaskQueued.increment();
+	}
+
+	public void recordHandshakeTaskStarted(long nanosWaiting) {
+		handshakeTaskStarted.increment();
+		handshakeTaskWait.record(nanosWaiting, TimeUnit.NANOSECONDS);
+	}
+
+	public void recordHandshakeTaskRejected() {
+		handshakeTaskRejected.increment();
+	}
+
+	public void recordHandshakeResumed(boolean resumed) {
+		if(resumed)
+			handshakeResumed.increment();
+		else
+			handshakeFull.increment();
+	}
+
+	public int getHandshakeQueueDepth() {
+		return (int) (handshakeTaskQueued.count() - handshakeTaskStarted.count() - handshakeTaskRejected.count());
+	}
+
+	public long getHandshakeCount() {
+		return handshakeTime.count();
+	}
+
+	public long getHandshakeTaskCount() {
+		return handshakeTaskTime.count();
+	}
+
+	public double getResumedHandshakes() {
+		return handshakeResumed.count();
+	}
+
+	public double getFullHandshakes() {
+		return handshakeFull.count();
+	}
+
 	public AckMetrics getEncryptionAckMetrics() {
 		return encryptionAckMetrics;
 	}
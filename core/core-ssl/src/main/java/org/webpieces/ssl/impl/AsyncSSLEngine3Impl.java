@@ -5,6 +5,8 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import org.webpieces.util.futures.XFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.net.ssl.SSLEngine;
@@ -44,8 +46,29 @@ public class AsyncSSLEngine3Impl implements AsyncSSLEngine {
 
 	private SSLMetrics metrics;
 	private EvictingQueue<Action> circularBuffer = EvictingQueue.create(64);
-	
+
+	//null runs delegated tasks(the expensive RSA/ECDHE work) inline on the thread that fed us the data
+	private final Executor handshakeExecutor;
+	//while a delegated task runs on the handshakeExecutor, data fed to us is only cached.  Once it is done, work
+	//resumes on the handshake thread so this lock keeps that and the thread feeding us from using the engine at once
+	private final Object workLock = new Object();
+	private boolean taskRunning;
+	//when true, a partial record left over after processing is copied to a buffer of it's size and the pooled
+	//buffer released so an idle connection retains only those bytes
+	private final boolean releaseBuffersWhenIdle;
+	private long handshakeStartNanos;
+	//wall clock as that is what SSLSession.getCreationTime() uses
+	private long handshakeStartMillis;
+
 	public AsyncSSLEngine3Impl(String loggingId, SSLEngine engine, BufferPool pool, SslListener listener, SSLMetrics metrics) {
+		this(loggingId, engine, pool, listener, metrics, null);
+	}
+
+	public AsyncSSLEngine3Impl(String loggingId, SSLEngine engine, BufferPool pool, SslListener listener, SSLMetrics metrics, Executor handshakeExecutor) {
+		this(loggingId, engine, pool, listener, metrics, handshakeExecutor, false);
+	}
+
+	public AsyncSSLEngine3Impl(String loggingId, SSLEngine engine, BufferPool pool, SslListener listener, SSLMetrics metrics, Executor handshakeExecutor, boolean releaseBuffersWhenIdle) {
 		log.info("CREATE async ssl engine");
 		if(listener == null)
 			throw new IllegalArgumentException("listener cannot be null");
@@ -54,8 +77,10 @@ public class AsyncSSLEngine3Impl implements AsyncSSLEngine {
 		this.metrics = metrics;
 		this.pool = pool;
 		this.listener = listener;
-		ByteBuffer cachedOutBuffer = pool.nextBuffer(engine.getSession().getApplicationBufferSize());
-		this.mem = new SslMementoImpl(loggingId, engine, cachedOutBuffer);
+		this.handshakeExecutor = handshakeExecutor;
+		this.releaseBuffersWhenIdle = releaseBuffersWhenIdle;
+		//each unwrap takes it's own out buffer from the pool so none is held for the life of the connection
+		this.mem = new SslMementoImpl(loggingId, engine, SslMementoImpl.EMPTY);
 	}
 	
 	@Override
@@ -64,20 +89,23 @@ public class AsyncSSLEngine3Impl implements AsyncSSLEngine {
 
 		circularBuffer.add(new Action(Thread.currentThread().getName(), ActionEnum.BEGIN_HANDSHAKE_START, sslEngine));
 		try {	
-			mem.compareSet(ConnectionState.NOT_STARTED, ConnectionState.CONNECTING);
-			
-			if(log.isTraceEnabled())
-				log.trace(mem+"start handshake");
-			try {
-				sslEngine.beginHandshake();
-			} catch (SSLException e) {
-				throw new AsyncSSLEngineException(e);
+			synchronized(workLock) {
+				if(mem.compareSet(ConnectionState.NOT_STARTED, ConnectionState.CONNECTING))
+					markHandshakeStart();
+				
+				if(log.isTraceEnabled())
+					log.trace(mem+"start handshake");
+				try {
+					sslEngine.beginHandshake();
+				} catch (SSLException e) {
+					throw new AsyncSSLEngineException(e);
+				}
+		
+				if(sslEngine.getHandshakeStatus() != HandshakeStatus.NEED_WRAP)
+					throw new IllegalStateException("Dude, WTF, after beginHandshake, SSLEngine has to be NEED WRAP to send first hello message");
+		
+				return doHandshakeLoop();
 			}
-	
-			if(sslEngine.getHandshakeStatus() != HandshakeStatus.NEED_WRAP)
-				throw new IllegalStateException("Dude, WTF, after beginHandshake, SSLEngine has to be NEED WRAP to send first hello message");
-	
-			return doHandshakeLoop();
 		} finally {
 			circularBuffer.add(new Action(Thread.currentThread().getName(), ActionEnum.BEGIN_HANDSHAKE_END, sslEngine));
 		}
@@ -92,18 +120,24 @@ public class AsyncSSLEngine3Impl implements AsyncSSLEngine {
 			metrics.recordEncryptedBytesFromSocket(encryptedInData.remaining());
 			XFuture<Void> future = decryptionTracker.addBytesToTrack(encryptedInData.remaining());
 	
-			ByteBuffer cached = mem.getCachedToProcess();
-			ByteBuffer newEncryptedData = combine(cached, encryptedInData);
-			mem.setCachedEncryptedData(newEncryptedData);
-	
-			boolean justStarted = mem.compareSet(ConnectionState.NOT_STARTED, ConnectionState.CONNECTING);
-	
-	
-			//This is a bit complex to allow backpressure through the SSL Layer.  If not enough XFutures
-			//are resolved, the lower layers turn off the socket(deregister from selector) until quite a few are
-			//resolved and we catch up.  This prevents the server from tanking under load ;).  Yes, it's pretty
-			//fucking sick!!!  well, that's my opinion since I had fun adding shit that you'll never know about.
-			doWork(justStarted);
+			synchronized(workLock) {
+				ByteBuffer cached = mem.getCachedToProcess();
+				ByteBuffer newEncryptedData = combine(cached, encryptedInData);
+				mem.setCachedEncryptedData(newEncryptedData);
+		
+				boolean justStarted = mem.compareSet(ConnectionState.NOT_STARTED, ConnectionState.CONNECTING);
+				if(justStarted)
+					markHandshakeStart();
+		
+				//This is a bit complex to allow backpressure through the SSL Layer.  If not enough XFutures
+				//are resolved, the lower layers turn off the socket(deregister from selector) until quite a few are
+				//resolved and we catch up.  This prevents the server from tanking under load ;).  Yes, it's pretty
+				//fucking sick!!!  well, that's my opinion since I had fun adding shit that you'll never know about.
+				//
+				//If a delegated task is running, this does nothing and the data is processed once the task is done
+				doWork(justStarted);
+				releaseIdleBuffers();
+			}
 	
 			return future;
 		} finally {
@@ -133,7 +167,7 @@ public class AsyncSSLEngine3Impl implements AsyncSSLEngine {
 
 		//keep doing work NEED_UNWRAP, NEED_WRAP, NEED_TASK until all done and return all the futures as one
 		//When all futures are done, they will ack this one message that came in
-		while(true && !sslEngineIsFarting) {
+		while(!sslEngineIsFarting && !taskRunning) {
 			HandshakeStatus hsStatus = engine.getHandshakeStatus();
 
 			if(needUnwrap(justStarted, hsStatus)) {
@@ -150,6 +184,26 @@ public class AsyncSSLEngine3Impl implements AsyncSSLEngine {
 		sslEngineIsFarting = false; //it's done farting
 	}
 
+	/**
+	 * Called with the workLock held once everything fed in so far is processed.  Until more data arrives, the
+	 * only buffer held is the cached partial record which otherwise is a pooled buffer of 17k+
+	 */
+	private void releaseIdleBuffers() {
+		if(taskRunning)
+			return; //not idle, the cached data is processed once the task is done
+
+		ByteBuffer cached = mem.getCachedToProcess();
+		if(releaseBuffersWhenIdle && cached.capacity() > cached.remaining()) {
+			ByteBuffer exactSize = ByteBuffer.allocate(cached.remaining());
+			exactSize.put(cached);
+			exactSize.flip();
+			pool.releaseBuffer(cached);
+			mem.setCachedEncryptedData(exactSize);
+			cached = exactSize;
+		}
+		metrics.recordIdleRetainedBytes(cached.capacity());
+	}
+
 	private boolean needUnwrap(boolean justStarted, HandshakeStatus hsStatus) {
 		//1. When engine starts and other end begins handshake, we are in NOT_HANDSHAKING and need to unwrap.
 		//2. AFTER handshake, we are in the NOT_HANDSHAKING state and need to unwrap on encrypted data coming in		
@@ -169,7 +223,7 @@ public class AsyncSSLEngine3Impl implements AsyncSSLEngine {
 
 				log.error("How can r be null. actions="+s, new RuntimeException("need task was the status but r="+r+" new state="+engine.getHandshakeStatus()));
 			} else {
-				r.run(); 
+				return runDelegatedTask(r);
 			}
 			
 			return XFuture.completedFuture(null);
@@ -180,6 +234,58 @@ public class AsyncSSLEngine3Impl implements AsyncSSLEngine {
 		throw new UnsupportedOperationException("need to support state="+hsStatus+" circularbuffer="+circularBuffer);
 	}
 
+	private XFuture<Void> runDelegatedTask(Runnable task) {
+		if(handshakeExecutor == null) {
+			runAndRecord(task);
+			return XFuture.completedFuture(null);
+		}
+
+		XFuture<Void> future = new XFuture<>();
+		long queuedAt = System.nanoTime();
+		taskRunning = true;
+		metrics.recordHandshakeTaskQueued();
+		try {
+			handshakeExecutor.execute(() -> {
+				metrics.recordHandshakeTaskStarted(System.nanoTime() - queuedAt);
+				resumeAfterTask(task, future);
+			});
+		} catch(RejectedExecutionException e) {
+			//the handshake pool is full so this connection does it's own handshake work on this thread
+			metrics.recordHandshakeTaskRejected();
+			taskRunning = false;
+			runAndRecord(task);
+			future.complete(null);
+		}
+		return future;
+	}
+
+	private void resumeAfterTask(Runnable task, XFuture<Void> future) {
+		try {
+			runAndRecord(task);
+			synchronized(workLock) {
+				taskRunning = false;
+				//continue the handshake and process anything fed to us while the task ran
+				doWork(false);
+				releaseIdleBuffers();
+			}
+			future.complete(null);
+		} catch(Throwable e) {
+			//nothing up the stack is waiting on this thread so close as feedEncryptedPacket throwing would have
+			log.error(mem+"Exception continuing handshake after delegated task", e);
+			future.completeExceptionally(e);
+			if(fireClosed.compareAndSet(false, true)) {
+				mem.compareSet(ConnectionState.CONNECTING, ConnectionState.DISCONNECTED);
+				listener.closed(false);
+			}
+		}
+	}
+
+	private void runAndRecord(Runnable task) {
+		long start = System.nanoTime();
+		task.run();
+		metrics.recordHandshakeTaskTime(System.nanoTime() - start);
+	}
+
 	private List<String> createActionStr() {
 		List<Action> actions = new ArrayList<>();
 		circularBuffer.forEach((action) -> actions.add(action));
@@ -365,7 +471,7 @@ public class AsyncSSLEngine3Impl implements AsyncSSLEngine {
 		HandshakeStatus hsStatus = engine.getHandshakeStatus();
 
 		List<XFuture<Void>> futures = new ArrayList<>();
-		while((hsStatus == HandshakeStatus.NEED_WRAP && !sslEngineIsFarting) || hsStatus == HandshakeStatus.NEED_TASK) {
+		while(!taskRunning && ((hsStatus == HandshakeStatus.NEED_WRAP && !sslEngineIsFarting) || hsStatus == HandshakeStatus.NEED_TASK)) {
 			XFuture<Void> future = doHandshakeWork();
 			futures.add(future);
 			hsStatus = engine.getHandshakeStatus();
@@ -481,9 +587,20 @@ public class AsyncSSLEngine3Impl implements AsyncSSLEngine {
 		}
 	}
 	
+	private void markHandshakeStart() {
+		handshakeStartNanos = System.nanoTime();
+		handshakeStartMillis = System.currentTimeMillis();
+	}
+
 	private void fireLinkEstablished() {
 		boolean shouldFire = fireConnected.compareAndSet(false, true);
 		if(shouldFire) {
+			if(handshakeStartNanos != 0) {
+				metrics.recordHandshakeTime(System.nanoTime() - handshakeStartNanos);
+				//a resumed session(from the session cache or a ticket) was created by an earlier handshake
+				long created = mem.getEngine().getSession().getCreationTime();
+				metrics.recordHandshakeResumed(created < handshakeStartMillis);
+			}
 			mem.compareSet(ConnectionState.CONNECTING, ConnectionState.CONNECTED);
 			listener.encryptedLinkEstablished();
 		}
@@ -567,23 +684,30 @@ public class AsyncSSLEngine3Impl implements AsyncSSLEngine {
 			return;
 		}
 		
-		mem.compareSet(ConnectionState.CONNECTED, ConnectionState.DISCONNECTING);
-		
-		SSLEngine engine = mem.getEngine();
-		engine.closeOutbound();
-		
-		HandshakeStatus status = engine.getHandshakeStatus();
-		switch (status) {
-			case NEED_WRAP:
-				doHandshakeLoop();
-				break;
-			case NOT_HANDSHAKING:
-				if(ConnectionState.DISCONNECTED != mem.getConnectionState() && ConnectionState.DISCONNECTING != mem.getConnectionState())
-					throw new IllegalStateException("state="+mem.getConnectionState()+" hsStatus="+status+" should not be able to occur");
-				break;
-			default:
-				//we WILL hit this and need to fix if other end closes...try closing both ends!!!
-				throw new RuntimeException(mem+"bug, status not handled in close="+status);
+		synchronized(workLock) {
+			mem.compareSet(ConnectionState.CONNECTED, ConnectionState.DISCONNECTING);
+			
+			SSLEngine engine = mem.getEngine();
+			engine.closeOutbound();
+			
+			HandshakeStatus status = engine.getHandshakeStatus();
+			switch (status) {
+				case NEED_WRAP:
+					doHandshakeLoop();
+					break;
+				case NOT_HANDSHAKING:
+					if(ConnectionState.DISCONNECTED != mem.getConnectionState() && ConnectionState.DISCONNECTING != mem.getConnectionState())
+						throw new IllegalStateException("state="+mem.getConnectionState()+" hsStatus="+status+" should not be able to occur");
+					break;
+				case NEED_TASK:
+					//the handshake thread sends the close once the delegated task it is running is done
+					if(taskRunning)
+						break;
+					throw new RuntimeException(mem+"bug, status not handled in close="+status);
+				default:
+					//we WILL hit this and need to fix if other end closes...try closing both ends!!!
+					throw new RuntimeException(mem+"bug, status not handled in close="+status);
+			}
 		}
 		
 		circularBuffer.add(new Action(Thread.currentThread().getName(), ActionEnum.CLOSE_END, sslEngine));
@@ -29,6 +29,13 @@ public class MockSSLEngineFactory {
 	}
 	
 	public SSLEngine createEngineForServerSocket()  throws GeneralSecurityException, IOException {
+		SSLEngine engine = createServerContext().createSSLEngine();
+		engine.setUseClientMode(false);
+		
+		return engine;
+	}
+
+	public SSLContext createServerContext() throws GeneralSecurityException, IOException {
 		// Create/initialize the SSLContext with key material
 
 		char[] passphrase = password.toCharArray();
@@ -44,13 +51,17 @@ public class MockSSLEngineFactory {
 		sslContext.init(kmf.getKeyManagers(), null, null);		
 		//****************Server side specific*********************
 		
-		SSLEngine engine = sslContext.createSSLEngine();
-		engine.setUseClientMode(false);
+		return sslContext;
+	}
+
+	public SSLEngine createEngineForSocket() throws GeneralSecurityException, IOException {
+		SSLEngine engine = createClientContext().createSSLEngine();
+		engine.setUseClientMode(true);
 		
 		return engine;
 	}
 
-	public SSLEngine createEngineForSocket() throws GeneralSecurityException, IOException {
+	public SSLContext createClientContext() throws GeneralSecurityException, IOException {
 		// Create/initialize the SSLContext with key material
 		char[] passphrase = password.toCharArray();
 		// First initialize the key and trust material.
@@ -65,10 +76,7 @@ public class MockSSLEngineFactory {
 		sslContext.init(null, tmf.getTrustManagers(), null);		
 		//****************Client side specific*********************
 		
-		SSLEngine engine = sslContext.createSSLEngine();
-		engine.setUseClientMode(true);
-		
-		return engine;
+		return sslContext;
 	}
 
 }
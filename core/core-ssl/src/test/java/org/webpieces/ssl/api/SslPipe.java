@@ -0,0 +1,106 @@
+package org.webpieces.ssl.api;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.LinkedList;
+import java.util.Queue;
+
+import javax.net.ssl.SSLEngine;
+
+import org.junit.Assert;
+import org.webpieces.data.api.BufferPool;
+import org.webpieces.util.exceptions.SneakyThrow;
+import org.webpieces.util.futures.XFuture;
+
+/**
+ * Connects a client and server AsyncSSLEngine in memory.  Unlike MockSslListener, every future completes right
+ * away and what one engine sends is queued so pumpUntilConnected can feed it to the other engine
+ */
+public class SslPipe {
+
+	public static SSLEngine createEngine(boolean server) {
+		try {
+			MockSSLEngineFactory sslEngineFactory = new MockSSLEngineFactory();
+			return tls12(server ? sslEngineFactory.createEngineForServerSocket() : sslEngineFactory.createEngineForSocket());
+		} catch (GeneralSecurityException | IOException e) {
+			throw SneakyThrow.sneak(e);
+		}
+	}
+
+	public static SSLEngine tls12(SSLEngine engine) {
+		//the test keystore does not work with TLSv1.3(see the jdk.tls properties in TestSplitBackpressure)
+		engine.setEnabledProtocols(new String[] {"TLSv1.2"});
+		return engine;
+	}
+
+	public static void pumpUntilConnected(AsyncSSLEngine client, PipeListener clientListener, AsyncSSLEngine svr, PipeListener svrListener) {
+		pumpUntilConnected(client, clientListener, svr, svrListener, () -> {});
+	}
+
+	/**
+	 * @param afterEachRound run after each packet is passed both ways like running queued handshake tasks
+	 */
+	public static void pumpUntilConnected(AsyncSSLEngine client, PipeListener clientListener, AsyncSSLEngine svr, PipeListener svrListener, Runnable afterEachRound) {
+		for(int i = 0; i < 50 && !(clientListener.connected && svrListener.connected); i++) {
+			ByteBuffer toSvr = clientListener.toSend.poll();
+			if(toSvr != null)
+				svr.feedEncryptedPacket(toSvr);
+			ByteBuffer toClient = svrListener.toSend.poll();
+			if(toClient != null)
+				client.feedEncryptedPacket(toClient);
+			afterEachRound.run();
+		}
+		Assert.assertTrue(clientListener.connected);
+		Assert.assertTrue(svrListener.connected);
+	}
+
+	public static class PipeListener implements SslListener {
+		public final Queue<ByteBuffer> toSend = new LinkedList<>();
+		public boolean connected;
+		//last decrypted packet
+		public String received;
+		private final BufferPool pool;
+
+		public PipeListener() {
+			this(null);
+		}
+
+		/**
+		 * @param pool if not null, decrypted buffers are released back to it
+		 */
+		public PipeListener(BufferPool pool) {
+			this.pool = pool;
+		}
+
+		@Override
+		public void encryptedLinkEstablished() {
+			connected = true;
+		}
+
+		@Override
+		public XFuture<Void> packetEncrypted(ByteBuffer engineToSocketData) {
+			toSend.add(engineToSocketData);
+			return XFuture.completedFuture(null);
+		}
+
+		@Override
+		public XFuture<Void> sendEncryptedHandshakeData(ByteBuffer engineToSocketData) {
+			toSend.add(engineToSocketData);
+			return XFuture.completedFuture(null);
+		}
+
+		@Override
+		public XFuture<Void> packetUnencrypted(ByteBuffer out) {
+			received = StandardCharsets.UTF_8.decode(out).toString();
+			if(pool != null)
+				pool.releaseBuffer(out);
+			return XFuture.completedFuture(null);
+		}
+
+		@Override
+		public void closed(boolean clientInitiated) {
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package org.webpieces.ssl.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.webpieces.data.api.BufferPool;
+import org.webpieces.data.api.TwoPools;
+import org.webpieces.ssl.api.SslPipe.PipeListener;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class TestHandshakeExecutor {
+
+	private SSLMetrics metrics = new SSLMetrics("", new SimpleMeterRegistry());
+	private BufferPool pool = new TwoPools("p1", new SimpleMeterRegistry());
+	//runs nothing until the test says so
+	private List<Runnable> handshakeTasks = new ArrayList<>();
+	private Executor handshakeExecutor = r -> handshakeTasks.add(r);
+	private PipeListener clientListener = new PipeListener();
+	private PipeListener svrListener = new PipeListener();
+	private AsyncSSLEngine clientEngine;
+	private AsyncSSLEngine svrEngine;
+
+	@Before
+	public void setup() {
+		clientEngine = AsyncSSLFactory.create("client", SslPipe.createEngine(false), pool, clientListener, metrics);
+		svrEngine = AsyncSSLFactory.create("svr", SslPipe.createEngine(true), pool, svrListener, metrics, handshakeExecutor);
+	}
+
+	@Test
+	public void testDelegatedTasksRunOnHandshakeExecutor() {
+		clientEngine.beginHandshake();
+		svrEngine.feedEncryptedPacket(clientListener.toSend.poll());
+
+		//the server stopped at the key exchange task and sent nothing
+		Assert.assertEquals(1, handshakeTasks.size());
+		Assert.assertEquals(1, metrics.getHandshakeQueueDepth());
+		Assert.assertTrue(svrListener.toSend.isEmpty());
+
+		runHandshakeTasks();
+		Assert.assertFalse(svrListener.toSend.isEmpty());
+		Assert.assertEquals(0, metrics.getHandshakeQueueDepth());
+
+		pumpUntilConnected();
+		Assert.assertEquals(2, metrics.getHandshakeCount());
+	}
+
+	@Test
+	public void testDataFedWhileTaskRunsIsProcessedAfter() {
+		clientEngine.beginHandshake();
+		svrEngine.feedEncryptedPacket(clientListener.toSend.poll());
+		runHandshakeTasks();
+		while(!svrListener.toSend.isEmpty()) {
+			clientEngine.feedEncryptedPacket(svrListener.toSend.poll());
+		}
+		//key exchange, change cipher spec and finished
+		Assert.assertEquals(3, clientListener.toSend.size());
+
+		svrEngine.feedEncryptedPacket(clientListener.toSend.poll());
+		Assert.assertEquals(1, handshakeTasks.size());
+		svrEngine.feedEncryptedPacket(clientListener.toSend.poll());
+		svrEngine.feedEncryptedPacket(clientListener.toSend.poll());
+		//only cached until the task is done
+		Assert.assertEquals(1, handshakeTasks.size());
+		Assert.assertTrue(svrListener.toSend.isEmpty());
+		Assert.assertFalse(svrListener.connected);
+
+		runHandshakeTasks();
+		Assert.assertTrue(svrListener.connected);
+		pumpUntilConnected();
+	}
+
+	@Test
+	public void testRejectedTaskRunsInline() {
+		svrEngine = AsyncSSLFactory.create("svr", SslPipe.createEngine(true), pool, svrListener, metrics, r -> {
+			throw new java.util.concurrent.RejectedExecutionException("full");
+		});
+
+		clientEngine.beginHandshake();
+		svrEngine.feedEncryptedPacket(clientListener.toSend.poll());
+
+		Assert.assertFalse(svrListener.toSend.isEmpty());
+		Assert.assertEquals(0, metrics.getHandshakeQueueDepth());
+		pumpUntilConnected();
+	}
+
+	private void runHandshakeTasks() {
+		while(!handshakeTasks.isEmpty()) {
+			handshakeTasks.remove(0).run();
+		}
+	}
+
+	private void pumpUntilConnected() {
+		SslPipe.pumpUntilConnected(clientEngine, clientListener, svrEngine, svrListener, this::runHandshakeTasks);
+	}
+
+}
@@ -0,0 +1,115 @@
+package org.webpieces.ssl.api;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.webpieces.data.api.BufferPool;
+import org.webpieces.data.api.DataWrapper;
+import org.webpieces.data.api.TwoPools;
+import org.webpieces.ssl.api.SslPipe.PipeListener;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class TestIdleBufferRelease {
+
+	private SSLMetrics metrics = new SSLMetrics("", new SimpleMeterRegistry());
+	private TrackingPool pool = new TrackingPool();
+	private PipeListener clientListener = new PipeListener(pool);
+	private PipeListener svrListener = new PipeListener(pool);
+	private AsyncSSLEngine clientEngine;
+	private AsyncSSLEngine svrEngine;
+
+	@Test
+	public void testIdleConnectionHoldsNoPooledBuffers() {
+		connect(true);
+		Assert.assertEquals(0, pool.outstanding.size());
+
+		feedHalfRecordToServer();
+		//only the exact size copy of the half record which is not from the pool
+		Assert.assertEquals(0, pool.outstanding.size());
+
+		feedRestOfRecordToServer();
+		Assert.assertEquals(0, pool.outstanding.size());
+	}
+
+	@Test
+	public void testWithoutReleaseHalfRecordHoldsPooledBuffer() {
+		connect(false);
+		Assert.assertEquals(0, pool.outstanding.size());
+
+		feedHalfRecordToServer();
+		Assert.assertEquals(1, pool.outstanding.size());
+
+		feedRestOfRecordToServer();
+		Assert.assertEquals(0, pool.outstanding.size());
+	}
+
+	private ByteBuffer secondHalf;
+
+	private void feedHalfRecordToServer() {
+		clientEngine.feedPlainPacket(ByteBuffer.wrap("hello idle connection".getBytes(StandardCharsets.UTF_8)));
+		ByteBuffer record = clientListener.toSend.poll();
+		Assert.assertTrue(clientListener.toSend.isEmpty());
+
+		byte[] bytes = new byte[record.remaining()];
+		record.get(bytes);
+		pool.releaseBuffer(record);
+
+		int half = bytes.length / 2;
+		secondHalf = ByteBuffer.wrap(bytes, half, bytes.length - half).slice();
+		svrEngine.feedEncryptedPacket(ByteBuffer.wrap(bytes, 0, half).slice());
+		Assert.assertNull(svrListener.received);
+	}
+
+	private void feedRestOfRecordToServer() {
+		svrEngine.feedEncryptedPacket(secondHalf);
+		Assert.assertEquals("hello idle connection", svrListener.received);
+	}
+
+	private void connect(boolean releaseBuffersWhenIdle) {
+		clientEngine = AsyncSSLFactory.create("client", SslPipe.createEngine(false), pool, clientListener, metrics);
+		svrEngine = AsyncSSLFactory.create("svr", SslPipe.createEngine(true), pool, svrListener, metrics, null, releaseBuffersWhenIdle);
+
+		clientEngine.beginHandshake();
+		SslPipe.pumpUntilConnected(clientEngine, clientListener, svrEngine, svrListener);
+		Assert.assertTrue(clientListener.toSend.isEmpty());
+		Assert.assertTrue(svrListener.toSend.isEmpty());
+	}
+
+	/**
+	 * Knows which buffers it handed out that were not released yet
+	 */
+	private static class TrackingPool implements BufferPool {
+		private final TwoPools pool = new TwoPools("p1", new SimpleMeterRegistry());
+		private final Set<ByteBuffer> outstanding = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		@Override
+		public ByteBuffer nextBuffer(int minSize) {
+			ByteBuffer buffer = pool.nextBuffer(minSize);
+			outstanding.add(buffer);
+			return buffer;
+		}
+
+		@Override
+		public void releaseBuffer(ByteBuffer buffer) {
+			outstanding.remove(buffer);
+			pool.releaseBuffer(buffer);
+		}
+
+		@Override
+		public ByteBuffer createWithDataWrapper(DataWrapper data) {
+			return pool.createWithDataWrapper(data);
+		}
+
+		@Override
+		public int getSuggestedBufferSize() {
+			return pool.getSuggestedBufferSize();
+		}
+	}
+
+}
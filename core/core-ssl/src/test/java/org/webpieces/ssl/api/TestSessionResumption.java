@@ -0,0 +1,81 @@
+package org.webpieces.ssl.api;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.webpieces.data.api.BufferPool;
+import org.webpieces.data.api.TwoPools;
+import org.webpieces.ssl.api.SslPipe.PipeListener;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class TestSessionResumption {
+
+	private SSLMetrics svrMetrics = new SSLMetrics("svr", new SimpleMeterRegistry());
+	private SSLMetrics clientMetrics = new SSLMetrics("client", new SimpleMeterRegistry());
+	private BufferPool pool = new TwoPools("p1", new SimpleMeterRegistry());
+	private SSLContext svrContext;
+	private SSLContext clientContext;
+
+	@Before
+	public void setup() throws GeneralSecurityException, IOException {
+		MockSSLEngineFactory factory = new MockSSLEngineFactory();
+		svrContext = factory.createServerContext();
+		clientContext = factory.createClientContext();
+	}
+
+	@Test
+	public void testReconnectToSameHostAndPortResumes() throws InterruptedException {
+		connect("localhost", 8443);
+		Assert.assertEquals(2, svrMetrics.getFullHandshakes() + clientMetrics.getFullHandshakes(), 0);
+
+		//creation time is in millis
+		Thread.sleep(5);
+		connect("localhost", 8443);
+		Assert.assertEquals(1, svrMetrics.getResumedHandshakes(), 0);
+		Assert.assertEquals(1, clientMetrics.getResumedHandshakes(), 0);
+	}
+
+	@Test
+	public void testOtherPortDoesFullHandshake() throws InterruptedException {
+		connect("localhost", 8443);
+		Thread.sleep(5);
+		connect("localhost", 9443);
+
+		Assert.assertEquals(0, svrMetrics.getResumedHandshakes(), 0);
+		Assert.assertEquals(2, svrMetrics.getFullHandshakes(), 0);
+	}
+
+	@Test
+	public void testNewServerContextDoesFullHandshake() throws GeneralSecurityException, IOException, InterruptedException {
+		connect("localhost", 8443);
+		//like a rotation of the session keys
+		svrContext = new MockSSLEngineFactory().createServerContext();
+		Thread.sleep(5);
+		connect("localhost", 8443);
+
+		Assert.assertEquals(0, svrMetrics.getResumedHandshakes(), 0);
+		Assert.assertEquals(0, clientMetrics.getResumedHandshakes(), 0);
+	}
+
+	private void connect(String host, int port) {
+		PipeListener clientListener = new PipeListener();
+		PipeListener svrListener = new PipeListener();
+		SSLEngine clientSslEngine = clientContext.createSSLEngine(host, port);
+		clientSslEngine.setUseClientMode(true);
+		SSLEngine svrSslEngine = svrContext.createSSLEngine();
+		svrSslEngine.setUseClientMode(false);
+		AsyncSSLEngine client = AsyncSSLFactory.create("client", SslPipe.tls12(clientSslEngine), pool, clientListener, clientMetrics);
+		AsyncSSLEngine svr = AsyncSSLFactory.create("svr", SslPipe.tls12(svrSslEngine), pool, svrListener, svrMetrics);
+
+		client.beginHandshake();
+		SslPipe.pumpUntilConnected(client, clientListener, svr, svrListener);
+	}
+
+}
@@ -0,0 +1,153 @@
+package org.webpieces.util.threading;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.webpieces.util.futures.XFuture;
+
+/**
+ * Same guarantees as SessionExecutorImpl(in order per key, one Runnable per thread pool task so one
+ * key cannot hog a thread) but with no global lock.  Each key gets it's own lock-free queue and a
+ * pending counter.  The producer that moves the counter from 0 to 1 is the one that schedules the
+ * drain and the drain that moves it back to 0 simply stops.  When a key goes idle, the counter is
+ * set to -1(retired) and the queue is removed from the map so we do not leak memory per socket.
+ */
+public class SessionExecutorLockFree implements SessionExecutor {
+
+	private static final Logger log = LoggerFactory.getLogger(SessionExecutorLockFree.class);
+	private static final int RETIRED = -1;
+
+	private Executor executor;
+	private ConcurrentMap<Object, KeyQueue> queues = new ConcurrentHashMap<>();
+	private ThreadLocal<Boolean> isFromThisPool = new ThreadLocal<>();
+
+	public SessionExecutorLockFree(Executor executor) {
+		this.executor = executor;
+	}
+
+	@Override
+	public <T> XFuture<T> executeCall(Object key, Callable<XFuture<T>> callable) {
+		XFuture<T> future = new XFuture<T>();
+		FutureRunnable<T> r = new FutureRunnable<>(callable, future);
+
+		execute(key, r);
+
+		return future;
+	}
+
+	private class FutureRunnable<T> implements Runnable {
+		private Callable<XFuture<T>> callable;
+		private XFuture<T> future;
+
+		public FutureRunnable(Callable<XFuture<T>> callable, XFuture<T> future) {
+			this.callable = callable;
+			this.future = future;
+		}
+
+		@Override
+		public void run() {
+			try {
+				XFuture<T> result = callable.call();
+				result.handle((r, t) -> {
+					if(t != null) {
+						future.completeExceptionally(t);
+					}
+					future.complete(r);
+					return null;
+				});
+			} catch(Throwable e) {
+				future.completeExceptionally(e);
+			}
+		}
+	}
+
+	@Override
+	public void execute(Object key, Runnable r) {
+		if(isFromThisPool.get() != null) {
+			//if this threadpool is dumping into this threadpool, continue to drive it through so
+			//the whole chain can gc faster(better to complete requests/responses all the way through than
+			//parallelize too many
+			r.run();
+			return;
+		}
+
+		while(true) {
+			KeyQueue queue = queues.computeIfAbsent(key, k -> new KeyQueue(k));
+			int previous = queue.reserve();
+			if(previous == RETIRED) {
+				//the drain retired this queue right after we looked it up so help remove it and try again
+				queues.remove(key, queue);
+				continue;
+			}
+
+			queue.runnables.add(r);
+			if(previous == 0)
+				executor.execute(queue);
+			else if(previous >= 10000)
+				log.warn("Session executor is falling behind on incoming data, possibly add back pressure", new RuntimeException());
+			return;
+		}
+	}
+
+	private class KeyQueue implements Runnable {
+		private final Object key;
+		private final ConcurrentLinkedQueue<Runnable> runnables = new ConcurrentLinkedQueue<>();
+		//number of Runnables reserved(added or about to be added) that have not finished running
+		private final AtomicInteger pending = new AtomicInteger();
+
+		public KeyQueue(Object key) {
+			this.key = key;
+		}
+
+		/**
+		 * @return the pending count before reserving OR RETIRED if this queue can no longer be used
+		 */
+		private int reserve() {
+			while(true) {
+				int current = pending.get();
+				if(current == RETIRED)
+					return RETIRED;
+				else if(pending.compareAndSet(current, current+1))
+					return current;
+			}
+		}
+
+		@Override
+		public void run() {
+			Runnable runnable = runnables.poll();
+			while(runnable == null) {
+				//a producer reserved a slot but has not quite added it yet
+				Thread.onSpinWait();
+				runnable = runnables.poll();
+			}
+
+			try {
+				isFromThisPool.set(true);
+				runnable.run();
+			} catch(Throwable e) {
+				log.error("Uncaught Exception(last ditch effort)", e);
+			} finally {
+				isFromThisPool.set(null);
+				executeNext();
+			}
+		}
+
+		private void executeNext() {
+			int left = pending.decrementAndGet();
+			if(left > 0) {
+				//give the thread back to the pool between runnables so one key cannot starve the others
+				executor.execute(this);
+			} else if(pending.compareAndSet(0, RETIRED)) {
+				queues.remove(key, this);
+			}
+			//else a producer moved it 0 -> 1 and that producer is now the one scheduling the drain
+		}
+	}
+
+}
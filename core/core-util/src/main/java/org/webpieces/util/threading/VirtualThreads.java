@@ -0,0 +1,48 @@
+package org.webpieces.util.threading;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.webpieces.util.exceptions.SneakyThrow;
+
+/**
+ * Creates an Executor that starts a new virtual thread for every Runnable.  Put a SessionExecutor in
+ * front of it(like the multi-threaded ChannelManager does) and each socket effectively gets it's own
+ * virtual thread with everything still in order per socket.  Controllers that block(jdbc, hibernate, etc)
+ * then no longer cap out at the size of a thread pool.
+ *
+ * We still compile against java 11 so the java 21 apis are looked up reflectively
+ */
+public class VirtualThreads {
+
+	public static boolean isSupported() {
+		try {
+			Thread.class.getMethod("ofVirtual");
+			return true;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	public static ExecutorService newThreadPerTaskExecutor(String threadNamePrefix) {
+		if(!isSupported())
+			throw new IllegalStateException("Virtual threads require java 21 or later.  current java.version="+System.getProperty("java.version"));
+
+		try {
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 0L);
+			builder = builderClass.getMethod("uncaughtExceptionHandler", Thread.UncaughtExceptionHandler.class)
+										.invoke(builder, new UncaughtExceptHandler());
+			ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+
+			Method create = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+			return (ExecutorService) create.invoke(null, factory);
+		} catch (ReflectiveOperationException e) {
+			throw SneakyThrow.sneak(e);
+		}
+	}
+
+}
@@ -0,0 +1,82 @@
+package org.webpieces.util.futures;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.webpieces.util.threading.NamedThreadFactory;
+import org.webpieces.util.threading.SessionExecutor;
+import org.webpieces.util.threading.SessionExecutorImpl;
+import org.webpieces.util.threading.SessionExecutorImplNew;
+import org.webpieces.util.threading.SessionExecutorLockFree;
+
+/**
+ * Not a unit test.  Run main to compare the SessionExecutor implementations.  Several producer
+ * threads(like several selector threads) fire small Runnables across 1k, 10k and 100k keys(like
+ * sockets) and we print how many Runnables per second made it through each implementation.
+ */
+public class SessionExecutorThroughput {
+
+	private static final int NUM_PRODUCERS = 4;
+	private static final int RUNNABLES_PER_PRODUCER = 500_000;
+	private static final int WARMUP_ROUNDS = 3;
+	private static final int MEASURED_ROUNDS = 5;
+
+	public static void main(String[] args) throws InterruptedException {
+		int numThreads = Runtime.getRuntime().availableProcessors();
+		ExecutorService pool = Executors.newFixedThreadPool(numThreads, new NamedThreadFactory("benchPool"));
+
+		for(int numSessions : new int[] {1_000, 10_000, 100_000}) {
+			run("SessionExecutorImpl", e -> new SessionExecutorImpl(e), pool, numSessions);
+			run("SessionExecutorImplNew", e -> new SessionExecutorImplNew(e), pool, numSessions);
+			run("SessionExecutorLockFree", e -> new SessionExecutorLockFree(e), pool, numSessions);
+		}
+
+		pool.shutdown();
+	}
+
+	private static void run(String name, Function<ExecutorService, SessionExecutor> creator, ExecutorService pool, int numSessions) throws InterruptedException {
+		for(int i = 0; i < WARMUP_ROUNDS; i++) {
+			runOnce(creator.apply(pool), numSessions);
+		}
+
+		long totalNanos = 0;
+		for(int i = 0; i < MEASURED_ROUNDS; i++) {
+			totalNanos += runOnce(creator.apply(pool), numSessions);
+		}
+
+		long total = (long)NUM_PRODUCERS * RUNNABLES_PER_PRODUCER * MEASURED_ROUNDS;
+		double perSecond = total / (totalNanos / 1_000_000_000.0);
+		System.out.println(String.format("%-25s sessions=%-7d runnables/sec=%,.0f", name, numSessions, perSecond));
+	}
+
+	private static long runOnce(SessionExecutor executor, int numSessions) throws InterruptedException {
+		Object[] keys = new Object[numSessions];
+		for(int i = 0; i < numSessions; i++)
+			keys[i] = new Object();
+
+		CountDownLatch done = new CountDownLatch(NUM_PRODUCERS * RUNNABLES_PER_PRODUCER);
+		Runnable work = () -> done.countDown();
+
+		Thread[] producers = new Thread[NUM_PRODUCERS];
+		for(int p = 0; p < NUM_PRODUCERS; p++) {
+			int offset = p;
+			producers[p] = new Thread(() -> {
+				for(int i = 0; i < RUNNABLES_PER_PRODUCER; i++) {
+					executor.execute(keys[(i + offset) % keys.length], work);
+				}
+			});
+		}
+
+		long start = System.nanoTime();
+		for(Thread t : producers)
+			t.start();
+
+		if(!done.await(2, TimeUnit.MINUTES))
+			throw new IllegalStateException("Benchmark did not finish.  remaining="+done.getCount());
+		return System.nanoTime() - start;
+	}
+
+}
@@ -0,0 +1,114 @@
+package org.webpieces.util.futures;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.webpieces.util.threading.SessionExecutor;
+import org.webpieces.util.threading.SessionExecutorLockFree;
+
+public class TestSessionExecutorLockFree {
+
+	private ExecutorSimulator mockExec = new ExecutorSimulator();
+	private SessionExecutor sessionExecutor = new SessionExecutorLockFree(mockExec);
+	
+	@Test
+	public void testBasic() {
+		ComparableRunnable run1 = new ComparableRunnable();
+		ComparableRunnable run2 = new ComparableRunnable();
+		ComparableRunnable run3 = new ComparableRunnable();
+		sessionExecutor.execute("a", run1);
+		sessionExecutor.execute("a", run2);
+		sessionExecutor.execute("b", run3);
+		
+		Assert.assertFalse(run1.wasRun);
+		Assert.assertFalse(run2.wasRun);
+		Assert.assertFalse(run3.wasRun);
+		
+		mockExec.runRunnables();
+		
+		Assert.assertTrue(run1.wasRun);
+		Assert.assertFalse(run2.wasRun);
+		Assert.assertTrue(run3.wasRun);
+		
+		mockExec.runRunnables();
+		
+		Assert.assertTrue(run2.wasRun);
+		
+		ComparableRunnable run4 = new ComparableRunnable();
+		sessionExecutor.execute("a", run4);
+		
+		Assert.assertFalse(run4.wasRun);
+		
+		mockExec.runRunnables();
+		
+		Assert.assertTrue(run4.wasRun);
+	}
+	
+	@Test
+	public void testQueued() {
+		ComparableRunnable run1 = new ComparableRunnable();
+		ComparableRunnable run2 = new ComparableRunnable();
+		ComparableRunnable run3 = new ComparableRunnable();
+		sessionExecutor.execute("a", run1);
+		sessionExecutor.execute("a", run2);
+		sessionExecutor.execute("a", run3);
+		
+		Assert.assertFalse(run1.wasRun);
+		Assert.assertFalse(run2.wasRun);
+		Assert.assertFalse(run3.wasRun);
+		
+		mockExec.runRunnables();
+		
+		Assert.assertTrue(run1.wasRun);
+		Assert.assertFalse(run2.wasRun);
+		Assert.assertFalse(run3.wasRun);
+		
+		mockExec.runRunnables();
+		
+		Assert.assertTrue(run2.wasRun);
+		Assert.assertFalse(run3.wasRun);
+		
+		mockExec.runRunnables();
+		
+		Assert.assertTrue(run3.wasRun);
+	}
+
+	@Test
+	public void testOrderPerKeyWithRealThreads() throws InterruptedException {
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		SessionExecutor executor = new SessionExecutorLockFree(pool);
+		int numKeys = 50;
+		int perKey = 2000;
+		CountDownLatch latch = new CountDownLatch(numKeys*perKey);
+		List<List<Integer>> results = new ArrayList<>();
+		for(int k = 0; k < numKeys; k++)
+			results.add(new ArrayList<>());
+
+		for(int i = 0; i < perKey; i++) {
+			for(int k = 0; k < numKeys; k++) {
+				List<Integer> list = results.get(k);
+				int value = i;
+				//not synchronized list on purpose since only one thread runs per key at a time
+				executor.execute(k, () -> {
+					list.add(value);
+					latch.countDown();
+				});
+			}
+		}
+
+		Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+		pool.shutdown();
+
+		for(List<Integer> list : results) {
+			Assert.assertEquals(perKey, list.size());
+			for(int i = 0; i < perKey; i++)
+				Assert.assertEquals(i, list.get(i).intValue());
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package org.webpieces.util.futures;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.webpieces.util.threading.SessionExecutor;
+import org.webpieces.util.threading.SessionExecutorLockFree;
+import org.webpieces.util.threading.VirtualThreads;
+
+public class TestVirtualThreads {
+
+	@Test
+	public void testFailsFastBeforeJava21() {
+		if(VirtualThreads.isSupported())
+			return;
+
+		Assert.assertThrows(IllegalStateException.class, () -> VirtualThreads.newThreadPerTaskExecutor("vthread"));
+	}
+
+	@Test
+	public void testBlockingRunnablesStayInOrderPerKey() throws InterruptedException {
+		if(!VirtualThreads.isSupported())
+			return;
+
+		ExecutorService virtualExecutor = VirtualThreads.newThreadPerTaskExecutor("vthread");
+		SessionExecutor executor = new SessionExecutorLockFree(virtualExecutor);
+		int numKeys = 1000;
+		CountDownLatch latch = new CountDownLatch(numKeys*2);
+		List<List<Integer>> results = new ArrayList<>();
+		for(int k = 0; k < numKeys; k++) {
+			List<Integer> list = new ArrayList<>();
+			results.add(list);
+			//every key blocks which would deadlock/serialize a small fixed pool but not virtual threads
+			executor.execute(k, () -> {
+				sleep(50);
+				list.add(1);
+				latch.countDown();
+			});
+			executor.execute(k, () -> {
+				list.add(2);
+				latch.countDown();
+			});
+		}
+
+		Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+		for(List<Integer> list : results)
+			Assert.assertEquals(List.of(1, 2), list);
+		virtualExecutor.shutdown();
+	}
+
+	private void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+}
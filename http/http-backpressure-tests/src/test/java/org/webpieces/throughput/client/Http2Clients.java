@@ -35,7 +35,7 @@ public class Http2Clients implements Clients {
 		TwoPools pool = new TwoPools("pl", new SimpleMeterRegistry());
 		ChannelManagerFactory factory = ChannelManagerFactory.createFactory(metrics);
 		ChannelManager chanMgr = factory.createSingleThreadedChanMgr("clientCmLoop", pool, config.getBackpressureConfig());
-		return Http2ClientFactory.createHttpClient(http2Config, chanMgr, pool);
+		return Http2ClientFactory.createHttpClient(http2Config, chanMgr, pool, metrics);
 	}
 
 	private Http2Client createMultiThreadedClient() {
@@ -33,7 +33,7 @@ public class Http2SynchronousClient implements SynchronousClient {
 
 	private static final DataWrapperGenerator dataGen = DataWrapperGeneratorFactory.createDataWrapperGenerator();
 
-	private HpackStatefulParser parser = HpackParserFactory.createStatefulParser(new TwoPools("pl", new SimpleMeterRegistry()), new HpackConfig("clientHpack"));
+	private HpackStatefulParser parser = HpackParserFactory.createStatefulParser(new TwoPools("pl", new SimpleMeterRegistry()), new HpackConfig("clientHpack"), new SimpleMeterRegistry());
 
 	@SuppressWarnings("unused")
 	@Override
@@ -63,7 +63,7 @@ public class ServerHttp2Sync {
     private static class ServerRunnable implements Runnable {
     	private static final DataWrapperGenerator dataGen = DataWrapperGeneratorFactory.createDataWrapperGenerator();
 
-    	private HpackStatefulParser parser = HpackParserFactory.createStatefulParser(new TwoPools("pl", new SimpleMeterRegistry()), new HpackConfig("deansHpack"));
+    	private HpackStatefulParser parser = HpackParserFactory.createStatefulParser(new TwoPools("pl", new SimpleMeterRegistry()), new HpackConfig("deansHpack"), new SimpleMeterRegistry());
 		private ServerSocket server;
 
 		public ServerRunnable(ServerSocket server) {
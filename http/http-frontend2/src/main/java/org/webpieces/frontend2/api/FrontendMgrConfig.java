@@ -6,6 +6,22 @@ import com.webpieces.http2engine.api.client.Http2Config;
 
 public class FrontendMgrConfig {
 	private int threadPoolSize = 20;
+	/**
+	 * Number of selector threads reading/writing the sockets.  1 is the single selector of old.  On
+	 * large boxes with many connections, set this to Runtime.getRuntime().availableProcessors()
+	 */
+	private int numSelectorThreads = 1;
+	/**
+	 * Java 21+ only.  Instead of a pool of threadPoolSize platform threads, every socket's work runs
+	 * on virtual threads(still in order per socket) so blocking controllers are not capped by pool size.
+	 * threadPoolSize is ignored when this is true
+	 */
+	private boolean useVirtualThreads = false;
+	/**
+	 * Parse http1.1 request lines and headers straight from the bytes instead of creating a String
+	 * per line(see HttpParserFactory.createParser)
+	 */
+	private boolean byteLevelHttp1Parsing = false;
 	private BackpressureConfig backpressureConfig = new BackpressureConfig();
 	private Http2Config http2Config = new Http2Config();
 	
@@ -15,6 +31,24 @@ public class FrontendMgrConfig {
 	public void setThreadPoolSize(int threadPoolSize) {
 		this.threadPoolSize = threadPoolSize;
 	}
+	public int getNumSelectorThreads() {
+		return numSelectorThreads;
+	}
+	public void setNumSelectorThreads(int numSelectorThreads) {
+		this.numSelectorThreads = numSelectorThreads;
+	}
+	public boolean isUseVirtualThreads() {
+		return useVirtualThreads;
+	}
+	public void setUseVirtualThreads(boolean useVirtualThreads) {
+		this.useVirtualThreads = useVirtualThreads;
+	}
+	public boolean isByteLevelHttp1Parsing() {
+		return byteLevelHttp1Parsing;
+	}
+	public void setByteLevelHttp1Parsing(boolean byteLevelHttp1Parsing) {
+		this.byteLevelHttp1Parsing = byteLevelHttp1Parsing;
+	}
 	public BackpressureConfig getBackpressureConfig() {
 		return backpressureConfig;
 	}
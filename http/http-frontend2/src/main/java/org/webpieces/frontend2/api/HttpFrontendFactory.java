@@ -15,6 +15,7 @@ import org.webpieces.nio.api.ChannelManager;
 import org.webpieces.nio.api.ChannelManagerFactory;
 import org.webpieces.metrics.MetricsCreator;
 import org.webpieces.util.threading.NamedThreadFactory;
+import org.webpieces.util.threading.VirtualThreads;
 import org.webpieces.util.time.TimeImpl;
 
 import com.webpieces.hpack.api.HpackParser;
@@ -31,9 +32,9 @@ public abstract class HttpFrontendFactory {
 		ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
 	
 		HttpParser httpParser = HttpParserFactory.createParser(svrMgr.getName(), metrics, pool);
-		HpackParser http2Parser = HpackParserFactory.createParser(pool, true);
+		HpackParser http2Parser = HpackParserFactory.createParser(pool, true, metrics);
 		
-		InjectionConfig injConfig = new InjectionConfig(http2Parser, new TimeImpl(), http2Config);
+		InjectionConfig injConfig = new InjectionConfig(http2Parser, new TimeImpl(), http2Config, metrics);
 		Http2ServerEngineFactory svrEngineFactory = new Http2ServerEngineFactory(injConfig );
 		
 		return new FrontEndServerManagerImpl(svrMgr, timer, svrEngineFactory, httpParser);
@@ -49,18 +50,22 @@ public abstract class HttpFrontendFactory {
 	 */
 	public static HttpFrontendManager createFrontEnd(
 			String id, ScheduledExecutorService timer, BufferPool pool, FrontendMgrConfig config, MeterRegistry metrics) {
-		Executor executor = Executors.newFixedThreadPool(config.getThreadPoolSize(), new NamedThreadFactory(id));
+		Executor executor;
+		if(config.isUseVirtualThreads())
+			executor = VirtualThreads.newThreadPerTaskExecutor(id);
+		else
+			executor = Executors.newFixedThreadPool(config.getThreadPoolSize(), new NamedThreadFactory(id));
 		MetricsCreator.monitor(metrics, executor, id);
 
-		ChannelManagerFactory factory = ChannelManagerFactory.createFactory(metrics);
+		ChannelManagerFactory factory = ChannelManagerFactory.createMultiSelectorFactory(config.getNumSelectorThreads(), metrics);
 		ChannelManager chanMgr = factory.createMultiThreadedChanMgr(id, pool, config.getBackpressureConfig(), executor);
 
 		AsyncServerManager svrMgr = AsyncServerMgrFactory.createAsyncServer(chanMgr, metrics);
 		
-		HttpParser httpParser = HttpParserFactory.createParser(id, metrics, pool);
-		HpackParser http2Parser = HpackParserFactory.createParser(pool, true);
+		HttpParser httpParser = HttpParserFactory.createParser(id, metrics, pool, true, config.isByteLevelHttp1Parsing());
+		HpackParser http2Parser = HpackParserFactory.createParser(pool, true, metrics);
 		
-		InjectionConfig injConfig = new InjectionConfig(http2Parser, new TimeImpl(), config.getHttp2Config());
+		InjectionConfig injConfig = new InjectionConfig(http2Parser, new TimeImpl(), config.getHttp2Config(), metrics);
 		Http2ServerEngineFactory svrEngineFactory = new Http2ServerEngineFactory(injConfig );
 		
 		return new FrontEndServerManagerImpl(svrMgr, timer, svrEngineFactory, httpParser);
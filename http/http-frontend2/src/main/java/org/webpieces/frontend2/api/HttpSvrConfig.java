@@ -30,6 +30,19 @@ public class HttpSvrConfig {
 	 *
 	 */
 	public int maxHeaderSize = 4096;
+
+	/**
+	 * http1.1 pipelining.  The number of requests on one socket that are processed at the same time.  Responses
+	 * still go back in request order so a later response is held in memory until every earlier one is sent.
+	 * 1 processes one request at a time like most servers do.
+	 */
+	public int maxPipelinedRequests = 1;
+
+	/**
+	 * http1.1 pipelining.  Once this many bytes of response body are held waiting on an earlier response, no
+	 * more requests on that socket are processed until it drains
+	 */
+	public int maxPipelinedResponseBytes = 1024 * 1024;
 	
 	public HttpSvrConfig(String id) {
 		this(id, new InetSocketAddress(0));
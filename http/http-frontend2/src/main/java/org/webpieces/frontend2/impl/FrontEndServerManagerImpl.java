@@ -32,16 +32,16 @@ public class FrontEndServerManagerImpl implements HttpFrontendManager {
 	@Override
 	public HttpServer createHttpServer(HttpSvrConfig config, StreamListener httpListener) {
 		preconditionCheck(config);
-		Layer1ServerListener listener = buildDatalListener(httpListener, false);
+		Layer1ServerListener listener = buildDatalListener(config, httpListener, false);
 		AsyncServer tcpServer = svrManager.createTcpServer(config.asyncServerConfig, listener);
 		HttpServerImpl frontend = new HttpServerImpl(tcpServer, config, listener);
 
 		return frontend;
 	}
 
-	private Layer1ServerListener buildDatalListener(StreamListener httpListener, boolean isBackend) {
+	private Layer1ServerListener buildDatalListener(HttpSvrConfig config, StreamListener httpListener, boolean isBackend) {
 		ProxyStreamListener proxyStreamListener = new ProxyStreamListener(httpListener);
-		Layer2Http11Handler http11 = new Layer2Http11Handler(httpParser, proxyStreamListener);
+		Layer2Http11Handler http11 = new Layer2Http11Handler(httpParser, proxyStreamListener, config);
 		Layer2Http2Handler http2 = new Layer2Http2Handler(http2EngineFactory, proxyStreamListener);
 		FutureHelper futureUtil = new FutureHelper();
 		Layer1ServerListener listener = new Layer1ServerListener(futureUtil, http11, http2, isBackend);
@@ -61,7 +61,7 @@ public class FrontEndServerManagerImpl implements HttpFrontendManager {
 	public HttpServer createHttpsServer(HttpSvrConfig config, StreamListener httpListener,
                                         SSLEngineFactory factory) {
 		preconditionCheck(config);
-		Layer1ServerListener listener = buildDatalListener(httpListener, false);
+		Layer1ServerListener listener = buildDatalListener(config, httpListener, false);
 		AsyncServer tcpServer = svrManager.createTcpServer(config.asyncServerConfig, listener, factory);
 		HttpServerImpl frontend = new HttpServerImpl(tcpServer, config, listener);
 		
@@ -72,7 +72,7 @@ public class FrontEndServerManagerImpl implements HttpFrontendManager {
 	@Override
 	public HttpServer createUpgradableServer(HttpSvrConfig config, StreamListener httpListener, SSLEngineFactory factory) {
 		preconditionCheck(config);
-		Layer1ServerListener listener = buildDatalListener(httpListener, false);
+		Layer1ServerListener listener = buildDatalListener(config, httpListener, false);
 		AsyncServer tcpServer = svrManager.createUpgradableServer(config.asyncServerConfig, listener, factory);
 		HttpServerImpl frontend = new HttpServerImpl(tcpServer, config, listener);
 		
@@ -82,7 +82,7 @@ public class FrontEndServerManagerImpl implements HttpFrontendManager {
 	@Override
 	public HttpServer createBackendHttpsServer(HttpSvrConfig config, StreamListener httpListener, SSLEngineFactory factory) {
 		preconditionCheck(config);
-		Layer1ServerListener listener = buildDatalListener(httpListener, true);
+		Layer1ServerListener listener = buildDatalListener(config, httpListener, true);
 		AsyncServer tcpServer = svrManager.createTcpServer(config.asyncServerConfig, listener, factory);
 		HttpServerImpl frontend = new HttpServerImpl(tcpServer, config, listener);
 		
@@ -1,6 +1,7 @@
 package org.webpieces.frontend2.impl;
 
 import java.net.InetSocketAddress;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,6 +33,8 @@ public class FrontendSocketImpl implements FrontendSocket {
 	private MarshalState http11MarshalState;
 
 	private PermitQueue permitQueue = new PermitQueue(1);
+	//created with the configured size in setupHttp11Pipelining
+	private Http11ResponseQueue responseQueue;
 
 	private Http11StreamImpl currentStream;
 
@@ -56,6 +59,15 @@ public class FrontendSocketImpl implements FrontendSocket {
 		channel.close();
 	}
 	
+	/**
+	 * maxPipelinedRequests is how many http1.1 requests run at the same time which is also the number
+	 * of permits since each request holds one until it's response is sent
+	 */
+	public void setupHttp11Pipelining(int maxPipelinedRequests, int maxPipelinedResponseBytes) {
+		this.permitQueue = new PermitQueue(maxPipelinedRequests);
+		this.responseQueue = new Http11ResponseQueue(maxPipelinedResponseBytes);
+	}
+
 	public void setHttp1_1ParseState(Memento parseState, MarshalState marshalState) {
 		this.http11ParseState = parseState;
 		this.http11MarshalState = marshalState;
@@ -95,14 +107,19 @@ public class FrontendSocketImpl implements FrontendSocket {
 	}
 
 	private void cancelAllStreams(StreamListener httpListener, FarEndClosedConnection f) {
-		Http11StreamImpl stream = getCurrentStream();
-		if(stream == null)
-			return;
-		
-		ShutdownStream shutdown = new ShutdownStream(stream.getStreamId(), f);
-		
-		StreamRef streamRef = stream.getStreamRef();
-		streamRef.cancel(shutdown);
+		//every pipelined request that has not finished responding plus the one still receiving it's body
+		List<Http11StreamImpl> streams = responseQueue.close(new IllegalStateException(f.getReason()));
+		Http11StreamImpl current = getCurrentStream();
+		if(current != null && !streams.contains(current))
+			streams.add(current);
+
+		for(Http11StreamImpl stream : streams) {
+			StreamRef streamRef = stream.getStreamRef();
+			if(streamRef == null)
+				continue; //request is still waiting to be dispatched
+			ShutdownStream shutdown = new ShutdownStream(stream.getStreamId(), f);
+			streamRef.cancel(shutdown);
+		}
 	}
 
 	@Override
@@ -147,6 +164,10 @@ public class FrontendSocketImpl implements FrontendSocket {
 		return permitQueue;
 	}
 
+	public Http11ResponseQueue getResponseQueue() {
+		return responseQueue;
+	}
+
 	public void setCurrentStream(Http11StreamImpl currentStream) {
 		this.currentStream = currentStream;
 	}
@@ -0,0 +1,254 @@
+package org.webpieces.frontend2.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.webpieces.util.futures.XFuture;
+
+/**
+ * http1.1 pipelining lets the client send N requests before reading any response BUT the responses must go
+ * back in the order the requests came in.  We dispatch up to N requests at the same time so a later request
+ * can respond first.  That response is held here(not marshalled yet since the MarshalState of the socket
+ * must see responses in order) until every response before it is completely written.
+ *
+ * A buffered write holds a copy of it's bytes(see ResponseWrite.copyForBuffering) and completes right away
+ * so the app can keep writing it's response and reuse it's buffers BUT once more than maxBufferedBytes of
+ * body is held, or the write can't be copied(sendfile), it does not complete until it is actually written.
+ * No new requests are dispatched until the buffered bytes drain(see whenBelowMaxBytes)
+ *
+ * Socket writes are never run while holding this monitor.  Writes that are ready go on a list in order and
+ * the one thread draining that list runs them so they still hit the socket in order.
+ */
+public class Http11ResponseQueue {
+
+	private final int maxBufferedBytes;
+	private final ArrayDeque<QueuedResponse> responses = new ArrayDeque<>();
+	//in the order they must be written to the socket
+	private final ArrayDeque<PendingWrite> readyToWrite = new ArrayDeque<>();
+	private boolean draining;
+	private long bufferedBytes;
+	private XFuture<Void> belowMaxBytes = XFuture.completedFuture(null);
+	private boolean closed;
+
+	public Http11ResponseQueue(int maxBufferedBytes) {
+		this.maxBufferedBytes = maxBufferedBytes;
+	}
+
+	/**
+	 * Called in the order the requests came in on the socket
+	 */
+	public synchronized void add(Http11StreamImpl stream) {
+		responses.add(new QueuedResponse(stream));
+	}
+
+	/**
+	 * @param isLast true if this write finishes the response so the next response can go out
+	 * @param write marshals and writes to the socket.  Only run once every previous response is written
+	 */
+	public XFuture<Void> write(Http11StreamImpl stream, boolean isLast, ResponseWrite write) {
+		List<Runnable> toComplete = new ArrayList<>();
+		XFuture<Void> future;
+		boolean drain;
+		synchronized (this) {
+			future = writeImpl(stream, isLast, write, toComplete);
+			drain = startDraining();
+		}
+
+		//complete futures outside the lock as they call back into client code which may write again
+		for(Runnable r : toComplete) {
+			r.run();
+		}
+		if(drain)
+			drain();
+		return future;
+	}
+
+	private XFuture<Void> writeImpl(Http11StreamImpl stream, boolean isLast, ResponseWrite write, List<Runnable> toComplete) {
+		if(closed)
+			return XFuture.failedFuture(new IllegalStateException("Socket is closed so response cannot be sent"));
+
+		QueuedResponse response = find(stream);
+		if(response == null)
+			throw new IllegalStateException("Stream is not queued for a response or already sent it's last piece.  stream="+stream.getStreamId());
+
+		if(response != responses.peekFirst()) {
+			int size = write.getBufferedSize();
+			bufferedBytes += size;
+			ResponseWrite copy = null;
+			if(bufferedBytes <= maxBufferedBytes)
+				copy = write.copyForBuffering();
+
+			PendingWrite pending;
+			if(copy != null) {
+				//we own the bytes now so the caller can release or reuse theirs
+				pending = new PendingWrite(size, isLast, copy, false);
+				toComplete.add(() -> pending.future.complete(null));
+			} else {
+				pending = new PendingWrite(size, isLast, write, true);
+				if(bufferedBytes > maxBufferedBytes && belowMaxBytes.isDone())
+					belowMaxBytes = new XFuture<>();
+			}
+			response.pendingWrites.add(pending);
+			return pending.future;
+		}
+
+		PendingWrite pending = new PendingWrite(0, isLast, write, true);
+		readyToWrite.add(pending);
+		if(isLast) {
+			responses.removeFirst();
+			flushNextResponses(toComplete);
+		}
+		return pending.future;
+	}
+
+	private void flushNextResponses(List<Runnable> toComplete) {
+		while(!responses.isEmpty()) {
+			QueuedResponse next = responses.peekFirst();
+			boolean finished = false;
+			for(PendingWrite pending : next.pendingWrites) {
+				bufferedBytes -= pending.size;
+				readyToWrite.add(pending);
+				finished = pending.isLast;
+			}
+			next.pendingWrites.clear();
+
+			if(!finished)
+				break; //next is now the head and writes straight through
+			responses.removeFirst();
+		}
+
+		if(bufferedBytes <= maxBufferedBytes && !belowMaxBytes.isDone()) {
+			XFuture<Void> toRelease = belowMaxBytes;
+			toComplete.add(() -> toRelease.complete(null));
+		}
+	}
+
+	/**
+	 * @return true if the caller must drain as no other thread is
+	 */
+	private boolean startDraining() {
+		if(draining || readyToWrite.isEmpty())
+			return false;
+		draining = true;
+		return true;
+	}
+
+	private void drain() {
+		while(true) {
+			PendingWrite pending;
+			synchronized (this) {
+				pending = readyToWrite.poll();
+				if(pending == null) {
+					draining = false;
+					return;
+				}
+			}
+
+			XFuture<Void> written = run(pending.write);
+			if(pending.completeOnWrite)
+				link(written, pending.future);
+		}
+	}
+
+	/**
+	 * completes when there is room to buffer more responses so the next request can be dispatched
+	 */
+	public synchronized XFuture<Void> whenBelowMaxBytes() {
+		return belowMaxBytes;
+	}
+
+	/**
+	 * fails every buffered write and returns the streams still waiting to respond(in request order)
+	 */
+	public List<Http11StreamImpl> close(Throwable reason) {
+		List<Http11StreamImpl> streams = new ArrayList<>();
+		List<PendingWrite> failed = new ArrayList<>();
+		XFuture<Void> toRelease;
+		synchronized (this) {
+			closed = true;
+			for(QueuedResponse response : responses) {
+				streams.add(response.stream);
+				failed.addAll(response.pendingWrites);
+			}
+			responses.clear();
+			bufferedBytes = 0;
+			toRelease = belowMaxBytes;
+		}
+
+		for(PendingWrite pending : failed) {
+			pending.future.completeExceptionally(reason);
+		}
+		toRelease.complete(null);
+		return streams;
+	}
+
+	private QueuedResponse find(Http11StreamImpl stream) {
+		for(QueuedResponse response : responses) {
+			if(response.stream == stream)
+				return response;
+		}
+		return null;
+	}
+
+	private XFuture<Void> run(ResponseWrite write) {
+		try {
+			return write.write();
+		} catch(Throwable e) {
+			return XFuture.failedFuture(e);
+		}
+	}
+
+	private void link(XFuture<Void> written, XFuture<Void> future) {
+		written.handle((r, t) -> {
+			if(t != null)
+				future.completeExceptionally(t);
+			else
+				future.complete(null);
+			return null;
+		});
+	}
+
+	public interface ResponseWrite {
+		/**
+		 * marshal and write to the socket
+		 */
+		XFuture<Void> write();
+
+		/**
+		 * @return number of body bytes held in memory while this write is buffered
+		 */
+		int getBufferedSize();
+
+		/**
+		 * @return a write holding it's own copy of every byte so the caller may reuse it's buffers as soon as
+		 * the write completes or null if it can't be copied(like sendfile) so it only completes once written
+		 */
+		ResponseWrite copyForBuffering();
+	}
+
+	private static class QueuedResponse {
+		private final Http11StreamImpl stream;
+		private final List<PendingWrite> pendingWrites = new ArrayList<>();
+
+		public QueuedResponse(Http11StreamImpl stream) {
+			this.stream = stream;
+		}
+	}
+
+	private static class PendingWrite {
+		private final int size;
+		private final boolean isLast;
+		private final ResponseWrite write;
+		//false if future was completed when the write was buffered
+		private final boolean completeOnWrite;
+		private final XFuture<Void> future = new XFuture<>();
+
+		public PendingWrite(int size, boolean isLast, ResponseWrite write, boolean completeOnWrite) {
+			this.size = size;
+			this.isLast = isLast;
+			this.write = write;
+			this.completeOnWrite = completeOnWrite;
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package org.webpieces.frontend2.impl;
 
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.HashMap;
 import java.util.Map;
 import org.webpieces.util.futures.XFuture;
@@ -9,9 +10,12 @@ import java.util.concurrent.atomic.AtomicReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.webpieces.data.api.DataWrapper;
+import org.webpieces.data.api.DataWrapperGenerator;
+import org.webpieces.data.api.DataWrapperGeneratorFactory;
 import org.webpieces.frontend2.api.FrontendSocket;
 import org.webpieces.frontend2.api.HttpStream;
 import org.webpieces.frontend2.api.ResponseStream;
+import org.webpieces.frontend2.impl.Http11ResponseQueue.ResponseWrite;
 import org.webpieces.http2translations.api.Http2ToHttp11;
 import org.webpieces.httpparser.api.HttpParser;
 import org.webpieces.httpparser.api.common.Header;
@@ -20,7 +24,6 @@ import org.webpieces.httpparser.api.dto.HttpChunk;
 import org.webpieces.httpparser.api.dto.HttpData;
 import org.webpieces.httpparser.api.dto.HttpLastChunk;
 import org.webpieces.httpparser.api.dto.HttpPayload;
-import org.webpieces.httpparser.api.dto.HttpRequest;
 import org.webpieces.httpparser.api.dto.HttpResponse;
 import org.webpieces.util.locking.PermitQueue;
 
@@ -36,10 +39,11 @@ import com.webpieces.http2.api.dto.lowlevel.lib.StreamMsg;
 import com.webpieces.http2.api.streaming.PushStreamHandle;
 import com.webpieces.http2.api.streaming.StreamRef;
 import com.webpieces.http2.api.streaming.StreamWriter;
+import com.webpieces.http2.api.streaming.ZeroCopyStreamWriter;
 
 public class Http11StreamImpl implements ResponseStream {
 	private static final Logger log = LoggerFactory.getLogger(Http11StreamImpl.class);
-	//private static final DataWrapperGenerator dataGen = DataWrapperGeneratorFactory.createDataWrapperGenerator();
+	private static final DataWrapperGenerator dataGen = DataWrapperGeneratorFactory.createDataWrapperGenerator();
 
 	private FrontendSocketImpl socket;
 	private HttpParser http11Parser;
@@ -56,8 +60,6 @@ public class Http11StreamImpl implements ResponseStream {
 
 	private Http2Request http2Request;
 
-	private HttpRequest http1Req;
-
 	private boolean isForConnectRequeest;
 	private boolean hasRespondedToConnect;
 	private StreamRef streamRef;
@@ -67,14 +69,12 @@ public class Http11StreamImpl implements ResponseStream {
 			FrontendSocketImpl socket, 
 			HttpParser http11Parser, 
 			PermitQueue permitQueue, 
-			HttpRequest http1Req, 
 			Http2Request headers
 	) {
 		this.streamId = streamId;
 		this.socket = socket;
 		this.http11Parser = http11Parser;
 		this.permitQueue = permitQueue;
-		this.http1Req = http1Req;
 		this.http2Request = headers;
 		if(headers.getKnownMethod() == Http2Method.CONNECT)
 			isForConnectRequeest = true;
@@ -89,19 +89,19 @@ public class Http11StreamImpl implements ResponseStream {
 			//In this case, it is an upgrade to a bi-directional stream
 			//connect has no content length BUT we are basically creating a 'stream' here of
 			//bytes so we don't care about parsing anymore(ie. SSL or http)..
-			return write(response).thenApply(c -> new Http11ChunkedWriter(http1Req, http2Request));
+			return write(response, false).thenApply(c -> new Http11ChunkedWriter(http2Request));
 		} else if(headers.isEndOfStream()) {
 			validateHeader(response);
 			remove(headers);
-			return write(response).thenApply(w -> {
+			return write(response, true).thenApply(w -> {
 				permitQueue.releasePermit();
 				return new NoWritesWriter();
 			});
 		} else if(contentLengthGreaterThanZero(headers)) {
-			return write(response).thenApply(w -> new ContentLengthResponseWriter(headers));
+			return write(response, false).thenApply(w -> createContentLengthWriter(headers));
 		}
 		
-		return write(response).thenApply(c -> new Http11ChunkedWriter(http1Req, http2Request));
+		return write(response, false).thenApply(c -> new Http11ChunkedWriter(http2Request));
 	}
 
 	private void closeCheck(Http2Msg msg) {
@@ -136,6 +136,13 @@ public class Http11StreamImpl implements ResponseStream {
 		return false;
 	}
 
+	private StreamWriter createContentLengthWriter(Http2Response headers) {
+		//ssl channels have to encrypt the body in the heap so they can't sendfile
+		if(socket.getChannel().isTransferFromSupported())
+			return new ZeroCopyResponseWriter(headers);
+		return new ContentLengthResponseWriter(headers);
+	}
+
 	private class NoWritesWriter implements StreamWriter {
 		@Override
 		public XFuture<Void> processPiece(StreamMsg data) {
@@ -147,8 +154,8 @@ public class Http11StreamImpl implements ResponseStream {
 	}
 	
 	private class ContentLengthResponseWriter implements StreamWriter {
-		private int len;
-		private int totalWritten;
+		protected int len;
+		protected int totalWritten;
 		
 		public ContentLengthResponseWriter(Http2Response response) {
 			Http2Header contentLenHeader = response.getHeaderLookupStruct().getHeader(Http2HeaderName.CONTENT_LENGTH);
@@ -175,7 +182,7 @@ public class Http11StreamImpl implements ResponseStream {
 			}
 
 			HttpData httpData = new HttpData(frame.getData(), frame.isEndOfStream());
-			return write(httpData).thenApply(c -> {
+			return write(httpData, frame.isEndOfStream()).thenApply(c -> {
 				if(frame.isEndOfStream())
 					permitQueue.releasePermit();
 				return null;
@@ -183,13 +190,40 @@ public class Http11StreamImpl implements ResponseStream {
 		}
 	}
 	
+	/**
+	 * Body can go out as HttpData like ContentLengthResponseWriter or the rest of it can be sent straight from a
+	 * file into the socket
+	 */
+	private class ZeroCopyResponseWriter extends ContentLengthResponseWriter implements ZeroCopyStreamWriter {
+
+		public ZeroCopyResponseWriter(Http2Response response) {
+			super(response);
+		}
+
+		@Override
+		public XFuture<Void> sendFile(FileChannel file, long position, long count) {
+			//stands in for the last DataFrame in the already sent checks
+			DataFrame endOfBody = new DataFrame(streamId, true);
+			closeCheck(endOfBody);
+			if(totalWritten + count != len)
+				throw new IllegalArgumentException("The file must be the rest of the body.  content length header="+len+" written so far="+totalWritten+" file size="+count);
+
+			totalWritten = len;
+			remove(endOfBody);
+
+			//the caller closes the file once this completes so it only completes after the transfer
+			return socket.getResponseQueue().write(Http11StreamImpl.this, true, new SendFileWrite(file, position, count)).thenApply(c -> {
+				permitQueue.releasePermit();
+				return null;
+			});
+		}
+	}
+	
 	private class Http11ChunkedWriter implements StreamWriter {
 
-		private HttpRequest http1Req2;
 		private Http2Request headers2;
 
-		public Http11ChunkedWriter(HttpRequest http1Req, Http2Request headers) {
-			http1Req2 = http1Req;
+		public Http11ChunkedWriter(Http2Request headers) {
 			headers2 = headers;
 		}
 
@@ -214,19 +248,19 @@ public class Http11StreamImpl implements ResponseStream {
 			if(!frame.isEndOfStream()) {
 				if(frame.getData().getReadableSize() == 0)
 					throw new IllegalArgumentException("DataFrame must contain data if isEndOfStream is false");
-				return write(new HttpChunk(frame.getData()));
+				return write(new HttpChunk(frame.getData()), false);
 			}
 
 			XFuture<Void> future = XFuture.completedFuture(null);
 			if(frame.getData().getReadableSize() > 0)
-				future = write(new HttpChunk(frame.getData()));
+				future = write(new HttpChunk(frame.getData()), false);
 			
 			remove(data);	
 
 			if(log.isDebugEnabled())
 				log.debug(socket+" done sending response");
 			future = future.thenCompose(w -> {
-				return write(new HttpLastChunk());
+				return write(new HttpLastChunk(), true);
 			}).thenApply(v -> {
 				permitQueue.releasePermit();
 				return null;
@@ -237,20 +271,87 @@ public class Http11StreamImpl implements ResponseStream {
 	}
 
 	private void remove(Http2Msg data) {
-		Http11StreamImpl current = socket.getCurrentStream();
 		if(endingFrame.get() != null)
 			throw new IllegalStateException("You had already sent a frame with endOfStream "
 					+ "set and can't send more.  ending frame was="+endingFrame+" but you just sent="+data);
-		else if(current != this)
-			throw new IllegalStateException("Due to http1.1 spec, YOU MUST return "
-					+ "responses in order and this is not the current response that needs responding to");
 
 		endingFrame.set(data);
-		socket.setCurrentStream(null);
-		
+		//with pipelining a later request may already be the current one receiving it's body
+		if(socket.getCurrentStream() == this)
+			socket.setCurrentStream(null);
 	}
-	
-	private XFuture<Void> write(HttpPayload payload) {
+
+	/**
+	 * Due to http1.1 spec, responses go back in the order the requests came in so this is queued
+	 * until every earlier response is written when this is not the oldest request
+	 */
+	private XFuture<Void> write(HttpPayload payload, boolean isLast) {
+		return socket.getResponseQueue().write(this, isLast, new PayloadWrite(payload));
+	}
+
+	private class PayloadWrite implements ResponseWrite {
+		private final HttpPayload payload;
+
+		public PayloadWrite(HttpPayload payload) {
+			this.payload = payload;
+		}
+
+		@Override
+		public XFuture<Void> write() {
+			return writeNow(payload);
+		}
+
+		@Override
+		public int getBufferedSize() {
+			if(payload instanceof HttpData)
+				return ((HttpData) payload).getBodyNonNull().getReadableSize();
+			return 0;
+		}
+
+		@Override
+		public ResponseWrite copyForBuffering() {
+			//HttpResponse and HttpLastChunk are created here so only the body belongs to the app
+			if(!(payload instanceof HttpData))
+				return this;
+			HttpData data = (HttpData) payload;
+			DataWrapper copy = dataGen.wrapByteArray(data.getBodyNonNull().createByteArray());
+			if(payload instanceof HttpChunk)
+				return new PayloadWrite(new HttpChunk(copy));
+			return new PayloadWrite(new HttpData(copy, data.isEndOfData()));
+		}
+	}
+
+	private class SendFileWrite implements ResponseWrite {
+		private final FileChannel file;
+		private final long position;
+		private final long count;
+
+		public SendFileWrite(FileChannel file, long position, long count) {
+			this.file = file;
+			this.position = position;
+			this.count = count;
+		}
+
+		@Override
+		public XFuture<Void> write() {
+			//the body bypasses the parser so tell it the body is done so the next response marshals
+			socket.getHttp11MarshalState().addBodyBytesSentDirectly((int) count);
+			return socket.getChannel().transferFrom(file, position, count);
+		}
+
+		@Override
+		public int getBufferedSize() {
+			//nothing is held in memory while queued behind earlier responses, just the file reference
+			return 0;
+		}
+
+		@Override
+		public ResponseWrite copyForBuffering() {
+			return null;
+		}
+	}
+
+	private XFuture<Void> writeNow(HttpPayload payload) {
 		if(hasRespondedToConnect) {
 			HttpChunk chunk = payload.getHttpChunk();
 			DataWrapper body = chunk.getBodyNonNull();
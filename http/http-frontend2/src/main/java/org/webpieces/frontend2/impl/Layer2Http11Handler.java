@@ -12,15 +12,14 @@ import org.webpieces.data.api.DataWrapper;
 import org.webpieces.data.api.DataWrapperGenerator;
 import org.webpieces.data.api.DataWrapperGeneratorFactory;
 import org.webpieces.frontend2.api.HttpStream;
+import org.webpieces.frontend2.api.HttpSvrConfig;
 import org.webpieces.frontend2.api.StreamListener;
 import org.webpieces.http2translations.api.Http11ToHttp2;
 import org.webpieces.httpparser.api.HttpParser;
 import org.webpieces.httpparser.api.MarshalState;
 import org.webpieces.httpparser.api.Memento;
-import org.webpieces.httpparser.api.dto.HttpData;
 import org.webpieces.httpparser.api.dto.HttpMessageType;
 import org.webpieces.httpparser.api.dto.HttpPayload;
-import org.webpieces.httpparser.api.dto.HttpRequest;
 import org.webpieces.nio.impl.cm.basic.MDCUtil;
 import org.webpieces.util.futures.FutureHelper;
 import org.webpieces.util.locking.PermitQueue;
@@ -39,10 +38,12 @@ public class Layer2Http11Handler {
 	private StreamListener httpListener;
 	private FutureHelper futureUtil = new FutureHelper();
 	private AtomicInteger counter = new AtomicInteger(1);
+	private HttpSvrConfig config;
 
-	public Layer2Http11Handler(HttpParser httpParser, StreamListener httpListener) {
+	public Layer2Http11Handler(HttpParser httpParser, StreamListener httpListener, HttpSvrConfig config) {
 		this.httpParser = httpParser;
 		this.httpListener = httpListener;
+		this.config = config;
 	}
 
 	public XFuture<InitiationResult> initialData(FrontendSocketImpl socket, Consumer<ProtocolType> function, ByteBuffer buf) {
@@ -67,7 +68,7 @@ public class Layer2Http11Handler {
 		//if so, return that initiation result and start using the http2 code
 		
 		//if we get this far, we now know we are http1.1
-		if(state.getParsedMessages().size() > 0) {
+		if(state.getHttp2Messages().size() > 0 || state.getParsedMessages().size() > 0) {
 			function.accept(ProtocolType.HTTP1_1);
 			
 			XFuture<Void> fut = processWithBackpressure(socket, newDataSize, numBytesRead);
@@ -128,7 +129,6 @@ public class Layer2Http11Handler {
 			FrontendSocketImpl socket, int newDataSize, int numBytesRead) {
 		
 		Memento state = socket.getHttp11ParseState();
-		List<HttpPayload> parsed = state.getParsedMessages();
 
 		WebSession session = (WebSession) socket.getSession().get(WEB_SESSION_KEY);
 		if(session == null) {
@@ -139,8 +139,24 @@ public class Layer2Http11Handler {
 		//ALL of the below MUST happen AFTER the previous processing happened
 		//which may not have finished so chain the below with the previous future
 		XFuture<Void> future = session.getProcessFuture();
+		if(!httpParser.isByteLevelParsing()) {
+			//String parser so each HttpPayload is translated to http2 as it is processed
+			for(HttpPayload payload : state.getParsedMessages()) {
+				future = future.thenCompose(s -> processCorrectly(socket, payload));
+			}
+			session.setProcessFuture(future);
+			return future;
+		}
+
+		//requests come straight out of the parser as Http2Request/DataFrame(see parse)
+		List<Http2Msg> parsed = state.getHttp2Messages();
+		if(state.getParsedMessages().size() > 0) {
+			//anything not decoded to http2 is not a request(ie. a response) which is not valid for a server
+			HttpPayload payload = state.getParsedMessages().get(0);
+			future = future.thenCompose(s -> XFuture.failedFuture(new IllegalArgumentException("payload not supported="+payload)));
+		}
 	
-		for(HttpPayload payload : parsed) {
+		for(Http2Msg payload : parsed) {
 			//VERY IMPORTANT: Writing the code like this would slam through calling process N times
 			//BUT it doesn't give the clients a chance to seet a flag between packets
 			//Mainly done for exceptions and streaming so you can log exc, set a boolean so you
@@ -163,22 +179,30 @@ public class Layer2Http11Handler {
 	private Memento parse(FrontendSocketImpl socket, ByteBuffer buf) {
 		DataWrapper moreData = dataGen.wrapByteBuffer(buf);
 		Memento state = socket.getHttp11ParseState();
-		state = httpParser.parse(state, moreData);
+		if(httpParser.isByteLevelParsing()) {
+			//skip creating an HttpRequest just to translate it to an Http2Request
+			state = httpParser.parseToHttp2(state, moreData, socket.isForServingHttpsPages());
+		} else {
+			state = httpParser.parse(state, moreData);
+		}
 		return state;
 	}
-	
+
 	private XFuture<Void> processCorrectly(FrontendSocketImpl socket, HttpPayload payload) {
+		Http2Msg msg = Http11ToHttp2.translate(payload, socket.isForServingHttpsPages());
+		return processCorrectly(socket, msg);
+	}
+	
+	private XFuture<Void> processCorrectly(FrontendSocketImpl socket, Http2Msg msg) {
 		try {
 			MDC.put("svrSocket", socket.getChannel().getChannelId());
-			
-			Http2Msg msg = Http11ToHttp2.translate(payload, socket.isForServingHttpsPages());
 	
-			if(payload instanceof HttpRequest) {
-				return processInitialPieceOfRequest(socket, (HttpRequest) payload, (Http2Request)msg);
+			if(msg instanceof Http2Request) {
+				return processInitialPieceOfRequest(socket, (Http2Request)msg);
 			} else if(msg instanceof DataFrame) {
 				return processData(socket, (DataFrame)msg);
 			} else {
-				throw new IllegalArgumentException("payload not supported="+payload);
+				throw new IllegalArgumentException("payload not supported="+msg);
 			}
 		} finally {
 			MDC.put("svrSocket", "");			
@@ -225,12 +249,15 @@ public class Layer2Http11Handler {
 
 	}
 
-	private XFuture<Void> processInitialPieceOfRequest(FrontendSocketImpl socket, HttpRequest http1Req, Http2Request headers) {
+	private XFuture<Void> processInitialPieceOfRequest(FrontendSocketImpl socket, Http2Request headers) {
 		int id = counter.getAndAdd(2);
 		
 		PermitQueue permitQueue = socket.getPermitQueue();
-		return permitQueue.runRequest(() -> {
-			Http11StreamImpl currentStream = new Http11StreamImpl(id, socket, httpParser, permitQueue, http1Req, headers);
+		Http11ResponseQueue responseQueue = socket.getResponseQueue();
+		//too many pipelined responses held in memory so wait for the earlier ones to go out first
+		return responseQueue.whenBelowMaxBytes().thenCompose(v -> permitQueue.runRequest(() -> {
+			Http11StreamImpl currentStream = new Http11StreamImpl(id, socket, httpParser, permitQueue, headers);
+			responseQueue.add(currentStream);
 
 			HttpStream streamHandle = httpListener.openStream(socket);
 			currentStream.setStreamHandle(streamHandle);
@@ -260,13 +287,14 @@ public class Layer2Http11Handler {
 				currentStream.setStreamRef(streamRef);
 				return streamRef.getWriter().thenApply(w -> null);
 			}
-		});
+		}));
 	}
 
 	public void socketOpened(FrontendSocketImpl socket, boolean isReadyForWrites) {
 		Memento parseState = httpParser.prepareToParse();
 		MarshalState marshalState = httpParser.prepareToMarshal();
 		socket.setHttp1_1ParseState(parseState, marshalState);
+		socket.setupHttp11Pipelining(config.maxPipelinedRequests, config.maxPipelinedResponseBytes);
 		//timeoutListener.connectionOpened(socket, isReadyForWrites);
 	}
 
@@ -63,4 +63,15 @@ public class Layer3Http2EngineListener implements ServerEngineListener {
 		}
 	}
 
+	@Override
+	public XFuture<Void> sendToSocket(ByteBuffer[] buffers) {
+		try {
+			return socket.getChannel().write(buffers).thenApply(c -> null);
+		} catch(NioClosedChannelException e) {
+			XFuture<Void> f = new XFuture<Void>();
+			f.completeExceptionally(e);
+			return f;
+		}
+	}
+
 }
@@ -9,6 +9,7 @@ import java.util.concurrent.TimeoutException;
 import org.junit.Before;
 import org.webpieces.data.api.DataWrapperGenerator;
 import org.webpieces.data.api.DataWrapperGeneratorFactory;
+import org.webpieces.data.api.TwoPools;
 import org.webpieces.frontend2.api.HttpFrontendFactory;
 import org.webpieces.frontend2.api.HttpFrontendManager;
 import org.webpieces.frontend2.api.HttpServer;
@@ -19,6 +20,8 @@ import org.webpieces.httpfrontend2.api.mock2.MockHttp1Channel;
 import org.webpieces.httpfrontend2.api.mock2.MockHttp2RequestListener;
 import org.webpieces.httpfrontend2.api.mock2.MockStreamWriter;
 import org.webpieces.httpfrontend2.api.mock2.MockTcpServerChannel;
+import org.webpieces.httpparser.api.HttpParser;
+import org.webpieces.httpparser.api.HttpParserFactory;
 import org.webpieces.mock.time.MockTime;
 import org.webpieces.mock.time.MockTimer;
 import org.webpieces.nio.api.handlers.ConnectionListener;
@@ -55,14 +58,22 @@ public class AbstractHttp1Test {
         SimpleMeterRegistry metrics = new SimpleMeterRegistry();
 		InjectionConfig injConfig = new InjectionConfig(mockTime, config, metrics);
 
-		HttpSvrConfig frontendConfig = new HttpSvrConfig("http", new InetSocketAddress("me", 8080));
-		HttpFrontendManager manager = HttpFrontendFactory.createFrontEnd(mockChanMgr, mockTimer, injConfig, Metrics.globalRegistry);
+		HttpSvrConfig frontendConfig = createFrontendConfig();
+		HttpFrontendManager manager = HttpFrontendFactory.createFrontEnd(mockChanMgr, mockTimer, injConfig, createParser(metrics), Metrics.globalRegistry);
 		HttpServer httpServer = manager.createHttpServer(frontendConfig, mockListener);
 		httpServer.start();
         
 		simulateClientConnecting();
 	}
 
+	protected HttpParser createParser(SimpleMeterRegistry metrics) {
+		return HttpParserFactory.createParser("frontend", metrics, new TwoPools("pl", metrics));
+	}
+
+	protected HttpSvrConfig createFrontendConfig() {
+		return new HttpSvrConfig("http", new InetSocketAddress("me", 8080));
+	}
+
 	private void simulateClientConnecting() throws InterruptedException, ExecutionException, TimeoutException {
 		ConnectionListener listener = mockChanMgr.getSingleConnectionListener();
 		XFuture<DataListener> futureList = listener.connected(mockChannel, true);
@@ -1,6 +1,10 @@
 package org.webpieces.httpfrontend2.api.http1;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import org.webpieces.util.futures.XFuture;
 import java.util.concurrent.ExecutionException;
@@ -27,6 +31,7 @@ import org.webpieces.httpparser.api.dto.KnownHttpMethod;
 import com.webpieces.http2.api.dto.highlevel.Http2Response;
 import com.webpieces.http2.api.dto.lowlevel.DataFrame;
 import com.webpieces.http2.api.streaming.StreamWriter;
+import com.webpieces.http2.api.streaming.ZeroCopyStreamWriter;
 
 
 public class TestHttp11Basic extends AbstractHttp1Test {
@@ -82,6 +87,41 @@ public class TestHttp11Basic extends AbstractHttp1Test {
 		Assert.assertEquals(0, last.getBodyNonNull().getReadableSize());
 	}
 	
+	@Test
+	public void testFileDownloadWithSendfile() throws InterruptedException, ExecutionException, TimeoutException, IOException {
+		mockChannel.setTransferFromSupported(true);
+		HttpRequest req = Requests.createRequest(KnownHttpMethod.GET, "/xxxx");
+		mockChannel.sendToSvr(req);
+		PassedIn in1 = mockListener.getSingleRequest();
+
+		String bodyStr = "hi here and there";
+		HttpResponse resp = Requests.createResponse();
+		resp.addHeader(new Header(KnownHeaderName.CONTENT_LENGTH, ""+bodyStr.length()));
+		Http2Response headers = Http11ToHttp2.responseToHeaders(resp);
+		StreamWriter writer = in1.stream.process(headers).get(2, TimeUnit.SECONDS);
+		Assert.assertEquals(resp, mockChannel.getFrameAndClear());
+		Assert.assertTrue(writer instanceof ZeroCopyStreamWriter);
+
+		Path file = Files.createTempFile("testSendfile", ".txt");
+		try (FileChannel channel = FileChannel.open(Files.writeString(file, bodyStr))) {
+			((ZeroCopyStreamWriter) writer).sendFile(channel, 0, channel.size()).get(2, TimeUnit.SECONDS);
+		} finally {
+			Files.delete(file);
+		}
+
+		HttpData data = (HttpData) mockChannel.getFrameAndClear();
+		DataWrapper body = data.getBodyNonNull();
+		Assert.assertEquals(bodyStr, body.createStringFromUtf8(0, body.getReadableSize()));
+
+		//the next response must marshal as if the body went through the parser
+		mockChannel.sendToSvr(Requests.createRequest(KnownHttpMethod.GET, "/xxxx"));
+		PassedIn in2 = mockListener.getSingleRequest();
+		HttpResponse resp2 = Requests.createResponse(2);
+		resp2.addHeader(new Header(KnownHeaderName.CONTENT_LENGTH, "0"));
+		in2.stream.process(Http11ToHttp2.responseToHeaders(resp2));
+		Assert.assertEquals(resp2, mockChannel.getFrameAndClear());
+	}
+
 	@Test
 	public void testPostWithChunking() {
 		HttpRequest req = Requests.createRequest(KnownHttpMethod.GET, "/xxxx");
@@ -0,0 +1,19 @@
+package org.webpieces.httpfrontend2.api.http1;
+
+import org.webpieces.data.api.TwoPools;
+import org.webpieces.httpparser.api.HttpParser;
+import org.webpieces.httpparser.api.HttpParserFactory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Same tests with FrontendMgrConfig.byteLevelHttp1Parsing on so requests are decoded straight to http2
+ */
+public class TestHttp11BasicByteLevel extends TestHttp11Basic {
+
+	@Override
+	protected HttpParser createParser(SimpleMeterRegistry metrics) {
+		return HttpParserFactory.createParser("frontend", metrics, new TwoPools("pl", metrics), true, true);
+	}
+
+}
@@ -0,0 +1,182 @@
+package org.webpieces.httpfrontend2.api.http1;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.webpieces.frontend2.api.HttpSvrConfig;
+import org.webpieces.http2translations.api.Http11ToHttp2;
+import org.webpieces.httpfrontend2.api.mock2.MockHttp2RequestListener.PassedIn;
+import org.webpieces.httpparser.api.common.Header;
+import org.webpieces.httpparser.api.common.KnownHeaderName;
+import org.webpieces.httpparser.api.dto.HttpData;
+import org.webpieces.httpparser.api.dto.HttpPayload;
+import org.webpieces.httpparser.api.dto.HttpResponse;
+import org.webpieces.httpparser.api.dto.KnownHttpMethod;
+import org.webpieces.util.futures.XFuture;
+
+import com.webpieces.http2.api.dto.lowlevel.DataFrame;
+import com.webpieces.http2.api.streaming.StreamWriter;
+import com.webpieces.http2.api.streaming.ZeroCopyStreamWriter;
+
+public class TestHttp11Pipelining extends AbstractHttp1Test {
+
+	@Override
+	protected HttpSvrConfig createFrontendConfig() {
+		HttpSvrConfig config = super.createFrontendConfig();
+		config.maxPipelinedRequests = 3;
+		config.maxPipelinedResponseBytes = 4;
+		return config;
+	}
+
+	@Test
+	public void testLaterResponseWaitsForEarlierResponse() {
+		mockChannel.sendToSvr(Requests.createRequest(KnownHttpMethod.GET, "/first"));
+		mockChannel.sendToSvr(Requests.createRequest(KnownHttpMethod.GET, "/second"));
+		List<PassedIn> requests = mockListener.getRequestsThatCameIn();
+		Assert.assertEquals(2, requests.size());
+
+		HttpResponse resp2 = createEmptyResponse(2);
+		requests.get(1).stream.process(Http11ToHttp2.responseToHeaders(resp2));
+		Assert.assertEquals(0, mockChannel.getFramesAndClear().size());
+
+		HttpResponse resp1 = createEmptyResponse(1);
+		requests.get(0).stream.process(Http11ToHttp2.responseToHeaders(resp1));
+
+		List<HttpPayload> frames = mockChannel.getFramesAndClear();
+		Assert.assertEquals(2, frames.size());
+		Assert.assertEquals(resp1, frames.get(0));
+		Assert.assertEquals(resp2, frames.get(1));
+	}
+
+	@Test
+	public void testOnlyMaxPipelinedRequestsProcessed() {
+		mockChannel.sendToSvr(Requests.createRequest(KnownHttpMethod.GET, "/first"));
+		mockChannel.sendToSvr(Requests.createRequest(KnownHttpMethod.GET, "/second"));
+		mockChannel.sendToSvr(Requests.createRequest(KnownHttpMethod.GET, "/third"));
+		XFuture<Void> fourth = mockChannel.sendToSvrAsync(Requests.createRequest(KnownHttpMethod.GET, "/fourth"));
+		List<PassedIn> requests = mockListener.getRequestsThatCameIn();
+		Assert.assertEquals(3, requests.size());
+		Assert.assertFalse(fourth.isDone());
+
+		requests.get(0).stream.process(Http11ToHttp2.responseToHeaders(createEmptyResponse(1)));
+
+		Assert.assertTrue(fourth.isDone());
+		Assert.assertEquals(1, mockListener.getNumRequestsThatCameIn());
+	}
+
+	@Test
+	public void testBufferedResponseBytesOverMaxStopsProcessing() throws InterruptedException, ExecutionException, TimeoutException {
+		mockChannel.sendToSvr(Requests.createRequest(KnownHttpMethod.GET, "/first"));
+		mockChannel.sendToSvr(Requests.createRequest(KnownHttpMethod.GET, "/second"));
+		List<PassedIn> requests = mockListener.getRequestsThatCameIn();
+
+		String bodyStr = "more than max";
+		HttpResponse resp2 = Requests.createResponse(2);
+		resp2.addHeader(new Header(KnownHeaderName.CONTENT_LENGTH, ""+bodyStr.length()));
+		//buffered as the first response is not done but the app can keep going
+		StreamWriter writer2 = requests.get(1).stream.process(Http11ToHttp2.responseToHeaders(resp2)).get(2, TimeUnit.SECONDS);
+		XFuture<Void> body2 = writer2.processPiece(createLastFrame(bodyStr));
+		Assert.assertFalse(body2.isDone());
+		Assert.assertEquals(0, mockChannel.getFramesAndClear().size());
+
+		//there is a permit for the third request BUT too much is buffered
+		XFuture<Void> third = mockChannel.sendToSvrAsync(Requests.createRequest(KnownHttpMethod.GET, "/third"));
+		Assert.assertEquals(0, mockListener.getNumRequestsThatCameIn());
+		Assert.assertFalse(third.isDone());
+
+		HttpResponse resp1 = Requests.createResponse(1);
+		resp1.addHeader(new Header(KnownHeaderName.CONTENT_LENGTH, "2"));
+		StreamWriter writer1 = requests.get(0).stream.process(Http11ToHttp2.responseToHeaders(resp1)).get(2, TimeUnit.SECONDS);
+		writer1.processPiece(createLastFrame("ab")).get(2, TimeUnit.SECONDS);
+
+		List<HttpPayload> frames = mockChannel.getFramesAndClear();
+		Assert.assertEquals(4, frames.size());
+		Assert.assertEquals(resp1, frames.get(0));
+		Assert.assertEquals(resp2, frames.get(2));
+		HttpData data = (HttpData) frames.get(3);
+		Assert.assertEquals(bodyStr, data.getBodyNonNull().createStringFromUtf8(0, bodyStr.length()));
+		body2.get(2, TimeUnit.SECONDS);
+
+		third.get(2, TimeUnit.SECONDS);
+		Assert.assertEquals(1, mockListener.getNumRequestsThatCameIn());
+	}
+
+	@Test
+	public void testBufferedBodyIsCopiedBeforeCompleting() throws InterruptedException, ExecutionException, TimeoutException {
+		mockChannel.sendToSvr(Requests.createRequest(KnownHttpMethod.GET, "/first"));
+		mockChannel.sendToSvr(Requests.createRequest(KnownHttpMethod.GET, "/second"));
+		List<PassedIn> requests = mockListener.getRequestsThatCameIn();
+
+		HttpResponse resp2 = Requests.createResponse(2);
+		resp2.addHeader(new Header(KnownHeaderName.CONTENT_LENGTH, "2"));
+		StreamWriter writer2 = requests.get(1).stream.process(Http11ToHttp2.responseToHeaders(resp2)).get(2, TimeUnit.SECONDS);
+		byte[] appBuffer = "ab".getBytes(StandardCharsets.UTF_8);
+		DataFrame frame = new DataFrame();
+		frame.setEndOfStream(true);
+		frame.setData(DATA_GEN.wrapByteArray(appBuffer));
+		//under the max so it completes while still buffered
+		writer2.processPiece(frame).get(2, TimeUnit.SECONDS);
+		//like a pooled buffer released and reused once the write completes
+		appBuffer[0] = 'z';
+		appBuffer[1] = 'z';
+
+		requests.get(0).stream.process(Http11ToHttp2.responseToHeaders(createEmptyResponse(1)));
+
+		List<HttpPayload> frames = mockChannel.getFramesAndClear();
+		Assert.assertEquals(3, frames.size());
+		HttpData data = (HttpData) frames.get(2);
+		Assert.assertEquals("ab", data.getBodyNonNull().createStringFromUtf8(0, 2));
+	}
+
+	@Test
+	public void testQueuedSendfileCompletesOnlyOnceWritten() throws InterruptedException, ExecutionException, TimeoutException, IOException {
+		mockChannel.setTransferFromSupported(true);
+		mockChannel.sendToSvr(Requests.createRequest(KnownHttpMethod.GET, "/first"));
+		mockChannel.sendToSvr(Requests.createRequest(KnownHttpMethod.GET, "/second"));
+		List<PassedIn> requests = mockListener.getRequestsThatCameIn();
+
+		String bodyStr = "file";
+		HttpResponse resp2 = Requests.createResponse(2);
+		resp2.addHeader(new Header(KnownHeaderName.CONTENT_LENGTH, ""+bodyStr.length()));
+		StreamWriter writer2 = requests.get(1).stream.process(Http11ToHttp2.responseToHeaders(resp2)).get(2, TimeUnit.SECONDS);
+
+		Path file = Files.createTempFile("testQueuedSendfile", ".txt");
+		try (FileChannel channel = FileChannel.open(Files.writeString(file, bodyStr))) {
+			XFuture<Void> sent = ((ZeroCopyStreamWriter) writer2).sendFile(channel, 0, channel.size());
+			//the caller closes the file once this completes so it must wait for the transfer
+			Assert.assertFalse(sent.isDone());
+
+			requests.get(0).stream.process(Http11ToHttp2.responseToHeaders(createEmptyResponse(1)));
+			sent.get(2, TimeUnit.SECONDS);
+		} finally {
+			Files.delete(file);
+		}
+
+		List<HttpPayload> frames = mockChannel.getFramesAndClear();
+		Assert.assertEquals(3, frames.size());
+		HttpData data = (HttpData) frames.get(2);
+		Assert.assertEquals(bodyStr, data.getBodyNonNull().createStringFromUtf8(0, bodyStr.length()));
+	}
+
+	private DataFrame createLastFrame(String body) {
+		DataFrame frame = new DataFrame();
+		frame.setEndOfStream(true);
+		frame.setData(DATA_GEN.wrapByteArray(body.getBytes(StandardCharsets.UTF_8)));
+		return frame;
+	}
+
+	private HttpResponse createEmptyResponse(int id) {
+		HttpResponse resp = Requests.createResponse(id);
+		resp.addHeader(new Header(KnownHeaderName.CONTENT_LENGTH, "0"));
+		return resp;
+	}
+}
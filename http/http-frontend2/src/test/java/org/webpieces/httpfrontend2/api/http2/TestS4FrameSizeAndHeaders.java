@@ -9,14 +9,16 @@ import java.util.concurrent.TimeoutException;
 import org.junit.Assert;
 import org.junit.Test;
 import org.webpieces.data.api.DataWrapper;
+import org.webpieces.data.api.TwoPools;
 import org.webpieces.frontend2.api.ResponseStream;
 import org.webpieces.httpfrontend2.api.mock2.MockHttp2RequestListener.PassedIn;
 import org.webpieces.httpfrontend2.api.mock2.MockStreamRef;
 import org.webpieces.httpfrontend2.api.mock2.MockStreamWriter;
 import org.webpieces.httpfrontend2.api.mock2.TestAssert;
 
-import com.twitter.hpack.Encoder;
 import com.webpieces.hpack.impl.HeaderEncoding;
+import com.webpieces.hpack.impl.codec.HpackEncoder;
+import com.webpieces.hpack.impl.codec.HpackEncoderMetrics;
 import com.webpieces.http2.api.dto.error.CancelReasonCode;
 import com.webpieces.http2.api.dto.highlevel.Http2Request;
 import com.webpieces.http2.api.dto.highlevel.Http2Response;
@@ -31,6 +33,8 @@ import com.webpieces.http2.api.streaming.StreamWriter;
 import com.webpieces.http2engine.api.error.ConnectionClosedException;
 import com.webpieces.http2engine.api.error.ShutdownStream;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 /**
  * Test this section of rfc..
  * http://httpwg.org/specs/rfc7540.html#SETTINGS
@@ -200,13 +204,14 @@ public class TestS4FrameSizeAndHeaders extends AbstractFrontendHttp2Test {
 		fillHeaders(response1);
 		
 		HeaderEncoding encoding = new HeaderEncoding();
-		List<Http2Frame> frames1 = encoding.translateToFrames(localSettings.getMaxFrameSize(), new Encoder(localSettings.getHeaderTableSize()), response1);
+		TwoPools pool = new TwoPools("pl", new SimpleMeterRegistry());
+		List<Http2Frame> frames1 = encoding.translateToFrames(localSettings.getMaxFrameSize(), new HpackEncoder(localSettings.getHeaderTableSize(), pool, new HpackEncoderMetrics(new SimpleMeterRegistry())), response1);
 		
 		Http2Response response2 = new Http2Response();
 		response2.setStreamId(3);
 		response1.setEndOfStream(true);
 		response2.addHeader(new Http2Header(Http2HeaderName.ACCEPT, "value"));
-		List<Http2Frame> frames2 = encoding.translateToFrames(localSettings.getMaxFrameSize(), new Encoder(localSettings.getHeaderTableSize()), response2);
+		List<Http2Frame> frames2 = encoding.translateToFrames(localSettings.getMaxFrameSize(), new HpackEncoder(localSettings.getHeaderTableSize(), pool, new HpackEncoderMetrics(new SimpleMeterRegistry())), response2);
 
 		List<Http2Frame> frames = new ArrayList<>();
 		frames.addAll(frames1);
@@ -0,0 +1,133 @@
+package org.webpieces.httpfrontend2.api.http2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.webpieces.httpfrontend2.api.mock2.MockHttp2RequestListener.PassedIn;
+
+import com.webpieces.http2.api.dto.highlevel.Http2Response;
+import com.webpieces.http2.api.dto.lowlevel.DataFrame;
+import com.webpieces.http2.api.dto.lowlevel.GoAwayFrame;
+import com.webpieces.http2.api.dto.lowlevel.PriorityFrame;
+import com.webpieces.http2.api.dto.lowlevel.WindowUpdateFrame;
+import com.webpieces.http2.api.dto.lowlevel.lib.Http2ErrorCode;
+import com.webpieces.http2.api.dto.lowlevel.lib.Http2Msg;
+import com.webpieces.http2.api.dto.lowlevel.lib.PriorityDetails;
+import com.webpieces.http2.api.streaming.StreamWriter;
+
+/**
+ * Which stream's DATA goes out when the client opens up the connection window
+ */
+public class TestSRemoteFlowControl extends AbstractFrontendHttp2Test {
+
+	private static final int INITIAL_WINDOW = 5009;
+
+	@Test
+	public void testStreamsTakeTurnsWhenWindowOpens() throws InterruptedException, ExecutionException, TimeoutException {
+		StreamWriter writer1 = respondAndUseUpWindow(1);
+		StreamWriter writer3 = respond(3);
+
+		writer1.processPiece(createData(1, 10, false));
+		writer1.processPiece(createData(1, 10, true));
+		writer3.processPiece(createData(3, 10, false));
+		writer3.processPiece(createData(3, 10, true));
+		Assert.assertEquals(0, mockChannel.getFramesAndClear().size());
+
+		mockChannel.send(new WindowUpdateFrame(0, 40));
+
+		//with a fifo, stream 1 would have sent everything before stream 3 sent anything
+		Assert.assertEquals(List.of(1, 3, 1, 3), streamIdsSent());
+	}
+
+	@Test
+	public void testHigherWeightStreamGetsMoreOfTheWindow() throws InterruptedException, ExecutionException, TimeoutException {
+		StreamWriter writer1 = respondAndUseUpWindow(1);
+		StreamWriter writer3 = respond(3);
+
+		PriorityDetails details = new PriorityDetails();
+		details.setWeight((short) 63); //weight of 64 vs. the default of 16
+		mockChannel.send(new PriorityFrame(3, details));
+
+		for(int i = 0; i < 4; i++) {
+			writer1.processPiece(createData(1, 10, false));
+			writer3.processPiece(createData(3, 10, false));
+		}
+		Assert.assertEquals(0, mockChannel.getFramesAndClear().size());
+
+		mockChannel.send(new WindowUpdateFrame(0, 50));
+
+		Assert.assertEquals(List.of(1, 3, 3, 3, 3), streamIdsSent());
+	}
+
+	@Test
+	public void testFrameSplitWhenWindowTooSmall() throws InterruptedException, ExecutionException, TimeoutException {
+		StreamWriter writer1 = respondAndUseUpWindow(1);
+
+		writer1.processPiece(createData(1, 10, true));
+		mockChannel.send(new WindowUpdateFrame(0, 4));
+
+		DataFrame first = (DataFrame) mockChannel.getFrameAndClear();
+		Assert.assertEquals(1, first.getStreamId());
+		Assert.assertEquals(4, first.getData().getReadableSize());
+		Assert.assertFalse(first.isEndOfStream());
+
+		mockChannel.send(new WindowUpdateFrame(0, 100));
+
+		DataFrame second = (DataFrame) mockChannel.getFrameAndClear();
+		Assert.assertEquals(1, second.getStreamId());
+		Assert.assertEquals(6, second.getData().getReadableSize());
+		Assert.assertTrue(second.isEndOfStream());
+	}
+
+	@Test
+	public void testConnectionWindowTooLargeIsFlowControlError() {
+		mockChannel.send(new WindowUpdateFrame(0, Integer.MAX_VALUE));
+
+		GoAwayFrame goAway = (GoAwayFrame) mockChannel.getFrameAndClear();
+		Assert.assertEquals(Http2ErrorCode.FLOW_CONTROL_ERROR, goAway.getKnownErrorCode());
+	}
+
+	/**
+	 * Stream uses up the whole connection window and is then given more stream window so only the
+	 * connection window holds data back
+	 */
+	private StreamWriter respondAndUseUpWindow(int streamId) throws InterruptedException, ExecutionException, TimeoutException {
+		StreamWriter writer = respond(streamId);
+		//two frames as the window is larger than the default max frame size
+		writer.processPiece(createData(streamId, 4000, false));
+		writer.processPiece(createData(streamId, INITIAL_WINDOW - 4000, false));
+		Assert.assertEquals(2, mockChannel.getFramesAndClear().size());
+
+		mockChannel.send(new WindowUpdateFrame(streamId, 1000));
+		Assert.assertEquals(0, mockChannel.getFramesAndClear().size());
+		return writer;
+	}
+
+	private StreamWriter respond(int streamId) throws InterruptedException, ExecutionException, TimeoutException {
+		PassedIn in = sendRequestToServer(streamId, true);
+		Http2Response resp = Http2Requests.createResponse(streamId, false);
+		StreamWriter writer = in.stream.process(resp).get(2, TimeUnit.SECONDS);
+		Assert.assertEquals(resp, mockChannel.getFrameAndClear());
+		return writer;
+	}
+
+	private DataFrame createData(int streamId, int size, boolean eos) {
+		DataFrame data = new DataFrame(streamId, eos);
+		data.setData(DATA_GEN.wrapByteArray(new byte[size]));
+		return data;
+	}
+
+	private List<Integer> streamIdsSent() {
+		List<Integer> streamIds = new ArrayList<>();
+		for(Http2Msg msg : mockChannel.getFramesAndClear()) {
+			streamIds.add(msg.getStreamId());
+		}
+		return streamIds;
+	}
+
+}
@@ -14,6 +14,7 @@ import org.webpieces.data.api.DataWrapper;
 import org.webpieces.data.api.DataWrapperGenerator;
 import org.webpieces.data.api.DataWrapperGeneratorFactory;
 import org.webpieces.data.api.TwoPools;
+import org.webpieces.httpfrontend2.api.http2.Http2Requests;
 import org.webpieces.mock.MethodEnum;
 import org.webpieces.mock.MockSuperclass;
 import org.webpieces.mock.ParametersPassedIn;
@@ -43,8 +44,10 @@ public class Http2ChannelCache extends MockSuperclass implements TCPChannel {
 
 	public Http2ChannelCache() {
 		BufferPool bufferPool = new TwoPools("pl", new SimpleMeterRegistry());
-		parser = HpackParserFactory.createParser(bufferPool, false);
-		unmarshalState = parser.prepareToUnmarshal("mockChannel", 4096, 4096, 4096);
+		parser = HpackParserFactory.createParser(bufferPool, false, new SimpleMeterRegistry());
+		//the server's encoder uses the header table size we send in our settings
+		int headerTableSize = Http2Requests.createSomeSettings().getHeaderTableSize();
+		unmarshalState = parser.prepareToUnmarshal("mockChannel", 4096, headerTableSize, 4096);
 	}
 	
 	@Override
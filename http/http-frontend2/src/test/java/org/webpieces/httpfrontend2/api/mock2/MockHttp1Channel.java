@@ -2,7 +2,9 @@ package org.webpieces.httpfrontend2.api.mock2;
 
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.Collection;
 import java.util.List;
 import org.webpieces.util.futures.XFuture;
@@ -47,6 +49,7 @@ public class MockHttp1Channel extends MockSuperclass implements TCPChannel {
 	private HttpParser parser;
 	private Memento memento;
 	private MarshalState marshalState;
+	private boolean transferFromSupported;
 
 	public MockHttp1Channel() {
 		BufferPool pool = new TwoPools("pl", new SimpleMeterRegistry());
@@ -101,6 +104,27 @@ public class MockHttp1Channel extends MockSuperclass implements TCPChannel {
 		return (XFuture<Void>) super.calledMethod(Method.INCOMING_FRAME, payloads);
 	}
 
+	@Override
+	public XFuture<Void> transferFrom(FileChannel file, long position, long count) {
+		ByteBuffer buf = ByteBuffer.allocate((int) count);
+		try {
+			file.read(buf, position);
+		} catch (IOException e) {
+			throw SneakyThrow.sneak(e);
+		}
+		buf.flip();
+		return write(buf);
+	}
+
+	@Override
+	public boolean isTransferFromSupported() {
+		return transferFromSupported;
+	}
+
+	public void setTransferFromSupported(boolean transferFromSupported) {
+		this.transferFromSupported = transferFromSupported;
+	}
+
 	public HttpPayload getFrameAndClear() {
 		List<HttpPayload> msgs = getFramesAndClear();
 		if(msgs.size() != 1)
@@ -43,7 +43,7 @@ public class MockHttp2Channel {
 	public MockHttp2Channel(Http2ChannelCache mockHttp2Channel) {
 		this.mockHttp2Channel = mockHttp2Channel;
 		BufferPool bufferPool = new TwoPools("pl", new SimpleMeterRegistry());
-		parser = HpackParserFactory.createParser(bufferPool, false);
+		parser = HpackParserFactory.createParser(bufferPool, false, new SimpleMeterRegistry());
 		marshalState = parser.prepareToMarshal(4096, 4096);
 		frameParser = Http2ParserFactory.createParser(bufferPool);
 	}
@@ -1,6 +1,7 @@
 package org.webpieces.httpfrontend2.api.mock2;
 
 import java.util.List;
+import java.util.stream.Collectors;
 import org.webpieces.util.futures.XFuture;
 
 import org.webpieces.frontend2.api.FrontendSocket;
@@ -79,6 +80,11 @@ public class MockHttp2RequestListener extends MockSuperclass implements StreamLi
 		return super.getCalledMethodList(Method.PROCESS).size();
 	}
 	
+	public List<PassedIn> getRequestsThatCameIn() {
+		List<ParametersPassedIn> list = super.getCalledMethodList(Method.PROCESS);
+		return list.stream().map(p -> (PassedIn) p.getArgs()[0]).collect(Collectors.toList());
+	}
+
 	public PassedIn getSingleRequest() {
 		List<ParametersPassedIn> list = super.getCalledMethodList(Method.PROCESS);
 		if(list.size() != 1)
@@ -36,6 +36,22 @@ public interface HttpParser {
 	 */
     Memento parse(Memento state, DataWrapper moreData);
 
+    /**
+     * Same as parse except requests are decoded straight from the bytes into an Http2Request(with the
+     * :method, :path, :scheme and :authority pseudo headers) and the body into DataFrames, found in
+     * Memento.getHttp2Messages(), so servers skip creating an HttpRequest just to translate it.
+     * 
+     * @param isHttps used for the :scheme when the request line does not have an absolute uri
+     */
+    Memento parseToHttp2(Memento state, DataWrapper moreData, boolean isHttps);
+
+    /**
+     * @return true if this parser was created with byteLevelParsing(see HttpParserFactory.createParser).  Servers
+     * only decode with parseToHttp2 then and otherwise use parse and translate the HttpRequest so the String
+     * parser stays available as a fallback
+     */
+    boolean isByteLevelParsing();
+
     /**
      * Used when a response is coming for a connect so we don't parse all the data which may
      * be SSL data anyways.  Happens rarely but we hit this scenario
@@ -29,6 +29,14 @@ public class HttpParserFactory {
 		//instance...
 		return new HttpParserImpl(id, metrics, pool, optimizeForBufferPool);
 	}
+
+	/**
+	 * @param byteLevelParsing true to parse the request/status line and headers straight from the bytes.  Known
+	 * header names re-use constant Strings and header values are only created when read
+	 */
+	public static HttpParser createParser(String id, MeterRegistry metrics, BufferPool pool, boolean optimizeForBufferPool, boolean byteLevelParsing) {
+		return new HttpParserImpl(id, metrics, pool, optimizeForBufferPool, byteLevelParsing);
+	}
 	
 	public static HttpStatefulParser createStatefulParser(String id, MeterRegistry metrics, BufferPool pool) {
 		return new HttpStatefulParserImpl(createParser(id, metrics, pool, true));
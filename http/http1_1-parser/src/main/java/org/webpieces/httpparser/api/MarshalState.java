@@ -2,5 +2,10 @@ package org.webpieces.httpparser.api;
 
 public interface MarshalState {
 
+	/**
+	 * For when the body of a Content-Length request/response is written straight to the socket instead of
+	 * being marshalled as HttpData(ie. sendfile) so we still know where that body ends and the next message starts
+	 */
+	public void addBodyBytesSentDirectly(int numBytes);
 
 }
@@ -5,6 +5,8 @@ import java.util.List;
 import org.webpieces.data.api.DataWrapper;
 import org.webpieces.httpparser.api.dto.HttpPayload;
 
+import com.webpieces.http2.api.dto.lowlevel.lib.Http2Msg;
+
 public interface Memento {
 
 	/**
@@ -14,6 +16,12 @@ public interface Memento {
 	 */
 	List<HttpPayload> getParsedMessages();
 
+	/**
+	 * Only filled in by HttpParser.parseToHttp2 with the Http2Request and DataFrames parsed so far.  The
+	 * http2 preface marker and any responses still come back in getParsedMessages
+	 */
+	List<Http2Msg> getHttp2Messages();
+
 	/**
 	 * For those who would like to throw an exception if the incoming size of all headers is too large, the current
 	 * size can be checked
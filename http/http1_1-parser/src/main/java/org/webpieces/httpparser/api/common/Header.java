@@ -1,9 +1,16 @@
 package org.webpieces.httpparser.api.common;
 
+import java.nio.charset.StandardCharsets;
+
 public class Header {
 
 	private String name;
 	private String value;
+
+	//set when parsed at the byte level so value is only created if someone reads it
+	private byte[] valueBytes;
+	private int valueOffset;
+	private int valueLength;
 	
 	public Header() {
 	}
@@ -15,6 +22,15 @@ public class Header {
 		this.name = name.getHeaderName();
 		this.value = value;
 	}
+	/**
+	 * The value is created from the bytes(ISO-8859-1) the first time it is read so bytes must not change afterwards
+	 */
+	public Header(String name, byte[] valueBytes, int valueOffset, int valueLength) {
+		this.name = name;
+		this.valueBytes = valueBytes;
+		this.valueOffset = valueOffset;
+		this.valueLength = valueLength;
+	}
 	
 	public void setName(KnownHeaderName name) {
 		this.name = name.getHeaderName();
@@ -37,10 +53,13 @@ public class Header {
 		this.name = key;
 	}
 	public String getValue() {
+		if(value == null && valueBytes != null)
+			value = new String(valueBytes, valueOffset, valueLength, StandardCharsets.ISO_8859_1);
 		return value;
 	}
 	public void setValue(String value) {
 		this.value = value;
+		this.valueBytes = null;
 	}
 	
 	@Override
@@ -48,6 +67,7 @@ public class Header {
 		final int prime = 31;
 		int result = 1;
 		result = prime * result + ((name == null) ? 0 : name.hashCode());
+		String value = getValue();
 		result = prime * result + ((value == null) ? 0 : value.hashCode());
 		return result;
 	}
@@ -65,17 +85,18 @@ public class Header {
 				return false;
 		} else if (!name.equals(other.name))
 			return false;
+		String value = getValue();
 		if (value == null) {
-			if (other.value != null)
+			if (other.getValue() != null)
 				return false;
-		} else if (!value.equals(other.value))
+		} else if (!value.equals(other.getValue()))
 			return false;
 		return true;
 	}
 	
 	@Override
 	public String toString() {
-		return name + ": " + value + "\r\n";
+		return name + ": " + getValue() + "\r\n";
 	}
 	
 	
@@ -1,5 +1,7 @@
 package org.webpieces.httpparser.api.common;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -78,25 +80,48 @@ public enum KnownHeaderName {
 	;
 
 	private static Map<String, KnownHeaderName> lookup = new HashMap<>();
+	//indexed by length of the name so parsers can look up raw bytes without creating a String
+	private static KnownHeaderName[][] byLength;
 	
 	static {
+		int maxLength = 0;
 		for(KnownHeaderName name : KnownHeaderName.values()) {
-			lookup.put(name.getHeaderName().toLowerCase(), name);
+			lookup.put(name.lowerCaseName, name);
+			maxLength = Math.max(maxLength, name.nameBytes.length);
+		}
+
+		byLength = new KnownHeaderName[maxLength+1][0];
+		for(KnownHeaderName name : KnownHeaderName.values()) {
+			KnownHeaderName[] sameLength = byLength[name.nameBytes.length];
+			sameLength = Arrays.copyOf(sameLength, sameLength.length+1);
+			sameLength[sameLength.length-1] = name;
+			byLength[name.nameBytes.length] = sameLength;
 		}
 	}
 	
 	private String name;
 	private HeaderType type;
+	private String lowerCaseName;
+	private byte[] nameBytes;
 	
 	KnownHeaderName(String name, HeaderType type) {
 		this.name = name;
 		this.type = type;
+		this.lowerCaseName = name.toLowerCase();
+		this.nameBytes = name.getBytes(StandardCharsets.ISO_8859_1);
 	}
 	
 	public String getHeaderName() {
 		return name;
 	}
 
+	/**
+	 * @return getHeaderName().toLowerCase() without creating a new String every time
+	 */
+	public String getLowerCaseName() {
+		return lowerCaseName;
+	}
+
 	public HeaderType getHeaderType() {
 		return type;
 	}
@@ -104,4 +129,45 @@ public enum KnownHeaderName {
 	public static KnownHeaderName lookup(String name) {
 		return lookup.get(name.toLowerCase());
 	}
+
+	/**
+	 * Case insensitive lookup of the ISO-8859-1 bytes of a header name
+	 * 
+	 * @return the known name or null if not a known one in the spec
+	 */
+	public static KnownHeaderName lookup(byte[] data, int offset, int length) {
+		if(length >= byLength.length)
+			return null;
+
+		for(KnownHeaderName name : byLength[length]) {
+			if(name.matches(data, offset, false))
+				return name;
+		}
+		return null;
+	}
+
+	/**
+	 * @return true if the bytes are exactly(case sensitive) getHeaderName() so that String can be used instead of a new one
+	 */
+	public boolean isExactMatch(byte[] data, int offset, int length) {
+		return length == nameBytes.length && matches(data, offset, true);
+	}
+
+	private boolean matches(byte[] data, int offset, boolean caseSensitive) {
+		for(int i = 0; i < nameBytes.length; i++) {
+			byte b = data[offset+i];
+			byte expected = nameBytes[i];
+			if(b == expected)
+				continue;
+			else if(caseSensitive || toLowerCase(b) != toLowerCase(expected))
+				return false;
+		}
+		return true;
+	}
+
+	private static byte toLowerCase(byte b) {
+		if(b >= 'A' && b <= 'Z')
+			return (byte) (b + ('a' - 'A'));
+		return b;
+	}
 }
@@ -13,16 +13,16 @@ public class Headers {
 	private Map<String, List<Header>> headers = new HashMap<>();
 	
 	public Header getHeader(KnownHeaderName name) {
-		return getHeader(name.getHeaderName().toLowerCase());
+		return getHeader(name.getLowerCaseName());
 	}
 	public List<Header> getHeaders(KnownHeaderName name) {
-		List<Header> headers2 = getHeaders(name.getHeaderName().toLowerCase());
+		List<Header> headers2 = getHeaders(name.getLowerCaseName());
 		if(headers2 == null)
 			return new ArrayList<>();
 		return headers2;
 	}
 	public Header getLastInstanceOfHeader(KnownHeaderName name) {
-		List<Header> headers = getHeaders(name.getHeaderName().toLowerCase());
+		List<Header> headers = getHeaders(name.getLowerCaseName());
 		if(headers == null)
 			return null;
 		else if(headers.size() == 0)
@@ -0,0 +1,368 @@
+package org.webpieces.httpparser.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.webpieces.httpparser.api.ParseException;
+import org.webpieces.httpparser.api.common.Header;
+import org.webpieces.httpparser.api.common.KnownHeaderName;
+import org.webpieces.httpparser.api.dto.HttpMessage;
+import org.webpieces.httpparser.api.dto.HttpRequest;
+import org.webpieces.httpparser.api.dto.HttpRequestLine;
+import org.webpieces.httpparser.api.dto.HttpRequestMethod;
+import org.webpieces.httpparser.api.dto.HttpResponse;
+import org.webpieces.httpparser.api.dto.HttpResponseStatus;
+import org.webpieces.httpparser.api.dto.HttpResponseStatusLine;
+import org.webpieces.httpparser.api.dto.HttpUri;
+import org.webpieces.httpparser.api.dto.HttpVersion;
+import org.webpieces.httpparser.api.dto.KnownHttpMethod;
+
+import com.webpieces.http2.api.dto.highlevel.Http2Request;
+import com.webpieces.http2.api.dto.lowlevel.lib.Http2Header;
+import com.webpieces.http2.api.dto.lowlevel.lib.Http2HeaderName;
+
+/**
+ * Parses a whole header block(first line through the trailing \r\n\r\n) straight from it's bytes instead of
+ * creating a String per line and then substrings of each line like ParserUtil does.  Known methods and known
+ * header names with the usual case re-use the constant Strings and header values are only created if read(the
+ * Headers all share the one byte[] of the header block).
+ *
+ * Whitespace is anything <= ' ' exactly like String.trim() so both parsers produce the same messages.  The one
+ * difference is a header value continued on the next line(obs-fold) which ParserUtil does not support.
+ *
+ * parseHttp2Request goes straight to the Http2Request the frontend wants(names lower cased and Host
+ * as :authority) so servers skip the HttpRequest and Http11ToHttp2 translation altogether
+ */
+public class ByteMessageParser {
+
+	private static final byte CR = '\r';
+	private static final byte LF = '\n';
+	private static final KnownHttpMethod[] METHODS = KnownHttpMethod.values();
+	private static final String VERSION_PREFIX = "HTTP/";
+
+	public boolean isResponse(byte[] data) {
+		int start = skipWhitespace(data, 0, data.length);
+		return startsWith(data, start, data.length, VERSION_PREFIX);
+	}
+
+	public boolean hasNoHeaders(byte[] data) {
+		return indexOfCrLf(data, 0) + 4 == data.length;
+	}
+
+	/**
+	 * Only used in the rare http2 cases(preface).  Same as the trimmed first line in the old parser
+	 */
+	public String firstLine(byte[] data) {
+		int lineEnd = indexOfCrLf(data, 0);
+		int start = skipWhitespace(data, 0, lineEnd);
+		int end = trimEnd(data, start, lineEnd);
+		return toString(data, start, end);
+	}
+
+	public HttpRequest parseRequest(byte[] data) {
+		RequestLine line = parseRequestLine(data);
+
+		HttpRequestLine httpRequestLine = new HttpRequestLine();
+		httpRequestLine.setMethod(parseMethod(data, line.methodStart, line.methodEnd));
+		httpRequestLine.setUri(new HttpUri(toString(data, line.uriStart, line.uriEnd)));
+		httpRequestLine.setVersion(parseVersion(data, line.versionStart, line.versionEnd, line.lineEnd));
+
+		HttpRequest request = new HttpRequest();
+		request.setRequestLine(httpRequestLine);
+
+		parseHeaders(data, line.lineEnd + 2, request);
+		return request;
+	}
+
+	/**
+	 * Creates exactly what Http11ToHttp2.translate(parseRequest(data)) would without the HttpRequest in between
+	 */
+	public Http2Request parseHttp2Request(byte[] data, boolean isHttps) {
+		RequestLine line = parseRequestLine(data);
+		if(!startsWith(data, line.versionStart, line.versionEnd, VERSION_PREFIX))
+			throw new ParseException("Invalid version in http request first line not prefixed with HTTP/.  line="+toString(data, 0, line.lineEnd));
+
+		String uri = toString(data, line.uriStart, line.uriEnd);
+		List<Http2Header> headers = new ArrayList<>();
+		headers.add(new Http2Header(Http2HeaderName.METHOD, parseMethod(data, line.methodStart, line.methodEnd).getMethodAsString()));
+		headers.add(new Http2Header(Http2HeaderName.PATH, uri));
+		headers.add(new Http2Header(Http2HeaderName.SCHEME, parseScheme(uri, isHttps)));
+
+		boolean hasHost = false;
+		int lineStart = line.lineEnd + 2;
+		while(lineStart < data.length) {
+			int lineEnd = headerLineEnd(data, lineStart);
+			if(lineEnd == lineStart)
+				break; //the empty line ending the header block
+
+			HeaderBounds header = parseHeader(data, lineStart, lineEnd, true);
+			String name = header.name;
+			lineStart = lineEnd + 2;
+			if(KnownHeaderName.HOST.getLowerCaseName().equals(name)) {
+				//only the first Host becomes the one :authority(in it's place to keep the order of http1 headers)
+				if(hasHost)
+					continue;
+				hasHost = true;
+				name = Http2HeaderName.AUTHORITY.getHeaderName();
+			}
+			headers.add(new Http2Header(name, data, header.valueOffset, header.valueLength));
+		}
+
+		if(!hasHost)
+			throw new IllegalArgumentException("Host header is required in http1.1");
+
+		Http2Request request = new Http2Request(headers);
+		request.setEndOfStream(!hasBody(request));
+		return request;
+	}
+
+	private boolean hasBody(Http2Request request) {
+		Http2Header transfer = request.getHeaderLookupStruct().getLastInstanceOfHeader(Http2HeaderName.TRANSFER_ENCODING);
+		if(transfer != null && "chunked".equals(transfer.getValue()))
+			return true;
+
+		Http2Header contentLen = request.getHeaderLookupStruct().getHeader(Http2HeaderName.CONTENT_LENGTH);
+		if(contentLen == null)
+			return false;
+		return Integer.parseInt(contentLen.getValue()) > 0;
+	}
+
+	private String parseScheme(String uri, boolean isHttps) {
+		int doubleslashIndex = uri.indexOf("://");
+		if(doubleslashIndex >= 0)
+			return uri.substring(0, doubleslashIndex);
+		return isHttps ? "https" : "http";
+	}
+
+	private RequestLine parseRequestLine(byte[] data) {
+		RequestLine line = new RequestLine();
+		line.lineEnd = indexOfCrLf(data, 0);
+		line.methodStart = skipWhitespace(data, 0, line.lineEnd);
+		line.methodEnd = nextWhitespace(data, line.methodStart, line.lineEnd);
+		line.uriStart = skipWhitespace(data, line.methodEnd, line.lineEnd);
+		line.uriEnd = nextWhitespace(data, line.uriStart, line.lineEnd);
+		line.versionStart = skipWhitespace(data, line.uriEnd, line.lineEnd);
+		line.versionEnd = nextWhitespace(data, line.versionStart, line.lineEnd);
+
+		if(line.methodStart == line.methodEnd || line.uriStart == line.uriEnd || line.versionStart == line.versionEnd
+				|| skipWhitespace(data, line.versionEnd, line.lineEnd) != line.lineEnd)
+			throw new ParseException("Unable to parse invalid http request due to first line being invalid=" + toString(data, 0, line.lineEnd));
+		return line;
+	}
+
+	public HttpResponse parseResponse(byte[] data) {
+		int lineEnd = indexOfCrLf(data, 0);
+		int versionStart = skipWhitespace(data, 0, lineEnd);
+		int versionEnd = nextWhitespace(data, versionStart, lineEnd);
+		int codeStart = skipWhitespace(data, versionEnd, lineEnd);
+		int codeEnd = nextWhitespace(data, codeStart, lineEnd);
+		//In the case of response, a reason may contain spaces so it is the rest of the line
+		int reasonStart = skipWhitespace(data, codeEnd, lineEnd);
+		int reasonEnd = trimEnd(data, reasonStart, lineEnd);
+
+		//the old parser requires a space after the code even if there is no reason
+		if(versionEnd == lineEnd || codeEnd == lineEnd)
+			throw new IllegalArgumentException("The first line of http request is invalid="+ toString(data, 0, lineEnd));
+
+		HttpResponseStatus status = new HttpResponseStatus();
+		int code = parseInt(data, codeStart, codeEnd, lineEnd);
+		if(code <= 0 || code >= 1000)
+			throw new IllegalArgumentException("invalid status code.  response line="+toString(data, 0, lineEnd));
+		status.setCode(code);
+		status.setReason(toString(data, reasonStart, reasonEnd));
+
+		HttpResponseStatusLine statusLine = new HttpResponseStatusLine();
+		statusLine.setStatus(status);
+		statusLine.setVersion(parseVersion(data, versionStart, versionEnd, lineEnd));
+
+		HttpResponse response = new HttpResponse();
+		response.setStatusLine(statusLine);
+
+		parseHeaders(data, lineEnd + 2, response);
+		return response;
+	}
+
+	private void parseHeaders(byte[] data, int offset, HttpMessage message) {
+		int lineStart = offset;
+		while(lineStart < data.length) {
+			int lineEnd = headerLineEnd(data, lineStart);
+			if(lineEnd == lineStart)
+				return; //the empty line ending the header block
+			HeaderBounds header = parseHeader(data, lineStart, lineEnd, false);
+			message.addHeader(new Header(header.name, data, header.valueOffset, header.valueLength));
+			lineStart = lineEnd + 2;
+		}
+	}
+
+	/**
+	 * A header value may continue on the next line if that line starts with a space or tab(obs-fold in rfc7230
+	 * 3.2.4).  As the rfc allows, each fold is replaced in place with spaces so the value is one run of bytes.
+	 * @return the end of the header line after any continuation lines
+	 */
+	private int headerLineEnd(byte[] data, int lineStart) {
+		if(isFold(data, lineStart))
+			throw new ParseException("The first header line can't start with whitespace as there is no header to continue.  line="
+					+toString(data, lineStart, indexOfCrLf(data, lineStart)));
+
+		int lineEnd = indexOfCrLf(data, lineStart);
+		while(lineEnd > lineStart && isFold(data, lineEnd + 2)) {
+			int next = indexOfCrLf(data, lineEnd + 2);
+			for(int i = lineEnd; i < next && (i < lineEnd + 2 || data[i] == ' ' || data[i] == '\t'); i++) {
+				data[i] = ' ';
+			}
+			lineEnd = next;
+		}
+		return lineEnd;
+	}
+
+	private boolean isFold(byte[] data, int index) {
+		return index < data.length && (data[index] == ' ' || data[index] == '\t');
+	}
+
+	private HeaderBounds parseHeader(byte[] data, int lineStart, int lineEnd, boolean lowerCaseName) {
+		int colon = indexOf(data, lineStart, lineEnd, (byte) ':');
+		if(colon < 0)
+			throw new IllegalArgumentException("bad header line="+ toString(data, lineStart, lineEnd).trim());
+
+		int nameStart = skipWhitespace(data, lineStart, colon);
+		int nameEnd = trimEnd(data, nameStart, colon);
+		int valueStart = skipWhitespace(data, colon+1, lineEnd);
+		int valueEnd = trimEnd(data, valueStart, lineEnd);
+
+		HeaderBounds header = new HeaderBounds();
+		header.name = internName(data, nameStart, nameEnd - nameStart, lowerCaseName);
+		header.valueOffset = valueStart;
+		header.valueLength = valueEnd - valueStart;
+		return header;
+	}
+
+	private String internName(byte[] data, int offset, int length, boolean lowerCaseName) {
+		KnownHeaderName known = KnownHeaderName.lookup(data, offset, length);
+		if(known != null && lowerCaseName)
+			return known.getLowerCaseName();
+		//keep the case the client sent just like the old parser
+		else if(known != null && known.isExactMatch(data, offset, length))
+			return known.getHeaderName();
+		else if(lowerCaseName)
+			toLowerCase(data, offset, length); //the name is never read again so lower case in place
+
+		return toString(data, offset, offset + length);
+	}
+
+	private void toLowerCase(byte[] data, int offset, int length) {
+		for(int i = offset; i < offset + length; i++) {
+			if(data[i] >= 'A' && data[i] <= 'Z')
+				data[i] = (byte) (data[i] + ('a' - 'A'));
+		}
+	}
+
+	private HttpRequestMethod parseMethod(byte[] data, int start, int end) {
+		for(KnownHttpMethod method : METHODS) {
+			if(end - start == method.getCode().length() && startsWith(data, start, end, method.getCode()))
+				return new HttpRequestMethod(method);
+		}
+		return new HttpRequestMethod(toString(data, start, end));
+	}
+
+	private HttpVersion parseVersion(byte[] data, int start, int end, int lineEnd) {
+		if(!startsWith(data, start, end, VERSION_PREFIX))
+			throw new ParseException("Invalid version in http request first line not prefixed with HTTP/.  line="+toString(data, 0, lineEnd));
+
+		HttpVersion version = new HttpVersion();
+		int numberStart = start + VERSION_PREFIX.length();
+		if(end - numberStart == 3 && data[numberStart] == '1' && data[numberStart+1] == '.' && data[numberStart+2] == '1')
+			return version; //HttpVersion defaults to 1.1
+
+		version.setVersion(toString(data, numberStart, end));
+		return version;
+	}
+
+	private int parseInt(byte[] data, int start, int end, int lineEnd) {
+		if(start == end || end - start > 9)
+			throw new IllegalArgumentException("HttpMessage contains illegal line(could not convert value to Integer)="+toString(data, 0, lineEnd));
+
+		int value = 0;
+		for(int i = start; i < end; i++) {
+			int digit = data[i] - '0';
+			if(digit < 0 || digit > 9)
+				throw new IllegalArgumentException("HttpMessage contains illegal line(could not convert value to Integer)="+toString(data, 0, lineEnd));
+			value = value * 10 + digit;
+		}
+		return value;
+	}
+
+	/**
+	 * The header block always ends in \r\n\r\n so there is always a \r\n to find
+	 */
+	private int indexOfCrLf(byte[] data, int offset) {
+		for(int i = offset; i < data.length - 1; i++) {
+			if(data[i] == CR && data[i+1] == LF)
+				return i;
+		}
+		throw new IllegalStateException("Bug, header block did not end with \\r\\n");
+	}
+
+	private int indexOf(byte[] data, int start, int end, byte b) {
+		for(int i = start; i < end; i++) {
+			if(data[i] == b)
+				return i;
+		}
+		return -1;
+	}
+
+	private int skipWhitespace(byte[] data, int start, int end) {
+		int i = start;
+		while(i < end && isWhitespace(data[i]))
+			i++;
+		return i;
+	}
+
+	private int nextWhitespace(byte[] data, int start, int end) {
+		int i = start;
+		while(i < end && !isWhitespace(data[i]))
+			i++;
+		return i;
+	}
+
+	private int trimEnd(byte[] data, int start, int end) {
+		int i = end;
+		while(i > start && isWhitespace(data[i-1]))
+			i--;
+		return i;
+	}
+
+	private boolean isWhitespace(byte b) {
+		//same as String.trim() where ISO-8859-1 bytes above 127 are negative and never whitespace
+		return b >= 0 && b <= ' ';
+	}
+
+	private boolean startsWith(byte[] data, int start, int end, String prefix) {
+		if(end - start < prefix.length())
+			return false;
+		for(int i = 0; i < prefix.length(); i++) {
+			if(data[start+i] != prefix.charAt(i))
+				return false;
+		}
+		return true;
+	}
+
+	private String toString(byte[] data, int start, int end) {
+		return new String(data, start, end - start, ParserUtil.ISO8859_1);
+	}
+
+	private static class RequestLine {
+		private int lineEnd;
+		private int methodStart;
+		private int methodEnd;
+		private int uriStart;
+		private int uriEnd;
+		private int versionStart;
+		private int versionEnd;
+	}
+
+	private static class HeaderBounds {
+		private String name;
+		private int valueOffset;
+		private int valueLength;
+	}
+}
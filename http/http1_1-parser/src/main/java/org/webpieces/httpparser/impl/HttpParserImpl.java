@@ -35,6 +35,11 @@ import org.webpieces.httpparser.api.dto.HttpUri;
 import org.webpieces.httpparser.api.dto.HttpVersion;
 import org.webpieces.metrics.MetricsCreator;
 
+import com.webpieces.http2.api.dto.highlevel.Http2Request;
+import com.webpieces.http2.api.dto.lowlevel.DataFrame;
+import com.webpieces.http2.api.dto.lowlevel.lib.Http2Header;
+import com.webpieces.http2.api.dto.lowlevel.lib.Http2HeaderName;
+
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 
@@ -42,7 +47,7 @@ public class HttpParserImpl implements HttpParser {
 
 	private static final Logger log = LoggerFactory.getLogger(HttpParserImpl.class);
 	private static final String TRAILER_STR = "\r\n";
-	private static final DataWrapperGenerator dataGen = DataWrapperGeneratorFactory.createDataWrapperGenerator();
+	private static final DataWrapperGenerator dataGen = DataWrapperGeneratorFactory.createIndexedDataWrapperGenerator();
 	
 	private ConvertAscii conversion = new ConvertAscii();
 	private BufferPool pool;
@@ -50,11 +55,18 @@ public class HttpParserImpl implements HttpParser {
 	private DistributionSummary inPayloadSize;
 	private DistributionSummary bytesParsedDist;
 	private boolean optimizeForBufferPool;
+	private boolean byteLevelParsing;
 	private ParserUtil parserUtil = new ParserUtil();
+	private ByteMessageParser byteParser = new ByteMessageParser();
 
 	public HttpParserImpl(String id, MeterRegistry metrics, BufferPool pool, boolean optimizeForBufferPool) {
+		this(id, metrics, pool, optimizeForBufferPool, false);
+	}
+
+	public HttpParserImpl(String id, MeterRegistry metrics, BufferPool pool, boolean optimizeForBufferPool, boolean byteLevelParsing) {
 		this.pool = pool;
 		this.optimizeForBufferPool = optimizeForBufferPool;
+		this.byteLevelParsing = byteLevelParsing;
 		
 		outPayloadSize = MetricsCreator.createSizeDistribution(metrics, id, "http1", "tosocket");
 		inPayloadSize = MetricsCreator.createSizeDistribution(metrics, id, "http1", "fromsocket");
@@ -202,6 +214,19 @@ public class HttpParserImpl implements HttpParser {
 	public Memento parse(Memento state, DataWrapper moreData) {
 		return parse(state, moreData, false);
 	}
+
+	@Override
+	public boolean isByteLevelParsing() {
+		return byteLevelParsing;
+	}
+
+	@Override
+	public Memento parseToHttp2(Memento state, DataWrapper moreData, boolean isHttps) {
+		if(!(state instanceof MementoImpl))
+			throw new IllegalArgumentException("You must always pass in the memento created in prepareToParse");
+		((MementoImpl) state).setDecodeToHttp2(true, isHttps);
+		return parse(state, moreData, false);
+	}
 	
 	private Memento parse(Memento state, DataWrapper moreData, boolean isForConnectResponse) {
 		if(!(state instanceof MementoImpl)) {
@@ -212,6 +237,7 @@ public class HttpParserImpl implements HttpParser {
 
 		MementoImpl memento = (MementoImpl) state;
 		memento.setParsedMessages(new ArrayList<>());
+		memento.setHttp2Messages(new ArrayList<>());
 		
 		DataWrapper leftOverData = memento.getLeftOverData();
 		DataWrapper	allData = dataGen.chainDataWrappers(leftOverData, moreData);
@@ -251,7 +277,7 @@ public class HttpParserImpl implements HttpParser {
 			} else {
 				//not in chunk parsing mode, no half parsed chunk, no content left to read sooooo, must be an http message
 				isNeedMoreData = findCrLnCrLnAndParseMessage(memento);
-				if(isForConnect && memento.getParsedMessages().size() == 1) {
+				if(isForConnect && memento.getNumMessagesParsed() == 1) {
 					return memento;
 				}
 			}
@@ -289,7 +315,7 @@ public class HttpParserImpl implements HttpParser {
 		DataWrapper leftOver = split.get(1);
 		memento.setLeftOverData(leftOver);
 		
-		memento.addMessage(httpData);
+		addBody(memento, httpData);
 		
 		//if we there is still data, we don't need more
 		boolean isNeedMoreData = leftOver.getReadableSize() == 0;
@@ -297,6 +323,9 @@ public class HttpParserImpl implements HttpParser {
 	}
 
 	private boolean findCrLnCrLnAndParseMessage(MementoImpl memento) {
+		if(byteLevelParsing || memento.isDecodeToHttp2())
+			return findCrLnCrLnAndParseBytes(memento);
+
 		//We are looking for the \r\n\r\n  (or \n\n from bad systems) to
 		//discover entire payload
 		int i = memento.getReadingHttpMessagePointer();
@@ -315,6 +344,108 @@ public class HttpParserImpl implements HttpParser {
 		return true;
 	}
 
+	/**
+	 * Same as above except we read each byte once(checking the last byte of \r\n\r\n first) and
+	 * do not record the position of every \r\n since the header block is parsed from it's bytes after
+	 */
+	private boolean findCrLnCrLnAndParseBytes(MementoImpl memento) {
+		DataWrapper dataToRead = memento.getLeftOverData();
+		int size = dataToRead.getReadableSize();
+		int i = memento.getReadingHttpMessagePointer();
+		for(; i < size - 3; i++) {
+			if(dataToRead.readByteAt(i+3) != '\n')
+				continue;
+			else if(dataToRead.readByteAt(i+2) != '\r' || dataToRead.readByteAt(i+1) != '\n' || dataToRead.readByteAt(i) != '\r')
+				continue;
+
+			List<? extends DataWrapper> tuple = dataGen.split(dataToRead, i+4);
+			DataWrapper toBeParsed = tuple.get(0);
+			memento.setLeftOverData(tuple.get(1));
+			memento.setReadingHttpMessagePointer(0);
+
+			//one copy that all the Headers of this message share
+			byte[] headerBlock = toBeParsed.createByteArray();
+			inPayloadSize.record(headerBlock.length);
+			//buffer processed...release to be re-used now..
+			toBeParsed.releaseUnderlyingBuffers(pool);
+
+			if(memento.isDecodeToHttp2() && !memento.isHttp2() && !byteParser.isResponse(headerBlock)) {
+				decodeHttp2Request(memento, headerBlock);
+			} else {
+				HttpMessage message = parseHttpMessage(memento, headerBlock);
+				if(!memento.isHttp2())
+					setupBodyParsing(memento, message);
+			}
+
+			//exit out so body processing can begin if needed
+			return memento.getLeftOverData().getReadableSize() == 0;
+		}
+
+		memento.setReadingHttpMessagePointer(i);
+		return true;
+	}
+
+	private void decodeHttp2Request(MementoImpl memento, byte[] headerBlock) {
+		if(memento.getNumMessagesParsed() == 0 && byteParser.hasNoHeaders(headerBlock)
+				&& "PRI * HTTP/2.0".equals(byteParser.firstLine(headerBlock))) {
+			//we are http2 so SHORT-CIRCUIT FURTHER PARSING
+			log.info("HTTP/2 found.  verifying");
+			memento.setHttp2(true);
+			return;
+		}
+
+		Http2Request request = byteParser.parseHttp2Request(headerBlock, memento.isHttps());
+		memento.addHttp2Message(request);
+
+		Http2Header contentLenHeader = request.getHeaderLookupStruct().getHeader(Http2HeaderName.CONTENT_LENGTH);
+		Http2Header transferHeader = request.getHeaderLookupStruct().getLastInstanceOfHeader(Http2HeaderName.TRANSFER_ENCODING);
+		String contentLength = contentLenHeader == null ? null : contentLenHeader.getValue();
+		String transferEncoding = transferHeader == null ? null : transferHeader.getValue();
+		setupBodyParsing(memento, contentLength, transferEncoding, contentLenHeader);
+	}
+
+	/**
+	 * When decoding to http2, the body goes out as DataFrames instead of HttpData/HttpChunk
+	 */
+	private void addBody(MementoImpl memento, HttpPayload payload) {
+		if(!memento.isDecodeToHttp2()) {
+			memento.addMessage(payload);
+			return;
+		}
+
+		DataFrame frame = new DataFrame();
+		if(payload instanceof HttpData) {
+			HttpData data = (HttpData) payload;
+			frame.setData(data.getBodyNonNull());
+			frame.setEndOfStream(data.isEndOfData());
+		} else {
+			HttpChunk chunk = (HttpChunk) payload;
+			frame.setData(chunk.getBodyNonNull());
+			frame.setEndOfStream(chunk instanceof HttpLastChunk);
+		}
+		memento.addHttp2Message(frame);
+	}
+
+	private HttpMessage parseHttpMessage(MementoImpl memento, byte[] headerBlock) {
+		HttpMessage message;
+		if(memento.isHttp2()) {
+			return checkSecondCase(memento, byteParser.firstLine(headerBlock));
+		} else if(byteParser.isResponse(headerBlock)) {
+			message = byteParser.parseResponse(headerBlock);
+		} else if(memento.getNumMessagesParsed() == 0 && byteParser.hasNoHeaders(headerBlock)
+				&& "PRI * HTTP/2.0".equals(byteParser.firstLine(headerBlock))) {
+			//we are http2 so SHORT-CIRCUIT FURTHER PARSING
+			log.info("HTTP/2 found.  verifying");
+			memento.setHttp2(true);
+			return null;
+		} else {
+			message = byteParser.parseRequest(headerBlock);
+		}
+
+		memento.addMessage(message);
+		return message;
+	}
+
 	/**
 	 * Returns true if we split the buffers up or else false
 	 */
@@ -363,15 +494,23 @@ public class HttpParserImpl implements HttpParser {
 			return;
 		}
 
+		setupBodyParsing(memento, message);
+	}
+
+	private void setupBodyParsing(MementoImpl memento, HttpMessage message) {
 		Header contentLenHeader = message.getHeaderLookupStruct().getHeader(KnownHeaderName.CONTENT_LENGTH);
 		Header transferHeader = message.getHeaderLookupStruct().getLastInstanceOfHeader(KnownHeaderName.TRANSFER_ENCODING);
+		String contentLength = contentLenHeader == null ? null : contentLenHeader.getValue();
+		String transferEncoding = transferHeader == null ? null : transferHeader.getValue();
+		setupBodyParsing(memento, contentLength, transferEncoding, contentLenHeader);
+	}
 
-		if(transferHeader != null && "chunked".equals(transferHeader.getValue())) {
+	private void setupBodyParsing(MementoImpl memento, String contentLength, String transferEncoding, Object contentLenHeader) {
+		if("chunked".equals(transferEncoding)) {
 			memento.setInChunkParsingMode(true);
 			return;
-		} else if(contentLenHeader != null && !"0".equals(contentLenHeader.getValue())) {
-			String value = contentLenHeader.getValue();
-			int length = toInteger(value, ""+contentLenHeader);
+		} else if(contentLength != null && !"0".equals(contentLength)) {
+			int length = toInteger(contentLength, ""+contentLenHeader);
 			memento.setContentLengthLeftToRead(length);
 			return;
 		}
@@ -548,7 +687,7 @@ public class HttpParserImpl implements HttpParser {
 		data.setBody(leftOver);
 		
 		int numLeftToRead = numBytesToReadForFullChunk - leftOver.getReadableSize();
-		memento.addMessage(data);
+		addBody(memento, data);
 		memento.setNumBytesLeftToReadOnChunk(numLeftToRead);
 		memento.setLeftOverData(DataWrapperGeneratorFactory.EMPTY);
 	}
@@ -581,7 +720,7 @@ public class HttpParserImpl implements HttpParser {
 		
 		memento.setLeftOverData(split2.get(1));
 		memento.setNumBytesLeftToReadOnChunk(0);
-		memento.addMessage(data);
+		addBody(memento, data);
 		memento.setReadingChunkHeader(true);
 
 		if(body.getReadableSize() == 0) {
@@ -680,7 +819,7 @@ public class HttpParserImpl implements HttpParser {
 			message.setBody(data);
 			memento.setLeftOverData(split.get(1));
 			memento.setNumBytesLeftToReadOnChunk(0);
-			memento.addMessage(message);
+			addBody(memento, message);
 			
 			//clear any cached message we were waiting for more data for
 			memento.setHalfParsedChunk(null);
@@ -712,7 +851,7 @@ public class HttpParserImpl implements HttpParser {
 		String firstLine = lines.get(0).trim();
 
 		if(memento.isHttp2()) {
-			return checkSecondCase(memento, lines);
+			return checkSecondCase(memento, lines.get(0));
 		} else if(firstLine.startsWith("HTTP/")) {
 			return parseResponse(memento, lines);
 		} else if(lines.size() == 1 && memento.getParsedMessages().size() == 0) {
@@ -723,8 +862,7 @@ public class HttpParserImpl implements HttpParser {
 		}
 	}
 
-	private HttpMessage checkSecondCase(MementoImpl memento, List<String> lines) {
-		String requestLine = lines.get(0);
+	private HttpMessage checkSecondCase(MementoImpl memento, String requestLine) {
 		if("SM".equals(requestLine)) {
 			Http2MarkerMessage msg = new Http2MarkerMessage();
 			//we are http2 so return an Http2Message and SHORT-CIRCUIT FURTHER PARSING
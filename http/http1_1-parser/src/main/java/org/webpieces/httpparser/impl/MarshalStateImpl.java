@@ -19,6 +19,18 @@ public class MarshalStateImpl implements MarshalState {
 		totalBytesRead += readableSize;
 	}
 
+	@Override
+	public void addBodyBytesSentDirectly(int numBytes) {
+		if(parsingDataSize == null)
+			throw new IllegalStateException("You can only send body bytes directly after a request or response with a Content-Length");
+
+		addMoreBytes(numBytes);
+		if(totalBytesRead > parsingDataSize)
+			throw new IllegalStateException("Content-Length was "+parsingDataSize+" but you have so far passed in "+totalBytesRead+" bytes");
+		else if(totalBytesRead == parsingDataSize)
+			resetDataReading();
+	}
+
 	public int getTotalRead() {
 		return totalBytesRead;
 	}
@@ -10,6 +10,8 @@ import org.webpieces.httpparser.api.UnparsedState;
 import org.webpieces.httpparser.api.dto.HttpChunk;
 import org.webpieces.httpparser.api.dto.HttpPayload;
 
+import com.webpieces.http2.api.dto.lowlevel.lib.Http2Msg;
+
 public class MementoImpl implements Memento {
 
 	//State held to keep parsing messages
@@ -23,6 +25,10 @@ public class MementoImpl implements Memento {
 	
 	//Return state for client to access
 	private List<HttpPayload> parsedMessages = new ArrayList<>();
+	private List<Http2Msg> http2Messages = new ArrayList<>();
+	//set per parse call by HttpParser.parseToHttp2
+	private boolean decodeToHttp2;
+	private boolean https;
 	private int indexBytePointer;
 	private boolean isHttp2;
 	
@@ -46,6 +52,36 @@ public class MementoImpl implements Memento {
 		this.parsedMessages = parsedMessages;
 	}
 
+	@Override
+	public List<Http2Msg> getHttp2Messages() {
+		return http2Messages;
+	}
+
+	public void addHttp2Message(Http2Msg message) {
+		this.http2Messages.add(message);
+	}
+
+	public void setHttp2Messages(List<Http2Msg> http2Messages) {
+		this.http2Messages = http2Messages;
+	}
+
+	public int getNumMessagesParsed() {
+		return parsedMessages.size() + http2Messages.size();
+	}
+
+	public boolean isDecodeToHttp2() {
+		return decodeToHttp2;
+	}
+
+	public boolean isHttps() {
+		return https;
+	}
+
+	public void setDecodeToHttp2(boolean decodeToHttp2, boolean https) {
+		this.decodeToHttp2 = decodeToHttp2;
+		this.https = https;
+	}
+
 	@Override
     public DataWrapper getLeftOverData() {
 		return leftOverData;
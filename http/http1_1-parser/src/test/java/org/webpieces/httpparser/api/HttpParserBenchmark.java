@@ -0,0 +1,75 @@
+package org.webpieces.httpparser.api;
+
+import java.nio.charset.StandardCharsets;
+
+import org.webpieces.data.api.DataWrapper;
+import org.webpieces.data.api.DataWrapperGenerator;
+import org.webpieces.data.api.DataWrapperGeneratorFactory;
+import org.webpieces.data.api.TwoPools;
+import org.webpieces.httpparser.api.common.Header;
+import org.webpieces.httpparser.api.common.KnownHeaderName;
+import org.webpieces.httpparser.api.dto.HttpRequest;
+import org.webpieces.mock.benchmark.Benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Not a unit test.  Run main to compare the String based parser with the byte level parser.  Each
+ * parses a typical browser GET and we print ns/request and bytes allocated/request(from the
+ * ThreadMXBean of this thread so it includes the Memento and everything parse creates).
+ *
+ * Routing reads a few headers so we also read Host like the router does which is the only header
+ * value the byte level parser ends up creating.
+ */
+public class HttpParserBenchmark {
+
+	private static final int REQUESTS_PER_ROUND = 200_000;
+	private static final Benchmark benchmark = new Benchmark(5, 10);
+
+	private static final String REQUEST = "GET /assets/css/main.css?v=3 HTTP/1.1\r\n"
+			+ "Host: www.webpieces.org\r\n"
+			+ "User-Agent: Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0 Safari/537.36\r\n"
+			+ "Accept: text/css,*/*;q=0.1\r\n"
+			+ "Accept-Language: en-US,en;q=0.9\r\n"
+			+ "Accept-Encoding: gzip, deflate, br\r\n"
+			+ "Referer: https://www.webpieces.org/\r\n"
+			+ "Cookie: webSession=abc123; webFlash=xyz\r\n"
+			+ "Connection: keep-alive\r\n"
+			+ "\r\n";
+
+	private static final DataWrapperGenerator dataGen = DataWrapperGeneratorFactory.createDataWrapperGenerator();
+
+	public static void main(String[] args) {
+		byte[] payload = REQUEST.getBytes(StandardCharsets.ISO_8859_1);
+		TwoPools pool = new TwoPools("bench", new SimpleMeterRegistry());
+
+		HttpParser stringParser = HttpParserFactory.createParser("bench", new SimpleMeterRegistry(), pool);
+		HttpParser byteParser = HttpParserFactory.createParser("bench", new SimpleMeterRegistry(), pool, true, true);
+
+		run("String parser", stringParser, payload);
+		run("Byte level parser", byteParser, payload);
+	}
+
+	private static void run(String name, HttpParser parser, byte[] payload) {
+		benchmark.measure(name, "request", REQUESTS_PER_ROUND, () -> runOnce(parser, payload));
+	}
+
+	private static long runOnce(HttpParser parser, byte[] payload) {
+		int hostLength = 0;
+		long start = System.nanoTime();
+		for(int i = 0; i < REQUESTS_PER_ROUND; i++) {
+			DataWrapper data = dataGen.wrapByteArray(payload);
+			Memento memento = parser.prepareToParse();
+			memento = parser.parse(memento, data);
+			HttpRequest request = (HttpRequest) memento.getParsedMessages().get(0);
+			Header host = request.getHeaderLookupStruct().getHeader(KnownHeaderName.HOST);
+			hostLength += host.getValue().length();
+		}
+		long time = System.nanoTime() - start;
+
+		if(hostLength != REQUESTS_PER_ROUND * "www.webpieces.org".length())
+			throw new IllegalStateException("Bug, did not parse Host correctly");
+		return time;
+	}
+
+}
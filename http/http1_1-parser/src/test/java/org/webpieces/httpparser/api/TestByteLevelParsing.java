@@ -0,0 +1,150 @@
+package org.webpieces.httpparser.api;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.webpieces.data.api.DataWrapper;
+import org.webpieces.data.api.DataWrapperGenerator;
+import org.webpieces.data.api.DataWrapperGeneratorFactory;
+import org.webpieces.data.api.TwoPools;
+import org.webpieces.httpparser.api.common.Header;
+import org.webpieces.httpparser.api.common.KnownHeaderName;
+import org.webpieces.httpparser.api.dto.HttpData;
+import org.webpieces.httpparser.api.dto.HttpMessageType;
+import org.webpieces.httpparser.api.dto.HttpPayload;
+import org.webpieces.httpparser.api.dto.HttpRequest;
+import org.webpieces.httpparser.api.dto.HttpResponse;
+import org.webpieces.httpparser.api.dto.KnownHttpMethod;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * The byte level parser must produce exactly what the String based parser does
+ */
+public class TestByteLevelParsing {
+
+	private HttpParser parser = HttpParserFactory.createParser("a", new SimpleMeterRegistry(), new TwoPools("pl", new SimpleMeterRegistry()), true, true);
+	private HttpParser stringParser = HttpParserFactory.createParser("b", new SimpleMeterRegistry(), new TwoPools("pl", new SimpleMeterRegistry()));
+	private DataWrapperGenerator dataGen = DataWrapperGeneratorFactory.createDataWrapperGenerator();
+
+	@Test
+	public void testSameAsStringParser() {
+		assertSameAsStringParser("GET /some/path?q=1 HTTP/1.1\r\n"
+				+ "Host: myhost.com\r\n"
+				+ "user-agent: lower case name\r\n"
+				+ "CustomerHEADER:   betterValue  \r\n"
+				+ "X-Empty:\r\n"
+				+ "Accept: a: b\r\n"
+				+ "\r\n");
+		assertSameAsStringParser("  PATCH   http://myhost.com   HTTP/1.0  \r\n\r\n");
+		assertSameAsStringParser("HTTP/1.1 404 Not Found Here\r\nServer: webpieces\r\n\r\n");
+	}
+
+	@Test
+	public void testKnownNamesAndMethodReuseConstants() {
+		HttpRequest request = (HttpRequest) parseOne("POST / HTTP/1.1\r\nContent-Type: text/plain\r\ncontent-type: other\r\n\r\n");
+
+		Assert.assertSame(KnownHttpMethod.POST.getCode(), request.getRequestLine().getMethod().getMethodAsString());
+		List<Header> headers = request.getHeaders();
+		Assert.assertSame(KnownHeaderName.CONTENT_TYPE.getHeaderName(), headers.get(0).getName());
+		//different case is kept just like the old parser
+		Assert.assertEquals("content-type", headers.get(1).getName());
+		Assert.assertEquals(KnownHeaderName.CONTENT_TYPE, headers.get(1).getKnownName());
+		Assert.assertEquals("other", headers.get(1).getValue());
+	}
+
+	@Test
+	public void testHeaderSplitAcrossReads() {
+		byte[] payload = "GET / HTTP/1.1\r\nHost: a\r\n\r\nGET /2 HTTP/1.1\r\nHost: b\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1);
+
+		Memento memento = parser.prepareToParse();
+		int parsed = 0;
+		//one byte at a time so \r\n\r\n is split across every read
+		for(int i = 0; i < payload.length; i++) {
+			memento = parser.parse(memento, dataGen.wrapByteArray(new byte[] { payload[i] }));
+			parsed += memento.getParsedMessages().size();
+		}
+
+		Assert.assertEquals(2, parsed);
+		Assert.assertEquals(0, memento.getLeftOverData().getReadableSize());
+	}
+
+	@Test
+	public void testContentLengthBody() {
+		Memento memento = parser.prepareToParse();
+		memento = parser.parse(memento, wrap("POST / HTTP/1.1\r\nContent-Length: 4\r\n\r\nbody"));
+
+		Assert.assertEquals(2, memento.getParsedMessages().size());
+		HttpData data = (HttpData) memento.getParsedMessages().get(1);
+		Assert.assertEquals("body", data.getBody().createStringFromUtf8(0, data.getBody().getReadableSize()));
+		Assert.assertTrue(data.isEndOfData());
+	}
+
+	@Test
+	public void testReceivePreface() {
+		Memento memento = parser.prepareToParse();
+		memento = parser.parse(memento, wrap("PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n1111"));
+
+		Assert.assertEquals(1, memento.getParsedMessages().size());
+		Assert.assertEquals(HttpMessageType.HTTP2_MARKER_MSG, memento.getParsedMessages().get(0).getMessageType());
+		Assert.assertEquals(4, memento.getLeftOverData().getReadableSize());
+	}
+
+	@Test(expected = ParseException.class)
+	public void testInvalidRequestLine() {
+		parseOne("GET /\r\nHost: a\r\n\r\n");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBadHeaderLine() {
+		parseOne("GET / HTTP/1.1\r\nno colon here\r\n\r\n");
+	}
+
+	@Test
+	public void testFoldedHeaderValueIsUnfolded() {
+		HttpRequest request = (HttpRequest) parseOne("GET / HTTP/1.1\r\nHost: a\r\nX-Long: first\r\n \tsecond:part\r\nAccept: */*\r\n\r\n");
+
+		List<Header> headers = request.getHeaders();
+		Assert.assertEquals(3, headers.size());
+		//the continuation is part of the value, not a header named ' \tsecond'
+		Assert.assertEquals("X-Long", headers.get(1).getName());
+		Assert.assertEquals("first    second:part", headers.get(1).getValue());
+		Assert.assertEquals("*/*", headers.get(2).getValue());
+	}
+
+	@Test(expected = ParseException.class)
+	public void testWhitespaceBeforeFirstHeader() {
+		parseOne("GET / HTTP/1.1\r\n Host: a\r\n\r\n");
+	}
+
+	@Test
+	public void testResponseCode() {
+		HttpResponse response = (HttpResponse) parseOne("HTTP/1.1 200 OK\r\n\r\n");
+		Assert.assertEquals(Integer.valueOf(200), response.getStatusLine().getStatus().getCode());
+		Assert.assertEquals("OK", response.getStatusLine().getStatus().getReason());
+	}
+
+	private void assertSameAsStringParser(String message) {
+		HttpPayload expected = parseOne(stringParser, message);
+		HttpPayload actual = parseOne(message);
+		Assert.assertEquals(expected, actual);
+		Assert.assertEquals(expected.toString(), actual.toString());
+	}
+
+	private HttpPayload parseOne(String message) {
+		return parseOne(parser, message);
+	}
+
+	private HttpPayload parseOne(HttpParser httpParser, String message) {
+		Memento memento = httpParser.prepareToParse();
+		memento = httpParser.parse(memento, wrap(message));
+		Assert.assertEquals(1, memento.getParsedMessages().size());
+		return memento.getParsedMessages().get(0);
+	}
+
+	private DataWrapper wrap(String message) {
+		return dataGen.wrapByteArray(message.getBytes(StandardCharsets.ISO_8859_1));
+	}
+}
@@ -0,0 +1,126 @@
+package org.webpieces.httpparser.api;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.webpieces.data.api.DataWrapper;
+import org.webpieces.data.api.DataWrapperGenerator;
+import org.webpieces.data.api.DataWrapperGeneratorFactory;
+import org.webpieces.data.api.TwoPools;
+import org.webpieces.httpparser.api.dto.HttpMessageType;
+
+import com.webpieces.http2.api.dto.highlevel.Http2Request;
+import com.webpieces.http2.api.dto.lowlevel.DataFrame;
+import com.webpieces.http2.api.dto.lowlevel.lib.Http2Header;
+import com.webpieces.http2.api.dto.lowlevel.lib.Http2Msg;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class TestParseToHttp2 {
+
+	private HttpParser parser = HttpParserFactory.createParser("a", new SimpleMeterRegistry(), new TwoPools("pl", new SimpleMeterRegistry()));
+	private DataWrapperGenerator dataGen = DataWrapperGeneratorFactory.createDataWrapperGenerator();
+
+	@Test
+	public void testRequestWithPseudoHeaders() {
+		Memento memento = parse("GET /some/path HTTP/1.1\r\nAccept: text/html\r\nHost: myhost.com\r\nCustomerHEADER: value\r\n\r\n", false);
+
+		Assert.assertEquals(0, memento.getParsedMessages().size());
+		Assert.assertEquals(1, memento.getHttp2Messages().size());
+		Http2Request request = (Http2Request) memento.getHttp2Messages().get(0);
+
+		List<Http2Header> expected = List.of(
+				new Http2Header(":method", "GET"),
+				new Http2Header(":path", "/some/path"),
+				new Http2Header(":scheme", "http"),
+				new Http2Header("accept", "text/html"),
+				new Http2Header(":authority", "myhost.com"),
+				new Http2Header("customerheader", "value"));
+		Assert.assertEquals(expected, request.getHeaders());
+		Assert.assertTrue(request.isEndOfStream());
+	}
+
+	@Test
+	public void testOnlyFirstHostIsAuthority() {
+		Http2Request request = (Http2Request) parse("GET / HTTP/1.1\r\nHost: first.com\r\nAccept: */*\r\nHost: second.com\r\n\r\n", false)
+				.getHttp2Messages().get(0);
+
+		List<Http2Header> expected = List.of(
+				new Http2Header(":method", "GET"),
+				new Http2Header(":path", "/"),
+				new Http2Header(":scheme", "http"),
+				new Http2Header(":authority", "first.com"),
+				new Http2Header("accept", "*/*"));
+		Assert.assertEquals(expected, request.getHeaders());
+	}
+
+	@Test
+	public void testSchemeFromUriOrSocket() {
+		Http2Request request = (Http2Request) parse("GET / HTTP/1.1\r\nHost: a\r\n\r\n", true).getHttp2Messages().get(0);
+		Assert.assertEquals("https", request.getScheme());
+
+		request = (Http2Request) parse("GET http://a/b HTTP/1.1\r\nHost: a\r\n\r\n", true).getHttp2Messages().get(0);
+		Assert.assertEquals("http", request.getScheme());
+		Assert.assertEquals("http://a/b", request.getPath());
+	}
+
+	@Test
+	public void testContentLengthBodyAsDataFrames() {
+		Memento memento = parser.prepareToParse();
+		memento = parser.parseToHttp2(memento, wrap("POST / HTTP/1.1\r\nHost: a\r\nContent-Length: 8\r\n\r\nbody"), false);
+
+		List<Http2Msg> messages = memento.getHttp2Messages();
+		Assert.assertEquals(2, messages.size());
+		Assert.assertFalse(((Http2Request) messages.get(0)).isEndOfStream());
+		DataFrame first = (DataFrame) messages.get(1);
+		Assert.assertEquals(4, first.getData().getReadableSize());
+		Assert.assertFalse(first.isEndOfStream());
+
+		memento = parser.parseToHttp2(memento, wrap("more"), false);
+		DataFrame last = (DataFrame) memento.getHttp2Messages().get(0);
+		Assert.assertEquals("more", last.getData().createStringFromUtf8(0, 4));
+		Assert.assertTrue(last.isEndOfStream());
+	}
+
+	@Test
+	public void testChunkedBodyAsDataFrames() {
+		Memento memento = parse("POST / HTTP/1.1\r\nHost: a\r\nTransfer-Encoding: chunked\r\n\r\n4\r\nbody\r\n0\r\n\r\n", false);
+
+		List<Http2Msg> messages = memento.getHttp2Messages();
+		Assert.assertFalse(((Http2Request) messages.get(0)).isEndOfStream());
+		DataFrame lastFrame = (DataFrame) messages.get(messages.size()-1);
+		Assert.assertTrue(lastFrame.isEndOfStream());
+
+		int bodySize = 0;
+		for(Http2Msg msg : messages.subList(1, messages.size())) {
+			bodySize += ((DataFrame) msg).getData().getReadableSize();
+		}
+		Assert.assertEquals(4, bodySize);
+	}
+
+	@Test
+	public void testPrefaceStillMarker() {
+		Memento memento = parse("PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n1111", false);
+
+		Assert.assertEquals(0, memento.getHttp2Messages().size());
+		Assert.assertEquals(1, memento.getParsedMessages().size());
+		Assert.assertEquals(HttpMessageType.HTTP2_MARKER_MSG, memento.getParsedMessages().get(0).getMessageType());
+		Assert.assertEquals(4, memento.getLeftOverData().getReadableSize());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testHostRequired() {
+		parse("GET / HTTP/1.1\r\nAccept: a\r\n\r\n", false);
+	}
+
+	private Memento parse(String message, boolean isHttps) {
+		Memento memento = parser.prepareToParse();
+		return parser.parseToHttp2(memento, wrap(message), isHttps);
+	}
+
+	private DataWrapper wrap(String message) {
+		return dataGen.wrapByteArray(message.getBytes(StandardCharsets.ISO_8859_1));
+	}
+}
@@ -1,8 +1,15 @@
 package com.webpieces.http2.api.dto.lowlevel.lib;
 
+import java.nio.charset.StandardCharsets;
+
 public class Http2Header {
 	private String name;
 	private String value;
+
+	//set when decoded straight from http1.1 bytes so value is only created if someone reads it
+	private byte[] valueBytes;
+	private int valueOffset;
+	private int valueLength;
 	
 	public Http2Header() {
 	}
@@ -14,6 +21,15 @@ public class Http2Header {
 		this.name = name.getHeaderName();
 		this.value = value;
 	}
+	/**
+	 * The value is created from the bytes(ISO-8859-1) the first time it is read so bytes must not change afterwards
+	 */
+	public Http2Header(String name, byte[] valueBytes, int valueOffset, int valueLength) {
+		this.name = name;
+		this.valueBytes = valueBytes;
+		this.valueOffset = valueOffset;
+		this.valueLength = valueLength;
+	}
 	
 	public void setName(Http2HeaderName name) {
 		this.name = name.getHeaderName();
@@ -36,10 +52,13 @@ public class Http2Header {
 		this.name = key;
 	}
 	public String getValue() {
+		if(value == null && valueBytes != null)
+			value = new String(valueBytes, valueOffset, valueLength, StandardCharsets.ISO_8859_1);
 		return value;
 	}
 	public void setValue(String value) {
 		this.value = value;
+		this.valueBytes = null;
 	}
 	
 	@Override
@@ -47,6 +66,7 @@ public class Http2Header {
 		final int prime = 31;
 		int result = 1;
 		result = prime * result + ((name == null) ? 0 : name.hashCode());
+		String value = getValue();
 		result = prime * result + ((value == null) ? 0 : value.hashCode());
 		return result;
 	}
@@ -64,16 +84,17 @@ public class Http2Header {
 				return false;
 		} else if (!name.equals(other.name))
 			return false;
+		String value = getValue();
 		if (value == null) {
-			if (other.value != null)
+			if (other.getValue() != null)
 				return false;
-		} else if (!value.equals(other.value))
+		} else if (!value.equals(other.getValue()))
 			return false;
 		return true;
 	}
 	
 	@Override
 	public String toString() {
-		return name + ": " + value + "\r\n";
+		return name + ": " + getValue() + "\r\n";
 	}
 }
@@ -0,0 +1,20 @@
+package com.webpieces.http2.api.streaming;
+
+import java.nio.channels.FileChannel;
+
+import org.webpieces.util.futures.XFuture;
+
+/**
+ * A StreamWriter that can send the rest of a body straight from a file into the socket(sendfile) so the
+ * bytes are never copied into the java heap.  This is only handed out when the transport can do it(plaintext
+ * http1.1 responses with a Content-Length) so check instanceof and use processPiece otherwise
+ */
+public interface ZeroCopyStreamWriter extends StreamWriter {
+
+	/**
+	 * Sends count bytes of the file starting at position as the REST of the body and ends the stream.  The
+	 * file is not closed for you so close it when the future resolves
+	 */
+	XFuture<Void> sendFile(FileChannel file, long position, long count);
+
+}
@@ -19,6 +19,7 @@ import com.webpieces.http2engine.api.client.Http2Config;
 import com.webpieces.http2engine.api.client.InjectionConfig;
 
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 public abstract class Http2ClientFactory {
 
@@ -27,19 +28,27 @@ public abstract class Http2ClientFactory {
 		MetricsCreator.monitor(metrics, executor, config.getId());
 
 		TwoPools pool = new TwoPools(config.getId()+".bufferpool", metrics);
-		HpackParser hpackParser = HpackParserFactory.createParser(pool, false);
+		HpackParser hpackParser = HpackParserFactory.createParser(pool, false, metrics);
 		
 		ChannelManagerFactory factory = ChannelManagerFactory.createFactory(metrics);
 		ChannelManager mgr = factory.createMultiThreadedChanMgr("httpClientChanMgr", pool, config.getBackpressureConfig(), executor);
 
-		InjectionConfig injConfig = new InjectionConfig(hpackParser, new TimeImpl(), config.getHttp2Config());
+		InjectionConfig injConfig = new InjectionConfig(hpackParser, new TimeImpl(), config.getHttp2Config(), metrics);
 		return createHttpClient(config.getHttp2Config().getId(), mgr, injConfig);
 	}
 	
+	/**
+	 * @deprecated Use the method we call instead of this one
+	 */
+	@Deprecated
 	public static Http2Client createHttpClient(Http2Config config, ChannelManager mgr, BufferPool pool) {
-		HpackParser hpackParser = HpackParserFactory.createParser(pool, false);
+		return createHttpClient(config, mgr, pool, new SimpleMeterRegistry());
+	}
+
+	public static Http2Client createHttpClient(Http2Config config, ChannelManager mgr, BufferPool pool, MeterRegistry metrics) {
+		HpackParser hpackParser = HpackParserFactory.createParser(pool, false, metrics);
 		
-		InjectionConfig injConfig = new InjectionConfig(hpackParser, new TimeImpl(), config);
+		InjectionConfig injConfig = new InjectionConfig(hpackParser, new TimeImpl(), config, metrics);
 
 		return createHttpClient(config.getId(), mgr, injConfig);
 	}
@@ -10,6 +10,8 @@ public interface Http2ChannelProxy {
 
 	XFuture<Void> write(ByteBuffer data);
 
+	XFuture<Void> write(ByteBuffer[] buffers);
+
 	XFuture<Void> connect(InetSocketAddress addr, DataListener listener);
 
 	XFuture<Void> close();
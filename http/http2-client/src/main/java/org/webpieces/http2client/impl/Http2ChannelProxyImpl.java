@@ -20,6 +20,11 @@ public class Http2ChannelProxyImpl implements Http2ChannelProxy {
 		return channel.write(data);
 	}
 
+	@Override
+	public XFuture<Void> write(ByteBuffer[] buffers) {
+		return channel.write(buffers);
+	}
+
 	@Override
 	public XFuture<Void> connect(InetSocketAddress addr, DataListener listener) {
 		if(addr == null)
@@ -29,6 +29,14 @@ public class Layer3Outgoing implements ClientEngineListener {
 						.thenApply(c -> null);
 	}
 
+	@Override
+	public XFuture<Void> sendToSocket(ByteBuffer[] buffers) {
+		if(log.isTraceEnabled())
+			log.trace(channel+"writing out buffers to socket count="+buffers.length);
+		return channel.write(buffers)
+						.thenApply(c -> null);
+	}
+
 	public void sendPreface(ByteBuffer buf) {
 		channel.write(buf);
 	}
@@ -0,0 +1,80 @@
+package org.webpieces.http2client;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.webpieces.http2client.mock.MockResponseListener;
+import org.webpieces.http2client.mock.MockStreamWriter;
+import org.webpieces.util.futures.XFuture;
+
+import com.webpieces.http2.api.dto.highlevel.Http2Request;
+import com.webpieces.http2.api.dto.lowlevel.DataFrame;
+import com.webpieces.http2.api.dto.lowlevel.PingFrame;
+import com.webpieces.http2.api.dto.lowlevel.WindowUpdateFrame;
+import com.webpieces.http2.api.dto.lowlevel.lib.Http2Msg;
+import com.webpieces.http2.api.streaming.StreamWriter;
+
+public class TestCoalescedWrites extends AbstractTest {
+
+	@Test
+	public void testFramesSentWhileProcessingOnePacketGoOutInOneWrite() {
+		int streamId = openResponseStream();
+
+		mockChannel.writeInOnePacket(createData(streamId), createPing(5L));
+
+		//the window updates for the data are not waited on so the ping ack joins them
+		List<List<Http2Msg>> writes = mockChannel.getWritesAndClear();
+		Assert.assertEquals(1, writes.size());
+		List<Http2Msg> frames = writes.get(0);
+		Assert.assertEquals(3, frames.size());
+		Assert.assertTrue(frames.get(0) instanceof WindowUpdateFrame);
+		Assert.assertTrue(frames.get(1) instanceof WindowUpdateFrame);
+		PingFrame ack = (PingFrame) frames.get(2);
+		Assert.assertTrue(ack.isPingResponse());
+		Assert.assertEquals(5L, ack.getOpaqueData());
+	}
+
+	@Test
+	public void testFailedCoalescedWriteFailsTheCorkedFrames() {
+		int streamId = openResponseStream();
+
+		XFuture<Object> failed = new XFuture<>();
+		failed.completeExceptionally(new IllegalStateException("socket write failed"));
+		mockChannel.addWriteResponse(failed);
+		mockChannel.writeInOnePacket(createData(streamId), createPing(5L));
+
+		//the ping ack's future failed so processing the ping fails and the connection is shut down
+		Assert.assertTrue(mockChannel.isClosed());
+	}
+
+	@Test
+	public void testFramesFromSeparatePacketsAreNotHeldBack() {
+		mockChannel.write(createPing(5L));
+		mockChannel.write(createPing(6L));
+
+		List<List<Http2Msg>> writes = mockChannel.getWritesAndClear();
+		Assert.assertEquals(2, writes.size());
+	}
+
+	private int openResponseStream() {
+		MockResponseListener listener = new MockResponseListener();
+		listener.setIncomingRespDefault(XFuture.<StreamWriter>completedFuture(new MockStreamWriter()));
+		Http2Request request = sendRequestToServer(listener);
+		sendResponseFromServer(listener, request);
+		return request.getStreamId();
+	}
+
+	private DataFrame createData(int streamId) {
+		DataFrame data = new DataFrame(streamId, false);
+		data.setData(DATA_GEN.wrapByteArray(new byte[] { 1, 2, 3 }));
+		return data;
+	}
+
+	private PingFrame createPing(long opaqueData) {
+		PingFrame ping = new PingFrame();
+		ping.setOpaqueData(opaqueData);
+		return ping;
+	}
+
+}
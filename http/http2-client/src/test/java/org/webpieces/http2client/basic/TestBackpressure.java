@@ -85,7 +85,7 @@ public class TestBackpressure extends AbstractTest {
 	}
 	
 	private List<ByteBuffer> create4BuffersWith3Messags() {
-		HpackStatefulParser parser = HpackParserFactory.createStatefulParser(new TwoPools("pl", new SimpleMeterRegistry()), new HpackConfig("tests"));
+		HpackStatefulParser parser = HpackParserFactory.createStatefulParser(new TwoPools("pl", new SimpleMeterRegistry()), new HpackConfig("tests"), new SimpleMeterRegistry());
 
 		Http2Response response1 = Requests.createResponse(1);
 		DataFrame response2 = Requests.createBigData(1, false);
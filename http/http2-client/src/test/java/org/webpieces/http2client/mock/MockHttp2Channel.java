@@ -54,7 +54,7 @@ public class MockHttp2Channel extends MockSuperclass implements TCPChannel {
 
 	public MockHttp2Channel() {
 		BufferPool bufferPool = new TwoPools("pl", new SimpleMeterRegistry());
-		parser = HpackParserFactory.createParser(bufferPool, false);
+		parser = HpackParserFactory.createParser(bufferPool, false, new SimpleMeterRegistry());
 		unmarshalState = parser.prepareToUnmarshal("mockChannel", 4096, 4096, 4096);
 		BufferPool pool = new TwoPools("pl", new SimpleMeterRegistry());
 		frameParser = Http2ParserFactory.createParser(pool);
@@ -99,6 +99,28 @@ public class MockHttp2Channel extends MockSuperclass implements TCPChannel {
 		return listener.incomingData(this, buf);
 	}
 	
+	/**
+	 * all msgs arrive to the client in one packet
+	 */
+	public void writeInOnePacket(Http2Msg ... msgs) {
+		DataWrapper data = dataGen.emptyWrapper();
+		for(Http2Msg msg : msgs) {
+			data = dataGen.chainDataWrappers(data, parser.marshal(marshalState, msg));
+		}
+		ByteBuffer buf = ByteBuffer.wrap(data.createByteArray());
+		listener.incomingData(this, buf);
+	}
+
+	/**
+	 * @return the frames of each socket write
+	 */
+	@SuppressWarnings("unchecked")
+	public List<List<Http2Msg>> getWritesAndClear() {
+		return getCalledMethods(Method.INCOMING_FRAME)
+				.map(p -> (List<Http2Msg>)p.getArgs()[0])
+				.collect(Collectors.toList());
+	}
+
 	public void writeFrame(Http2Frame frame) {
 		DataWrapper data = frameParser.marshal(frame);
 		byte[] bytes = data.createByteArray();
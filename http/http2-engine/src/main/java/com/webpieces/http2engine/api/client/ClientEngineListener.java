@@ -12,6 +12,18 @@ public interface ClientEngineListener {
 
 	XFuture<Void> sendToSocket(ByteBuffer newData);
 
+	/**
+	 * Large DATA payloads come through here uncopied along with the frames around them.  Override to
+	 * pass them to Channel.write(ByteBuffer[]) so they go out with one writev
+	 */
+	default XFuture<Void> sendToSocket(ByteBuffer[] buffers) {
+		XFuture<Void> future = XFuture.completedFuture(null);
+		for(ByteBuffer buffer : buffers) {
+			future = sendToSocket(buffer);
+		}
+		return future;
+	}
+
 	void engineClosedByFarEnd();
 
 	void closeSocket(ShutdownConnection reason);
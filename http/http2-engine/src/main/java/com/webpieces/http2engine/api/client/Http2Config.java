@@ -13,6 +13,14 @@ public class Http2Config {
 	//unfortunately, since the spec has no ack for a sent stream reset, we must keep state around to discard 
 	//messages for a time period when you the client send a stream reset.  
 	private int afterResetExpireSeconds = 5;
+
+	//frames sent while processing one incoming packet(or one api call) are written to the socket as one write
+	//instead of one write per frame until this many bytes are waiting.  0 turns this off
+	private int maxCoalescedWriteBytes = 64 * 1024;
+
+	//DATA payload buffers at least this big are handed to the socket as is(one writev with the frames around
+	//them) instead of copied into one buffer with those frames.  0 turns this off and copies everything
+	private int minZeroCopyWriteBytes = 4 * 1024;
 	
 	public String getId() {
 		return id;
@@ -38,4 +46,16 @@ public class Http2Config {
 	public void setAfterResetExpireSeconds(int afterResetExpireSeconds) {
 		this.afterResetExpireSeconds = afterResetExpireSeconds;
 	}
+	public int getMaxCoalescedWriteBytes() {
+		return maxCoalescedWriteBytes;
+	}
+	public void setMaxCoalescedWriteBytes(int maxCoalescedWriteBytes) {
+		this.maxCoalescedWriteBytes = maxCoalescedWriteBytes;
+	}
+	public int getMinZeroCopyWriteBytes() {
+		return minZeroCopyWriteBytes;
+	}
+	public void setMinZeroCopyWriteBytes(int minZeroCopyWriteBytes) {
+		this.minZeroCopyWriteBytes = minZeroCopyWriteBytes;
+	}
 }
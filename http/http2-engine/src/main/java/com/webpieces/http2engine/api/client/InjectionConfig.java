@@ -8,29 +8,49 @@ import com.webpieces.hpack.api.HpackParser;
 import com.webpieces.hpack.api.HpackParserFactory;
 
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 public class InjectionConfig {
 
 	private HpackParser lowLevelParser;
 	private Time time;
 	private Http2Config config;
+	private MeterRegistry metrics;
 	
-	public InjectionConfig(HpackParser lowLevelParser, Time time, Http2Config config) {
+	public InjectionConfig(HpackParser lowLevelParser, Time time, Http2Config config, MeterRegistry metrics) {
 		super();
 		this.lowLevelParser = lowLevelParser;
 		this.time = time;
 		this.config = config;
+		this.metrics = metrics;
+	}
+
+	/**
+	 * @deprecated Use the constructor we call instead of this one
+	 */
+	@Deprecated
+	public InjectionConfig(HpackParser lowLevelParser, Time time, Http2Config config) {
+		this(lowLevelParser, time, config, new SimpleMeterRegistry());
 	}
 
+	/**
+	 * @deprecated Use the constructor we call instead of this one
+	 */
+	@Deprecated
 	public InjectionConfig(HpackParser lowLevelParser) {
-		this(lowLevelParser, new TimeImpl(), new Http2Config());
+		this(lowLevelParser, new SimpleMeterRegistry());
+	}
+
+	public InjectionConfig(HpackParser lowLevelParser, MeterRegistry metrics) {
+		this(lowLevelParser, new TimeImpl(), new Http2Config(), metrics);
 	}
 	
 	public InjectionConfig(Time time, Http2Config config, MeterRegistry metrics) {
 		this(
-			HpackParserFactory.createParser(new TwoPools(config.getId()+".bufpool", metrics), false),
+			HpackParserFactory.createParser(new TwoPools(config.getId()+".bufpool", metrics), false, metrics),
 			time,
-			config
+			config,
+			metrics
 		);
 	}
 	
@@ -52,5 +72,11 @@ public class InjectionConfig {
 	public void setConfig(Http2Config config) {
 		this.config = config;
 	}
+	public MeterRegistry getMetrics() {
+		return metrics;
+	}
+	public void setMetrics(MeterRegistry metrics) {
+		this.metrics = metrics;
+	}
 	
 }
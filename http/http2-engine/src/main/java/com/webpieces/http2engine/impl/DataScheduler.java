@@ -0,0 +1,106 @@
+package com.webpieces.http2engine.impl;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.webpieces.http2engine.impl.shared.data.Stream;
+
+/**
+ * Decides which stream's DATA goes out next when the remote end opens up it's flow control windows.
+ * Each stream has it's own queue and streams are served in weighted fair order(start time fair
+ * queueing) so one large download on a small window no longer starves every other stream on the socket.
+ *
+ * Each stream is charged bytesSent*256/weight of virtual time for what it sends and the stream with
+ * the least virtual time goes next.  A stream that goes idle(empty queue) is forgotten and when it
+ * comes back starts at the current virtual time so it neither banks credit nor carries debt.
+ *
+ * Weights come from PRIORITY frames(and priority in request headers) via Stream.getWeight().  The
+ * dependency tree is ignored as rfc9113 deprecated it.
+ *
+ * NOT thread safe.  Level6RemoteFlowControl only calls this while holding it's AsyncLock
+ */
+public class DataScheduler {
+
+	private static final long MAX_WEIGHT = 256;
+
+	//LinkedHashMap so ties go to the stream that queued first
+	private final Map<Integer, StreamQueue> streamIdToQueue = new LinkedHashMap<>();
+	private long virtualTime;
+
+	public void add(DataTry data) {
+		StreamQueue queue = queueFor(data.getStream());
+		queue.tries.add(data);
+	}
+
+	/**
+	 * used to put the remainder of a split frame back so it goes out before anything else on that stream
+	 */
+	public void addFirst(DataTry data) {
+		StreamQueue queue = queueFor(data.getStream());
+		queue.tries.addFirst(data);
+	}
+
+	private StreamQueue queueFor(Stream stream) {
+		StreamQueue queue = streamIdToQueue.get(stream.getStreamId());
+		if(queue == null) {
+			queue = new StreamQueue(stream, virtualTime);
+			streamIdToQueue.put(stream.getStreamId(), queue);
+		}
+		return queue;
+	}
+
+	/**
+	 * @param connectionWindow the remote connection window available
+	 * @return the next DataTry that can be sent(at least partially) within the windows or null if none can
+	 */
+	public DataTry poll(long connectionWindow) {
+		StreamQueue next = null;
+		for(StreamQueue queue : streamIdToQueue.values()) {
+			if(!canSend(queue, connectionWindow))
+				continue;
+			else if(next == null || queue.virtualStart < next.virtualStart)
+				next = queue;
+		}
+
+		if(next == null)
+			return null;
+
+		return next.tries.poll();
+	}
+
+	/**
+	 * MUST be called after every poll(after any remainder is put back with addFirst) to charge the
+	 * stream for the bytes that actually went out
+	 */
+	public void charge(Stream stream, long bytesSent) {
+		StreamQueue queue = streamIdToQueue.get(stream.getStreamId());
+		virtualTime = Math.max(virtualTime, queue.virtualStart);
+		queue.virtualStart += bytesSent * MAX_WEIGHT / stream.getWeight();
+		if(queue.tries.isEmpty())
+			streamIdToQueue.remove(stream.getStreamId());
+	}
+
+	private boolean canSend(StreamQueue queue, long connectionWindow) {
+		DataTry head = queue.tries.peek();
+		if(head.getDataFrame().getTransmitFrameLength() == 0)
+			return true; //empty frames(ie. just endOfStream) do not use any window
+		return connectionWindow > 0 && queue.stream.getRemoteWindowSize() > 0;
+	}
+
+	public boolean isEmpty() {
+		return streamIdToQueue.isEmpty();
+	}
+
+	private static class StreamQueue {
+		private final Stream stream;
+		private final ArrayDeque<DataTry> tries = new ArrayDeque<>();
+		private long virtualStart;
+
+		public StreamQueue(Stream stream, long virtualStart) {
+			this.stream = stream;
+			this.virtualStart = virtualStart;
+		}
+	}
+
+}
@@ -10,13 +10,11 @@ public class DataTry {
 	private Stream stream;
 	private DataFrame dataFrame;
 	private XFuture<Void> future;
-	private boolean wasQueuedBefore;
 
-	public DataTry(Stream stream, DataFrame dataFrame, XFuture<Void> future, boolean wasQueuedBefore) {
+	public DataTry(Stream stream, DataFrame dataFrame, XFuture<Void> future) {
 		this.stream = stream;
 		this.dataFrame = dataFrame;
 		this.future = future;
-		this.setWasQueuedBefore(wasQueuedBefore);
 	}
 
 	public Stream getStream() {
@@ -31,12 +29,4 @@ public class DataTry {
 		return future;
 	}
 
-	public boolean isWasQueuedBefore() {
-		return wasQueuedBefore;
-	}
-
-	public void setWasQueuedBefore(boolean wasQueuedBefore) {
-		this.wasQueuedBefore = wasQueuedBefore;
-	}
-	
 }
@@ -49,7 +49,8 @@ public class Level1ClientEngine implements Http2ClientEngine {
 		StreamState streamState = new StreamState(injectionConfig.getTime(), logId);
 		
 		Level8NotifyClntListeners finalLayer = new Level8NotifyClntListeners(clientEngineListener);
-		marshalLayer = new Level7MarshalAndPing(logId, parser, remoteSettings, finalLayer);
+		marshalLayer = new Level7MarshalAndPing(logId, parser, remoteSettings, finalLayer, config.getMaxCoalescedWriteBytes(),
+				config.getMinZeroCopyWriteBytes(), injectionConfig.getMetrics());
 		Level6RemoteFlowControl remoteFlowCtrl = new Level6RemoteFlowControl(logId, streamState, marshalLayer, remoteSettings);
 		Level6ClntLocalFlowControl localFlowCtrl = new Level6ClntLocalFlowControl(logId, marshalLayer, finalLayer, localSettings);
 		Level5ClientStateMachine clientSm = new Level5ClientStateMachine(logId, streamState, remoteFlowCtrl, localFlowCtrl, config, remoteSettings, permitQueue);
@@ -80,7 +81,14 @@ public class Level1ClientEngine implements Http2ClientEngine {
 
 	@Override
 	public XFuture<Void> parse(DataWrapper newData) {
-		return parsing.parse(newData);
+		//what this thread sends while processing this packet(acks, window updates, responses) goes out in
+		//one socket write on uncork.  Frames after an ack the parser waits on go out once that ack is written
+		marshalLayer.cork();
+		try {
+			return parsing.parse(newData);
+		} finally {
+			marshalLayer.uncork();
+		}
 	}
 
 	@Override
@@ -43,6 +43,11 @@ public class Level8NotifyClntListeners implements EngineResultListener {
 		return listener.sendToSocket(buffer);
 	}
 
+	@Override
+	public XFuture<Void> sendToSocket(ByteBuffer[] buffers) {
+		return listener.sendToSocket(buffers);
+	}
+
 	@Override
 	public XFuture<Void> sendControlFrameToClient(Http2Msg msg) {
 		XFuture<Void> future = new XFuture<Void>();
@@ -19,6 +19,8 @@ public interface EngineResultListener {
 
 	XFuture<Void> sendToSocket(ByteBuffer buffer);
 
+	XFuture<Void> sendToSocket(ByteBuffer[] buffers);
+
 	XFuture<Void> sendRstToApp(Stream stream, CancelReason payload);
 
 	XFuture<Void> sendPieceToApp(Stream stream, StreamMsg payload);
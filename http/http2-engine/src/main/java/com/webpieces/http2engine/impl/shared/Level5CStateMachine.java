@@ -61,10 +61,10 @@ public abstract class Level5CStateMachine extends Level5BResets {
 			return XFuture.completedFuture(null);
 		}
 		
-		return fireRecvToSM(stream, frame)
-				.thenCompose(v -> {
-					return localFlowControl.firePriorityToClient(stream, frame);
-				});
+		//priority frames are allowed in every state and never change state so skip the state machine
+		//the remote end is telling us how to share our sends between streams
+		remoteFlowControl.updatePriority(stream, frame.getPriorityDetails());
+		return localFlowControl.firePriorityToClient(stream, frame);
 	}
 
 	protected abstract XFuture<Void> sendTrailersToApp(Http2Trailers payload);
@@ -1,14 +1,16 @@
 package com.webpieces.http2engine.impl.shared;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
-import org.webpieces.util.futures.XFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Supplier;
 
+import org.webpieces.util.futures.XFuture;
+
 import org.webpieces.data.api.DataWrapper;
 import org.webpieces.data.api.DataWrapperGenerator;
 import org.webpieces.data.api.DataWrapperGeneratorFactory;
+import org.webpieces.util.locking.AsyncLock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,7 +20,9 @@ import com.webpieces.http2.api.dto.lowlevel.DataFrame;
 import com.webpieces.http2.api.dto.lowlevel.RstStreamFrame;
 import com.webpieces.http2.api.dto.lowlevel.WindowUpdateFrame;
 import com.webpieces.http2.api.dto.lowlevel.lib.Http2Msg;
+import com.webpieces.http2.api.dto.lowlevel.lib.PriorityDetails;
 import com.webpieces.http2engine.api.error.ShutdownConnection;
+import com.webpieces.http2engine.impl.DataScheduler;
 import com.webpieces.http2engine.impl.DataTry;
 import com.webpieces.http2engine.impl.shared.data.HeaderSettings;
 import com.webpieces.http2engine.impl.shared.data.Stream;
@@ -33,9 +37,10 @@ public class Level6RemoteFlowControl {
 
 	private long remoteWindowSize;
 	
-	private Object remoteLock = new Object();
+	//all window and queue changes go through this lock so we never block a thread
+	private AsyncLock remoteLock;
 	
-	private LinkedList<DataTry> dataQueue = new LinkedList<>();
+	private DataScheduler scheduler = new DataScheduler();
 
 	private StreamState streamState;
 	private String logId;
@@ -50,6 +55,7 @@ public class Level6RemoteFlowControl {
 		this.streamState = streamState;
 		this.layer6NotifyListener = layer6NotifyListener;
 		this.remoteSettings = remoteSettings;
+		this.remoteLock = new AsyncLock(logId+"RemoteFlow");
 		remoteWindowSize = remoteSettings.getInitialWindowSize();
 	}
 
@@ -60,47 +66,50 @@ public class Level6RemoteFlowControl {
 	}
 	
 	public XFuture<Void> sendDataToSocket(Stream stream, DataFrame dataFrame) {
-		log.info("sending payload to socket="+dataFrame);
+		if(log.isDebugEnabled())
+			log.debug("sending payload to socket="+dataFrame);
 		XFuture<Void> future = new XFuture<>();
-		DataTry data = new DataTry(stream, dataFrame, future, false);
-		trySendPayload(data);
+		DataTry data = new DataTry(stream, dataFrame, future);
+		runLocked(() -> {
+			scheduler.add(data);
+			sendQueuedData();
+			return null;
+		}).exceptionally(t -> {
+			future.completeExceptionally(t);
+			return null;
+		});
 		return future;
 	}
-	
-	private void trySendPayload(DataTry data) {
-		long length = data.getDataFrame().getTransmitFrameLength();
-		Stream stream = data.getStream();
-
-		boolean send;
-		long min = Math.min(remoteWindowSize, stream.getRemoteWindowSize());
-		long lengthToSend = Math.min(length, min);
-		if(length != lengthToSend) {
-			//must split DataFrame into two since WindowUpdateSize is not large enough
-			List<DataTry> tuple = splitDataFrame(data, lengthToSend);
-			data = tuple.get(0); //swap the right size to send
-			dataQueue.add(0, tuple.get(1));
-		}
 
-		if(lengthToSend > 0) {
+	/**
+	 * MUST be called while holding the remoteLock.  Sends as much queued data as the windows allow
+	 * letting the scheduler pick which stream goes next
+	 */
+	private void sendQueuedData() {
+		DataTry data;
+		while((data = scheduler.poll(remoteWindowSize)) != null) {
+			Stream stream = data.getStream();
+			long length = data.getDataFrame().getTransmitFrameLength();
+			long min = Math.min(remoteWindowSize, stream.getRemoteWindowSize());
+			long lengthToSend = Math.min(length, min);
+			if(length != lengthToSend) {
+				//must split DataFrame into two since WindowUpdateSize is not large enough
+				List<DataTry> tuple = splitDataFrame(data, lengthToSend);
+				data = tuple.get(0); //swap the right size to send
+				scheduler.addFirst(tuple.get(1));
+			}
+
 			stream.incrementRemoteWindow(-lengthToSend);
 			remoteWindowSize -= lengthToSend;
-			send = true;
-		} else if(data.isWasQueuedBefore()) {
-			dataQueue.add(0, data); //insert BACK at beginning of queue
-			send = false;
-		} else {
-			dataQueue.add(data); //insert at end of queue
-			send = false;
-		}
-		
-		log.info("flow control.  send="+send+" window="+remoteWindowSize+" streamWindow="+stream.getRemoteWindowSize());
-		
-		if(send) {
+			scheduler.charge(stream, lengthToSend);
+
+			if(log.isDebugEnabled())
+				log.debug("flow control.  sent="+lengthToSend+" stream="+stream.getStreamId()+" window="+remoteWindowSize+" streamWindow="+stream.getRemoteWindowSize());
+
 			DataTry finalTry = data;
 			layer6NotifyListener.sendFrameToSocket(data.getDataFrame())
 					.handle((v, t) -> processComplete(v, t, finalTry.getFuture()));
 		}
-		
 	}
 
 	private List<DataTry> splitDataFrame(DataTry dataTry, long lengthToSend) {
@@ -118,14 +127,15 @@ public class Level6RemoteFlowControl {
 		
 		List<? extends DataWrapper> split = dataGen.split(data, len);
 		
-		DataFrame dF1 = new DataFrame();
+		//only the last piece can end the stream
+		DataFrame dF1 = new DataFrame(dataFrame.getStreamId(), false);
 		dF1.setData(split.get(0));
-		DataFrame dF2 = new DataFrame();
+		DataFrame dF2 = new DataFrame(dataFrame.getStreamId(), dataFrame.isEndOfStream());
 		dF2.setData(split.get(1));
 		
 		List<DataTry> tuple = new ArrayList<>();
-		tuple.add(new DataTry(dataTry.getStream(), dF1, null, dataTry.isWasQueuedBefore()));
-		tuple.add(new DataTry(dataTry.getStream(), dF2, dataTry.getFuture(), dataTry.isWasQueuedBefore()));
+		tuple.add(new DataTry(dataTry.getStream(), dF1, null));
+		tuple.add(new DataTry(dataTry.getStream(), dF2, dataTry.getFuture()));
 		
 		return tuple;
 	}
@@ -141,19 +151,46 @@ public class Level6RemoteFlowControl {
 		return null;
 	}
 
+	/**
+	 * AsyncLock hands back failures wrapped in a CompletionException but the layers above us look for
+	 * ConnectionException and StreamException so unwrap them
+	 */
+	private XFuture<Void> runLocked(Supplier<Void> processor) {
+		XFuture<Void> future = new XFuture<>();
+		remoteLock.synchronizeD(processor).handle((v, t) -> {
+			if(t == null)
+				future.complete(null);
+			else if(t instanceof CompletionException && t.getCause() != null)
+				future.completeExceptionally(t.getCause());
+			else
+				future.completeExceptionally(t);
+			return null;
+		});
+		return future;
+	}
+
 	public void resetInitialWindowSize(long initialWindow) {
-		long difference = initialWindow - remoteSettings.getInitialWindowSize();
-				
-		remoteWindowSize += difference;
-		
-		log.info("modify window size initial="+initialWindow+" diff="+difference+" newSize="+remoteWindowSize);
-
-		//next line MUST be set before updating all streams or some streams could be created
-		//just after updating all streams and before updating initial window size(ie. they are created with old size).  instead
-		//make sure all new streams are using this initialWindow first
-		remoteSettings.setInitialWindowSize(initialWindow); 
-		//now, update all streams that need updating
-		streamState.updateAllStreams(initialWindow);
+		runLocked(() -> {
+			long difference = initialWindow - remoteSettings.getInitialWindowSize();
+					
+			remoteWindowSize += difference;
+			
+			log.info("modify window size initial="+initialWindow+" diff="+difference+" newSize="+remoteWindowSize);
+	
+			//next line MUST be set before updating all streams or some streams could be created
+			//just after updating all streams and before updating initial window size(ie. they are created with old size).  instead
+			//make sure all new streams are using this initialWindow first
+			remoteSettings.setInitialWindowSize(initialWindow); 
+			//now, update all streams that need updating
+			streamState.updateAllStreams(initialWindow);
+			
+			//a larger window may let queued data go out
+			sendQueuedData();
+			return null;
+		}).exceptionally(t -> {
+			log.error("Exception resetting initial window to="+initialWindow, t);
+			return null;
+		});
 	}
 
 	public XFuture<Void> updateConnectionWindowSize(WindowUpdateFrame msg) {
@@ -163,26 +200,18 @@ public class Level6RemoteFlowControl {
 					"Received windowUpdate size increment=0");
 		}
 		
-		DataTry dataTry = null;
-		DataTry temp = dataQueue.peek();
-		synchronized(remoteLock) {// TODO: Use AsyncLock instead so we do not block threads!!!
+		return runLocked(() -> {
 			remoteWindowSize += increment;
 			if(remoteWindowSize > Integer.MAX_VALUE)
 				throw new ConnectionException(CancelReasonCode.FLOW_CONTROL_ERROR, logId, 0, 
 						"(remote end bad)global remoteWindowSize too large="+remoteWindowSize+" from windows increment="+increment);
 			
-			if(temp != null && remoteWindowSize > temp.getDataFrame().getTransmitFrameLength())
-				dataTry = dataQueue.poll();
-			
-			log.info("updated window to="+remoteWindowSize+" increment="+msg.getWindowSizeIncrement()+" dataTry to submit="+dataTry);
-		}
-		
-		if(dataTry != null) {
-			dataTry.setWasQueuedBefore(true);
-			trySendPayload(dataTry);
-		}
-		
-		return XFuture.completedFuture(null);
+			if(log.isDebugEnabled())
+				log.debug("updated window to="+remoteWindowSize+" increment="+msg.getWindowSizeIncrement());
+
+			sendQueuedData();
+			return null;
+		});
 	}
 
 	public XFuture<Void> updateStreamWindowSize(Stream stream, WindowUpdateFrame msg) {
@@ -191,26 +220,24 @@ public class Level6RemoteFlowControl {
 					"Received windowUpdate size increment=0");
 		}
 		
-		DataTry dataTry = null;
-		DataTry temp = dataQueue.peek();
-		synchronized(remoteLock) {
-			long remoteWindowSize = stream.incrementRemoteWindow(msg.getWindowSizeIncrement());
-			
-			if(temp != null && remoteWindowSize > temp.getDataFrame().getTransmitFrameLength())
-				dataTry = dataQueue.poll();
+		return runLocked(() -> {
+			stream.incrementRemoteWindow(msg.getWindowSizeIncrement());
 			
-			log.info("updated stream "+stream.getStreamId()+" window to="
-					+stream.getRemoteWindowSize()+" increment="+msg.getWindowSizeIncrement()+" dataTry to submit="+dataTry);
+			if(log.isDebugEnabled())
+				log.debug("updated stream "+stream.getStreamId()+" window to="
+						+stream.getRemoteWindowSize()+" increment="+msg.getWindowSizeIncrement());
 
-		}
-		
-		if(dataTry != null) {
-			dataTry.setWasQueuedBefore(true);
-			trySendPayload(dataTry);		
-		}
+			sendQueuedData();
+			return null;
+		});
+	}
 
-		//someday, remove synchronized above and then complete future when it is complete instead maybe
-		return XFuture.completedFuture(null);
+	/**
+	 * The weight is only used when deciding which stream's queued DATA goes next so no lock is needed
+	 */
+	public void updatePriority(Stream stream, PriorityDetails details) {
+		//weight on the wire is 0-255 and means 1-256
+		stream.setWeight(details.getWeight() + 1);
 	}
 
 	public XFuture<Void> goAway(ShutdownConnection e) {
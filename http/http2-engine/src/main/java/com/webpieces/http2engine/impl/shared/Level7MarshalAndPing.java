@@ -2,13 +2,16 @@ package com.webpieces.http2engine.impl.shared;
 
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
 import org.webpieces.util.futures.XFuture;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.Supplier;
 
 import org.webpieces.data.api.DataWrapper;
 import org.webpieces.data.api.DataWrapperGenerator;
 import org.webpieces.data.api.DataWrapperGeneratorFactory;
+import org.webpieces.metrics.MetricsCreator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,6 +24,9 @@ import com.webpieces.http2.api.dto.lowlevel.lib.Http2Msg;
 import com.webpieces.http2engine.api.error.ShutdownConnection;
 import com.webpieces.http2engine.impl.shared.data.HeaderSettings;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
 public class Level7MarshalAndPing {
 
 	private static final Logger log = LoggerFactory.getLogger(Level7MarshalAndPing.class);
@@ -32,16 +38,63 @@ public class Level7MarshalAndPing {
 	private MarshalState marshalState;
 	private AtomicReference<XFuture<Void>> pingFutureRef;
 	private String key;
+
+	//While a thread is corked, the frames it sends are marshalled in order and held so that everything sent
+	//while processing one incoming packet(ie. settings ack + window update + headers + data) goes out in one
+	//socket write.  A frame sent by any other thread goes out right away along with whatever is held as that
+	//was marshalled first.  hpack state requires frames hit the socket in marshal order so frames are
+	//marshalled under the lock and queued BUT the socket write runs outside the lock(see drain)
+	private final Object corkLock = new Object();
+	private final int maxCoalescedBytes;
+	private final int minZeroCopyBytes;
+	private final DistributionSummary framesPerWrite;
+	private final ThreadLocal<Integer> corkDepth = ThreadLocal.withInitial(() -> 0);
+	private List<DataWrapper> corkedData = new ArrayList<>();
+	//completed once the write the corked frames went out in completes
+	private List<XFuture<Void>> corkedFutures = new ArrayList<>();
+	private int corkedBytes;
+	//writes(and the close after a goAway) in the order they must hit the socket
+	private final ArrayDeque<Runnable> readyToWrite = new ArrayDeque<>();
+	private boolean draining;
 	
-	public Level7MarshalAndPing(String key, HpackParser parser, HeaderSettings remoteSettings, EngineResultListener finalLayer) {
+	public Level7MarshalAndPing(String key, HpackParser parser, HeaderSettings remoteSettings, EngineResultListener finalLayer, 
+			int maxCoalescedBytes, int minZeroCopyBytes, MeterRegistry metrics) {
 		this.key = key;
 		this.parser = parser;
 		this.remoteSettings = remoteSettings;
 		this.finalLayer = finalLayer;
+		this.maxCoalescedBytes = maxCoalescedBytes;
+		this.minZeroCopyBytes = minZeroCopyBytes;
+		this.framesPerWrite = MetricsCreator.createCountDistribution(metrics, "http2", "framesPerWrite");
 		
 		this.remoteSettings = remoteSettings;
         marshalState = parser.prepareToMarshal(remoteSettings.getHeaderTableSize(), remoteSettings.getMaxFrameSize());
 	}
+
+	/**
+	 * Hold frames this thread sends until the matching uncork().  Always call uncork() in a finally block as
+	 * that is what flushes
+	 */
+	public void cork() {
+		corkDepth.set(corkDepth.get() + 1);
+	}
+
+	public void uncork() {
+		int depth = corkDepth.get() - 1;
+		if(depth > 0) {
+			corkDepth.set(depth);
+			return;
+		}
+		corkDepth.remove();
+
+		boolean drain;
+		synchronized(corkLock) {
+			flushCorked();
+			drain = startDraining();
+		}
+		if(drain)
+			drain();
+	}
 	
 //	public XFuture<Void> sendControlFrameToClient(Http2Msg msg) {
 //		return finalLayer.sendControlFrameToClient(msg);
@@ -94,7 +147,14 @@ public class Level7MarshalAndPing {
 		frame.setKnownErrorCode(reason.getErrorCode());
 
 		XFuture<Void> future1 = sendControlDataToSocket(frame);
-		finalLayer.closeSocket(shutdown);
+		boolean drain;
+		synchronized(corkLock) {
+			flushCorked(); //if corked, the goAway must still hit the socket before we close it
+			readyToWrite.add(() -> finalLayer.closeSocket(shutdown));
+			drain = startDraining();
+		}
+		if(drain)
+			drain();
 		return future1;
 	}
 	
@@ -109,14 +169,151 @@ public class Level7MarshalAndPing {
 	public XFuture<Void> sendFrameToSocket(Http2Msg msg) {
 		if(log.isDebugEnabled())
 			log.debug(key+"sending frame down to socket(from client)=\n"+msg);
-		DataWrapper data = parser.marshal(marshalState, msg);
-		ByteBuffer buffer = ByteBuffer.wrap(data.createByteArray());
-		return sendToSocket(buffer);
+
+		//Every frame's future completes when the write it went out in does so failures and backpressure reach
+		//the caller.  Level2 only processes the next frame of a packet once the previous frame's future
+		//completes so a corked ack holds up the rest of that packet until uncork
+		XFuture<Void> future = new XFuture<>();
+		boolean drain;
+		synchronized(corkLock) {
+			DataWrapper data = parser.marshal(marshalState, msg);
+			corkedData.add(data);
+			corkedFutures.add(future);
+			corkedBytes += data.getReadableSize();
+			if(maxCoalescedBytes <= 0 || corkDepth.get() == 0)
+				flushCorked(); //not corked by this thread
+			else if(corkedBytes >= maxCoalescedBytes)
+				flushCorked();
+			else if(minZeroCopyBytes > 0 && data.getReadableSize() >= minZeroCopyBytes)
+				flushCorked(); //the payload may not be copied so the app must not get it back until it's written
+
+			drain = startDraining();
+		}
+
+		if(drain)
+			drain();
+		return future;
+	}
+
+	/**
+	 * Must hold corkLock.  Queues everything corked as one write
+	 */
+	private void flushCorked() {
+		if(corkedData.isEmpty())
+			return;
+		framesPerWrite.record(corkedData.size());
+
+		List<DataWrapper> frames = corkedData;
+		List<XFuture<Void>> futures = corkedFutures;
+		corkedData = new ArrayList<>();
+		corkedFutures = new ArrayList<>();
+		corkedBytes = 0;
+		readyToWrite.add(() -> {
+			XFuture<Void> written;
+			try {
+				written = sendToSocket(frames);
+			} catch(Throwable e) {
+				written = XFuture.failedFuture(e);
+			}
+			link(written, futures);
+		});
+	}
+
+	/**
+	 * Must hold corkLock
+	 * @return true if the caller must drain as no other thread is
+	 */
+	private boolean startDraining() {
+		if(draining || readyToWrite.isEmpty())
+			return false;
+		draining = true;
+		return true;
+	}
+
+	/**
+	 * Runs the queued writes in order outside the lock.  Completing a write may call back into sendFrameToSocket
+	 * on this thread which just queues behind us
+	 */
+	private void drain() {
+		while(true) {
+			Runnable write;
+			synchronized(corkLock) {
+				write = readyToWrite.poll();
+				if(write == null) {
+					draining = false;
+					return;
+				}
+			}
+
+			try {
+				write.run();
+			} catch(Throwable e) {
+				log.error(key+"Exception writing to socket", e);
+			}
+		}
+	}
+
+	private void link(XFuture<Void> written, List<XFuture<Void>> futures) {
+		written.handle((r, t) -> {
+			for(XFuture<Void> future : futures) {
+				if(t != null)
+					future.completeExceptionally(t);
+				else
+					future.complete(null);
+			}
+			return null;
+		});
+	}
+
+	/**
+	 * A DataFrame marshals to it's 9 byte header chained with the untouched payload.  Payload buffers of at least
+	 * minZeroCopyBytes go to the socket as read only views(so the channel never pools or moves a buffer the app
+	 * still owns) and every run of smaller buffers(frame headers, control frames, small payloads) is copied into
+	 * one buffer.  The result goes out as one gathering write.
+	 *
+	 * Only the last frame can have uncopied buffers as sendFrameToSocket flushes as soon as one is corked and
+	 * every frame's future resolves once the app's buffers are written.
+	 */
+	private XFuture<Void> sendToSocket(List<DataWrapper> frames) {
+		List<ByteBuffer> pieces = new ArrayList<>();
+		for(DataWrapper data : frames) {
+			data.addUnderlyingBuffersToList(pieces);
+		}
+
+		List<ByteBuffer> toSend = new ArrayList<>();
+		int index = 0;
+		while(index < pieces.size()) {
+			ByteBuffer piece = pieces.get(index);
+			if(minZeroCopyBytes > 0 && piece.remaining() >= minZeroCopyBytes) {
+				toSend.add(piece.asReadOnlyBuffer());
+				index++;
+				continue;
+			}
+
+			int end = index;
+			int size = 0;
+			while(end < pieces.size() && (minZeroCopyBytes <= 0 || pieces.get(end).remaining() < minZeroCopyBytes)) {
+				size += pieces.get(end).remaining();
+				end++;
+			}
+			if(size > 0) {
+				ByteBuffer copy = ByteBuffer.allocate(size);
+				for(int i = index; i < end; i++) {
+					copy.put(pieces.get(i).duplicate());
+				}
+				copy.flip();
+				toSend.add(copy);
+			}
+			index = end;
+		}
+
+		if(toSend.size() == 1)
+			return sendToSocket(toSend.get(0));
+		return finalLayer.sendToSocket(toSend.toArray(new ByteBuffer[toSend.size()]));
 	}
 
 	public XFuture<Void> sendToSocket(ByteBuffer buffer) {
 		return finalLayer.sendToSocket(buffer);
 	}
 
-
 }
@@ -8,6 +8,9 @@ import com.webpieces.http2.api.dto.error.StreamException;
 
 public abstract class Stream {
 
+	//per rfc7540 section 5.3.5 all streams start with a weight of 16
+	public static final int DEFAULT_WEIGHT = 16;
+
 	private Memento currentState;
 	private int streamId;
 	private long remoteWindowSize;
@@ -18,6 +21,7 @@ public abstract class Stream {
 	protected boolean hasPermit;
 	private AsyncLock asyncLock;
 	private String logId;
+	private volatile int weight = DEFAULT_WEIGHT;
 
 	public Stream(
 			String logId,
@@ -104,5 +108,17 @@ public abstract class Stream {
 	public AsyncLock getLock() {
 		return asyncLock;
 	}
+
+	/**
+	 * @return 1-256 and is the share of the connection window this stream gets relative to other streams
+	 * with queued data
+	 */
+	public int getWeight() {
+		return weight;
+	}
+
+	public void setWeight(int weight) {
+		this.weight = weight;
+	}
 	
 }
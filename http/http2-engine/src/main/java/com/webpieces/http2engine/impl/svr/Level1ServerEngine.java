@@ -54,7 +54,8 @@ public class Level1ServerEngine implements Http2ServerEngine {
 
 
 		Level8NotifySvrListeners finalLayer = new Level8NotifySvrListeners(listener, this);
-		marshalLayer = new Level7MarshalAndPing(logId, parser, remoteSettings, finalLayer);
+		marshalLayer = new Level7MarshalAndPing(logId, parser, remoteSettings, finalLayer, config.getMaxCoalescedWriteBytes(),
+				config.getMinZeroCopyWriteBytes(), injectionConfig.getMetrics());
 		Level6RemoteFlowControl remoteFlowCtrl = new Level6RemoteFlowControl(logId, streamState, marshalLayer, remoteSettings);
 		Level6SvrLocalFlowControl localFlowCtrl = new Level6SvrLocalFlowControl(logId, marshalLayer, finalLayer, localSettings);
 		Level5ServerStateMachine clientSm = new Level5ServerStateMachine(logId, streamState, remoteFlowCtrl, localFlowCtrl, localSettings, remoteSettings, maxConcurrent);
@@ -79,7 +80,14 @@ public class Level1ServerEngine implements Http2ServerEngine {
 
 	@Override
 	public XFuture<Void> parse(DataWrapper newData) {
-		return parsing.parse(newData);
+		//what this thread sends while processing this packet(acks, window updates, responses) goes out in
+		//one socket write on uncork.  Frames after an ack the parser waits on go out once that ack is written
+		marshalLayer.cork();
+		try {
+			return parsing.parse(newData);
+		} finally {
+			marshalLayer.uncork();
+		}
 	}
 
 	@Override
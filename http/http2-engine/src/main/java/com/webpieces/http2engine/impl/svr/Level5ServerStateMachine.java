@@ -94,6 +94,8 @@ public class Level5ServerStateMachine extends Level5CStateMachine {
 			throw new StreamException(CancelReasonCode.CLOSED_STREAM, logId, request.getStreamId(), "Stream id too low and stream not exist(ie. stream was closed) request="+request);
 		
 		ServerStream stream = createStream(request.getStreamId());
+		if(request.getPriorityDetails() != null)
+			remoteFlowControl.updatePriority(stream, request.getPriorityDetails());
 		return fireToClient(stream, request).thenApply(s -> null);
 	}
 	
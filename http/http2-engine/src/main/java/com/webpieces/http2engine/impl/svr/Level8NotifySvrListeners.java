@@ -51,6 +51,11 @@ public class Level8NotifySvrListeners implements EngineResultListener {
 		return listener.sendToSocket(buffer).thenApply(s -> null);
 	}
 
+	@Override
+	public XFuture<Void> sendToSocket(ByteBuffer[] buffers) {
+		return listener.sendToSocket(buffers).thenApply(s -> null);
+	}
+
 	@Override
 	public XFuture<Void> sendRstToApp(Stream stream, CancelReason payload) {
 		if(stream instanceof ServerStream) {
@@ -4,18 +4,38 @@ import org.webpieces.data.api.BufferPool;
 
 import com.webpieces.hpack.impl.HpackParserImpl;
 import com.webpieces.hpack.impl.HpackStatefulParserImpl;
+import com.webpieces.hpack.impl.codec.HpackEncoderMetrics;
 import com.webpieces.http2parser.api.Http2Parser;
 import com.webpieces.http2parser.api.Http2ParserFactory;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 public class HpackParserFactory {
 
+    /**
+     * @deprecated Use the method we call instead of this one
+     */
+    @Deprecated
     public static HpackParser createParser(BufferPool bufferPool, boolean ignoreUnknownFrames) {
+    	return createParser(bufferPool, ignoreUnknownFrames, new SimpleMeterRegistry());
+    }
+
+    public static HpackParser createParser(BufferPool bufferPool, boolean ignoreUnknownFrames, MeterRegistry metrics) {
     	Http2Parser parser = Http2ParserFactory.createParser(bufferPool);
-        return new HpackParserImpl(parser, ignoreUnknownFrames);
+        return new HpackParserImpl(parser, bufferPool, ignoreUnknownFrames, new HpackEncoderMetrics(metrics));
     }
 
+    /**
+     * @deprecated Use the method we call instead of this one
+     */
+    @Deprecated
     public static HpackStatefulParser createStatefulParser(BufferPool bufferPool, HpackConfig config) {
-    	HpackParser parser = createParser(bufferPool, config.isIgnoreUnknownFrames());
+    	return createStatefulParser(bufferPool, config, new SimpleMeterRegistry());
+    }
+
+    public static HpackStatefulParser createStatefulParser(BufferPool bufferPool, HpackConfig config, MeterRegistry metrics) {
+    	HpackParser parser = createParser(bufferPool, config.isIgnoreUnknownFrames(), metrics);
     	return new HpackStatefulParserImpl(parser, config);
     }
     
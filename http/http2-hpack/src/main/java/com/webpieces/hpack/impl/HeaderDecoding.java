@@ -1,14 +1,13 @@
 package com.webpieces.hpack.impl;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 
 import org.webpieces.data.api.DataWrapper;
 
-import com.twitter.hpack.Decoder;
+import com.webpieces.hpack.impl.codec.HpackDecoder;
+import com.webpieces.hpack.impl.codec.HpackException;
 import com.webpieces.http2.api.dto.error.CancelReasonCode;
 import com.webpieces.http2.api.dto.error.ConnectionException;
 import com.webpieces.http2.api.dto.lowlevel.lib.Http2Header;
@@ -16,7 +15,7 @@ import com.webpieces.http2.api.dto.lowlevel.lib.Http2HeaderName;
 
 public class HeaderDecoding {
 
-	public void setMaxHeaderTableSize(Decoder decoder, int newSize) {
+	public void setMaxHeaderTableSize(HpackDecoder decoder, int newSize) {
 		synchronized(decoder) {
 			decoder.setMaxHeaderTableSize(newSize);
 		}
@@ -25,24 +24,19 @@ public class HeaderDecoding {
 	public List<Http2Header> decode(UnmarshalStateImpl state, DataWrapper data, int streamId, Consumer<Http2Header> knownHeaders) {
 		try {
 			return decodeImpl(state, data, streamId, knownHeaders);
-        } catch (IOException e) {
-            // TODO: this doesn't catch the h2spec -s 4.3 invalid header block fragment
+        } catch (HpackException e) {
+            //the cause has the details of what was wrong with the header block
             throw new ConnectionException(CancelReasonCode.HEADER_DECODE, state.getLogId(), streamId, "Error from hpack library", e);
-            //TODO: clone hpack and fix so they throw with debug info as their errors contain no info :(
         }
 	}
 	
-	private List<Http2Header> decodeImpl(UnmarshalStateImpl state, DataWrapper data, int streamId, Consumer<Http2Header> knownHeaders) throws IOException {
+	private List<Http2Header> decodeImpl(UnmarshalStateImpl state, DataWrapper data, int streamId, Consumer<Http2Header> knownHeaders) {
         List<Http2Header> headers = new ArrayList<>();
-        byte[] bytes = data.createByteArray();
-        ByteArrayInputStream in = new ByteArrayInputStream(bytes);
-        	
-        Decoder decoder = state.getDecoder();
+        HpackDecoder decoder = state.getDecoder();
         
         //TODO(dhiller): make this an async syncrhonized block instead so threads can keep running!!!
 		synchronized(decoder) {
-	        decoder.decode(in, (n, v, s) -> addToHeaders(headers, knownHeaders, n, v, s, state.getLogId(), streamId));
-	        decoder.endHeaderBlock();
+	        decoder.decode(data, (n, v, s) -> addToHeaders(headers, knownHeaders, n, v, s, state.getLogId(), streamId));
 		}
 	
         if(data.getReadableSize() > 0 && headers.size() == 0)
@@ -51,11 +45,9 @@ public class HeaderDecoding {
         return headers;
     }
 
-	private Object addToHeaders(
+	private void addToHeaders(
 			List<Http2Header> headers, Consumer<Http2Header> knownHeaders, 
-			byte[] name, byte[] value, boolean sensitive, String logId, int streamId) {
-        String h = new String(name);
-        String v = new String(value);
+			String h, String v, boolean sensitive, String logId, int streamId) {
         if(!h.equals(h.toLowerCase()))
             throw new ConnectionException(CancelReasonCode.HEADER_NOT_LOWER_CASE, logId, streamId, "header="+h+" was not lower case in stream="+streamId);
         
@@ -67,7 +59,6 @@ public class HeaderDecoding {
         	if(knownName != null)
         		knownHeaders.accept(header);
         }
-		return null;
 	}
 
 }
@@ -1,19 +1,13 @@
 package com.webpieces.hpack.impl;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.util.LinkedList;
 import java.util.List;
 
 import org.webpieces.data.api.DataWrapper;
 import org.webpieces.data.api.DataWrapperGenerator;
 import org.webpieces.data.api.DataWrapperGeneratorFactory;
-import org.webpieces.util.exceptions.SneakyThrow;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import com.twitter.hpack.Encoder;
+import com.webpieces.hpack.impl.codec.HpackEncoder;
 import com.webpieces.http2.api.dto.highlevel.Http2Headers;
 import com.webpieces.http2.api.dto.highlevel.Http2Push;
 import com.webpieces.http2.api.dto.lowlevel.ContinuationFrame;
@@ -24,10 +18,9 @@ import com.webpieces.http2.api.dto.lowlevel.lib.Http2Frame;
 import com.webpieces.http2.api.dto.lowlevel.lib.Http2Header;
 
 public class HeaderEncoding {
-	private static final Logger log = LoggerFactory.getLogger(HeaderEncoding.class);
     private static final DataWrapperGenerator dataGen = DataWrapperGeneratorFactory.createDataWrapperGenerator();
     
-	public List<Http2Frame> translateToFrames(long maxFrameSize, Encoder encoder, Http2Push p) {
+	public List<Http2Frame> translateToFrames(long maxFrameSize, HpackEncoder encoder, Http2Push p) {
 		PushPromiseFrame frame = new PushPromiseFrame();
     	frame.setStreamId(p.getStreamId());
     	frame.setPromisedStreamId(p.getPromisedStreamId());
@@ -37,7 +30,7 @@ public class HeaderEncoding {
 		return headerFrames;
 	}
 	
-	public List<Http2Frame> translateToFrames(long maxFrameSize, Encoder encoder, Http2Headers headers) {
+	public List<Http2Frame> translateToFrames(long maxFrameSize, HpackEncoder encoder, Http2Headers headers) {
 		HeadersFrame frame = new HeadersFrame();
     	frame.setStreamId(headers.getStreamId());
     	frame.setEndOfStream(headers.isEndOfStream());
@@ -48,7 +41,7 @@ public class HeaderEncoding {
 		return headerFrames;
 	}
 	
-	private List<Http2Frame> toHeaderFrames(long maxFrameSize, Encoder encoder, HasHeaderFragment firstFrame,
+	private List<Http2Frame> toHeaderFrames(long maxFrameSize, HpackEncoder encoder, HasHeaderFragment firstFrame,
 			List<Http2Header> headers) {
 		
 		if(headers.size() == 0)
@@ -59,7 +52,7 @@ public class HeaderEncoding {
 		return headerFrames;
 	}
     
-    private List<Http2Frame> createHeaderFrames(HasHeaderFragment initialFrame, List<Http2Header> headers, Encoder encoder, long maxFrameSize) {
+    private List<Http2Frame> createHeaderFrames(HasHeaderFragment initialFrame, List<Http2Header> headers, HpackEncoder encoder, long maxFrameSize) {
     	
     	int maxSize = (int) maxFrameSize;
     	if(maxFrameSize > Integer.MAX_VALUE) 
@@ -91,33 +84,16 @@ public class HeaderEncoding {
 		return headerFrames;
 	}
 
-    private DataWrapper serializeHeaders(Encoder encoder, List<Http2Header> headers) {
-    	try {
-			return serializeHeadersImpl(encoder, headers);
-		} catch (IOException e) {
-			throw SneakyThrow.sneak(e);
-		}
-    }
-    
-    private DataWrapper serializeHeadersImpl(Encoder encoder, List<Http2Header> headers) throws IOException {
-    	ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private DataWrapper serializeHeaders(HpackEncoder encoder, List<Http2Header> headers) {
     	synchronized(encoder) {
-	        for (Http2Header header : headers) {
-	                encoder.encodeHeader(
-	                        out,
-	                        header.getName().toLowerCase().getBytes(),
-	                        header.getValue().getBytes(),
-	                        false);
-	        }
+    		return encoder.encode(headers);
     	}
-        return dataGen.wrapByteArray(out.toByteArray());
     }
 
-	public void setMaxHeaderTableSize(Encoder encoder, int newSize) throws IOException {
-		ByteArrayOutputStream out = new ByteArrayOutputStream();
+	public void setMaxHeaderTableSize(HpackEncoder encoder, int newSize) {
+		//the size update goes out at the start of the next header block
 		synchronized(encoder) {
-			encoder.setMaxHeaderTableSize(out, newSize);
+			encoder.setMaxHeaderTableSize(newSize);
 		}
-		log.info("length of out bytes="+out.toByteArray().length);
 	}
 }
@@ -6,15 +6,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.webpieces.data.api.BufferPool;
 import org.webpieces.data.api.DataWrapper;
 import org.webpieces.data.api.DataWrapperGenerator;
 import org.webpieces.data.api.DataWrapperGeneratorFactory;
 
-import com.twitter.hpack.Decoder;
-import com.twitter.hpack.Encoder;
 import com.webpieces.hpack.api.HpackParser;
 import com.webpieces.hpack.api.MarshalState;
 import com.webpieces.hpack.api.UnmarshalState;
+import com.webpieces.hpack.impl.codec.HpackDecoder;
+import com.webpieces.hpack.impl.codec.HpackEncoder;
+import com.webpieces.hpack.impl.codec.HpackEncoderMetrics;
 import com.webpieces.http2.api.dto.error.CancelReasonCode;
 import com.webpieces.http2.api.dto.error.ConnectionException;
 import com.webpieces.http2.api.dto.error.StreamException;
@@ -39,11 +41,13 @@ import com.webpieces.http2parser.api.Http2Parser;
 public class HpackParserImpl implements HpackParser {
 
 	//private static final Logger log = LoggerFactory.getLogger(HpackParserImpl.class);
-	private static final DataWrapperGenerator dataGen = DataWrapperGeneratorFactory.createDataWrapperGenerator();
+	private static final DataWrapperGenerator dataGen = DataWrapperGeneratorFactory.createIndexedDataWrapperGenerator();
 	private HeaderEncoding encoding = new HeaderEncoding();
 	private HeaderDecoding decoding = new HeaderDecoding();
 	private Http2Parser parser;
+	private BufferPool bufferPool;
 	private boolean ignoreUnkownFrames;
+	private HpackEncoderMetrics encoderMetrics;
 
 	private static Set<Http2HeaderName> requiredRequestHeaders = new HashSet<>();
 	
@@ -55,14 +59,16 @@ public class HpackParserImpl implements HpackParser {
 	}
 	
 	
-	public HpackParserImpl(Http2Parser parser, boolean ignoreUnkownFrames) {
+	public HpackParserImpl(Http2Parser parser, BufferPool bufferPool, boolean ignoreUnkownFrames, HpackEncoderMetrics encoderMetrics) {
 		this.parser = parser;
+		this.bufferPool = bufferPool;
 		this.ignoreUnkownFrames = ignoreUnkownFrames;
+		this.encoderMetrics = encoderMetrics;
 	}
 
 	@Override
 	public UnmarshalState prepareToUnmarshal(String logId, int maxHeaderSize, int maxHeaderTableSize, long localMaxFrameSize) {
-		Decoder decoder = new Decoder(maxHeaderSize, maxHeaderTableSize);
+		HpackDecoder decoder = new HpackDecoder(maxHeaderSize, maxHeaderTableSize);
 		Http2Memento result = parser.prepareToParse(localMaxFrameSize);
 		return new UnmarshalStateImpl(logId, result, decoding, decoder);
 	}
@@ -220,7 +226,7 @@ public class HpackParserImpl implements HpackParser {
 
 	@Override
     public MarshalState prepareToMarshal(int maxHeaderTableSize, long remoteMaxFrameSize) {
-		Encoder encoder = new Encoder(maxHeaderTableSize);
+		HpackEncoder encoder = new HpackEncoder(maxHeaderTableSize, bufferPool, encoderMetrics);
 		return new MarshalStateImpl(encoding, encoder, remoteMaxFrameSize);
 	}
 
@@ -243,14 +249,14 @@ public class HpackParserImpl implements HpackParser {
 
 	private DataWrapper createPushPromiseData(MarshalStateImpl state, Http2Push p) {
 		long maxFrameSize = state.getMaxRemoteFrameSize();
-		Encoder encoder = state.getEncoder();
+		HpackEncoder encoder = state.getEncoder();
     	List<Http2Frame> headerFrames = encoding.translateToFrames(maxFrameSize, encoder, p);
 		return translate(headerFrames);
 	}
 
 	private DataWrapper createHeadersData(MarshalStateImpl state, Http2Headers headers) {
 		long maxFrameSize = state.getMaxRemoteFrameSize();
-		Encoder encoder = state.getEncoder();
+		HpackEncoder encoder = state.getEncoder();
     	List<Http2Frame> headerFrames = encoding.translateToFrames(maxFrameSize, encoder, headers);
 		return translate(headerFrames);
 	}
@@ -1,24 +1,21 @@
 package com.webpieces.hpack.impl;
 
-import java.io.IOException;
-
-import com.twitter.hpack.Encoder;
 import com.webpieces.hpack.api.MarshalState;
-import org.webpieces.util.exceptions.SneakyThrow;
+import com.webpieces.hpack.impl.codec.HpackEncoder;
 
 public class MarshalStateImpl implements MarshalState {
 
 	private HeaderEncoding encoding;
-	private Encoder encoder;
+	private HpackEncoder encoder;
 	private volatile long remoteMaxFrameSize;
 
-	public MarshalStateImpl(HeaderEncoding encoding, Encoder encoder, long remoteMaxFrameSize) {
+	public MarshalStateImpl(HeaderEncoding encoding, HpackEncoder encoder, long remoteMaxFrameSize) {
 		this.encoding = encoding;
 		this.encoder = encoder;
 		this.remoteMaxFrameSize = remoteMaxFrameSize;
 	}
 
-	public Encoder getEncoder() {
+	public HpackEncoder getEncoder() {
 		return encoder;
 	}
 
@@ -33,11 +30,7 @@ public class MarshalStateImpl implements MarshalState {
 	
 	@Override
     public void setOutgoingMaxTableSize(int newSize) {
-		try {
-			encoding.setMaxHeaderTableSize(encoder, newSize);
-		} catch (IOException e) {
-			throw SneakyThrow.sneak(e);
-		}
+		encoding.setMaxHeaderTableSize(encoder, newSize);
     }
 
 }
@@ -5,8 +5,8 @@ import java.util.LinkedList;
 import java.util.List;
 import org.webpieces.util.futures.XFuture;
 
-import com.twitter.hpack.Decoder;
 import com.webpieces.hpack.api.UnmarshalState;
+import com.webpieces.hpack.impl.codec.HpackDecoder;
 import com.webpieces.http2.api.dto.lowlevel.lib.HasHeaderFragment;
 import com.webpieces.http2.api.dto.lowlevel.lib.Http2Msg;
 import com.webpieces.http2parser.api.Http2Memento;
@@ -14,7 +14,7 @@ import com.webpieces.http2parser.api.Http2Memento;
 public class UnmarshalStateImpl implements UnmarshalState {
 
 	private HeaderDecoding decoding;
-	private Decoder decoder;
+	private HpackDecoder decoder;
 	private Http2Memento lowLevelState;
 	
     private List<HasHeaderFragment> headersToCombine = new LinkedList<>();
@@ -25,7 +25,7 @@ public class UnmarshalStateImpl implements UnmarshalState {
 	private int halfParsedSize;
 	private XFuture<Void> processFuture = XFuture.completedFuture(null);
 	
-	public UnmarshalStateImpl(String logId, Http2Memento lowLevelState, HeaderDecoding decoding, Decoder decoder) {
+	public UnmarshalStateImpl(String logId, Http2Memento lowLevelState, HeaderDecoding decoding, HpackDecoder decoder) {
 		this.logId = logId;
 		this.lowLevelState = lowLevelState;
 		this.decoding = decoding;
@@ -45,7 +45,7 @@ public class UnmarshalStateImpl implements UnmarshalState {
 		return headersToCombine;
 	}
 
-	public Decoder getDecoder() {
+	public HpackDecoder getDecoder() {
 		return decoder;
 	}
 
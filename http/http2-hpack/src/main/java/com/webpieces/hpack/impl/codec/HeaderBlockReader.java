@@ -0,0 +1,111 @@
+package com.webpieces.hpack.impl.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.webpieces.data.api.DataWrapper;
+
+/**
+ * Reads a header block straight out of the ByteBuffers under a DataWrapper(the header block is usually the
+ * HEADERS frame fragment chained with CONTINUATION fragments) without copying it into one byte[] first.
+ * Only absolute gets are used so the buffers are not modified.
+ */
+public class HeaderBlockReader {
+
+	private final List<ByteBuffer> buffers = new ArrayList<>();
+	private int bufferIndex;
+	private ByteBuffer current;
+	private int position;
+	private int limit;
+	private int remaining;
+
+	public void reset(DataWrapper data) {
+		buffers.clear();
+		data.addUnderlyingBuffersToList(buffers);
+		bufferIndex = -1;
+		current = null;
+		position = 0;
+		limit = 0;
+		remaining = data.getReadableSize();
+	}
+
+	/**
+	 * drop the buffers so we don't hold on to them between header blocks
+	 */
+	public void clear() {
+		buffers.clear();
+		current = null;
+	}
+
+	public boolean hasRemaining() {
+		return remaining > 0;
+	}
+
+	public int remaining() {
+		return remaining;
+	}
+
+	/**
+	 * @return the next byte as 0-255
+	 */
+	public int readByte() {
+		if(remaining <= 0)
+			throw new HpackException("Header block ended in the middle of a header");
+		while(position >= limit) {
+			nextBuffer();
+		}
+		remaining--;
+		return current.get(position++) & 0xFF;
+	}
+
+	public void readBytes(byte[] out, int offset, int length) {
+		if(length > remaining)
+			throw new HpackException("String length="+length+" is longer than the rest of the header block="+remaining);
+		int copied = 0;
+		while(copied < length) {
+			while(position >= limit) {
+				nextBuffer();
+			}
+			int toCopy = Math.min(length - copied, limit - position);
+			if(current.hasArray()) {
+				System.arraycopy(current.array(), current.arrayOffset() + position, out, offset + copied, toCopy);
+			} else {
+				for(int i = 0; i < toCopy; i++) {
+					out[offset + copied + i] = current.get(position + i);
+				}
+			}
+			position += toCopy;
+			copied += toCopy;
+		}
+		remaining -= length;
+	}
+
+	/**
+	 * @return the string or null if it crosses buffers or is not in a heap buffer so the caller has to copy it
+	 */
+	public String readStringInPlace(int length) {
+		if(length > remaining)
+			throw new HpackException("String length="+length+" is longer than the rest of the header block="+remaining);
+		else if(length == 0)
+			return "";
+		while(position >= limit) {
+			nextBuffer();
+		}
+		if(limit - position < length || !current.hasArray())
+			return null;
+
+		String value = new String(current.array(), current.arrayOffset() + position, length, StandardCharsets.UTF_8);
+		position += length;
+		remaining -= length;
+		return value;
+	}
+
+	private void nextBuffer() {
+		bufferIndex++;
+		current = buffers.get(bufferIndex);
+		position = current.position();
+		limit = current.limit();
+	}
+}
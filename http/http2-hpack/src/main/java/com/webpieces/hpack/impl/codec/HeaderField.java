@@ -0,0 +1,58 @@
+package com.webpieces.hpack.impl.codec;
+
+/**
+ * An entry in the static or dynamic table.  The Strings are shared by every header decoded from the entry.
+ */
+public class HeaderField {
+
+	//per spec, the size of an entry is the byte length of name and value plus 32
+	public static final int ENTRY_OVERHEAD = 32;
+
+	private final String name;
+	private final String value;
+	private final int nameLength;
+	private final int valueLength;
+	//set when added to a dynamic table so the encoder can find the current index
+	private long insertNumber;
+
+	public HeaderField(String name, int nameLength, String value, int valueLength) {
+		this.name = name;
+		this.value = value;
+		this.nameLength = nameLength;
+		this.valueLength = valueLength;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getValue() {
+		return value;
+	}
+
+	public int getNameLength() {
+		return nameLength;
+	}
+
+	public int getValueLength() {
+		return valueLength;
+	}
+
+	long getInsertNumber() {
+		return insertNumber;
+	}
+
+	void setInsertNumber(long insertNumber) {
+		this.insertNumber = insertNumber;
+	}
+
+	public int getSize() {
+		return nameLength + valueLength + ENTRY_OVERHEAD;
+	}
+
+	@Override
+	public String toString() {
+		return name + ": " + value;
+	}
+
+}
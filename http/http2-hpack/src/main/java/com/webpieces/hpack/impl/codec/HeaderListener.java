@@ -0,0 +1,7 @@
+package com.webpieces.hpack.impl.codec;
+
+public interface HeaderListener {
+
+	void addHeader(String name, String value, boolean sensitive);
+
+}
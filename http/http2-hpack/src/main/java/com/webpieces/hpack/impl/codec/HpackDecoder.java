@@ -0,0 +1,198 @@
+package com.webpieces.hpack.impl.codec;
+
+import java.nio.charset.StandardCharsets;
+
+import org.webpieces.data.api.DataWrapper;
+
+/**
+ * Decodes header blocks(RFC 7541) straight from the DataWrapper.  Indexed headers reuse the Strings already
+ * in the static/dynamic table and known names are matched to constant Strings so the common case only creates
+ * Strings for new values.
+ *
+ * Not thread safe.  There is one per connection and header blocks must be decoded in order anyways.
+ */
+public class HpackDecoder {
+
+	private final HpackDynamicTable dynamicTable;
+	private final HeaderBlockReader reader = new HeaderBlockReader();
+	private final int maxHeaderSize;
+	//the max we told the remote encoder it can use
+	private int maxHeaderTableSize;
+	//after lowering the max, the next header block must start with a size update
+	private boolean sizeUpdateRequired;
+	private byte[] scratch = new byte[256];
+
+	private int headerListSize;
+	private boolean truncated;
+
+	public HpackDecoder(int maxHeaderSize, int maxHeaderTableSize) {
+		this.maxHeaderSize = maxHeaderSize;
+		this.maxHeaderTableSize = maxHeaderTableSize;
+		this.dynamicTable = new HpackDynamicTable(maxHeaderTableSize);
+	}
+
+	public void setMaxHeaderTableSize(int maxHeaderTableSize) {
+		this.maxHeaderTableSize = maxHeaderTableSize;
+		if(maxHeaderTableSize < dynamicTable.capacity()) {
+			sizeUpdateRequired = true;
+			dynamicTable.setCapacity(maxHeaderTableSize);
+		}
+	}
+
+	public int getMaxHeaderTableSize() {
+		return maxHeaderTableSize;
+	}
+
+	/**
+	 * Headers past maxHeaderSize(name + value bytes) are still decoded to keep the dynamic table in sync
+	 * but are not passed to the listener
+	 *
+	 * @return true if headers were dropped for being over maxHeaderSize
+	 */
+	public boolean decode(DataWrapper headerBlock, HeaderListener listener) {
+		reader.reset(headerBlock);
+		headerListSize = 0;
+		truncated = false;
+		try {
+			decodeImpl(listener);
+		} finally {
+			reader.clear();
+		}
+		return truncated;
+	}
+
+	private void decodeImpl(HeaderListener listener) {
+		boolean headerDecoded = false;
+		while(reader.hasRemaining()) {
+			int b = reader.readByte();
+			if(sizeUpdateRequired && (b & 0xE0) != 0x20)
+				throw new HpackException("Max dynamic table size change required at start of header block");
+
+			if((b & 0x80) != 0) {
+				//indexed header field
+				HeaderField field = getField(readInt(b, 7));
+				emit(listener, field.getName(), field.getValue(), field.getNameLength() + field.getValueLength(), false);
+			} else if((b & 0x40) != 0) {
+				//literal with incremental indexing
+				HeaderField field = readLiteral(readInt(b, 6));
+				dynamicTable.add(field);
+				emit(listener, field.getName(), field.getValue(), field.getNameLength() + field.getValueLength(), false);
+			} else if((b & 0x20) != 0) {
+				if(headerDecoded)
+					throw new HpackException("Dynamic table size update must be at the start of a header block");
+				int newSize = readInt(b, 5);
+				if(newSize > maxHeaderTableSize)
+					throw new HpackException("Dynamic table size update="+newSize+" is larger than max="+maxHeaderTableSize);
+				sizeUpdateRequired = false;
+				dynamicTable.setCapacity(newSize);
+				continue;
+			} else {
+				//literal without indexing(0000) or never indexed(0001)
+				boolean sensitive = (b & 0x10) != 0;
+				HeaderField field = readLiteral(readInt(b, 4));
+				emit(listener, field.getName(), field.getValue(), field.getNameLength() + field.getValueLength(), sensitive);
+			}
+			headerDecoded = true;
+		}
+	}
+
+	private void emit(HeaderListener listener, String name, String value, int size, boolean sensitive) {
+		if(truncated)
+			return;
+		headerListSize += size;
+		if(headerListSize > maxHeaderSize) {
+			truncated = true;
+			return;
+		}
+		listener.addHeader(name, value, sensitive);
+	}
+
+	private HeaderField readLiteral(int nameIndex) {
+		String name;
+		int nameLength;
+		if(nameIndex == 0) {
+			int first = reader.readByte();
+			nameLength = readStringBytes(first);
+			name = HpackStaticTable.lookupName(scratch, 0, nameLength);
+			if(name == null)
+				name = new String(scratch, 0, nameLength, StandardCharsets.UTF_8);
+		} else {
+			HeaderField field = getField(nameIndex);
+			name = field.getName();
+			nameLength = field.getNameLength();
+		}
+
+		int first = reader.readByte();
+		boolean huffman = (first & 0x80) != 0;
+		int length = readInt(first, 7);
+		String value = null;
+		int valueLength = length;
+		if(!huffman)
+			value = reader.readStringInPlace(length);
+		if(value == null) {
+			valueLength = readStringBytes(huffman, length);
+			value = new String(scratch, 0, valueLength, StandardCharsets.UTF_8);
+		}
+		return new HeaderField(name, nameLength, value, valueLength);
+	}
+
+	private int readStringBytes(int first) {
+		return readStringBytes((first & 0x80) != 0, readInt(first, 7));
+	}
+
+	/**
+	 * reads the string into scratch and returns it's decoded length
+	 */
+	private int readStringBytes(boolean huffman, int length) {
+		if(length > reader.remaining())
+			throw new HpackException("String length="+length+" is longer than the rest of the header block="+reader.remaining());
+
+		if(!huffman) {
+			ensureScratch(length);
+			reader.readBytes(scratch, 0, length);
+			return length;
+		}
+
+		//shortest code is 5 bits
+		ensureScratch(length * 8 / 5 + 1);
+		return HpackHuffman.decode(reader, length, scratch);
+	}
+
+	private void ensureScratch(int length) {
+		if(scratch.length < length)
+			scratch = new byte[Math.max(length, scratch.length * 2)];
+	}
+
+	private HeaderField getField(int index) {
+		if(index == 0)
+			throw new HpackException("Index 0 is not a valid index");
+		else if(index <= HpackStaticTable.LENGTH)
+			return HpackStaticTable.get(index);
+
+		int dynamicIndex = index - HpackStaticTable.LENGTH;
+		if(dynamicIndex > dynamicTable.length())
+			throw new HpackException("Index="+index+" is past the end of the dynamic table which has "+dynamicTable.length()+" entries");
+		return dynamicTable.get(dynamicIndex);
+	}
+
+	private int readInt(int first, int prefixBits) {
+		int max = (1 << prefixBits) - 1;
+		int value = first & max;
+		if(value < max)
+			return value;
+
+		int shift = 0;
+		int b;
+		do {
+			if(shift > 28)
+				throw new HpackException("Integer is too large");
+			b = reader.readByte();
+			value += (b & 0x7F) << shift;
+			shift += 7;
+		} while((b & 0x80) != 0);
+
+		if(value < 0)
+			throw new HpackException("Integer overflowed");
+		return value;
+	}
+}
@@ -0,0 +1,110 @@
+package com.webpieces.hpack.impl.codec;
+
+/**
+ * Ring buffer of entries where index 1 is the newest entry
+ */
+public class HpackDynamicTable {
+
+	private HeaderField[] entries = new HeaderField[16];
+	//position of the oldest entry
+	private int tail;
+	private int length;
+	private int size;
+	private int capacity;
+	//total entries ever added
+	private long insertCount;
+
+	public HpackDynamicTable(int capacity) {
+		this.capacity = capacity;
+	}
+
+	public int length() {
+		return length;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int capacity() {
+		return capacity;
+	}
+
+	/**
+	 * @param index 1 is the newest entry
+	 */
+	public HeaderField get(int index) {
+		return entries[(tail + length - index) & (entries.length - 1)];
+	}
+
+	/**
+	 * @return the current index of a field added to this table or -1 if it was evicted
+	 */
+	public int indexOf(HeaderField field) {
+		long index = insertCount - field.getInsertNumber() + 1;
+		if(index > length)
+			return -1;
+		return (int) index;
+	}
+
+	/**
+	 * Per spec, an entry larger than the capacity empties the table and is not added
+	 */
+	public void add(HeaderField field) {
+		int fieldSize = field.getSize();
+		if(fieldSize > capacity) {
+			clear();
+			return;
+		}
+
+		while(size + fieldSize > capacity) {
+			removeOldest();
+		}
+
+		if(length == entries.length)
+			grow();
+
+		field.setInsertNumber(++insertCount);
+		entries[(tail + length) & (entries.length - 1)] = field;
+		length++;
+		size += fieldSize;
+	}
+
+	public void setCapacity(int capacity) {
+		this.capacity = capacity;
+		while(size > capacity) {
+			removeOldest();
+		}
+	}
+
+	private void clear() {
+		while(length > 0) {
+			removeOldest();
+		}
+	}
+
+	private void removeOldest() {
+		HeaderField oldest = entries[tail];
+		entries[tail] = null;
+		tail = (tail + 1) & (entries.length - 1);
+		length--;
+		size -= oldest.getSize();
+		evicted(oldest);
+	}
+
+	/**
+	 * Called for every entry removed from the table
+	 */
+	protected void evicted(HeaderField field) {
+	}
+
+	private void grow() {
+		//keep the size a power of 2 so positions wrap with a mask
+		HeaderField[] newEntries = new HeaderField[entries.length * 2];
+		for(int i = 0; i < length; i++) {
+			newEntries[i] = entries[(tail + i) & (entries.length - 1)];
+		}
+		entries = newEntries;
+		tail = 0;
+	}
+}
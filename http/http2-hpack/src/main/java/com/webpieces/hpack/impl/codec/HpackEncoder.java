@@ -0,0 +1,336 @@
+package com.webpieces.hpack.impl.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.webpieces.data.api.BufferPool;
+import org.webpieces.data.api.DataWrapper;
+import org.webpieces.data.api.DataWrapperGenerator;
+import org.webpieces.data.api.DataWrapperGeneratorFactory;
+
+import com.webpieces.http2.api.dto.lowlevel.lib.Http2Header;
+
+/**
+ * Encodes header blocks(RFC 7541) into a buffer from the pool that is released once the block is copied out
+ * at it's exact size(the pooled buffer is never handed to the caller who would not release it).  Headers found in the static or
+ * dynamic table are sent as an index, everything else is added to the dynamic table(if it fits) and strings
+ * are huffman encoded when that is shorter.
+ *
+ * Dynamic table entries are found through a hash index instead of scanning the table.  Header lists that
+ * were encoded entirely as indexes are cached so sending the same list again(very common for responses)
+ * only writes the current indexes without lower casing or looking up each header.
+ *
+ * Not thread safe.  There is one per connection and header blocks must be encoded in the order they are sent.
+ */
+public class HpackEncoder {
+
+	private static final DataWrapperGenerator dataGen = DataWrapperGeneratorFactory.createDataWrapperGenerator();
+	//worst case bytes for the prefix of a header(1 byte + integer) and each string length
+	private static final int MAX_INT_BYTES = 6;
+	private static final int MAX_CACHED_BLOCKS = 32;
+
+	private final IndexedDynamicTable dynamicTable;
+	private final BufferPool pool;
+	private final HpackEncoderMetrics metrics;
+	private ByteBuffer out;
+
+	//name -> entries in the dynamic table with that name
+	private final Map<String, NameEntry> nameToEntry = new HashMap<>();
+	//access ordered so the least recently sent header list is removed first
+	private final Map<List<Http2Header>, CachedBlock> blockCache = new LinkedHashMap<List<Http2Header>, CachedBlock>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<List<Http2Header>, CachedBlock> eldest) {
+			return size() > MAX_CACHED_BLOCKS;
+		}
+	};
+
+	//the remote changed it's max so we must tell it's decoder at the start of the next header block
+	private boolean sizeUpdatePending;
+	private int smallestSizeSinceUpdate;
+
+	//per header block counts recorded to metrics once the block is done
+	private int dynamicHits;
+	private int dynamicMisses;
+	private int bytesSaved;
+	//how each header of the block was sent while allIndexed is true, reused between blocks
+	private HeaderField[] sentFields = new HeaderField[16];
+	private int[] sentStaticIndexes = new int[16];
+	private boolean allIndexed;
+
+	public HpackEncoder(int maxHeaderTableSize, BufferPool pool, HpackEncoderMetrics metrics) {
+		this.dynamicTable = new IndexedDynamicTable(maxHeaderTableSize);
+		this.pool = pool;
+		this.metrics = metrics;
+	}
+
+	public void setMaxHeaderTableSize(int newSize) {
+		if(!sizeUpdatePending) {
+			if(newSize == dynamicTable.capacity())
+				return;
+			sizeUpdatePending = true;
+			smallestSizeSinceUpdate = newSize;
+		}
+		smallestSizeSinceUpdate = Math.min(smallestSizeSinceUpdate, newSize);
+		dynamicTable.setCapacity(newSize);
+	}
+
+	public int getMaxHeaderTableSize() {
+		return dynamicTable.capacity();
+	}
+
+	public DataWrapper encode(List<Http2Header> headers) {
+		out = pool.nextBuffer(estimateSize(headers));
+		dynamicHits = 0;
+		dynamicMisses = 0;
+		bytesSaved = 0;
+		try {
+			if(sizeUpdatePending) {
+				ensureRemaining(2 * MAX_INT_BYTES);
+				if(smallestSizeSinceUpdate < dynamicTable.capacity())
+					writeInt(0x20, 5, smallestSizeSinceUpdate);
+				writeInt(0x20, 5, dynamicTable.capacity());
+				sizeUpdatePending = false;
+			}
+
+			CachedBlock cached = blockCache.get(headers);
+			if(cached != null && encodeCached(cached)) {
+				metrics.recordBlockCacheHit(dynamicHits, bytesSaved);
+			} else {
+				encodeHeaders(headers);
+				metrics.record(dynamicHits, dynamicMisses, bytesSaved);
+			}
+
+			out.flip();
+			byte[] block = new byte[out.remaining()];
+			out.get(block);
+			return dataGen.wrapByteArray(block);
+		} finally {
+			pool.releaseBuffer(out);
+			out = null;
+		}
+	}
+
+	private void encodeHeaders(List<Http2Header> headers) {
+		if(sentFields.length < headers.size()) {
+			sentFields = new HeaderField[headers.size()];
+			sentStaticIndexes = new int[headers.size()];
+		}
+		allIndexed = true;
+		for(int i = 0; i < headers.size(); i++) {
+			Http2Header header = headers.get(i);
+			encodeHeader(i, header.getName().toLowerCase(), header.getValue());
+		}
+
+		if(allIndexed) {
+			//copy as the caller may modify the list or headers after this
+			List<Http2Header> key = new ArrayList<>(headers.size());
+			CachedBlock block = new CachedBlock(headers.size());
+			for(int i = 0; i < headers.size(); i++) {
+				Http2Header header = headers.get(i);
+				key.add(new Http2Header(header.getName(), header.getValue()));
+				block.fields[i] = sentFields[i];
+				block.staticIndexes[i] = sentStaticIndexes[i];
+				sentFields[i] = null;
+			}
+			blockCache.put(key, block);
+		} else {
+			Arrays.fill(sentFields, 0, headers.size(), null);
+		}
+	}
+
+	/**
+	 * @return false if an entry the block used was evicted and nothing was written
+	 */
+	private boolean encodeCached(CachedBlock cached) {
+		int start = out.position();
+		for(int i = 0; i < cached.fields.length; i++) {
+			ensureRemaining(MAX_INT_BYTES);
+			HeaderField field = cached.fields[i];
+			if(field == null) {
+				writeInt(0x80, 7, cached.staticIndexes[i]);
+				continue;
+			}
+
+			int index = dynamicTable.indexOf(field);
+			if(index < 0) {
+				out.position(start);
+				dynamicHits = 0;
+				bytesSaved = 0;
+				return false;
+			}
+			writeDynamicIndex(field, index);
+		}
+		return true;
+	}
+
+	private int estimateSize(List<Http2Header> headers) {
+		int size = 0;
+		for(Http2Header header : headers) {
+			size += header.getName().length() + header.getValue().length() + MAX_INT_BYTES;
+		}
+		return size;
+	}
+
+	private void encodeHeader(int position, String name, String value) {
+		//the String from here on has one char per byte so lengths are byte lengths
+		name = toBytePerChar(name);
+		value = toBytePerChar(value);
+		ensureRemaining(3 * MAX_INT_BYTES + name.length() + value.length());
+
+		int staticIndex = HpackStaticTable.getIndex(name, value);
+		if(staticIndex > 0) {
+			writeInt(0x80, 7, staticIndex);
+			sentFields[position] = null;
+			sentStaticIndexes[position] = staticIndex;
+			return;
+		}
+
+		NameEntry entry = nameToEntry.get(name);
+		if(entry != null) {
+			HeaderField field = entry.valueToField.get(value);
+			if(field != null) {
+				writeDynamicIndex(field, dynamicTable.indexOf(field));
+				sentFields[position] = field;
+				return;
+			}
+		}
+
+		dynamicMisses++;
+		allIndexed = false;
+		sentFields[position] = null;
+
+		int nameIndex = HpackStaticTable.getNameIndex(name);
+		if(nameIndex < 0 && entry != null)
+			nameIndex = HpackStaticTable.LENGTH + dynamicTable.indexOf(entry.newest);
+
+		HeaderField field = new HeaderField(name, name.length(), value, value.length());
+		if(field.getSize() > dynamicTable.capacity()) {
+			//literal without indexing as adding it would just empty the table
+			writeInt(0x00, 4, Math.max(nameIndex, 0));
+		} else {
+			writeInt(0x40, 6, Math.max(nameIndex, 0));
+			dynamicTable.add(field);
+			addToIndex(field);
+		}
+
+		if(nameIndex <= 0)
+			writeString(name);
+		writeString(value);
+	}
+
+	private void writeDynamicIndex(HeaderField field, int index) {
+		int start = out.position();
+		writeInt(0x80, 7, HpackStaticTable.LENGTH + index);
+		dynamicHits++;
+		bytesSaved += field.getNameLength() + field.getValueLength() - (out.position() - start);
+	}
+
+	private void addToIndex(HeaderField field) {
+		NameEntry entry = nameToEntry.get(field.getName());
+		if(entry == null) {
+			entry = new NameEntry();
+			nameToEntry.put(field.getName(), entry);
+		}
+		entry.newest = field;
+		entry.valueToField.put(field.getValue(), field);
+	}
+
+	private void removeFromIndex(HeaderField field) {
+		NameEntry entry = nameToEntry.get(field.getName());
+		if(entry == null)
+			return;
+		entry.valueToField.remove(field.getValue(), field);
+		//entries are evicted oldest first so if the newest is gone, they are all gone
+		if(entry.newest == field || entry.valueToField.isEmpty())
+			nameToEntry.remove(field.getName());
+	}
+
+	private void writeString(String value) {
+		int huffmanLength = HpackHuffman.encodedLength(value);
+		if(huffmanLength < value.length()) {
+			writeInt(0x80, 7, huffmanLength);
+			HpackHuffman.encode(value, out);
+		} else {
+			writeInt(0x00, 7, value.length());
+			for(int i = 0; i < value.length(); i++) {
+				out.put((byte) value.charAt(i));
+			}
+		}
+	}
+
+	private void writeInt(int mask, int prefixBits, int value) {
+		int max = (1 << prefixBits) - 1;
+		if(value < max) {
+			out.put((byte) (mask | value));
+			return;
+		}
+
+		out.put((byte) (mask | max));
+		value -= max;
+		while(value >= 0x80) {
+			out.put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.put((byte) value);
+	}
+
+	private void ensureRemaining(int size) {
+		if(out.remaining() >= size)
+			return;
+
+		ByteBuffer bigger = pool.nextBuffer(Math.max(out.capacity() * 2, out.position() + size));
+		out.flip();
+		bigger.put(out);
+		pool.releaseBuffer(out);
+		out = bigger;
+	}
+
+	/**
+	 * Header values are nearly always ASCII and then each char is one byte.  Otherwise we send UTF-8 bytes(the
+	 * decoder creates Strings from UTF-8) so turn the String into one char per UTF-8 byte.
+	 */
+	private String toBytePerChar(String value) {
+		for(int i = 0; i < value.length(); i++) {
+			if(value.charAt(i) >= 0x80)
+				return new String(value.getBytes(StandardCharsets.UTF_8), StandardCharsets.ISO_8859_1);
+		}
+		return value;
+	}
+
+	private class IndexedDynamicTable extends HpackDynamicTable {
+		public IndexedDynamicTable(int capacity) {
+			super(capacity);
+		}
+
+		@Override
+		protected void evicted(HeaderField field) {
+			removeFromIndex(field);
+		}
+	}
+
+	private static class NameEntry {
+		private HeaderField newest;
+		private final Map<String, HeaderField> valueToField = new HashMap<>();
+	}
+
+	/**
+	 * A header list where every header was sent as an index.  fields[i] is the dynamic table entry or null
+	 * if staticIndexes[i] is the static table entry
+	 */
+	private static class CachedBlock {
+		private final HeaderField[] fields;
+		private final int[] staticIndexes;
+
+		public CachedBlock(int size) {
+			fields = new HeaderField[size];
+			staticIndexes = new int[size];
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package com.webpieces.hpack.impl.codec;
+
+import org.webpieces.metrics.MetricsCreator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Shared by every encoder from the same parser.  Counts are recorded once per header block.
+ *
+ * dynamicTableHit/(dynamicTableHit+dynamicTableMiss) is the hit ratio for headers not in the static table and
+ * bytesSaved is the name+value bytes we did not send because the header was indexed from the dynamic table.
+ */
+public class HpackEncoderMetrics {
+
+	private final Counter dynamicTableHits;
+	private final Counter dynamicTableMisses;
+	private final Counter bytesSaved;
+	private final Counter blockCacheHits;
+
+	public HpackEncoderMetrics(MeterRegistry metrics) {
+		dynamicTableHits = MetricsCreator.createCounter(metrics, "hpackEncoder", "dynamicTableHit", false);
+		dynamicTableMisses = MetricsCreator.createCounter(metrics, "hpackEncoder", "dynamicTableMiss", false);
+		bytesSaved = MetricsCreator.createCounter(metrics, "hpackEncoder", "bytesSaved", false);
+		blockCacheHits = MetricsCreator.createCounter(metrics, "hpackEncoder", "blockCacheHit", false);
+	}
+
+	void record(int hits, int misses, int saved) {
+		if(hits > 0)
+			dynamicTableHits.increment(hits);
+		if(misses > 0)
+			dynamicTableMisses.increment(misses);
+		if(saved > 0)
+			bytesSaved.increment(saved);
+	}
+
+	void recordBlockCacheHit(int hits, int saved) {
+		blockCacheHits.increment();
+		record(hits, 0, saved);
+	}
+
+	public double getDynamicTableHits() {
+		return dynamicTableHits.count();
+	}
+
+	public double getDynamicTableMisses() {
+		return dynamicTableMisses.count();
+	}
+
+	public double getBytesSaved() {
+		return bytesSaved.count();
+	}
+
+	public double getBlockCacheHits() {
+		return blockCacheHits.count();
+	}
+}
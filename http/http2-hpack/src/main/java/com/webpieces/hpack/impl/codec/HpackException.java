@@ -0,0 +1,14 @@
+package com.webpieces.hpack.impl.codec;
+
+/**
+ * A header block that can't be decoded which is a COMPRESSION_ERROR for the whole connection
+ */
+public class HpackException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public HpackException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,189 @@
+package com.webpieces.hpack.impl.codec;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The static huffman code from RFC 7541 Appendix B.  The code is canonical so only the code lengths are
+ * listed and the codes are generated from them.
+ *
+ * Decoding is table driven, 4 bits at a time.  Each state is a node of the code tree and the table says for
+ * every 4 bits which node we end up at and which symbol(if any) was completed on the way(the shortest code
+ * is 5 bits so at most one symbol per 4 bits)
+ */
+public class HpackHuffman {
+
+	private static final int EOS = 256;
+
+	private static final byte[] CODE_LENGTHS = {
+		13, 23, 28, 28, 28, 28, 28, 28, 28, 24, 30, 28, 28, 30, 28, 28,
+		28, 28, 28, 28, 28, 28, 30, 28, 28, 28, 28, 28, 28, 28, 28, 28,
+		6, 10, 10, 12, 13, 6, 8, 11, 10, 10, 8, 11, 8, 6, 6, 6,
+		5, 5, 5, 6, 6, 6, 6, 6, 6, 6, 7, 8, 15, 6, 12, 10,
+		13, 6, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7,
+		7, 7, 7, 7, 7, 7, 7, 7, 8, 7, 8, 13, 19, 13, 14, 6,
+		15, 5, 6, 5, 6, 5, 6, 6, 6, 5, 7, 7, 6, 6, 6, 5,
+		6, 7, 6, 5, 5, 6, 7, 7, 7, 7, 7, 15, 11, 14, 13, 28,
+		20, 22, 20, 20, 22, 22, 22, 23, 22, 23, 23, 23, 23, 23, 24, 23,
+		24, 24, 22, 23, 24, 23, 23, 23, 23, 21, 22, 23, 22, 23, 23, 24,
+		22, 21, 20, 22, 22, 23, 23, 21, 23, 22, 22, 24, 21, 22, 23, 23,
+		21, 21, 22, 21, 23, 22, 23, 23, 20, 22, 22, 22, 23, 22, 22, 23,
+		26, 26, 20, 19, 22, 23, 22, 25, 26, 26, 26, 27, 27, 26, 24, 25,
+		19, 21, 26, 27, 27, 26, 27, 24, 21, 21, 26, 26, 28, 27, 27, 27,
+		20, 24, 20, 21, 22, 21, 21, 23, 22, 22, 25, 25, 24, 24, 26, 23,
+		26, 27, 26, 26, 27, 27, 27, 27, 27, 28, 27, 27, 27, 27, 27, 26,
+		30
+	};
+
+	private static final int[] CODES = new int[CODE_LENGTHS.length];
+
+	//[state * 16 + 4 bits] = next state << 10 | EMITTED | symbol or FAILED
+	private static final int EMITTED = 1 << 9;
+	private static final int SYMBOL_MASK = EMITTED - 1;
+	private static final int FAILED = -1;
+	private static int[] decodeTable;
+	//true if ending in this state is valid padding(up to 7 bits of the EOS code which is all 1's)
+	private static boolean[] acceptingStates;
+
+	static {
+		createCodes();
+		createDecodeTable();
+	}
+
+	private static void createCodes() {
+		List<Integer> symbols = new ArrayList<>();
+		for(int i = 0; i < CODE_LENGTHS.length; i++) {
+			symbols.add(i);
+		}
+		symbols.sort((a, b) -> CODE_LENGTHS[a] != CODE_LENGTHS[b] ? CODE_LENGTHS[a] - CODE_LENGTHS[b] : a - b);
+
+		int code = 0;
+		int previousLength = CODE_LENGTHS[symbols.get(0)];
+		for(int symbol : symbols) {
+			code <<= CODE_LENGTHS[symbol] - previousLength;
+			CODES[symbol] = code++;
+			previousLength = CODE_LENGTHS[symbol];
+		}
+	}
+
+	private static void createDecodeTable() {
+		//tree of internal nodes where a child < 0 is the leaf for symbol -child-1 and 0 means no child
+		int[] zeros = new int[CODE_LENGTHS.length];
+		int[] ones = new int[CODE_LENGTHS.length];
+		boolean[] accepting = new boolean[CODE_LENGTHS.length];
+		accepting[0] = true;
+		int numNodes = 1;
+		for(int symbol = 0; symbol < CODE_LENGTHS.length; symbol++) {
+			int node = 0;
+			int length = CODE_LENGTHS[symbol];
+			for(int bit = length - 1; bit > 0; bit--) {
+				int[] children = ((CODES[symbol] >>> bit) & 1) == 1 ? ones : zeros;
+				if(children[node] == 0) {
+					children[node] = numNodes;
+					int depth = length - bit;
+					accepting[numNodes] = children == ones && accepting[node] && depth <= 7;
+					numNodes++;
+				}
+				node = children[node];
+			}
+			int[] children = (CODES[symbol] & 1) == 1 ? ones : zeros;
+			children[node] = -symbol - 1;
+		}
+
+		decodeTable = new int[numNodes * 16];
+		acceptingStates = new boolean[numNodes];
+		for(int state = 0; state < numNodes; state++) {
+			acceptingStates[state] = accepting[state];
+			for(int bits = 0; bits < 16; bits++) {
+				decodeTable[state * 16 + bits] = createTransition(state, bits, zeros, ones);
+			}
+		}
+	}
+
+	private static int createTransition(int state, int bits, int[] zeros, int[] ones) {
+		int node = state;
+		int emitted = 0;
+		for(int i = 3; i >= 0; i--) {
+			int child = ((bits >>> i) & 1) == 1 ? ones[node] : zeros[node];
+			if(child == 0)
+				return FAILED;
+			else if(child > 0) {
+				node = child;
+				continue;
+			}
+
+			int symbol = -child - 1;
+			if(symbol == EOS)
+				return FAILED; //a decoder MUST treat EOS in the string as an error
+			emitted = EMITTED | symbol;
+			node = 0;
+		}
+		return node << 10 | emitted;
+	}
+
+	/**
+	 * Decodes length bytes from the reader into out which must hold at least length * 8 / 5 bytes
+	 *
+	 * @return the number of bytes decoded into out
+	 */
+	public static int decode(HeaderBlockReader reader, int length, byte[] out) {
+		int state = 0;
+		int outLength = 0;
+		for(int i = 0; i < length; i++) {
+			int b = reader.readByte();
+			int transition = decodeTable[state * 16 + (b >>> 4)];
+			if(transition == FAILED)
+				throw new HpackException("Invalid huffman code");
+			if((transition & EMITTED) != 0)
+				out[outLength++] = (byte) (transition & SYMBOL_MASK);
+
+			transition = decodeTable[(transition >>> 10) * 16 + (b & 0xF)];
+			if(transition == FAILED)
+				throw new HpackException("Invalid huffman code");
+			if((transition & EMITTED) != 0)
+				out[outLength++] = (byte) (transition & SYMBOL_MASK);
+			state = transition >>> 10;
+		}
+
+		if(!acceptingStates[state])
+			throw new HpackException("Invalid huffman padding");
+		return outLength;
+	}
+
+	/**
+	 * @param value each char is one byte(0-255) of the string to encode
+	 */
+	public static int encodedLength(String value) {
+		long bits = 0;
+		for(int i = 0; i < value.length(); i++) {
+			bits += CODE_LENGTHS[value.charAt(i) & 0xFF];
+		}
+		return (int) ((bits + 7) >>> 3);
+	}
+
+	/**
+	 * @param value each char is one byte(0-255) of the string to encode
+	 */
+	public static void encode(String value, ByteBuffer out) {
+		long current = 0;
+		int numBits = 0;
+		for(int i = 0; i < value.length(); i++) {
+			int symbol = value.charAt(i) & 0xFF;
+			int length = CODE_LENGTHS[symbol];
+			current = (current << length) | CODES[symbol];
+			numBits += length;
+			while(numBits >= 8) {
+				numBits -= 8;
+				out.put((byte) (current >>> numBits));
+			}
+		}
+
+		if(numBits > 0) {
+			//pad with the most significant bits of EOS(all 1's)
+			current = (current << (8 - numBits)) | (0xFF >>> numBits);
+			out.put((byte) current);
+		}
+	}
+
+}
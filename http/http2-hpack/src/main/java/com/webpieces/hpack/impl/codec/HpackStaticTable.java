@@ -0,0 +1,183 @@
+package com.webpieces.hpack.impl.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.webpieces.http2.api.dto.lowlevel.lib.Http2HeaderName;
+
+/**
+ * The static table from RFC 7541 Appendix A plus matching of decoded names to the same constant Strings so
+ * common names never create a new String
+ */
+public class HpackStaticTable {
+
+	private static final String[][] ENTRIES = {
+		{":authority", ""},
+		{":method", "GET"},
+		{":method", "POST"},
+		{":path", "/"},
+		{":path", "/index.html"},
+		{":scheme", "http"},
+		{":scheme", "https"},
+		{":status", "200"},
+		{":status", "204"},
+		{":status", "206"},
+		{":status", "304"},
+		{":status", "400"},
+		{":status", "404"},
+		{":status", "500"},
+		{"accept-charset", ""},
+		{"accept-encoding", "gzip, deflate"},
+		{"accept-language", ""},
+		{"accept-ranges", ""},
+		{"accept", ""},
+		{"access-control-allow-origin", ""},
+		{"age", ""},
+		{"allow", ""},
+		{"authorization", ""},
+		{"cache-control", ""},
+		{"content-disposition", ""},
+		{"content-encoding", ""},
+		{"content-language", ""},
+		{"content-length", ""},
+		{"content-location", ""},
+		{"content-range", ""},
+		{"content-type", ""},
+		{"cookie", ""},
+		{"date", ""},
+		{"etag", ""},
+		{"expect", ""},
+		{"expires", ""},
+		{"from", ""},
+		{"host", ""},
+		{"if-match", ""},
+		{"if-modified-since", ""},
+		{"if-none-match", ""},
+		{"if-range", ""},
+		{"if-unmodified-since", ""},
+		{"last-modified", ""},
+		{"link", ""},
+		{"location", ""},
+		{"max-forwards", ""},
+		{"proxy-authenticate", ""},
+		{"proxy-authorization", ""},
+		{"range", ""},
+		{"referer", ""},
+		{"refresh", ""},
+		{"retry-after", ""},
+		{"server", ""},
+		{"set-cookie", ""},
+		{"strict-transport-security", ""},
+		{"transfer-encoding", ""},
+		{"user-agent", ""},
+		{"vary", ""},
+		{"via", ""},
+		{"www-authenticate", ""}
+	};
+
+	public static final int LENGTH = ENTRIES.length;
+
+	private static final HeaderField[] FIELDS = new HeaderField[LENGTH + 1];
+	private static final Map<String, Integer> NAME_TO_INDEX = new HashMap<>();
+	//known names grouped by byte length for matching decoded names
+	private static final KnownName[][] NAMES_BY_LENGTH;
+
+	static {
+		Map<String, String> knownNames = new HashMap<>();
+		for(Http2HeaderName name : Http2HeaderName.values()) {
+			knownNames.put(name.getHeaderName(), name.getHeaderName());
+		}
+
+		for(int i = 0; i < LENGTH; i++) {
+			//share the same String instances as Http2HeaderName
+			String name = knownNames.computeIfAbsent(ENTRIES[i][0], n -> n);
+			String value = ENTRIES[i][1];
+			FIELDS[i + 1] = new HeaderField(name, name.length(), value, value.length());
+			NAME_TO_INDEX.putIfAbsent(name, i + 1);
+		}
+
+		int maxLength = 0;
+		for(String name : knownNames.keySet()) {
+			maxLength = Math.max(maxLength, name.length());
+		}
+		List<List<KnownName>> byLength = new ArrayList<>();
+		for(int i = 0; i <= maxLength; i++) {
+			byLength.add(new ArrayList<>());
+		}
+		for(String name : knownNames.values()) {
+			byLength.get(name.length()).add(new KnownName(name));
+		}
+		NAMES_BY_LENGTH = new KnownName[maxLength + 1][];
+		for(int i = 0; i <= maxLength; i++) {
+			NAMES_BY_LENGTH[i] = byLength.get(i).toArray(new KnownName[0]);
+		}
+	}
+
+	/**
+	 * @param index 1 to LENGTH
+	 */
+	public static HeaderField get(int index) {
+		return FIELDS[index];
+	}
+
+	/**
+	 * @return the index of the entry with this name and value or -1
+	 */
+	public static int getIndex(String name, String value) {
+		Integer index = NAME_TO_INDEX.get(name);
+		if(index == null)
+			return -1;
+		for(int i = index; i <= LENGTH; i++) {
+			HeaderField field = FIELDS[i];
+			if(!field.getName().equals(name))
+				break;
+			else if(field.getValue().equals(value))
+				return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * @return the index of the first entry with this name or -1
+	 */
+	public static int getNameIndex(String name) {
+		Integer index = NAME_TO_INDEX.get(name);
+		if(index == null)
+			return -1;
+		return index;
+	}
+
+	/**
+	 * @return the constant String for a known header name or null
+	 */
+	public static String lookupName(byte[] data, int offset, int length) {
+		if(length >= NAMES_BY_LENGTH.length)
+			return null;
+		for(KnownName known : NAMES_BY_LENGTH[length]) {
+			if(known.matches(data, offset))
+				return known.name;
+		}
+		return null;
+	}
+
+	private static class KnownName {
+		private final String name;
+		private final byte[] bytes;
+
+		public KnownName(String name) {
+			this.name = name;
+			this.bytes = name.getBytes(StandardCharsets.US_ASCII);
+		}
+
+		public boolean matches(byte[] data, int offset) {
+			for(int i = bytes.length - 1; i >= 0; i--) {
+				if(data[offset + i] != bytes[i])
+					return false;
+			}
+			return true;
+		}
+	}
+}
@@ -26,7 +26,7 @@ public class TestSplitHeaders {
 		HpackConfig config = new HpackConfig("myhpack");
 		config.setLocalMaxFrameSize(50);
 		config.setRemoteMaxFrameSize(50);
-		parser = HpackParserFactory.createStatefulParser(new TwoPools("pl", new SimpleMeterRegistry()), config);
+		parser = HpackParserFactory.createStatefulParser(new TwoPools("pl", new SimpleMeterRegistry()), config, new SimpleMeterRegistry());
 	}
 	
 	@Test
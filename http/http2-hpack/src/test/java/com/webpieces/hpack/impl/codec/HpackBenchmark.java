@@ -0,0 +1,133 @@
+package com.webpieces.hpack.impl.codec;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.webpieces.data.api.DataWrapper;
+import org.webpieces.data.api.DataWrapperGenerator;
+import org.webpieces.data.api.DataWrapperGeneratorFactory;
+import org.webpieces.data.api.TwoPools;
+import org.webpieces.mock.benchmark.Benchmark;
+
+import com.webpieces.http2.api.dto.lowlevel.lib.Http2Header;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Not a unit test.  Run main to see ns/header block and bytes allocated/header block(from the ThreadMXBean
+ * of this thread) for encoding and decoding a browser request and a gRPC request.
+ *
+ * Each connection sends BLOCKS_PER_CONNECTION header blocks with a different path each time so like a real
+ * connection, the first block is mostly literals and later ones are mostly indexed from the dynamic table.
+ */
+public class HpackBenchmark {
+
+	private static final int CONNECTIONS_PER_ROUND = 10_000;
+	private static final int BLOCKS_PER_CONNECTION = 20;
+	private static final int BLOCKS_PER_ROUND = CONNECTIONS_PER_ROUND * BLOCKS_PER_CONNECTION;
+	private static final Benchmark benchmark = new Benchmark(5, 10);
+
+	private static final DataWrapperGenerator dataGen = DataWrapperGeneratorFactory.createDataWrapperGenerator();
+	private static final TwoPools pool = new TwoPools("bench", new SimpleMeterRegistry());
+	private static final HpackEncoderMetrics metrics = new HpackEncoderMetrics(new SimpleMeterRegistry());
+
+	public static void main(String[] args) {
+		List<List<Http2Header>> browser = new ArrayList<>();
+		List<List<Http2Header>> grpc = new ArrayList<>();
+		for(int i = 0; i < BLOCKS_PER_CONNECTION; i++) {
+			browser.add(browserRequest("/assets/css/page"+i+".css"));
+			grpc.add(grpcRequest("/webpieces.Service/Method"+(i % 4)));
+		}
+
+		run("Browser", browser);
+		run("gRPC", grpc);
+	}
+
+	private static List<Http2Header> browserRequest(String path) {
+		return headers(
+				":method", "GET",
+				":scheme", "https",
+				":authority", "www.webpieces.org",
+				":path", path,
+				"user-agent", "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0 Safari/537.36",
+				"accept", "text/css,*/*;q=0.1",
+				"accept-language", "en-US,en;q=0.9",
+				"accept-encoding", "gzip, deflate, br",
+				"referer", "https://www.webpieces.org/",
+				"cookie", "webSession=abc123; webFlash=xyz");
+	}
+
+	private static List<Http2Header> grpcRequest(String path) {
+		return headers(
+				":method", "POST",
+				":scheme", "http",
+				":authority", "backend.internal:8443",
+				":path", path,
+				"content-type", "application/grpc",
+				"te", "trailers",
+				"grpc-timeout", "1S",
+				"grpc-accept-encoding", "identity,deflate,gzip",
+				"user-agent", "grpc-java-netty/1.60.0");
+	}
+
+	private static List<Http2Header> headers(String... namesAndValues) {
+		List<Http2Header> headers = new ArrayList<>();
+		for(int i = 0; i < namesAndValues.length; i += 2) {
+			headers.add(new Http2Header(namesAndValues[i], namesAndValues[i+1]));
+		}
+		return headers;
+	}
+
+	private static void run(String name, List<List<Http2Header>> blocks) {
+		//encode once up front so decoding measures only the decoder
+		List<byte[]> encoded = new ArrayList<>();
+		HpackEncoder encoder = new HpackEncoder(4096, pool, metrics);
+		for(List<Http2Header> block : blocks) {
+			DataWrapper data = encoder.encode(block);
+			encoded.add(data.createByteArray());
+			data.releaseUnderlyingBuffers(pool);
+		}
+		List<DataWrapper> encodedData = new ArrayList<>();
+		for(byte[] bytes : encoded) {
+			encodedData.add(dataGen.wrapByteArray(bytes));
+		}
+
+		benchmark.measure(name+" encode", "block", BLOCKS_PER_ROUND, () -> encodeOnce(blocks));
+		benchmark.measure(name+" decode", "block", BLOCKS_PER_ROUND, () -> decodeOnce(encodedData, blocks));
+	}
+
+	private static long encodeOnce(List<List<Http2Header>> blocks) {
+		long size = 0;
+		long start = System.nanoTime();
+		for(int i = 0; i < CONNECTIONS_PER_ROUND; i++) {
+			HpackEncoder encoder = new HpackEncoder(4096, pool, metrics);
+			for(List<Http2Header> block : blocks) {
+				DataWrapper data = encoder.encode(block);
+				size += data.getReadableSize();
+				data.releaseUnderlyingBuffers(pool);
+			}
+		}
+		long time = System.nanoTime() - start;
+
+		if(size == 0)
+			throw new IllegalStateException("Bug, nothing was encoded");
+		return time;
+	}
+
+	private static long decodeOnce(List<DataWrapper> encoded, List<List<Http2Header>> blocks) {
+		int[] count = new int[1];
+		long start = System.nanoTime();
+		for(int i = 0; i < CONNECTIONS_PER_ROUND; i++) {
+			HpackDecoder decoder = new HpackDecoder(8192, 4096);
+			for(DataWrapper data : encoded) {
+				decoder.decode(data, (n, v, s) -> count[0]++);
+			}
+		}
+		long time = System.nanoTime() - start;
+
+		if(count[0] != CONNECTIONS_PER_ROUND * blocks.size() * blocks.get(0).size())
+			throw new IllegalStateException("Bug, did not decode every header");
+		return time;
+	}
+
+}
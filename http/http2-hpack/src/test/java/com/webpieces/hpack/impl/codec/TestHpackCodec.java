@@ -0,0 +1,248 @@
+package com.webpieces.hpack.impl.codec;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.webpieces.data.api.BufferPool;
+import org.webpieces.data.api.DataWrapper;
+import org.webpieces.data.api.DataWrapperGenerator;
+import org.webpieces.data.api.DataWrapperGeneratorFactory;
+import org.webpieces.data.api.TwoPools;
+
+import com.webpieces.http2.api.dto.lowlevel.lib.Http2Header;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Examples are from RFC 7541 Appendix C
+ */
+public class TestHpackCodec {
+
+	private static final DataWrapperGenerator dataGen = DataWrapperGeneratorFactory.createDataWrapperGenerator();
+	private TwoPools pool = new TwoPools("pl", new SimpleMeterRegistry());
+	private HpackEncoderMetrics metrics = new HpackEncoderMetrics(new SimpleMeterRegistry());
+
+	private static final String C4_1 = "8286 8441 8cf1 e3c2 e5f2 3a6b a0ab 90f4 ff";
+	private static final String C4_2 = "8286 84be 5886 a8eb 1064 9cbf";
+	private static final String C4_3 = "8287 85bf 4088 25a8 49e9 5ba9 7d7f 8925 a849 e95b b8e8 b4bf";
+
+	private static final String C6_1 = "4882 6402 5885 aec3 771a 4b61 96d0 7abe 9410 54d4 44a8 2005 9504 0b81 66e0 82a6"
+			+ "2d1b ff6e 919d 29ad 1718 63c7 8f0b 97c8 e9ae 82ae 43d3";
+	private static final String C6_2 = "4883 640e ffc1 c0bf";
+	private static final String C6_3 = "88c1 6196 d07a be94 1054 d444 a820 0595 040b 8166 e084 a62d 1bff c05a 839b d9ab"
+			+ "77ad 94e7 821d d7f2 e6c7 b335 dfdf cd5b 3960 d5af 2708 7f36 72c1 ab27 0fb5 291f 9587 3160 65c0 03ed 4ee5"
+			+ "b106 3d50 07";
+
+	@Test
+	public void testDecodeRequestsWithHuffman() {
+		HpackDecoder decoder = new HpackDecoder(4096, 4096);
+
+		Assert.assertEquals(request1(), decode(decoder, C4_1));
+		Assert.assertEquals(request2(), decode(decoder, C4_2));
+		Assert.assertEquals(request3(), decode(decoder, C4_3));
+	}
+
+	@Test
+	public void testEncodeRequestsWithHuffman() {
+		HpackEncoder encoder = new HpackEncoder(4096, pool, metrics);
+
+		Assert.assertEquals(hex(C4_1), hex(encoder.encode(request1())));
+		Assert.assertEquals(hex(C4_2), hex(encoder.encode(request2())));
+		Assert.assertEquals(hex(C4_3), hex(encoder.encode(request3())));
+	}
+
+	@Test
+	public void testResponsesEvictFromDynamicTable() {
+		HpackDecoder decoder = new HpackDecoder(4096, 256);
+		HpackEncoder encoder = new HpackEncoder(256, pool, metrics);
+
+		List<Http2Header> response1 = headers(":status", "302", "cache-control", "private", "date", "Mon, 21 Oct 2013 20:13:21 GMT",
+				"location", "https://www.example.com");
+		List<Http2Header> response2 = headers(":status", "307", "cache-control", "private", "date", "Mon, 21 Oct 2013 20:13:21 GMT",
+				"location", "https://www.example.com");
+		List<Http2Header> response3 = headers(":status", "200", "cache-control", "private", "date", "Mon, 21 Oct 2013 20:13:22 GMT",
+				"location", "https://www.example.com", "content-encoding", "gzip",
+				"set-cookie", "foo=ASDJKHQKBZXOQWEOPIUAXQWEOIU; max-age=3600; version=1");
+
+		Assert.assertEquals(response1, decode(decoder, C6_1));
+		Assert.assertEquals(response2, decode(decoder, C6_2));
+		Assert.assertEquals(response3, decode(decoder, C6_3));
+
+		Assert.assertEquals(hex(C6_1), hex(encoder.encode(response1)));
+		//huffman "307" is no shorter than raw so we send it raw where the RFC example uses huffman
+		Assert.assertEquals(hex("4803 3330 37c1 c0bf"), hex(encoder.encode(response2)));
+		Assert.assertEquals(hex(C6_3), hex(encoder.encode(response3)));
+	}
+
+	@Test
+	public void testPooledBuffersAreReleased() {
+		CountingPool counting = new CountingPool();
+		HpackEncoder encoder = new HpackEncoder(4096, counting, metrics);
+		HpackDecoder decoder = new HpackDecoder(4096, 4096);
+
+		encoder.encode(request1());
+		//UTF-8 is longer than the estimate so a small pool would swap the buffer for a bigger one
+		List<Http2Header> utf8 = headers(":status", "200", "x-name", "\u00e9\u00e8\u00ea\u00eb\u00e9\u00e8\u00ea\u00eb\u00e9\u00e8");
+		DataWrapper block = encoder.encode(utf8);
+
+		Assert.assertEquals(utf8, decode(decoder, block));
+		Assert.assertEquals(0, counting.outstanding);
+	}
+
+	@Test
+	public void testHeaderBlockAcrossManyBuffers() {
+		HpackEncoder encoder = new HpackEncoder(4096, pool, metrics);
+		HpackDecoder decoder = new HpackDecoder(4096, 4096);
+		StringBuilder longValue = new StringBuilder();
+		for(int i = 0; i < 300; i++) {
+			longValue.append((char) ('a' + i % 26));
+		}
+		List<Http2Header> headers = headers(":method", "POST", "content-type", "application/grpc", "x-custom", longValue.toString(),
+				"x-utf8", "café ☃");
+
+		for(int round = 0; round < 2; round++) {
+			byte[] bytes = encoder.encode(headers).createByteArray();
+			//one byte per buffer so every string crosses buffers
+			DataWrapper data = dataGen.emptyWrapper();
+			for(byte b : bytes) {
+				data = dataGen.chainDataWrappers(data, dataGen.wrapByteArray(new byte[] { b }));
+			}
+			Assert.assertEquals(headers, decode(decoder, data));
+		}
+	}
+
+	@Test
+	public void testTableSizeUpdateSentInNextHeaderBlock() {
+		HpackEncoder encoder = new HpackEncoder(4096, pool, metrics);
+		HpackDecoder decoder = new HpackDecoder(4096, 4096);
+		decode(decoder, encoder.encode(request1()));
+
+		encoder.setMaxHeaderTableSize(0);
+		encoder.setMaxHeaderTableSize(100);
+		DataWrapper data = encoder.encode(request2());
+		Assert.assertEquals(0x20, data.readByteAt(0) & 0xFF);
+		Assert.assertEquals(request2(), decode(decoder, data));
+	}
+
+	@Test
+	public void testDecoderRequiresSizeUpdateAfterLoweringMax() {
+		HpackDecoder decoder = new HpackDecoder(4096, 4096);
+		decoder.setMaxHeaderTableSize(100);
+		assertFails(decoder, "82");
+		//size update of 100 then :method GET
+		Assert.assertEquals(headers(":method", "GET"), decode(decoder, "3f45 82"));
+	}
+
+	@Test
+	public void testInvalidHeaderBlocks() {
+		//index 0
+		assertFails(new HpackDecoder(4096, 4096), "80");
+		//index past the dynamic table
+		assertFails(new HpackDecoder(4096, 4096), "be");
+		//size update larger than we allow
+		assertFails(new HpackDecoder(4096, 4096), "3fe2 1f");
+		//string longer than the block
+		assertFails(new HpackDecoder(4096, 4096), "4185 f1e3");
+		//padding that is not the start of EOS
+		assertFails(new HpackDecoder(4096, 4096), "4181 00");
+	}
+
+	@Test
+	public void testHeadersOverMaxSizeDropped() {
+		HpackDecoder decoder = new HpackDecoder(30, 4096);
+		List<Http2Header> decoded = new ArrayList<>();
+		boolean truncated = decoder.decode(wrap(C4_1), (n, v, s) -> decoded.add(new Http2Header(n, v)));
+
+		Assert.assertTrue(truncated);
+		Assert.assertEquals(headers(":method", "GET", ":scheme", "http", ":path", "/"), decoded);
+		//the dropped header was still added to the dynamic table
+		Assert.assertEquals(headers(":authority", "www.example.com"), decode(decoder, "be"));
+	}
+
+	private void assertFails(HpackDecoder decoder, String hex) {
+		try {
+			decode(decoder, hex);
+			Assert.fail("Should have failed to decode "+hex);
+		} catch(HpackException e) {
+		}
+	}
+
+	private List<Http2Header> request1() {
+		return headers(":method", "GET", ":scheme", "http", ":path", "/", ":authority", "www.example.com");
+	}
+
+	private List<Http2Header> request2() {
+		return headers(":method", "GET", ":scheme", "http", ":path", "/", ":authority", "www.example.com", "cache-control", "no-cache");
+	}
+
+	private List<Http2Header> request3() {
+		return headers(":method", "GET", ":scheme", "https", ":path", "/index.html", ":authority", "www.example.com", "custom-key", "custom-value");
+	}
+
+	private List<Http2Header> headers(String... namesAndValues) {
+		List<Http2Header> headers = new ArrayList<>();
+		for(int i = 0; i < namesAndValues.length; i += 2) {
+			headers.add(new Http2Header(namesAndValues[i], namesAndValues[i+1]));
+		}
+		return headers;
+	}
+
+	private List<Http2Header> decode(HpackDecoder decoder, String hex) {
+		return decode(decoder, wrap(hex));
+	}
+
+	private List<Http2Header> decode(HpackDecoder decoder, DataWrapper data) {
+		List<Http2Header> headers = new ArrayList<>();
+		decoder.decode(data, (n, v, s) -> headers.add(new Http2Header(n, v)));
+		return headers;
+	}
+
+	private DataWrapper wrap(String hex) {
+		String noSpaces = hex.replaceAll("\\s+", "");
+		byte[] bytes = new byte[noSpaces.length() / 2];
+		for(int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) Integer.parseInt(noSpaces.substring(i * 2, i * 2 + 2), 16);
+		}
+		return dataGen.wrapByteArray(bytes);
+	}
+
+	private String hex(String hex) {
+		return hex.replaceAll("\\s+", "");
+	}
+
+	private String hex(DataWrapper data) {
+		StringBuilder builder = new StringBuilder();
+		for(byte b : data.createByteArray()) {
+			builder.append(String.format("%02x", b));
+		}
+		return builder.toString();
+	}
+	private class CountingPool implements BufferPool {
+		private int outstanding;
+
+		@Override
+		public ByteBuffer nextBuffer(int minSize) {
+			outstanding++;
+			return pool.nextBuffer(minSize);
+		}
+
+		@Override
+		public void releaseBuffer(ByteBuffer buffer) {
+			outstanding--;
+			pool.releaseBuffer(buffer);
+		}
+
+		@Override
+		public ByteBuffer createWithDataWrapper(DataWrapper data) {
+			return pool.createWithDataWrapper(data);
+		}
+
+		@Override
+		public int getSuggestedBufferSize() {
+			return pool.getSuggestedBufferSize();
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package com.webpieces.hpack.impl.codec;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.webpieces.data.api.DataWrapper;
+import org.webpieces.data.api.TwoPools;
+
+import com.webpieces.http2.api.dto.lowlevel.lib.Http2Header;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class TestHpackEncoderCache {
+
+	private TwoPools pool = new TwoPools("pl", new SimpleMeterRegistry());
+	private HpackEncoderMetrics metrics = new HpackEncoderMetrics(new SimpleMeterRegistry());
+	private HpackEncoder encoder = new HpackEncoder(4096, pool, metrics);
+	private HpackDecoder decoder = new HpackDecoder(8192, 4096);
+
+	@Test
+	public void testRepeatedResponseUsesCachedBlock() {
+		List<Http2Header> response = response("text/html");
+
+		byte[] first = encodeAndCheck(response);
+		Assert.assertEquals(0, metrics.getDynamicTableHits(), 0);
+		Assert.assertEquals(3, metrics.getDynamicTableMisses(), 0);
+
+		//every header is now indexed
+		byte[] second = encodeAndCheck(response);
+		Assert.assertEquals(response.size(), second.length);
+		Assert.assertEquals(0, metrics.getBlockCacheHits(), 0);
+
+		byte[] third = encodeAndCheck(response);
+		Assert.assertArrayEquals(second, third);
+		Assert.assertEquals(1, metrics.getBlockCacheHits(), 0);
+		Assert.assertEquals(6, metrics.getDynamicTableHits(), 0);
+		Assert.assertEquals(3, metrics.getDynamicTableMisses(), 0);
+		Assert.assertTrue(metrics.getBytesSaved() > 2 * (first.length - second.length));
+	}
+
+	@Test
+	public void testCachedBlockUsesCurrentIndexes() {
+		List<Http2Header> response = response("text/html");
+		encodeAndCheck(response);
+		byte[] indexed = encodeAndCheck(response);
+
+		//new entries shift the index of every entry already in the table
+		encodeAndCheck(headers("x-request-id", "1234"));
+		byte[] shifted = encodeAndCheck(response);
+
+		Assert.assertEquals(1, metrics.getBlockCacheHits(), 0);
+		Assert.assertFalse(Arrays.equals(indexed, shifted));
+	}
+
+	@Test
+	public void testEvictedEntryFallsBackToLiterals() {
+		encoder = new HpackEncoder(150, pool, metrics);
+		decoder = new HpackDecoder(8192, 150);
+		List<Http2Header> response = response("text/html");
+		encodeAndCheck(response);
+		encodeAndCheck(response);
+
+		//evicts the entries the cached block points at
+		encodeAndCheck(headers("x-filler-one", "aaaaaaaaaaaaaaaaaaaa", "x-filler-two", "bbbbbbbbbbbbbbbbbbbb"));
+		encodeAndCheck(response);
+
+		Assert.assertEquals(0, metrics.getBlockCacheHits(), 0);
+	}
+
+	@Test
+	public void testTableSizeChangeKeepsEncoderAndDecoderInSync() {
+		List<Http2Header> response = response("text/html");
+		encodeAndCheck(response);
+		encodeAndCheck(response);
+
+		encoder.setMaxHeaderTableSize(0);
+		encodeAndCheck(response);
+		encoder.setMaxHeaderTableSize(4096);
+		encodeAndCheck(response);
+		encodeAndCheck(response);
+	}
+
+	@Test
+	public void testManyHeaderListsStayInSyncWithDecoder() {
+		encoder = new HpackEncoder(512, pool, metrics);
+		decoder = new HpackDecoder(8192, 512);
+		Random random = new Random(5);
+		for(int i = 0; i < 2000; i++) {
+			List<Http2Header> headers = response("type"+random.nextInt(6));
+			headers.add(new Http2Header("x-id", "" + random.nextInt(40)));
+			encodeAndCheck(headers);
+		}
+		Assert.assertTrue(metrics.getBlockCacheHits() > 0);
+	}
+
+	private List<Http2Header> response(String contentType) {
+		return headers(":status", "200", "content-type", contentType, "server", "webpieces",
+				"strict-transport-security", "max-age=31536000");
+	}
+
+	private byte[] encodeAndCheck(List<Http2Header> headers) {
+		DataWrapper data = encoder.encode(headers);
+		byte[] bytes = data.createByteArray();
+
+		List<Http2Header> decoded = new ArrayList<>();
+		decoder.decode(data, (n, v, s) -> decoded.add(new Http2Header(n, v)));
+		Assert.assertEquals(headers, decoded);
+		return bytes;
+	}
+
+	private List<Http2Header> headers(String... namesAndValues) {
+		List<Http2Header> headers = new ArrayList<>();
+		for(int i = 0; i < namesAndValues.length; i += 2) {
+			headers.add(new Http2Header(namesAndValues[i], namesAndValues[i+1]));
+		}
+		return headers;
+	}
+}
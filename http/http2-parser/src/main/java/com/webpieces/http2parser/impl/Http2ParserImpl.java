@@ -34,7 +34,7 @@ import com.webpieces.http2parser.impl.marshallers.WindowUpdateMarshaller;
 
 public class Http2ParserImpl implements Http2Parser {
 
-    private final DataWrapperGenerator dataGen = DataWrapperGeneratorFactory.createDataWrapperGenerator();
+    private final DataWrapperGenerator dataGen = DataWrapperGeneratorFactory.createIndexedDataWrapperGenerator();
     private final Map<Http2FrameType, FrameMarshaller> dtoToMarshaller = new HashMap<>();
 	private BufferPool bufferPool;
 	private SettingsMarshaller settingsMarshaller;
@@ -164,39 +164,20 @@ public class Http2ParserImpl implements Http2Parser {
         return true;
 	}
 
+	/**
+	 * Reads straight from the header bytes(3 byte length) so parsing a frame header allocates nothing
+	 */
 	private int getLength(DataWrapper data) {
-	  byte[] bytes = data.readBytesAt(0, 4);
-	  ByteBuffer wrap = ByteBuffer.wrap(bytes);
-	
-	  // Get 4 bytes and just drop the rightmost one.
-	  return wrap.getInt() >>> 8;
+		return (data.readByteAt(0) & 0xFF) << 16 | (data.readByteAt(1) & 0xFF) << 8 | (data.readByteAt(2) & 0xFF);
 	}
-    
-//	private int getLength(DataWrapper data) {
-//        ByteBuffer headerByteBuffer = bufferPool.nextBuffer(9);
-//        headerByteBuffer.put(data.readBytesAt(0, 9));
-//        headerByteBuffer.flip();
-//
-//        // Get 4 bytes and just drop the rightmost one.
-//        return headerByteBuffer.getInt() >>> 8;
-//    }
-    private int getStreamId(DataWrapper data) {
-    	byte[] bytes = data.readBytesAt(5, 4);
-        ByteBuffer wrap = ByteBuffer.wrap(bytes);
-
-        // Ignore the reserved bit
-        return wrap.getInt() & 0x7FFFFFFF;
-    }
-//    private int getStreamId(DataWrapper data) {
-//    	
-//        ByteBuffer streamIdBuffer = bufferPool.nextBuffer(4);
-//        streamIdBuffer.put(data.readBytesAt(5, 4));
-//        streamIdBuffer.flip();
-//
-//        // Ignore the reserved bit
-//        return streamIdBuffer.getInt() & 0x7FFFFFFF;
-//    }
-    
+
+	private int getStreamId(DataWrapper data) {
+		int streamId = (data.readByteAt(5) & 0xFF) << 24 | (data.readByteAt(6) & 0xFF) << 16
+				| (data.readByteAt(7) & 0xFF) << 8 | (data.readByteAt(8) & 0xFF);
+		// Ignore the reserved bit
+		return streamId & 0x7FFFFFFF;
+	}
+
 	@Override
 	public DataWrapper marshal(Http2Frame frame) {
 		Http2FrameType frameType = frame.getFrameType();
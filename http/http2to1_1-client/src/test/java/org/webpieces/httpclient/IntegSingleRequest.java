@@ -83,13 +83,13 @@ public class IntegSingleRequest {
 
 	public static Http2Socket createHttpClient(String id, boolean isHttp, InetSocketAddress addr) {
 		BufferPool pool2 = new TwoPools("pl", new SimpleMeterRegistry());
-		HpackParser hpackParser = HpackParserFactory.createParser(pool2, false);
+		HpackParser hpackParser = HpackParserFactory.createParser(pool2, false, Metrics.globalRegistry);
 
 		Executor executor2 = Executors.newFixedThreadPool(10, new NamedThreadFactory("clientThread"));
 		ChannelManagerFactory factory = ChannelManagerFactory.createFactory(Metrics.globalRegistry);
 		ChannelManager mgr = factory.createMultiThreadedChanMgr("client", pool2, new BackpressureConfig(), executor2);
 		
-		InjectionConfig injConfig = new InjectionConfig(hpackParser);
+		InjectionConfig injConfig = new InjectionConfig(hpackParser, Metrics.globalRegistry);
 		
 		String host = addr.getHostName();
 		int port = addr.getPort();
@@ -1,11 +1,21 @@
 package org.webpieces.plugin.secure.sslcert;
 
+import java.time.Duration;
+
 public class InstallSslCertConfig {
 
 	private String providerLocation;
 	private PortType httpsPortType = PortType.HTTPS;
 	private PortType backendPortType = PortType.HTTPS;
 
+	//sessions(and session tickets) clients can resume to skip the key exchange of a full handshake.  Entries
+	//over the size or older than the timeout are dropped so the cache cannot grow without bound
+	private int sessionCacheSize = 20_000;
+	private Duration sessionTimeout = Duration.ofHours(8);
+	//the SSLContext(and with it the keys session tickets are encrypted with and the session cache) is replaced
+	//this often so a leaked ticket key only decrypts tickets of one period.  Clients do one full handshake after
+	private Duration sessionKeyRotation = Duration.ofHours(24);
+
 	public InstallSslCertConfig(String providerLocation) {
 		super();
 		this.providerLocation = providerLocation;
@@ -23,4 +33,28 @@ public class InstallSslCertConfig {
 		return backendPortType;
 	}
 
+	public int getSessionCacheSize() {
+		return sessionCacheSize;
+	}
+
+	public void setSessionCacheSize(int sessionCacheSize) {
+		this.sessionCacheSize = sessionCacheSize;
+	}
+
+	public Duration getSessionTimeout() {
+		return sessionTimeout;
+	}
+
+	public void setSessionTimeout(Duration sessionTimeout) {
+		this.sessionTimeout = sessionTimeout;
+	}
+
+	public Duration getSessionKeyRotation() {
+		return sessionKeyRotation;
+	}
+
+	public void setSessionKeyRotation(Duration sessionKeyRotation) {
+		this.sessionKeyRotation = sessionKeyRotation;
+	}
+
 }
@@ -23,6 +23,7 @@ import javax.inject.Inject;
 import javax.net.ssl.KeyManagerFactory;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLSessionContext;
 
 import org.jose4j.base64url.Base64;
 import org.shredzone.acme4j.util.KeyPairUtils;
@@ -42,13 +43,21 @@ public class WebSSLFactory implements SSLEngineFactory, NeedsSimpleStorage {
 	private	String password = "password";
 	private char[] passphrase = password.toCharArray();
 
+	private final InstallSslCertConfig config;
 	private SimpleStorage storage;
 	
 	private KeyPair accountKeyPair;
-	private X509Certificate[] certChain;
+	private volatile X509Certificate[] certChain;
+
+	//every engine is created from one context so a client reconnecting can resume it's session from the
+	//context's session cache(or a session ticket encrypted with the context's keys) instead of a full handshake
+	private SSLContext sslContext;
+	private X509Certificate[] contextCertChain;
+	private long contextCreatedNanos;
 	
 	@Inject
-	public WebSSLFactory(SimpleStorage storage) {
+	public WebSSLFactory(SimpleStorage storage, InstallSslCertConfig config) {
+		this.config = config;
 		//since this bites a lot of people, let's read in the keystor early
 		try(InputStream keySt = WebSSLFactory.class.getResourceAsStream(serverKeystore)) {
 			if(keySt == null)
@@ -109,28 +118,58 @@ public class WebSSLFactory implements SSLEngineFactory, NeedsSimpleStorage {
 	@Override
 	public SSLEngine createSslEngine() {
 		try {
-			if(certChain != null)
-				return createSslEngineFromCert();
+			if(certChain == null)
+				loadCert();
 
-			XFuture<Map<String, String>> future = XFuture.completedFuture(new HashMap<String, String>());
-			if(storage != null)
-			//otherwise, each request, try to kick off the loading
-				future = storage.read(InstallSslCertPlugin.PLUGIN_PROPERTIES_KEY);
-			
-			//TODO: dhiller- I don't really like swallowing....we should weave this upstream to clients as a XFuture
-			//instead so they can catch and fail.
-			future.thenApply( (props) -> setupCert(props)).exceptionally((t) -> {
-				log.error("Exception reading and we swallow it here.  we default then to self-signed cert", t);
-				return null;
-			});
-			
-			return createFromSelfSignedCert();
+			SSLEngine engine = getSslContext().createSSLEngine();
+			engine.setUseClientMode(false);
+			return engine;
 		} catch(Exception e) {
 			throw SneakyThrow.sneak(e);
 		}
 	}
 
-	private SSLEngine createFromSelfSignedCert() throws 
+	private void loadCert() {
+		XFuture<Map<String, String>> future = XFuture.completedFuture(new HashMap<String, String>());
+		if(storage != null)
+		//otherwise, each request, try to kick off the loading
+			future = storage.read(InstallSslCertPlugin.PLUGIN_PROPERTIES_KEY);
+		
+		//TODO: dhiller- I don't really like swallowing....we should weave this upstream to clients as a XFuture
+		//instead so they can catch and fail.
+		future.thenApply( (props) -> setupCert(props)).exceptionally((t) -> {
+			log.error("Exception reading and we swallow it here.  we default then to self-signed cert", t);
+			return null;
+		});
+	}
+
+	/**
+	 * A new context is created when the cert is installed(or changes) and every sessionKeyRotation so the
+	 * session ticket keys(which live in the context) are rotated.  Sessions of the old context are not resumed
+	 * and those clients do a full handshake.
+	 */
+	private synchronized SSLContext getSslContext() throws 
+			NoSuchAlgorithmException, CertificateException, IOException, 
+			KeyStoreException, UnrecoverableKeyException, KeyManagementException {
+		X509Certificate[] chain = certChain;
+		long now = System.nanoTime();
+		if(sslContext != null && chain == contextCertChain 
+				&& now - contextCreatedNanos < config.getSessionKeyRotation().toNanos())
+			return sslContext;
+
+		if(sslContext != null)
+			log.info("Creating new SSLContext(rotating session keys). certChanged="+(chain != contextCertChain));
+
+		if(chain != null)
+			sslContext = createFromCert(chain);
+		else
+			sslContext = createFromSelfSignedCert();
+		contextCertChain = chain;
+		contextCreatedNanos = now;
+		return sslContext;
+	}
+
+	private SSLContext createFromSelfSignedCert() throws 
 			NoSuchAlgorithmException, CertificateException, IOException, 
 			KeyStoreException, UnrecoverableKeyException, KeyManagementException {
 		
@@ -144,18 +183,18 @@ public class WebSSLFactory implements SSLEngineFactory, NeedsSimpleStorage {
 		}
 	}
 
-	private SSLEngine createSslEngineFromCert() 
+	private SSLContext createFromCert(X509Certificate[] chain) 
 			throws KeyStoreException, NoSuchAlgorithmException, CertificateException, 
 			IOException, UnrecoverableKeyException, KeyManagementException {
 		
 		KeyStore ks = KeyStore.getInstance(KeyStore.getDefaultType());
 	    ks.load(null, passphrase);
-	    ks.setKeyEntry("alias", accountKeyPair.getPrivate(), passphrase, certChain);
+	    ks.setKeyEntry("alias", accountKeyPair.getPrivate(), passphrase, chain);
 	    
 		return createFromKeystore(ks);
 	}
 
-	private SSLEngine createFromKeystore(KeyStore ks)
+	private SSLContext createFromKeystore(KeyStore ks)
 			throws NoSuchAlgorithmException, KeyStoreException, UnrecoverableKeyException, KeyManagementException {
 		SSLContext sslContext = SSLContext.getInstance("TLSv1.2");
 		
@@ -165,11 +204,12 @@ public class WebSSLFactory implements SSLEngineFactory, NeedsSimpleStorage {
 		kmf.init(ks, passphrase);
 		sslContext.init(kmf.getKeyManagers(), null, null);
 		//****************Server side specific*********************
+
+		SSLSessionContext sessions = sslContext.getServerSessionContext();
+		sessions.setSessionCacheSize(config.getSessionCacheSize());
+		sessions.setSessionTimeout((int) config.getSessionTimeout().getSeconds());
 		
-		SSLEngine engine = sslContext.createSSLEngine();
-		engine.setUseClientMode(false);
-		
-		return engine;
+		return sslContext;
 	}
 
 }
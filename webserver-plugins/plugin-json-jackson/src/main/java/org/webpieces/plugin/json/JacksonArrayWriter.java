@@ -0,0 +1,51 @@
+package org.webpieces.plugin.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Iterator;
+
+import org.webpieces.router.api.controller.actions.ContentWriter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Writes a large collection as a json array a batch of elements at a time.  The bytes are the same as
+ * JacksonJsonConverter.writeValueAsBytes would create for the collection.
+ */
+public class JacksonArrayWriter implements ContentWriter {
+
+	private static final int ELEMENTS_PER_WRITE = 100;
+
+	private final JacksonJsonConverter mapper;
+	private final Iterator<?> elements;
+	private JsonGenerator generator;
+
+	public JacksonArrayWriter(JacksonJsonConverter mapper, Collection<?> collection) {
+		this.mapper = mapper;
+		this.elements = collection.iterator();
+	}
+
+	@Override
+	public boolean writeNext(OutputStream out) throws IOException {
+		if(generator == null) {
+			generator = mapper.createGenerator(out);
+			generator.writeStartArray();
+		}
+
+		for(int i = 0; i < ELEMENTS_PER_WRITE && elements.hasNext(); i++) {
+			generator.writeObject(elements.next());
+		}
+
+		if(elements.hasNext()) {
+			//pushes what jackson buffered to out which sends each full chunk
+			generator.flush();
+			return true;
+		}
+
+		generator.writeEndArray();
+		generator.close();
+		return false;
+	}
+
+}
@@ -0,0 +1,75 @@
+package org.webpieces.plugin.json;
+
+import java.nio.ByteBuffer;
+
+import org.webpieces.data.api.DataWrapper;
+import org.webpieces.http.exception.BadRequestException;
+import org.webpieces.router.api.extensions.BodyContentConsumer;
+
+/**
+ * Feeds each piece of a large json body to jackson's non-blocking parser as it arrives.  Invalid json is
+ * remembered and the rest of the body dropped so the client gets the same BadRequestException from finish()
+ * that JacksonLookup.unmarshal throws
+ */
+public class JacksonBodyConsumer implements BodyContentConsumer {
+
+	private static final int COPY_SIZE = 16 * 1024;
+
+	private final AsyncJsonReader<?> reader;
+	//only for buffers whose bytes are not in an array we can read(direct or read only)
+	private byte[] copyBuffer;
+	private JsonReadException failure;
+	private boolean finished;
+	private Object result;
+
+	public JacksonBodyConsumer(AsyncJsonReader<?> reader) {
+		this.reader = reader;
+	}
+
+	@Override
+	public void consume(DataWrapper data) {
+		if(failure != null)
+			return;
+
+		try {
+			for(ByteBuffer buffer : data.createByteBuffers()) {
+				feed(buffer);
+			}
+		} catch(JsonReadException e) {
+			failure = e;
+		}
+	}
+
+	private void feed(ByteBuffer buffer) {
+		if(buffer.hasArray()) {
+			reader.feed(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+			return;
+		}
+
+		if(copyBuffer == null)
+			copyBuffer = new byte[COPY_SIZE];
+		while(buffer.hasRemaining()) {
+			int size = Math.min(buffer.remaining(), copyBuffer.length);
+			buffer.get(copyBuffer, 0, size);
+			reader.feed(copyBuffer, 0, size);
+		}
+	}
+
+	@Override
+	public Object finish() {
+		if(failure != null)
+			throw new BadRequestException("invalid json in client request.  "+failure.getMessage(), failure);
+		else if(finished)
+			return result;
+
+		try {
+			result = reader.finish();
+			finished = true;
+			return result;
+		} catch(JsonReadException e) {
+			failure = e;
+			throw new BadRequestException("invalid json in client request.  "+e.getMessage(), e);
+		}
+	}
+
+}
@@ -20,6 +20,15 @@ public class JacksonConfig {
 	//To fix that, you can add a not empty constraint check instead.
 	private boolean convertNullToEmptyStr = true;
 
+	//request bodies larger than this are parsed as they arrive(holding the json tokens instead of the bytes) so
+	//large uploads don't need the whole body plus a byte[] copy of it in memory.  smaller bodies are parsed once
+	//complete and are in RouterRequest.body for logging.  Integer.MAX_VALUE turns streaming off
+	private int streamBodyThreshold = 256 * 1024;
+
+	//collections returned from a controller with more elements than this are written to the socket as they are
+	//serialized instead of into one byte[] first.  Integer.MAX_VALUE turns streaming off
+	private int streamResponseThreshold = 1000;
+
 	public JacksonConfig() {
 	}
 
@@ -81,6 +90,24 @@ public class JacksonConfig {
 		this.convertNullToEmptyStr = convertNullToEmptyStr;
 	}
 
+	public int getStreamBodyThreshold() {
+		return streamBodyThreshold;
+	}
+
+	public JacksonConfig setStreamBodyThreshold(int streamBodyThreshold) {
+		this.streamBodyThreshold = streamBodyThreshold;
+		return this;
+	}
+
+	public int getStreamResponseThreshold() {
+		return streamResponseThreshold;
+	}
+
+	public JacksonConfig setStreamResponseThreshold(int streamResponseThreshold) {
+		this.streamResponseThreshold = streamResponseThreshold;
+		return this;
+	}
+
 	public String getPackageFilterPattern() {
 		return packageFilterPattern;
 	}
@@ -1,14 +1,18 @@
 package org.webpieces.plugin.json;
 
 import java.lang.annotation.Annotation;
+import java.util.Collection;
 
 import javax.inject.Inject;
 
 import org.webpieces.ctx.api.RequestContext;
 import org.webpieces.http.exception.BadRequestException;
 import org.webpieces.httpparser.api.dto.KnownStatusCode;
+import org.webpieces.router.api.controller.actions.Render;
 import org.webpieces.router.api.controller.actions.RenderContent;
+import org.webpieces.router.api.controller.actions.RenderContentStream;
 import org.webpieces.router.api.extensions.BodyContentBinder;
+import org.webpieces.router.api.extensions.BodyContentConsumer;
 import org.webpieces.router.api.extensions.ParamMeta;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -16,10 +20,12 @@ import com.fasterxml.jackson.databind.JsonNode;
 public class JacksonLookup implements BodyContentBinder {
 
 	private JacksonJsonConverter mapper;
+	private JacksonConfig config;
 
 	@Inject
-	public JacksonLookup(JacksonJsonConverter mapper) {
+	public JacksonLookup(JacksonJsonConverter mapper, JacksonConfig config) {
 		this.mapper = mapper;
+		this.config = config;
 	}
 
 	@Override
@@ -50,6 +56,16 @@ public class JacksonLookup implements BodyContentBinder {
 		}
 	}
 
+	@Override
+	public int getStreamingThreshold() {
+		return config.getStreamBodyThreshold();
+	}
+
+	@Override
+	public BodyContentConsumer createConsumer(RequestContext ctx, ParamMeta meta) {
+		return new JacksonBodyConsumer(mapper.createAsyncReader(meta.getFieldClass()));
+	}
+
 	@Override
 	public <T> RenderContent marshal(T bean) {
 		byte[] content;
@@ -60,6 +76,15 @@ public class JacksonLookup implements BodyContentBinder {
 		return new RenderContent(content, KnownStatusCode.HTTP_200_OK.getCode(), KnownStatusCode.HTTP_200_OK.getReason(), JacksonCatchAllFilter.MIME_TYPE);
 	}
 
+	@Override
+	public <T> Render render(T bean) {
+		if(bean instanceof Collection && ((Collection<?>) bean).size() > config.getStreamResponseThreshold()) {
+			JacksonArrayWriter writer = new JacksonArrayWriter(mapper, (Collection<?>) bean);
+			return new RenderContentStream(writer, KnownStatusCode.HTTP_200_OK.getCode(), KnownStatusCode.HTTP_200_OK.getReason(), JacksonCatchAllFilter.MIME_TYPE);
+		}
+		return marshal(bean);
+	}
+
 	@Override
 	public Class<? extends Annotation> getAnnotation() {
 		return Jackson.class;
@@ -45,6 +45,12 @@ public class RouterConfig {
 	//this is what gets put in the cache header for static files...and should be set to the max
 	private Long staticFileCacheTimeSeconds = TimeUnit.SECONDS.convert(255, TimeUnit.DAYS);
 
+	//small static files(css, js, icons, etc) are kept in memory(up to this many bytes total) so they are not
+	//re-opened and re-read on every request.  0 turns the cache off
+	private long staticFileCacheMaxBytes = 32 * 1024 * 1024;
+	//files larger than this are always read from disk
+	private int staticFileCacheMaxFileSize = 256 * 1024;
+
 	//location of precompressed static files(css, js, html, etc. etc....no jpg, png compressed)
 	private File cachedCompressedDirectory;
 	//compression type to put in cachedCompressedDirectory
@@ -126,6 +132,24 @@ public class RouterConfig {
 		return this;
 	}
 
+	public long getStaticFileCacheMaxBytes() {
+		return staticFileCacheMaxBytes;
+	}
+
+	public RouterConfig setStaticFileCacheMaxBytes(long staticFileCacheMaxBytes) {
+		this.staticFileCacheMaxBytes = staticFileCacheMaxBytes;
+		return this;
+	}
+
+	public int getStaticFileCacheMaxFileSize() {
+		return staticFileCacheMaxFileSize;
+	}
+
+	public RouterConfig setStaticFileCacheMaxFileSize(int staticFileCacheMaxFileSize) {
+		this.staticFileCacheMaxFileSize = staticFileCacheMaxFileSize;
+		return this;
+	}
+
 	public Charset getDefaultResponseBodyEncoding() {
 		return defaultResponseBodyEncoding;
 	}
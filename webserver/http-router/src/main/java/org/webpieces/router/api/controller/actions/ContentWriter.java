@@ -0,0 +1,20 @@
+package org.webpieces.router.api.controller.actions;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a response body a piece at a time.  Bytes written to the OutputStream are sent to the client as
+ * DataFrames as they fill up so the whole body never has to be in memory at once
+ */
+public interface ContentWriter {
+
+	/**
+	 * Write the next piece of the body.  Called again only once the data sent so far was accepted by the
+	 * socket(ie. the flow control window has room) so a slow client does not make us buffer the whole body
+	 *
+	 * @return true if there is more to write and false if the body is done
+	 */
+	boolean writeNext(OutputStream out) throws IOException;
+
+}
@@ -0,0 +1,39 @@
+package org.webpieces.router.api.controller.actions;
+
+import org.webpieces.router.impl.compression.MimeTypes.MimeTypeResult;
+
+/**
+ * Like RenderContent except the body is written by a ContentWriter as it is sent instead of being
+ * serialized to a byte[] first.  Use for large results.
+ */
+public class RenderContentStream implements Render {
+
+	private ContentWriter writer;
+	private int statusCode;
+	private MimeTypeResult mimeType;
+	private String reason;
+
+	public RenderContentStream(ContentWriter writer, int statusCode, String reason, MimeTypeResult mimeType) {
+		this.writer = writer;
+		this.statusCode = statusCode;
+		this.reason = reason;
+		this.mimeType = mimeType;
+	}
+
+	public ContentWriter getWriter() {
+		return writer;
+	}
+
+	public int getStatusCode() {
+		return statusCode;
+	}
+
+	public MimeTypeResult getMimeType() {
+		return mimeType;
+	}
+
+	public String getReason() {
+		return reason;
+	}
+
+}
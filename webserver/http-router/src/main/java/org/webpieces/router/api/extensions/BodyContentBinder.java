@@ -3,6 +3,7 @@ package org.webpieces.router.api.extensions;
 import java.lang.annotation.Annotation;
 
 import org.webpieces.ctx.api.RequestContext;
+import org.webpieces.router.api.controller.actions.Render;
 import org.webpieces.router.api.controller.actions.RenderContent;
 
 public interface BodyContentBinder {
@@ -13,6 +14,30 @@ public interface BodyContentBinder {
 
 	<T> RenderContent marshal(T bean);
 
+	/**
+	 * What is sent for the value returned from the controller.  Override to return a RenderContentStream for
+	 * results too large to marshal into one byte[]
+	 */
+	default <T> Render render(T bean) {
+		return marshal(bean);
+	}
+
 	Class<? extends Annotation> getAnnotation();
+
+	/**
+	 * Request bodies that grow larger than this are handed to a BodyContentConsumer as they arrive.  Smaller
+	 * bodies are unmarshalled whole and stay in RouterRequest.body for filters that log them
+	 */
+	default int getStreamingThreshold() {
+		return Integer.MAX_VALUE;
+	}
+
+	/**
+	 * @return a consumer that binds the body of this request as it arrives or null to have the whole body handed
+	 * to unmarshal
+	 */
+	default BodyContentConsumer createConsumer(RequestContext ctx, ParamMeta paramTypeToCreate) {
+		return null;
+	}
 	
 }
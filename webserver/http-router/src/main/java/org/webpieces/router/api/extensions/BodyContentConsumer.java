@@ -0,0 +1,23 @@
+package org.webpieces.router.api.extensions;
+
+import org.webpieces.data.api.DataWrapper;
+
+/**
+ * Binds one request body as it arrives instead of after all of it is in memory.  Created per request by
+ * BodyContentBinder.createConsumer
+ */
+public interface BodyContentConsumer {
+
+	/**
+	 * Called with each piece of the body in order from the thread delivering the request.  data is not
+	 * used after this returns
+	 */
+	void consume(DataWrapper data);
+
+	/**
+	 * Called once the whole body was consumed, when the controller's arguments are created, and throws
+	 * BadRequestException if the body could not be bound
+	 */
+	Object finish();
+
+}
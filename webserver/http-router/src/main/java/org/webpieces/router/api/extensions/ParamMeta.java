@@ -14,14 +14,21 @@ public class ParamMeta implements Meta {
 	private Method method;
 	private Parameter paramMeta;
 	private Annotation[] annotations;
+	//looked up once as these are read for every request
+	private final String name;
+	private final Class<?> fieldClass;
+	private final Type parameterizedType;
 
 	public ParamMeta(Method method, Parameter paramMeta, Annotation[] annotations) {
 		this.method = method;
 		this.paramMeta = paramMeta;
 		this.annotations = annotations;
+		this.name = findName(paramMeta);
+		this.fieldClass = paramMeta.getType();
+		this.parameterizedType = paramMeta.getParameterizedType();
 	}
 
-	public String getName() {
+	private static String findName(Parameter paramMeta) {
 		PathParam annotation = paramMeta.getAnnotation(PathParam.class);
 		String name = paramMeta.getName();
 		if(annotation != null) {
@@ -30,14 +37,18 @@ public class ParamMeta implements Meta {
 		return name;
 	}
 
+	public String getName() {
+		return name;
+	}
+
 	@Override
 	public Type getParameterizedType() {
-		return paramMeta.getParameterizedType();
+		return parameterizedType;
 	}
 
 	@Override
 	public Class<?> getFieldClass() {
-		return paramMeta.getType();
+		return fieldClass;
 	}
 
 	@Override
@@ -6,6 +6,7 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -19,6 +20,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.webpieces.router.api.RouterConfig;
 import org.webpieces.router.impl.compression.MimeTypes.MimeTypeResult;
+import org.webpieces.router.impl.proxyout.filereaders.StaticFileCache;
 import org.webpieces.router.impl.routers.FStaticRouter;
 import org.webpieces.util.exceptions.SneakyThrow;
 import org.webpieces.util.file.FileFactory;
@@ -36,14 +38,16 @@ public class ProdCompressionCacheSetup implements CompressionCacheSetup {
 	private List<String> encodings = new ArrayList<>();
 	private FileUtil fileUtil;
 	private Map<String, FileMeta> pathToFileMeta = new HashMap<>();
+	private StaticFileCache fileCache;
 
 	@Inject
-	public ProdCompressionCacheSetup(CompressionLookup lookup, RouterConfig config, MimeTypes mimeTypes, FileUtil fileUtil) {
+	public ProdCompressionCacheSetup(CompressionLookup lookup, RouterConfig config, MimeTypes mimeTypes, FileUtil fileUtil, StaticFileCache fileCache) {
 		this.lookup = lookup;
 		this.config = config;
 		this.mimeTypes = mimeTypes;
 		encodings.add(config.getStartupCompression());
 		this.fileUtil = fileUtil;
+		this.fileCache = fileCache;
 	}
 	
 	public void setupCache(List<FStaticRouter> staticRoutes) {
@@ -175,6 +179,9 @@ public class ProdCompressionCacheSetup implements CompressionCacheSetup {
 
 				//open, write, and close file with new data
 				writeFile(destination, compression, allData, urlPath, src);
+				//the hash changed so drop any copies in memory
+				fileCache.invalidate(Paths.get(destination.getAbsolutePath()));
+				fileCache.invalidate(Paths.get(src.getAbsolutePath()));
 				//if file writing succeeded, set the hash
 				properties.setProperty(urlPath, hash);
 				
@@ -0,0 +1,152 @@
+package org.webpieces.router.impl.loader;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.webpieces.util.exceptions.SneakyThrow;
+
+/**
+ * Calls a controller method without Method.invoke.  Created once when the route is loaded, it is a class
+ * generated by LambdaMetafactory that calls the method directly(the same as a lambda like c::method) so each
+ * request is a normal method call with no reflective access or argument array checks.
+ *
+ * The class is generated in the controller's class(and classloader as in DevelopmentServer, controllers are
+ * in a compiling classloader the router can't see).  If that fails or the method has more parameters than
+ * the CallN interfaces below, a MethodHandle is used instead.
+ *
+ * Like Method.invoke, anything the controller method throws is wrapped in an InvocationTargetException.
+ */
+public class ControllerMethodInvoker {
+
+	private static final Logger log = LoggerFactory.getLogger(ControllerMethodInvoker.class);
+	private static final int MAX_GENERATED_PARAMS = 8;
+	private static final Class<?>[] CALL_INTERFACES = { Call0.class, Call1.class, Call2.class, Call3.class,
+			Call4.class, Call5.class, Call6.class, Call7.class, Call8.class };
+
+	private final Method method;
+	private final int paramCount;
+	//a CallN instance where N is paramCount or null if handle is used instead
+	private final Object generated;
+	private final MethodHandle handle;
+
+	private ControllerMethodInvoker(Method method, Object generated, MethodHandle handle) {
+		this.method = method;
+		this.paramCount = method.getParameterCount();
+		this.generated = generated;
+		this.handle = handle;
+	}
+
+	public static ControllerMethodInvoker create(Object controller, Method method) {
+		if(method.getParameterCount() <= MAX_GENERATED_PARAMS && method.getReturnType() != void.class) {
+			try {
+				return new ControllerMethodInvoker(method, generate(controller, method), null);
+			} catch(Throwable e) {
+				log.warn("performance penalty since a direct call could not be generated for method="+method+" so a MethodHandle is used instead", e);
+			}
+		}
+		return new ControllerMethodInvoker(method, null, createHandle(controller, method));
+	}
+
+	private static Object generate(Object controller, Method method) throws Throwable {
+		Class<?> declaringClass = method.getDeclaringClass();
+		boolean isStatic = Modifier.isStatic(method.getModifiers());
+		//a lookup in the controller's class defines the generated class in the controller's classloader
+		MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+		MethodHandle target = lookup.unreflect(method);
+
+		Class<?> callInterface = CALL_INTERFACES[method.getParameterCount()];
+		List<Class<?>> objectParams = new ArrayList<>();
+		List<Class<?>> params = new ArrayList<>();
+		for(Class<?> paramType : method.getParameterTypes()) {
+			objectParams.add(Object.class);
+			params.add(MethodType.methodType(paramType).wrap().returnType());
+		}
+		MethodType callType = MethodType.methodType(Object.class, objectParams);
+		MethodType instantiatedType = MethodType.methodType(method.getReturnType(), params).wrap();
+
+		//the controller instance is captured so the generated class calls it like c::method
+		MethodType factoryType = isStatic ? MethodType.methodType(callInterface)
+				: MethodType.methodType(callInterface, declaringClass);
+		MethodHandle factory = LambdaMetafactory.metafactory(lookup, "call", factoryType, callType,
+				target, instantiatedType).getTarget();
+
+		//creating the instance here loads the generated class so any failure happens now, not per request
+		if(isStatic)
+			return factory.invoke();
+		return factory.invoke(controller);
+	}
+
+	private static MethodHandle createHandle(Object controller, Method method) {
+		try {
+			MethodHandle target = MethodHandles.lookup().unreflect(method);
+			if(!Modifier.isStatic(method.getModifiers()))
+				target = target.bindTo(controller);
+			return target.asSpreader(Object[].class, method.getParameterCount())
+					.asType(MethodType.methodType(Object.class, Object[].class));
+		} catch (IllegalAccessException e) {
+			throw SneakyThrow.sneak(e);
+		}
+	}
+
+	public Object invoke(Object[] args) throws InvocationTargetException {
+		if(args.length != paramCount)
+			throw new IllegalArgumentException("wrong number of arguments="+args.length+" for method="+method);
+
+		try {
+			if(generated == null)
+				return (Object) handle.invokeExact(args);
+			return call(args);
+		} catch(Throwable e) {
+			throw new InvocationTargetException(e);
+		}
+	}
+
+	private Object call(Object[] args) {
+		switch (paramCount) {
+		case 0:
+			return ((Call0) generated).call();
+		case 1:
+			return ((Call1) generated).call(args[0]);
+		case 2:
+			return ((Call2) generated).call(args[0], args[1]);
+		case 3:
+			return ((Call3) generated).call(args[0], args[1], args[2]);
+		case 4:
+			return ((Call4) generated).call(args[0], args[1], args[2], args[3]);
+		case 5:
+			return ((Call5) generated).call(args[0], args[1], args[2], args[3], args[4]);
+		case 6:
+			return ((Call6) generated).call(args[0], args[1], args[2], args[3], args[4], args[5]);
+		case 7:
+			return ((Call7) generated).call(args[0], args[1], args[2], args[3], args[4], args[5], args[6]);
+		case 8:
+			return ((Call8) generated).call(args[0], args[1], args[2], args[3], args[4], args[5], args[6], args[7]);
+		default:
+			throw new IllegalStateException("Bug, no generated call for paramCount="+paramCount);
+		}
+	}
+
+	public boolean isGenerated() {
+		return generated != null;
+	}
+
+	//public as the generated classes implementing these are in the controller's package
+	public interface Call0 { Object call(); }
+	public interface Call1 { Object call(Object a0); }
+	public interface Call2 { Object call(Object a0, Object a1); }
+	public interface Call3 { Object call(Object a0, Object a1, Object a2); }
+	public interface Call4 { Object call(Object a0, Object a1, Object a2, Object a3); }
+	public interface Call5 { Object call(Object a0, Object a1, Object a2, Object a3, Object a4); }
+	public interface Call6 { Object call(Object a0, Object a1, Object a2, Object a3, Object a4, Object a5); }
+	public interface Call7 { Object call(Object a0, Object a1, Object a2, Object a3, Object a4, Object a5, Object a6); }
+	public interface Call8 { Object call(Object a0, Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7); }
+}
@@ -1,15 +1,21 @@
 package org.webpieces.router.impl.loader;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.List;
 
+import org.webpieces.router.api.extensions.ParamMeta;
+
 public class LoadedController {
 
 	private final Object controllerInstance;
 	private final Method controllerMethod;
 	private final List<String> paramNames;
 	private final Parameter[] parameters;
+	//created once when loaded so requests do no reflective lookups to bind arguments or call the method
+	private final ParamMeta[] paramMetas;
+	private final ControllerMethodInvoker invoker;
 
 	public LoadedController(Object controllerInstance, Method controllerMethod, Parameter[] parameters, List<String> paramNames) {
 		if(controllerInstance == null)
@@ -24,6 +30,13 @@ public class LoadedController {
 		this.controllerMethod = controllerMethod;
 		this.parameters = parameters;
 		this.paramNames = paramNames;
+
+		Annotation[][] paramAnnotations = controllerMethod.getParameterAnnotations();
+		this.paramMetas = new ParamMeta[parameters.length];
+		for(int i = 0; i < parameters.length; i++) {
+			paramMetas[i] = new ParamMeta(controllerMethod, parameters[i], paramAnnotations[i]);
+		}
+		this.invoker = ControllerMethodInvoker.create(controllerInstance, controllerMethod);
 	}
 
 	public Object getControllerInstance() {
@@ -41,7 +54,13 @@ public class LoadedController {
 	public Parameter[] getParameters() {
 		return parameters;
 	}
-	
-	
+
+	public ParamMeta[] getParamMetas() {
+		return paramMetas;
+	}
+
+	public ControllerMethodInvoker getInvoker() {
+		return invoker;
+	}
 
 }
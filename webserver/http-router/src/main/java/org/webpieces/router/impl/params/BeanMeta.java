@@ -0,0 +1,60 @@
+package org.webpieces.router.impl.params;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.webpieces.util.exceptions.SneakyThrow;
+
+/**
+ * The fields, setters and constructor of a bean class that request params are bound to.  Found once per class
+ * instead of calling getDeclaredFields, getMethod and getDeclaredConstructor for every field of every request.
+ */
+public class BeanMeta {
+
+	private final Class<?> beanClass;
+	//field name -> field where a field in a subclass hides one with the same name in a superclass
+	private final Map<String, Field> fields = new HashMap<>();
+	private final List<String> classList = new ArrayList<>();
+	private final Map<String, FieldMeta> fieldMetas = new ConcurrentHashMap<>();
+	private volatile Constructor<?> constructor;
+
+	public BeanMeta(Class<?> beanClass) {
+		this.beanClass = beanClass;
+		for(Class<?> type = beanClass; type != null; type = type.getSuperclass()) {
+			classList.add(type.getName());
+			for(Field f : type.getDeclaredFields()) {
+				fields.putIfAbsent(f.getName(), f);
+			}
+		}
+	}
+
+	public FieldMeta getFieldMeta(String key) {
+		FieldMeta fieldMeta = fieldMetas.get(key);
+		if(fieldMeta != null)
+			return fieldMeta;
+
+		Field field = fields.get(key);
+		if(field == null)
+			throw new IllegalArgumentException("Private Field(not getter or setter!!) with name="+key+" not found in any of the classes="+classList);
+		return fieldMetas.computeIfAbsent(key, k -> new FieldMeta(beanClass, field));
+	}
+
+	public Object createBean() {
+		try {
+			Constructor<?> cons = constructor;
+			if(cons == null) {
+				cons = beanClass.getDeclaredConstructor();
+				constructor = cons;
+			}
+			return cons.newInstance();
+		} catch (IllegalAccessException | InstantiationException | InvocationTargetException | NoSuchMethodException e) {
+			throw SneakyThrow.sneak(e);
+		}
+	}
+}
@@ -1,6 +1,5 @@
 package org.webpieces.router.impl.params;
 
-import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -15,6 +14,7 @@ import javax.validation.Validator;
 import javax.validation.executable.ExecutableValidator;
 
 import org.webpieces.http.exception.Violation;
+import org.webpieces.router.impl.loader.LoadedController;
 
 public class BeanValidator {
 	
@@ -30,13 +30,14 @@ public class BeanValidator {
 		this.execValidator = execValidator;
 	}
 
-	public List<Violation> validate(Object controller, Method m, List<Object> args) {
+	public List<Violation> validate(LoadedController controller, List<Object> args) {
 		Object[] params = args.toArray();
 		List<Violation> all = new ArrayList<>();
-		Set<ConstraintViolation<Object>> violations = execValidator.validateParameters(controller, m, params);
+		Set<ConstraintViolation<Object>> violations = execValidator.validateParameters(
+				controller.getControllerInstance(), controller.getControllerMethod(), params);
 		addAll(null, all, violations);
 		
-		Parameter[] parameters = m.getParameters();
+		Parameter[] parameters = controller.getParameters();
 		for(int i = 0; i < parameters.length; i++) {
 			Object arg = args.get(i);
 			if(arg != null) {
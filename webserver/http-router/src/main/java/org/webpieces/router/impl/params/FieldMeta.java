@@ -1,10 +1,11 @@
 package org.webpieces.router.impl.params;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
-import java.util.function.BiFunction;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,9 +16,12 @@ public class FieldMeta implements Meta {
 
 	private static final Logger log = LoggerFactory.getLogger(FieldMeta.class);
 	private Field field;
+	//(bean, value)void found once per bean class instead of looking up the setter for every request
+	private final MethodHandle setter;
 
-	public FieldMeta(Field field) {
+	public FieldMeta(Class<?> beanClass, Field field) {
 		this.field = field;
+		this.setter = createSetter(beanClass, field);
 	}
 
 	@Override
@@ -31,16 +35,18 @@ public class FieldMeta implements Meta {
 	}
 
 	public void setValueOnBean(Object bean, Object translatedValue) {
-		BiFunction<Object, Object, Void> applyBeanValueFunction = createFunction(bean.getClass(), field);
-		
 		//skip setting to null if it is a primitive(allow setting null on a String 
-		if(translatedValue != null)
-			applyBeanValueFunction.apply(bean, translatedValue);
-		else if(!getFieldClass().isPrimitive())
-			applyBeanValueFunction.apply(bean, translatedValue);
+		if(translatedValue == null && getFieldClass().isPrimitive())
+			return;
+
+		try {
+			setter.invokeExact(bean, translatedValue);
+		} catch (Throwable e) {
+			throw SneakyThrow.sneak(e);
+		}
 	}
 	
-	private BiFunction<Object, Object, Void> createFunction(Class<? extends Object> beanClass, Field field) {
+	private MethodHandle createSetter(Class<?> beanClass, Field field) {
 		String key = field.getName();
 		String cap = key.substring(0, 1).toUpperCase() + key.substring(1);
 		String methodName = "set"+cap;
@@ -48,32 +54,30 @@ public class FieldMeta implements Meta {
 		//What is slower....throwing exceptions or looping over methods to not through exception?....
 		try {
 			Method method = beanClass.getMethod(methodName, field.getType());
-			return (bean, val) -> invokeMethod(method, bean, val);
+			//public setters on beans that are not public classes(like a nested class) are fine
+			method.trySetAccessible();
+			return asSetter(MethodHandles.lookup().unreflect(method));
 		} catch (NoSuchMethodException e) {
 			log.warn("performance penalty since method="+methodName+" does not exist on class="+beanClass.getName()+" using field instead to set data");
-			return (bean, val) -> setField(field, bean, val);
-		} catch (SecurityException e) {
+			field.setAccessible(true);
+			return asSetter(unreflectSetter(field));
+		} catch (IllegalAccessException | SecurityException e) {
 			throw SneakyThrow.sneak(e);
 		}
 	}
 
-	private Void setField(Field field, Object bean, Object val) {
-		field.setAccessible(true);
+	private MethodHandle unreflectSetter(Field field) {
 		try {
-			field.set(bean, val);
+			return MethodHandles.lookup().unreflectSetter(field);
 		} catch (IllegalAccessException e) {
 			throw SneakyThrow.sneak(e);
 		}
-		return null;
 	}
 
-	private Void invokeMethod(Method method, Object bean, Object val) {
-		try {
-			method.invoke(bean, val);
-		} catch (IllegalAccessException | InvocationTargetException e) {
-			throw SneakyThrow.sneak(e);
-		}
-		return null;
+	private MethodHandle asSetter(MethodHandle handle) {
+		//drop anything the setter returns as fluent setters return the bean
+		MethodHandle returnsVoid = handle.asType(handle.type().changeReturnType(void.class));
+		return returnsVoid.asType(MethodType.methodType(void.class, Object.class, Object.class));
 	}
 
 	@Override
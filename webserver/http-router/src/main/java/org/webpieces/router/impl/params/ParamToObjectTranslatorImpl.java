@@ -1,10 +1,7 @@
 package org.webpieces.router.impl.params;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -26,11 +23,13 @@ import org.webpieces.router.api.exceptions.DataMismatchException;
 import org.webpieces.router.api.exceptions.IllegalArgException;
 import org.webpieces.http.exception.NotFoundException;
 import org.webpieces.router.api.extensions.BodyContentBinder;
+import org.webpieces.router.api.extensions.BodyContentConsumer;
 import org.webpieces.router.api.extensions.EntityLookup;
 import org.webpieces.router.api.extensions.Meta;
 import org.webpieces.router.api.extensions.ObjectStringConverter;
 import org.webpieces.router.api.extensions.ParamMeta;
-import org.webpieces.util.exceptions.SneakyThrow;
+import org.webpieces.router.impl.loader.LoadedController;
+import org.webpieces.router.impl.routeinvoker.RequestStreamWriter2;
 
 @Singleton
 public class ParamToObjectTranslatorImpl {
@@ -39,6 +38,13 @@ public class ParamToObjectTranslatorImpl {
 	private ParamValueTreeCreator treeCreator;
 	private ObjectTranslator objectTranslator;
 	private Set<EntityLookup> lookupHooks;
+	//ClassValue so classes from the DevelopmentServer's classloader are not held after a recompile
+	private final ClassValue<BeanMeta> beanMetas = new ClassValue<BeanMeta>() {
+		@Override
+		protected BeanMeta computeValue(Class<?> type) {
+			return new BeanMeta(type);
+		}
+	};
 
 	@Inject
 	public ParamToObjectTranslatorImpl(ParamValueTreeCreator treeCreator, ObjectTranslator primitiveConverter) {
@@ -57,10 +63,10 @@ public class ParamToObjectTranslatorImpl {
 	//ON TOP of this, do you maintain a separate structure for params IN THE PATH /user/{var1} vs in the query params /user/{var1}?var1=xxx
 	//
 	//AND ON TOP of that, we have multi-part fields as well with keys and values
-	public XFuture<List<Object>> createArgs(Method m, RequestContext ctx, BodyContentBinder binder) {
+	public XFuture<List<Object>> createArgs(LoadedController controller, RequestContext ctx, BodyContentBinder binder) {
 		RouterRequest req = ctx.getRequest();
 		try {
-			return createArgsImpl(m, ctx, binder);
+			return createArgsImpl(controller, ctx, binder);
 		} catch(DataMismatchException e) {
 			if(req.method == HttpMethod.GET) {
 				//For GET with query params or path urls, if we can't convert, it should be a 404...
@@ -78,10 +84,11 @@ public class ParamToObjectTranslatorImpl {
 		}
 	}
 
-	protected XFuture<List<Object>> createArgsImpl(Method method, RequestContext ctx, BodyContentBinder binder) {
+	protected XFuture<List<Object>> createArgsImpl(LoadedController controller, RequestContext ctx, BodyContentBinder binder) {
 		RouterRequest req = ctx.getRequest();
-		Parameter[] paramMetas = method.getParameters();
-		Annotation[][] paramAnnotations = method.getParameterAnnotations();
+		Method method = controller.getControllerMethod();
+		//created when the route was loaded
+		ParamMeta[] paramMetas = controller.getParamMetas();
 		
 		ParamTreeNode paramTree = new ParamTreeNode();
 		
@@ -98,15 +105,17 @@ public class ParamToObjectTranslatorImpl {
 
 		List<Object> results = new ArrayList<>();
 		XFuture<List<Object>> future = XFuture.completedFuture(results);
-		for(int i = 0; i < paramMetas.length; i++) {
-			Parameter paramMeta = paramMetas[i];
-			Annotation[] annotations = paramAnnotations[i];
-			ParamMeta fieldMeta = new ParamMeta(method, paramMeta, annotations);
+		for(ParamMeta fieldMeta : paramMetas) {
 			String name = fieldMeta.getName();
 			ParamNode paramNode = paramTree.get(name);
 			XFuture<Object> beanFuture;
 			if(binder != null && isManagedBy(binder, fieldMeta)) {
-				Object bean = binder.unmarshal(ctx, fieldMeta, req.body.createByteArray());
+				BodyContentConsumer consumer = req.getRequestState(RequestStreamWriter2.BODY_CONSUMER_KEY);
+				Object bean;
+				if(consumer != null)
+					bean = consumer.finish();
+				else
+					bean = binder.unmarshal(ctx, fieldMeta, req.body.createByteArray());
 				beanFuture = XFuture.completedFuture(bean);
 			} else {
 				beanFuture = translate(req, method, paramNode, fieldMeta, ctx.getValidation());
@@ -195,11 +204,11 @@ public class ParamToObjectTranslatorImpl {
 		
 		XFuture<Object> future = null;
 		if(pluginLookup != null) {
-			future = pluginLookup.find(fieldMeta, tree, c -> createBean(c));
+			future = pluginLookup.find(fieldMeta, tree, c -> beanMetas.get(c).createBean());
 			if(future == null)
 				throw new IllegalStateException("plugin="+pluginLookup.getClass()+" failed to create bean.  This is a plugin bug");
 		} else {
-			Object newBean = createBean(fieldClass);
+			Object newBean = beanMetas.get(fieldClass).createBean();
 			future = XFuture.completedFuture(newBean);
 		}
 		
@@ -210,12 +219,11 @@ public class ParamToObjectTranslatorImpl {
 
 	private XFuture<Object> fillBeanIn(Object bean, ParamTreeNode tree, RouterRequest req, Method method, Validation validator) {
 		XFuture<Object> future = XFuture.completedFuture(bean);
+		BeanMeta beanMeta = beanMetas.get(bean.getClass());
 		for(Map.Entry<String, ParamNode> entry: tree.entrySet()) {
 			String key = entry.getKey();
 			ParamNode value = entry.getValue();
-			Field field = findBeanFieldType(bean.getClass(), key, new ArrayList<>());
-			
-			FieldMeta nextFieldMeta = new FieldMeta(field);
+			FieldMeta nextFieldMeta = beanMeta.getFieldMeta(key);
 			
 			//Here, if there are any lookups(doubtful!!), they would all be done in parallel....
 			XFuture<Object> translated = translate(req, method, value, nextFieldMeta, validator);
@@ -258,31 +266,6 @@ public class ParamToObjectTranslatorImpl {
 		return future.thenApply( l -> (Object)l );
 	}
 
-	private Field findBeanFieldType(Class<?> beanType, String key, List<String> classList) {
-		classList.add(beanType.getName());
-		
-		Field[] fields = beanType.getDeclaredFields();
-		for(Field f : fields) {
-			if(key.equals(f.getName())) {
-				return f;
-			}
-		}
-		
-		Class<?> superclass = beanType.getSuperclass();
-		if(superclass == null)
-			throw new IllegalArgumentException("Private Field(not getter or setter!!) with name="+key+" not found in any of the classes="+classList);
-		
-		return findBeanFieldType(superclass, key, classList);
-	}
-
-	private <T> Object createBean(Class<T> paramTypeToCreate) {
-		try {
-			return paramTypeToCreate.getDeclaredConstructor().newInstance();
-		} catch (IllegalAccessException | InstantiationException | InvocationTargetException | NoSuchMethodException e) {
-			throw SneakyThrow.sneak(e);
-		}
-	}
-
 	@SuppressWarnings("rawtypes")
 	private Object convert(RouterRequest req, Method method, ParamNode valuesToUse, Meta fieldMeta, ObjectStringConverter converter, Validation validator) {
 		Class<?> paramTypeToCreate = fieldMeta.getFieldClass();
@@ -2,6 +2,7 @@ package org.webpieces.router.impl.proxyout;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.util.List;
 import java.util.Map;
 import org.webpieces.util.futures.XFuture;
@@ -30,6 +31,7 @@ import com.webpieces.http2.api.dto.lowlevel.lib.Http2MsgType;
 import com.webpieces.http2.api.dto.lowlevel.lib.StreamMsg;
 import com.webpieces.http2.api.streaming.PushStreamHandle;
 import com.webpieces.http2.api.streaming.StreamWriter;
+import com.webpieces.http2.api.streaming.ZeroCopyStreamWriter;
 
 /**
  * NOTE: All of these pieces SHOULD move into FrontendManager so that anyone uses frontend gets compression and keep alive stuff for
@@ -96,9 +98,16 @@ public class CompressionChunkingHandle implements RouterResponseHandler {
 		
         return handler.process(response)
         		.thenApply(w -> possiblyClose(shouldClose, response, w))
-                .thenApply(w -> new ProxyStreamWriter(shouldClose, compression, chunkedStream, w));
+                .thenApply(w -> createWriter(shouldClose, compression, chunkedStream, w));
     }
 
+	private ProxyStreamWriter createWriter(boolean shouldClose, Compression compression, ChunkedStream chunkedStream, StreamWriter w) {
+		//files can only skip the heap(sendfile) if we are not compressing them on the fly
+		if(compression instanceof NoCompression && w instanceof ZeroCopyStreamWriter)
+			return new ZeroCopyProxyStreamWriter(shouldClose, compression, chunkedStream, (ZeroCopyStreamWriter) w);
+		return new ProxyStreamWriter(shouldClose, compression, chunkedStream, w);
+	}
+
     
     
 	private StreamWriter possiblyClose(boolean closeAfterResponding, Http2Response response, StreamWriter w) {
@@ -120,6 +129,21 @@ public class CompressionChunkingHandle implements RouterResponseHandler {
 	}
 	
     private Compression checkForCompression(Http2Response response) {
+    	Compression compression = lookupCompression(response);
+    	if(!(compression instanceof NoCompression))
+            response.addHeader(new Http2Header(Http2HeaderName.CONTENT_ENCODING, compression.getCompressionType()));
+    	return compression;
+    }
+
+    /**
+     * Lets content routers know BEFORE sending the response if the body will be compressed on the fly(and so
+     * the body size is not known up front)
+     */
+    public boolean willCompress(Http2Response response) {
+    	return !(lookupCompression(response) instanceof NoCompression);
+    }
+
+    private Compression lookupCompression(Http2Response response) {
     	if(routerRequest == null) {
     		//The exception happened BEFORE Http2Request Accept-Encoding Header encodings were parsed which we HAVE to know
     		//as that is what the client accepts for compression
@@ -141,12 +165,9 @@ public class CompressionChunkingHandle implements RouterResponseHandler {
 
         Compression compression = compressionLookup.createCompressionStream(routerRequest.encodings, mimeType);
 
-        if (compression == null) {
+        if (compression == null)
         	return new NoCompression();
-        } else {
-            response.addHeader(new Http2Header(Http2HeaderName.CONTENT_ENCODING, compression.getCompressionType()));
-            return compression;
-        }
+        return compression;
 	}
 	
 	public boolean hasSentResponseAlready() {
@@ -220,7 +241,7 @@ public class CompressionChunkingHandle implements RouterResponseHandler {
 			return future;
         }
 
-		private Void maybeClose() {
+		protected Void maybeClose() {
 			if(shouldClose)
 				closeIfNeeded();
 			
@@ -229,6 +250,24 @@ public class CompressionChunkingHandle implements RouterResponseHandler {
 
     }
 
+    /**
+     * The body is not compressed so the rest of it can go straight from a file to the socket
+     */
+    private class ZeroCopyProxyStreamWriter extends ProxyStreamWriter implements ZeroCopyStreamWriter {
+
+		private ZeroCopyStreamWriter zeroCopyWriter;
+
+		public ZeroCopyProxyStreamWriter(boolean shouldClose, Compression compression, ChunkedStream chunkedStream, ZeroCopyStreamWriter w) {
+			super(shouldClose, compression, chunkedStream, w);
+			this.zeroCopyWriter = w;
+		}
+
+		@Override
+		public XFuture<Void> sendFile(FileChannel file, long position, long count) {
+			return zeroCopyWriter.sendFile(file, position, count).thenApply(voidd -> maybeClose());
+		}
+    }
+
     @Override
     public Object getSocket() {
         return handler.getSocket();
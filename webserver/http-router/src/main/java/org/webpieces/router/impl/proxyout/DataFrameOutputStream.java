@@ -0,0 +1,86 @@
+package org.webpieces.router.impl.proxyout;
+
+import java.io.OutputStream;
+
+import org.webpieces.data.api.DataWrapperGenerator;
+import org.webpieces.data.api.DataWrapperGeneratorFactory;
+import org.webpieces.util.futures.XFuture;
+
+import com.webpieces.http2.api.dto.lowlevel.DataFrame;
+import com.webpieces.http2.api.streaming.StreamWriter;
+
+/**
+ * Sends a DataFrame each time chunkSize bytes have been written.  getSentFuture() completes once everything
+ * sent so far was accepted by the writer so the caller can stop writing while the client is slow.
+ *
+ * Not thread safe.  Only one ContentWriter writes to it at a time.
+ */
+public class DataFrameOutputStream extends OutputStream {
+
+	private static final DataWrapperGenerator dataGen = DataWrapperGeneratorFactory.createDataWrapperGenerator();
+
+	private final StreamWriter writer;
+	private final int chunkSize;
+	private byte[] chunk;
+	private int position;
+	private XFuture<Void> sentFuture = XFuture.completedFuture(null);
+	private boolean finished;
+
+	public DataFrameOutputStream(StreamWriter writer, int chunkSize) {
+		this.writer = writer;
+		this.chunkSize = chunkSize;
+		this.chunk = new byte[chunkSize];
+	}
+
+	@Override
+	public void write(int b) {
+		if(position == chunkSize)
+			sendChunk(false);
+		chunk[position++] = (byte) b;
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) {
+		while(len > 0) {
+			if(position == chunkSize)
+				sendChunk(false);
+			int toCopy = Math.min(len, chunkSize - position);
+			System.arraycopy(b, off, chunk, position, toCopy);
+			position += toCopy;
+			off += toCopy;
+			len -= toCopy;
+		}
+	}
+
+	public XFuture<Void> getSentFuture() {
+		return sentFuture;
+	}
+
+	/**
+	 * Sends what is left with end of stream set.  close() does not do this as a ContentWriter that closes the
+	 * stream it was given would end the response too early
+	 */
+	public XFuture<Void> finish() {
+		if(finished)
+			throw new IllegalStateException("finish was already called");
+		finished = true;
+		sendChunk(true);
+		return sentFuture;
+	}
+
+	private void sendChunk(boolean endOfStream) {
+		if(finished && !endOfStream)
+			throw new IllegalStateException("Cannot write after the response body was finished");
+
+		DataFrame frame = new DataFrame();
+		frame.setEndOfStream(endOfStream);
+		frame.setData(dataGen.wrapByteArray(chunk, 0, position));
+
+		XFuture<Void> future = writer.processPiece(frame);
+		sentFuture = sentFuture.thenCompose(v -> future);
+
+		//the frame keeps the old array until it is written
+		chunk = endOfStream ? null : new byte[chunkSize];
+		position = 0;
+	}
+}
@@ -1,5 +1,6 @@
 package org.webpieces.router.impl.proxyout;
 
+import java.io.IOException;
 import java.io.StringWriter;
 import java.lang.reflect.Method;
 import java.nio.charset.Charset;
@@ -20,7 +21,9 @@ import org.webpieces.data.api.DataWrapperGeneratorFactory;
 import org.webpieces.router.api.RouterResponseHandler;
 import org.webpieces.router.api.RouterStreamHandle;
 import org.webpieces.router.api.TemplateApi;
+import org.webpieces.router.api.controller.actions.ContentWriter;
 import org.webpieces.router.api.controller.actions.HttpPort;
+import org.webpieces.router.api.controller.actions.RenderContentStream;
 import org.webpieces.router.api.exceptions.ControllerPageArgsException;
 import org.webpieces.router.api.exceptions.WebSocketClosedException;
 import org.webpieces.router.api.routes.MethodMeta;
@@ -33,8 +36,10 @@ import org.webpieces.router.impl.dto.RenderContentResponse;
 import org.webpieces.router.impl.dto.RenderResponse;
 import org.webpieces.router.impl.dto.View;
 import org.webpieces.router.impl.proxyout.ResponseCreator.ResponseEncodingTuple;
+import org.webpieces.router.impl.routeinvoker.WebSettings;
 import org.webpieces.router.impl.routers.ExceptionWrap;
 import org.webpieces.util.exceptions.NioClosedChannelException;
+import org.webpieces.util.exceptions.SneakyThrow;
 import org.webpieces.util.futures.FutureHelper;
 
 import com.webpieces.http2.api.dto.highlevel.Http2Request;
@@ -55,6 +60,7 @@ public class ProxyStreamHandle implements RouterStreamHandle {
 	private ResponseCreator responseCreator;
 	private FutureHelper futureUtil;
 	private ReverseRoutes reverseRoutes;
+	private WebSettings webSettings;
 
 
 	private Http2Request originalHttp2Request; //loaded on construction
@@ -65,12 +71,14 @@ public class ProxyStreamHandle implements RouterStreamHandle {
 			TemplateApi templatingService,
 			CompressionChunkingHandle handle,
 			ResponseCreator responseCreator,
-			FutureHelper futureUtil
+			FutureHelper futureUtil,
+			WebSettings webSettings
 	) {
 		this.templatingService = templatingService;
 		this.handle = handle;
 		this.responseCreator = responseCreator;
 		this.futureUtil = futureUtil;
+		this.webSettings = webSettings;
 	}
 
 	//init methods done at different phases of the stack
@@ -90,6 +98,10 @@ public class ProxyStreamHandle implements RouterStreamHandle {
 		handle.turnCompressionOff();
 	}
 
+	public boolean willCompress(Http2Response response) {
+		return handle.willCompress(response);
+	}
+
 	@Override
 	public XFuture<StreamWriter> process(Http2Response response) {
 		return handle.process(response);
@@ -178,6 +190,33 @@ public class ProxyStreamHandle implements RouterStreamHandle {
 		return maybeCompressAndSend(request, null, tuple, resp.getPayload());
 	}
 
+	public XFuture<Void> sendRenderContentStream(RenderContentStream resp) {
+		Http2Request request = originalHttp2Request;
+		ResponseEncodingTuple tuple = responseCreator.createContentResponse(request, resp.getStatusCode(), resp.getReason(), resp.getMimeType());
+		if(log.isDebugEnabled())
+			log.debug("sending streamed response. resp="+tuple.response+" for req="+request+" responseSender="+ this);
+
+		//compression and rechunking happen in the StreamWriter returned so frames we send here are gzipped if needed
+		return process(tuple.response)
+				.thenCompose(w -> writeContent(resp.getWriter(), new DataFrameOutputStream(w, webSettings.getMaxBodySizeToSend())));
+	}
+
+	private XFuture<Void> writeContent(ContentWriter contentWriter, DataFrameOutputStream out) {
+		try {
+			while(contentWriter.writeNext(out)) {
+				XFuture<Void> sent = out.getSentFuture();
+				//loop while the socket keeps up and only go async when it is backed up(or failed) so we do not
+				//recurse per piece
+				if(!sent.isDone() || sent.isCompletedExceptionally())
+					return sent.thenCompose(v -> writeContent(contentWriter, out));
+			}
+		} catch (IOException e) {
+			throw SneakyThrow.sneak(e);
+		}
+
+		return out.finish();
+	}
+
 	public XFuture<StreamWriter> sendRedirectAndClearCookie(RouterRequest req, String badCookieName) {
 		RedirectResponse httpResponse = new RedirectResponse(false, req.isHttps, req.domain, req.port, req.relativePath);
 		Http2Response response = responseCreator.createRedirect(originalHttp2Request, httpResponse);
@@ -0,0 +1,46 @@
+package org.webpieces.router.impl.proxyout.filereaders;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import org.webpieces.data.api.DataWrapper;
+import org.webpieces.util.futures.XFuture;
+
+/**
+ * A file served out of StaticFileCache.  XFileReader sends getBody() in one piece but reading in chunks works too
+ */
+public class CachedFileReader implements ChunkReader {
+
+	private DataWrapper body;
+	private Path file;
+
+	public CachedFileReader(DataWrapper body, Path file) {
+		this.body = body;
+		this.file = file;
+	}
+
+	@Override
+	public String toString() {
+		return "CachedFileReader="+file;
+	}
+
+	@Override
+	public XFuture<Integer> read(ByteBuffer buf, String filePathForLogging, int position) {
+		int size = body.getReadableSize();
+		if(position >= size)
+			return XFuture.completedFuture(-1);
+
+		int toRead = Math.min(buf.remaining(), size - position);
+		buf.put(body.readBytesAt(position, toRead));
+		return XFuture.completedFuture(toRead);
+	}
+
+	@Override
+	public void close() {
+	}
+
+	public DataWrapper getBody() {
+		return body;
+	}
+
+}
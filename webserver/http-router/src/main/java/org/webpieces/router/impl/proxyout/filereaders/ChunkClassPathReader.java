@@ -33,10 +33,18 @@ public class ChunkClassPathReader implements ChunkReader {
 			else if(buf.limit() != buf.capacity())
 				throw new IllegalStateException("buffer is not in a clean state. buf="+buf);
 				
-			int numRead = inputStream.read(buf.array());
-			
-			if(numRead > 0)
-				buf.position(numRead); //update the buffer like someone wrote into the buffer instead of directly into the byte[]
+			int numRead;
+			if(buf.hasArray()) {
+				numRead = inputStream.read(buf.array());
+				if(numRead > 0)
+					buf.position(numRead); //update the buffer like someone wrote into the buffer instead of directly into the byte[]
+			} else {
+				//direct buffer pools(DirectBufferArena) have no backing byte[]
+				byte[] bytes = new byte[buf.remaining()];
+				numRead = inputStream.read(bytes);
+				if(numRead > 0)
+					buf.put(bytes, 0, numRead);
+			}
 		
 			future.complete(numRead);
 			return future;
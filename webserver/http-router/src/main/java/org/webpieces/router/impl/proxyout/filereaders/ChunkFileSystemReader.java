@@ -4,23 +4,36 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.AsynchronousFileChannel;
 import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
+import java.nio.file.OpenOption;
 import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+import org.webpieces.util.exceptions.NioException;
 import org.webpieces.util.futures.XFuture;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
+import com.webpieces.http2.api.streaming.ZeroCopyStreamWriter;
+
 public class ChunkFileSystemReader implements ChunkReader {
 
 	private static final Logger log = LoggerFactory.getLogger(ChunkFileSystemReader.class);
 
-	private AsynchronousFileChannel asyncFile;
 	private Path file;
+	private Set<OpenOption> options;
+	private ExecutorService fileExecutor;
+	//only one of these is opened depending on if the file is read in chunks or sent with sendfile
+	private AsynchronousFileChannel asyncFile;
+	private FileChannel fileChannel;
 	
-	public ChunkFileSystemReader(AsynchronousFileChannel asyncFile, Path file) {
-		this.asyncFile = asyncFile;
+	public ChunkFileSystemReader(Path file, Set<OpenOption> options, ExecutorService fileExecutor) {
 		this.file = file;
+		this.options = options;
+		this.fileExecutor = fileExecutor;
 	}
 	
 	@Override
@@ -84,13 +97,38 @@ public class ChunkFileSystemReader implements ChunkReader {
     
 		OurCompletionHandler handler = new OurCompletionHandler(future, remaining, file, buf, filePathForLogging);
 		
+		if(asyncFile == null)
+			asyncFile = openAsync();
 		asyncFile.read(buf, position, "attachment", handler);
 
 		return future;
 	}
 
+	private AsynchronousFileChannel openAsync() {
+		try {
+			return AsynchronousFileChannel.open(file, options, fileExecutor);
+		} catch (IOException e) {
+			throw new NioException("Open Channel Exception "+file, e);
+		}
+	}
+
+	/**
+	 * Sends the whole file as the rest of the body straight from the file to the socket(sendfile)
+	 */
+	public XFuture<Void> transferTo(ZeroCopyStreamWriter writer) {
+		try {
+			fileChannel = FileChannel.open(file, options);
+			return writer.sendFile(fileChannel, 0, fileChannel.size());
+		} catch (IOException e) {
+			throw new NioException("Open Channel Exception "+file, e);
+		}
+	}
+
 	public void close() throws IOException {
-		asyncFile.close();
+		if(asyncFile != null)
+			asyncFile.close();
+		if(fileChannel != null)
+			fileChannel.close();
 	}
 
 	public long length() {
@@ -0,0 +1,181 @@
+package org.webpieces.router.impl.proxyout.filereaders;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.webpieces.ctx.api.Constants;
+import org.webpieces.data.api.DataWrapper;
+import org.webpieces.data.api.DataWrapperGenerator;
+import org.webpieces.data.api.DataWrapperGeneratorFactory;
+import org.webpieces.metrics.MetricsCreator;
+import org.webpieces.router.api.RouterConfig;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Byte bounded LRU cache of small static files keyed by the path of the file actually served so the precompressed
+ * .gz and the raw file(ie. path+encoding) are separate entries.  Bodies are shared read-only DataWrappers so a hit
+ * never opens or reads the file.
+ *
+ * A miss loads the file on the file read executor for next time so the request that missed is not slowed down.
+ * Each lookup compares the file's size and last modified time so a changed file is never served stale and
+ * ProdCompressionCacheSetup invalidates files it recompresses when their hash changes.
+ *
+ * Metrics (all through MetricsCreator with name=staticFileCache)
+ *   hit, miss, evict - counters(hit rate = hit/(hit+miss))
+ *   staticFileCache.bytes - gauge of bytes cached
+ */
+@Singleton
+public class StaticFileCache {
+
+	private static final Logger log = LoggerFactory.getLogger(StaticFileCache.class);
+	private static final DataWrapperGenerator wrapperFactory = DataWrapperGeneratorFactory.createDataWrapperGenerator();
+
+	private final long maxBytes;
+	private final int maxFileSize;
+	private final Executor fileExecutor;
+
+	//access ordered so iterating starts at the least recently used file
+	private final LinkedHashMap<Path, CachedFile> pathToFile = new LinkedHashMap<>(64, 0.75f, true);
+	private final Set<Path> loading = ConcurrentHashMap.newKeySet();
+	private long totalBytes;
+
+	private final Counter hitCounter;
+	private final Counter missCounter;
+	private final Counter evictCounter;
+
+	@Inject
+	public StaticFileCache(RouterConfig config, MeterRegistry metrics, @Named(Constants.FILE_READ_EXECUTOR) ExecutorService fileExecutor) {
+		this(config.getStaticFileCacheMaxBytes(), config.getStaticFileCacheMaxFileSize(), metrics, fileExecutor);
+	}
+
+	public StaticFileCache(long maxBytes, int maxFileSize, MeterRegistry metrics, Executor fileExecutor) {
+		this.maxBytes = maxBytes;
+		this.maxFileSize = maxFileSize;
+		this.fileExecutor = fileExecutor;
+
+		hitCounter = MetricsCreator.createCounter(metrics, "staticFileCache", "hit", false);
+		missCounter = MetricsCreator.createCounter(metrics, "staticFileCache", "miss", false);
+		evictCounter = MetricsCreator.createCounter(metrics, "staticFileCache", "evict", false);
+		MetricsCreator.createGauge(metrics, "staticFileCache.bytes", this, (c) -> c.getTotalBytes());
+	}
+
+	/**
+	 * @param attributes the current attributes of file(the caller needs the size anyways)
+	 * @return the whole body or null if not cached yet
+	 */
+	public DataWrapper lookup(Path file, BasicFileAttributes attributes) {
+		if(maxBytes <= 0)
+			return null;
+
+		CachedFile cached;
+		synchronized (this) {
+			cached = pathToFile.get(file);
+			if(cached != null && !cached.isSameAs(attributes)) {
+				remove(file);
+				cached = null;
+			}
+		}
+
+		if(cached != null) {
+			hitCounter.increment();
+			return cached.body;
+		}
+
+		missCounter.increment();
+		if(attributes.size() <= maxFileSize)
+			loadInBackground(file, attributes);
+		return null;
+	}
+
+	private void loadInBackground(Path file, BasicFileAttributes attributes) {
+		if(!loading.add(file))
+			return; //another request is already loading it
+
+		fileExecutor.execute(() -> {
+			try {
+				byte[] bytes = Files.readAllBytes(file);
+				//if it changed while reading, the next lookup reloads it
+				if(bytes.length == attributes.size())
+					put(file, new CachedFile(wrapperFactory.wrapByteArray(bytes), attributes));
+			} catch (IOException e) {
+				log.warn("Could not cache file="+file, e);
+			} finally {
+				loading.remove(file);
+			}
+		});
+	}
+
+	private synchronized void put(Path file, CachedFile cached) {
+		if(cached.size > maxBytes)
+			return;
+
+		remove(file);
+		pathToFile.put(file, cached);
+		totalBytes += cached.size;
+
+		Iterator<Map.Entry<Path, CachedFile>> iterator = pathToFile.entrySet().iterator();
+		while(totalBytes > maxBytes) {
+			CachedFile eldest = iterator.next().getValue();
+			iterator.remove();
+			totalBytes -= eldest.size;
+			evictCounter.increment();
+		}
+	}
+
+	public synchronized void invalidate(Path file) {
+		remove(file);
+	}
+
+	private void remove(Path file) {
+		CachedFile removed = pathToFile.remove(file);
+		if(removed != null)
+			totalBytes -= removed.size;
+	}
+
+	public synchronized long getTotalBytes() {
+		return totalBytes;
+	}
+
+	public double getHitCount() {
+		return hitCounter.count();
+	}
+
+	public double getMissCount() {
+		return missCounter.count();
+	}
+
+	private static class CachedFile {
+		private final DataWrapper body;
+		private final long size;
+		private final FileTime lastModified;
+
+		public CachedFile(DataWrapper body, BasicFileAttributes attributes) {
+			this.body = body;
+			this.size = attributes.size();
+			this.lastModified = attributes.lastModifiedTime();
+		}
+
+		public boolean isSameAs(BasicFileAttributes attributes) {
+			return size == attributes.size() && lastModified.equals(attributes.lastModifiedTime());
+		}
+	}
+
+}
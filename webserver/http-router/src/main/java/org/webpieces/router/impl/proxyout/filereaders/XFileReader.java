@@ -25,6 +25,7 @@ import org.webpieces.http.StatusCode;
 import com.webpieces.http2.api.dto.lowlevel.lib.Http2Header;
 import com.webpieces.http2.api.dto.lowlevel.lib.Http2HeaderName;
 import com.webpieces.http2.api.streaming.StreamWriter;
+import com.webpieces.http2.api.streaming.ZeroCopyStreamWriter;
 
 public abstract class XFileReader {
 
@@ -82,7 +83,7 @@ public abstract class XFileReader {
 		
 		ProxyStreamHandle stream = info.getResponseSender();
 		return futureUtil.finallyBlock(
-				() -> stream.process(response).thenCompose(s -> readLoop(s, info.getPool(), reader, 0)), 
+				() -> stream.process(response).thenCompose(s -> sendBody(s, info.getPool(), reader)), 
 				() -> handleClose(info, reader)
 		);
 	}
@@ -95,6 +96,24 @@ public abstract class XFileReader {
 
 	private void empty() {}
 
+	private XFuture<Void> sendBody(StreamWriter writer, BufferPool pool, ChunkReader reader) {
+		if(reader instanceof CachedFileReader) {
+			//whole body is already in memory so send it in one piece
+			DataFrame frame = new DataFrame();
+			frame.setEndOfStream(true);
+			frame.setData(((CachedFileReader) reader).getBody());
+			return writer.processPiece(frame);
+		}
+
+		//plaintext http1.1 with no compression on the fly hands us a ZeroCopyStreamWriter so skip the heap entirely
+		if(writer instanceof ZeroCopyStreamWriter && reader instanceof ChunkFileSystemReader) {
+			if(log.isDebugEnabled())
+				log.debug("sending file via sendfile="+reader);
+			return ((ChunkFileSystemReader) reader).transferTo((ZeroCopyStreamWriter) writer);
+		}
+		return readLoop(writer, pool, reader, 0);
+	}
+
 	
 	private XFuture<Void> readLoop(
 			StreamWriter writer, BufferPool pool, ChunkReader reader, int position) {
@@ -2,11 +2,12 @@ package org.webpieces.router.impl.proxyout.filereaders;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Files;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
@@ -15,6 +16,7 @@ import javax.inject.Inject;
 import javax.inject.Named;
 
 import org.webpieces.ctx.api.Constants;
+import org.webpieces.data.api.DataWrapper;
 import org.webpieces.router.api.RouterConfig;
 import org.webpieces.http.exception.NotFoundException;
 import org.webpieces.router.impl.compression.Compression;
@@ -41,6 +43,7 @@ public class XFileReaderFileSystem extends XFileReader {
 	protected final RouterConfig routerConfig;
 	private final CompressionLookup compressionLookup;
 	private final ExecutorService fileExecutor;
+	private final StaticFileCache fileCache;
 	private final Set<OpenOption> options = new HashSet<>();
 	
 	@Inject
@@ -49,17 +52,19 @@ public class XFileReaderFileSystem extends XFileReader {
 		RouterConfig routerConfig, 
 		FutureHelper futureUtil,
 		CompressionLookup compressionLookup, 
-		@Named(Constants.FILE_READ_EXECUTOR) ExecutorService fileExecutor
+		@Named(Constants.FILE_READ_EXECUTOR) ExecutorService fileExecutor,
+		StaticFileCache fileCache
 	) {
 		super(responseCreator, routerConfig, futureUtil);
 		this.routerConfig = routerConfig;
 		this.compressionLookup = compressionLookup;
 		this.fileExecutor = fileExecutor;
+		this.fileCache = fileCache;
 
 	    options.add(StandardOpenOption.READ);
 	}
 	
-	protected ChunkFileSystemReader createFileReader(
+	protected ChunkReader createFileReader(
 		Http2Response response, 
 		RenderStaticResponse renderStatic, 
 		String fileName, 
@@ -96,15 +101,25 @@ public class XFileReaderFileSystem extends XFileReader {
 	    	file = fetchFile("File=", fullFilePath.getAbsolutePath());
 	    }
 
-		AsynchronousFileChannel asyncFile;
+	    BasicFileAttributes attributes = readAttributes(file);
+	    DataWrapper cached = fileCache.lookup(file, attributes);
+
+	    //with a known size, plaintext http1.1 can sendfile the body instead of reading it through the heap in chunks
+	    long size = attributes.size();
+	    if(size > 0 && !handle.willCompress(response))
+	    	response.addHeader(new Http2Header(Http2HeaderName.CONTENT_LENGTH, size+""));
+
+	    if(cached != null)
+	    	return new CachedFileReader(cached, file);
+		return new ChunkFileSystemReader(file, options, fileExecutor);
+	}
+
+	private BasicFileAttributes readAttributes(Path file) {
 		try {
-			asyncFile = AsynchronousFileChannel.open(file, options, fileExecutor);
-			ChunkFileSystemReader reader = new ChunkFileSystemReader(asyncFile, file);
-			return reader;
+			return Files.readAttributes(file, BasicFileAttributes.class);
 		} catch (IOException e) {
-			throw new NioException("Open Channel Exception "+file, e);
+			throw new NioException("Could not read attributes of "+file, e);
 		}
-
 	}
 	
 	private Path fetchFile(String msg, String fullFilePath) {
@@ -1,6 +1,8 @@
 package org.webpieces.router.impl.routeinvoker;
 
 import org.webpieces.util.futures.XFuture;
+
+import java.lang.annotation.Annotation;
 import java.util.function.Function;
 
 import org.slf4j.Logger;
@@ -9,10 +11,14 @@ import org.webpieces.ctx.api.RouterRequest;
 import org.webpieces.data.api.DataWrapper;
 import org.webpieces.data.api.DataWrapperGenerator;
 import org.webpieces.data.api.DataWrapperGeneratorFactory;
+import org.webpieces.router.api.extensions.BodyContentBinder;
+import org.webpieces.router.api.extensions.BodyContentConsumer;
+import org.webpieces.router.api.extensions.ParamMeta;
 import org.webpieces.router.api.routes.MethodMeta;
 import org.webpieces.router.impl.body.BodyParser;
 import org.webpieces.router.impl.body.BodyParsers;
 import org.webpieces.router.impl.dto.RouteType;
+import org.webpieces.router.impl.services.RouteInfoForContent;
 
 import com.webpieces.http2.api.dto.highlevel.Http2Headers;
 import com.webpieces.http2.api.dto.lowlevel.CancelReason;
@@ -25,12 +31,18 @@ public class RequestStreamWriter2 implements StreamWriter {
 
     private static final Logger log = LoggerFactory.getLogger(RequestStreamWriter2.class);
 
+    //RouterRequest.requestState key of the BodyContentConsumer that was fed the body for the controller parameter
+    public static final String BODY_CONSUMER_KEY = "webpiecesBodyContentConsumer";
+
     //TODO(dhiller): Remove static and inject so bugs can be fixed in these...
     private static final DataWrapperGenerator dataGen = DataWrapperGeneratorFactory.createDataWrapperGenerator();
 
     private Http2Headers trailingHeaders;
     private BodyParsers requestBodyParsers;
     private DataWrapper data = dataGen.emptyWrapper();
+    //once the body of a content route is past the binder's threshold, it goes here instead of into data
+    private BodyContentConsumer bodyConsumer;
+    private boolean checkedForConsumer;
 
     private boolean cancelled;
     private XFuture<Void> responseFuture = new XFuture<>();
@@ -55,7 +67,13 @@ public class RequestStreamWriter2 implements StreamWriter {
             responseFuture.cancel(true);
         } else if(frame instanceof DataFrame) {
             DataFrame dataFrame = (DataFrame) frame;
-            data = dataGen.chainDataWrappers(data, dataFrame.getData());
+            if(bodyConsumer != null) {
+                //parsed before we return so the next frame(and the flow control window) waits on the parsing
+                bodyConsumer.consume(dataFrame.getData());
+            } else {
+                data = dataGen.chainDataWrappers(data, dataFrame.getData());
+                streamIfOverThreshold();
+            }
         } else if(frame instanceof Http2Headers) {
             if(!frame.isEndOfStream())
                 throw new IllegalArgumentException("Trailing headers from client must have end of stream set");
@@ -72,10 +90,43 @@ public class RequestStreamWriter2 implements StreamWriter {
         return XFuture.completedFuture(null);
     }
 
+    private void streamIfOverThreshold() {
+        if(checkedForConsumer || meta.getRouteType() != RouteType.CONTENT || !(meta.getRoute() instanceof RouteInfoForContent))
+            return;
+
+        BodyContentBinder binder = ((RouteInfoForContent) meta.getRoute()).getBodyContentBinder();
+        if(data.getReadableSize() <= binder.getStreamingThreshold())
+            return;
+
+        checkedForConsumer = true;
+        ParamMeta bodyParam = findBodyParam(binder);
+        if(bodyParam == null)
+            return;
+
+        bodyConsumer = binder.createConsumer(meta.getCtx(), bodyParam);
+        if(bodyConsumer == null)
+            return;
+
+        bodyConsumer.consume(data);
+        data = dataGen.emptyWrapper();
+        meta.getCtx().getRequest().setRequestState(BODY_CONSUMER_KEY, bodyConsumer);
+    }
+
+    private ParamMeta findBodyParam(BodyContentBinder binder) {
+        for(ParamMeta paramMeta : meta.getLoadedController().getParamMetas()) {
+            for(Annotation anno : paramMeta.getAnnotations()) {
+                if(binder.isManaged(paramMeta.getFieldClass(), anno.annotationType()))
+                    return paramMeta;
+            }
+        }
+        return null;
+    }
+
     private XFuture<Void> handleCompleteRequestImpl() {
 
         RouterRequest request = meta.getCtx().getRequest();
 
+        //empty if the body was streamed to a BodyContentConsumer
         request.body = data;
 
         if(meta.getRouteType() != RouteType.CONTENT)
@@ -8,6 +8,7 @@ import javax.inject.Singleton;
 import org.webpieces.ctx.api.RequestContext;
 import org.webpieces.router.api.controller.actions.Action;
 import org.webpieces.router.api.controller.actions.RenderContent;
+import org.webpieces.router.api.controller.actions.RenderContentStream;
 import org.webpieces.router.api.routes.MethodMeta;
 import org.webpieces.router.impl.actions.AjaxRedirectImpl;
 import org.webpieces.router.impl.dto.RenderContentResponse;
@@ -25,6 +26,8 @@ public class ResponseProcessorContent implements Processor {
 		if(controllerResponse instanceof AjaxRedirectImpl) {
 			AjaxRedirectImpl redirect = (AjaxRedirectImpl) controllerResponse;
 			return handle.sendAjaxRedirect(redirect.getId(), redirect.getArgs());
+		} else if(controllerResponse instanceof RenderContentStream) {
+			return handle.sendRenderContentStream((RenderContentStream) controllerResponse);
 		} else if(!(controllerResponse instanceof RenderContent)) {
 			throw new UnsupportedOperationException("One of the your RouteFilters in your App has a bug " +
 					"in that it calls Actions.redirect or Actions.render which is only for html pages");
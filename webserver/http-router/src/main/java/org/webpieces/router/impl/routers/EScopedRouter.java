@@ -27,7 +27,6 @@ import org.webpieces.router.api.routebldr.ProcessCors;
 import org.webpieces.util.exceptions.SneakyThrow;
 import org.webpieces.util.exceptions.WebpiecesException;
 import org.webpieces.router.impl.RouterFutureUtil;
-import org.webpieces.router.impl.model.MatchResult2;
 import org.webpieces.router.impl.model.RouterInfo;
 import org.webpieces.router.impl.proxyout.ProxyStreamHandle;
 import org.webpieces.router.impl.routeinvoker.RouterStreamRef;
@@ -40,6 +39,8 @@ public class EScopedRouter {
 	protected final RouterInfo routerInfo;
 	private final Map<String, EScopedRouter> pathPrefixToNextRouter;
 	private List<AbstractRouter> routers;
+	//built once here when routes are loaded so finding a route does not run every route's regex
+	private final RouteTrie routeTrie;
 	private RouterFutureUtil futureUtil;
 
 	public EScopedRouter(
@@ -52,6 +53,7 @@ public class EScopedRouter {
 		this.routerInfo = routerInfo;
 		this.pathPrefixToNextRouter = pathPrefixToNextRouter;
 		this.routers = routers;
+		this.routeTrie = new RouteTrie(routers);
 	}
 
 	public RouterStreamRef invokeRoute(RequestContext ctx, ProxyStreamHandle handler, String subPath) {
@@ -111,12 +113,10 @@ public class EScopedRouter {
 	}
 
 	private RouterStreamRef findAndInvokeImpl(RequestContext ctx, ProxyStreamHandle handler, String subPath, boolean isCorsRequest) {
-		for(AbstractRouter router : routers) {
-			MatchResult2 result = router.matches(ctx.getRequest(), subPath);
-			if(result.isMatches()) {
-				ctx.setPathParams(result.getPathParams());
-				return invokeRouter(router, ctx, handler, isCorsRequest);
-			}
+		RouteTrie.RouteMatch match = routeTrie.match(ctx.getRequest(), subPath);
+		if(match != null) {
+			ctx.setPathParams(match.getResult().getPathParams());
+			return invokeRouter(match.getRouter(), ctx, handler, isCorsRequest);
 		}
 
 		XFuture<StreamWriter> failedFuture = futureUtil.failedFuture(new NotFoundException("route not found"));
@@ -0,0 +1,228 @@
+package org.webpieces.router.impl.routers;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.webpieces.ctx.api.RouterRequest;
+import org.webpieces.router.impl.model.MatchResult2;
+import org.webpieces.util.urlparse.RegExUtil;
+
+/**
+ * Finds the routes that can match a path by walking the path's segments down a tree built once when the routes
+ * are loaded instead of running every route's regex.  At each segment, the static segment child is looked up
+ * first, then the {param} child, then children for segments like {id}-edit that need a regex(of that one segment).
+ *
+ * Routes whose regex can't be split into segments(static files, paths with regex characters) are always
+ * candidates.  The first candidate in the order the routes were added that matches(same as scanning them all)
+ * wins and the MatchResult2 is from that route's regex so the result is exactly that of the scan.
+ */
+public class RouteTrie {
+
+	//a '.' or any of these in the path means the route regex may match more than segment by segment would
+	private static final String REGEX_CHARS = ".\\^$|?*+()[]";
+
+	private final List<AbstractRouter> routers;
+	private final Node root = new Node();
+	//routes not in the tree that must always be tried
+	private final BitSet fallbacks = new BitSet();
+
+	public RouteTrie(List<AbstractRouter> routers) {
+		this.routers = routers;
+		for(int i = 0; i < routers.size(); i++) {
+			List<String> segments = toSegments(routers.get(i));
+			if(segments == null)
+				fallbacks.set(i);
+			else
+				add(i, segments);
+		}
+		root.finish();
+	}
+
+	public RouteMatch match(RouterRequest request, String subPath) {
+		BitSet candidates = (BitSet) fallbacks.clone();
+		String[] segments = splitPath(subPath);
+		if(segments != null)
+			root.collect(segments, 0, candidates);
+
+		for(int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i+1)) {
+			AbstractRouter router = routers.get(i);
+			MatchResult2 result = router.matches(request, subPath);
+			if(result.isMatches())
+				return new RouteMatch(router, result);
+		}
+		return null;
+	}
+
+	private void add(int routeIndex, List<String> segments) {
+		Node node = root;
+		for(String segment : segments) {
+			node = node.child(segment);
+		}
+		node.routes.add(routeIndex);
+	}
+
+	/**
+	 * @return null if the route can only be matched with it's full regex
+	 */
+	private List<String> toSegments(AbstractRouter router) {
+		if(!(router instanceof AbstractDynamicRouter))
+			return null;
+
+		MatchInfo matchInfo = router.getMatchInfo();
+		String path = matchInfo.getSubPath();
+		//only if the regex is the one built from the path, else we don't know what it matches
+		if(!RegExUtil.parsePath(path).regExToMatch.equals(matchInfo.getPattern().pattern()))
+			return null;
+
+		if(path.endsWith("/"))
+			path = path.substring(0, path.length()-1);
+		if(path.isEmpty())
+			return new ArrayList<>();
+		else if(!path.startsWith("/") || hasRegexChars(path))
+			return null;
+
+		List<String> segments = new ArrayList<>();
+		for(String segment : path.substring(1).split("/", -1)) {
+			segments.add(segment);
+		}
+		return segments;
+	}
+
+	private boolean hasRegexChars(String path) {
+		boolean inParam = false;
+		for(int i = 0; i < path.length(); i++) {
+			char c = path.charAt(i);
+			if(c == '{')
+				inParam = true;
+			else if(c == '}')
+				inParam = false;
+			else if(!inParam && REGEX_CHARS.indexOf(c) >= 0)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * The route regex allows one trailing / so that is removed before splitting
+	 * @return null if no route in the tree can match
+	 */
+	private String[] splitPath(String subPath) {
+		String path = subPath;
+		if(path.endsWith("/"))
+			path = path.substring(0, path.length()-1);
+		if(path.isEmpty())
+			return new String[0];
+		else if(!path.startsWith("/"))
+			return null;
+		return path.substring(1).split("/", -1);
+	}
+
+	private static boolean isParam(String segment) {
+		return segment.startsWith("{") && segment.indexOf("}") == segment.length()-1;
+	}
+
+	/**
+	 * The regex RegExUtil creates for a path but for just this segment.  As a param is [^/]+ and there are no
+	 * regex characters, it can only match within one segment
+	 */
+	private static String toSegmentRegex(String segment) {
+		String regEx = segment;
+		while(true) {
+			int index = regEx.indexOf("{");
+			if(index < 0)
+				return regEx;
+			int next = regEx.indexOf("}", index);
+			regEx = regEx.substring(0, index) + "[^/]+" + regEx.substring(next+1);
+		}
+	}
+
+	private static class Node {
+		private final Map<String, Node> staticChildren = new HashMap<>();
+		private Node paramChild;
+		private final Map<String, RegexChild> regexChildren = new LinkedHashMap<>();
+		private RegexChild[] regexChildArray;
+		private final List<Integer> routes = new ArrayList<>();
+		private int[] routeArray;
+
+		private Node child(String segment) {
+			if(isParam(segment)) {
+				if(paramChild == null)
+					paramChild = new Node();
+				return paramChild;
+			} else if(segment.contains("{")) {
+				String regEx = toSegmentRegex(segment);
+				RegexChild child = regexChildren.computeIfAbsent(regEx, r -> new RegexChild(Pattern.compile(r)));
+				return child.node;
+			}
+			return staticChildren.computeIfAbsent(segment, s -> new Node());
+		}
+
+		private void finish() {
+			routeArray = routes.stream().mapToInt(Integer::intValue).toArray();
+			regexChildArray = regexChildren.values().toArray(new RegexChild[0]);
+			for(Node child : staticChildren.values()) {
+				child.finish();
+			}
+			if(paramChild != null)
+				paramChild.finish();
+			for(RegexChild child : regexChildArray) {
+				child.node.finish();
+			}
+		}
+
+		private void collect(String[] segments, int index, BitSet candidates) {
+			if(index == segments.length) {
+				for(int route : routeArray) {
+					candidates.set(route);
+				}
+				return;
+			}
+
+			String segment = segments[index];
+			Node staticChild = staticChildren.get(segment);
+			if(staticChild != null)
+				staticChild.collect(segments, index+1, candidates);
+			//like [^/]+, a param is never empty
+			if(segment.isEmpty())
+				return;
+			if(paramChild != null)
+				paramChild.collect(segments, index+1, candidates);
+			for(RegexChild child : regexChildArray) {
+				if(child.pattern.matcher(segment).matches())
+					child.node.collect(segments, index+1, candidates);
+			}
+		}
+	}
+
+	private static class RegexChild {
+		private final Pattern pattern;
+		private final Node node = new Node();
+
+		public RegexChild(Pattern pattern) {
+			this.pattern = pattern;
+		}
+	}
+
+	public static class RouteMatch {
+		private final AbstractRouter router;
+		private final MatchResult2 result;
+
+		public RouteMatch(AbstractRouter router, MatchResult2 result) {
+			this.router = router;
+			this.result = result;
+		}
+
+		public AbstractRouter getRouter() {
+			return router;
+		}
+
+		public MatchResult2 getResult() {
+			return result;
+		}
+	}
+}
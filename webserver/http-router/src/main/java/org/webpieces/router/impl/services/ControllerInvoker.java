@@ -1,7 +1,6 @@
 package org.webpieces.router.impl.services;
 
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.CompletableFuture;
@@ -27,9 +26,8 @@ public class ControllerInvoker {
 	}
 	
 	public Object invokeController(LoadedController meta, Object[] args) throws IllegalAccessException, InvocationTargetException {
-		Method m = meta.getControllerMethod();
-		Object obj = meta.getControllerInstance();
-		return m.invoke(obj, args);
+		//generated when the route was loaded instead of Method.invoke on every request
+		return meta.getInvoker().invoke(args);
 	}
 
 	@SuppressWarnings("unchecked")
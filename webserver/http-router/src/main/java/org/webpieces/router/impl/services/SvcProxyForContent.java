@@ -10,11 +10,11 @@ import org.webpieces.util.futures.XFuture;
 import org.webpieces.http.exception.BadRequestException;
 import org.webpieces.http.exception.Violation;
 import org.webpieces.router.api.controller.actions.Action;
-import org.webpieces.router.api.controller.actions.RenderContent;
 import org.webpieces.router.api.exceptions.IllegalReturnValueException;
 import org.webpieces.util.exceptions.WebpiecesException;
 import org.webpieces.router.api.extensions.BodyContentBinder;
 import org.webpieces.router.api.routes.MethodMeta;
+import org.webpieces.router.impl.loader.LoadedController;
 import org.webpieces.router.impl.model.SvcProxyLogic;
 import org.webpieces.router.impl.params.BeanValidator;
 import org.webpieces.router.impl.params.ParamToObjectTranslatorImpl;
@@ -46,21 +46,20 @@ public class SvcProxyForContent implements Service<MethodMeta, Action> {
 		RouteInfoForContent info = (RouteInfoForContent) meta.getRoute();
 		
 		Method m = meta.getLoadedController().getControllerMethod();
-		Object obj = meta.getLoadedController().getControllerInstance();
 		
 		//We chose to do this here so any filters ESPECIALLY API filters 
 		//can catch and translate api errors and send customers a logical response
 		//On top of that ORM plugins can have a transaction filter and then in this
 		//createArgs can look up the bean before applying values since it is in
 		//the transaction filter
-		XFuture<List<Object>> futureArgs = translator.createArgs(m, meta.getCtx(), info.getBodyContentBinder())
-														.thenApply ( args -> validate(obj, m, args));
+		XFuture<List<Object>> futureArgs = translator.createArgs(meta.getLoadedController(), meta.getCtx(), info.getBodyContentBinder())
+														.thenApply ( args -> validate(meta.getLoadedController(), args));
 		
 		return futureArgs.thenCompose( argsResult -> invokeAndCoerce(meta, info, m, argsResult));
 	}
 
-	private List<Object> validate(Object controller, Method m, List<Object> args) {
-		List<Violation> violations = validator.validate(controller, m, args);
+	private List<Object> validate(LoadedController controller, List<Object> args) {
+		List<Violation> violations = validator.validate(controller, args);
 
 		if(violations.size() > 0) {
 			throw new BadRequestException(violations);
@@ -104,15 +103,15 @@ public class SvcProxyForContent implements Service<MethodMeta, Action> {
 			XFuture<Object> xFuture = XFuture.completedFuture(null).thenCompose((voi) -> future);
 			return xFuture.thenApply((bean) -> marshal(method, binder, bean));
 		} else {
-			RenderContent content = marshal(method, binder, retVal);
+			Action content = marshal(method, binder, retVal);
 			//binder.marshal(retVal);
 			return XFuture.completedFuture(content);
 		}
 	}
 
-	private RenderContent marshal(Method method, BodyContentBinder binder, Object retVal) {
+	private Action marshal(Method method, BodyContentBinder binder, Object retVal) {
 		try {
-			return binder.marshal(retVal);
+			return binder.render(retVal);
 		} catch(RuntimeException e) {
 			throw new IllegalReturnValueException("Exception marshaling retVal="+retVal+" from method="+method, e);
 		}
@@ -1,7 +1,6 @@
 package org.webpieces.router.impl.services;
 
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.List;
 import org.webpieces.util.futures.XFuture;
 
@@ -52,8 +51,6 @@ public class SvcProxyForHtml implements Service<MethodMeta, Action> {
 		
 		tokenCheck(info, meta.getCtx());
 		
-		Method m = meta.getLoadedController().getControllerMethod();
-		Object obj = meta.getLoadedController().getControllerInstance();
 		Validation validation = meta.getCtx().getValidation();
 		
 		//We chose to do this here so any filters ESPECIALLY API filters 
@@ -61,8 +58,8 @@ public class SvcProxyForHtml implements Service<MethodMeta, Action> {
 		//On top of that ORM plugins can have a transaction filter and then in this
 		//createArgs can look up the bean before applying values since it is in
 		//the transaction filter
-		XFuture<List<Object>> future = translator.createArgs(m, meta.getCtx(), null)
-													.thenApply ( args -> validate(obj, m, meta.getCtx(), args));
+		XFuture<List<Object>> future = translator.createArgs(meta.getLoadedController(), meta.getCtx(), null)
+													.thenApply ( args -> validate(meta.getLoadedController(), meta.getCtx(), args));
 		
 		return future.thenCompose(argsResult -> doTheInvoke(meta, argsResult));
 	}
@@ -76,13 +73,13 @@ public class SvcProxyForHtml implements Service<MethodMeta, Action> {
 	 *  JSON or other content validation is done in SvcProxyForContent.java and throws BadClientRequestException so that translators
 	 *  can translate to generic error message sent to clients
 	 */
-	private List<Object> validate(Object controller, Method m, RequestContext requestContext, List<Object> args) {
+	private List<Object> validate(LoadedController controller, RequestContext requestContext, List<Object> args) {
 		if(requestContext.getRequest().method != HttpMethod.POST)
 			return args; //ONLY validate on post requests
 		
 		Validation validation = requestContext.getValidation();
 		
-		List<Violation> violations = validator.validate(controller, m, args);
+		List<Violation> violations = validator.validate(controller, args);
 		
 		//Since this is web, just add errors to Validation object
 		for(Violation violation : violations) {
@@ -0,0 +1,87 @@
+package org.webpieces.router.impl.loader;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestControllerMethodInvoker {
+
+	private MetaLoader loader = new MetaLoader();
+	private SomeController controller = new SomeController();
+
+	@Test
+	public void testGeneratedCallWithPrimitivesAndObjects() throws InvocationTargetException {
+		ControllerMethodInvoker invoker = load("describe");
+		Assert.assertTrue(invoker.isGenerated());
+		Assert.assertEquals("dean-5-true", invoker.invoke(new Object[] { "dean", 5, true }));
+		Assert.assertEquals(1, controller.calls);
+	}
+
+	@Test
+	public void testPrimitiveReturnIsBoxed() throws InvocationTargetException {
+		ControllerMethodInvoker invoker = load("add");
+		Assert.assertTrue(invoker.isGenerated());
+		Assert.assertEquals(7L, invoker.invoke(new Object[] { 3, 4L }));
+	}
+
+	@Test
+	public void testManyParamsUsesMethodHandle() throws InvocationTargetException {
+		ControllerMethodInvoker invoker = load("many");
+		Assert.assertFalse(invoker.isGenerated());
+		Assert.assertEquals("abcdefghi", invoker.invoke(new Object[] { "a", "b", "c", "d", "e", "f", "g", "h", "i" }));
+	}
+
+	@Test
+	public void testVoidReturnsNull() throws InvocationTargetException {
+		ControllerMethodInvoker invoker = load("nothing");
+		Assert.assertNull(invoker.invoke(new Object[0]));
+		Assert.assertEquals(1, controller.calls);
+	}
+
+	@Test
+	public void testControllerExceptionIsWrappedLikeMethodInvoke() {
+		ControllerMethodInvoker invoker = load("fail");
+		try {
+			invoker.invoke(new Object[] { "bad" });
+			Assert.fail("should have thrown");
+		} catch(InvocationTargetException e) {
+			Assert.assertEquals(IllegalStateException.class, e.getCause().getClass());
+			Assert.assertEquals("bad", e.getCause().getMessage());
+		}
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testWrongNumberOfArgs() throws InvocationTargetException {
+		load("describe").invoke(new Object[] { "dean" });
+	}
+
+	private ControllerMethodInvoker load(String method) {
+		return loader.loadInstIntoMeta(controller, method).getInvoker();
+	}
+
+	public static class SomeController {
+		private int calls;
+
+		public String describe(String name, int count, boolean flag) {
+			calls++;
+			return name+"-"+count+"-"+flag;
+		}
+
+		public long add(int a, long b) {
+			return a + b;
+		}
+
+		public String many(String a, String b, String c, String d, String e, String f, String g, String h, String i) {
+			return a+b+c+d+e+f+g+h+i;
+		}
+
+		public void nothing() {
+			calls++;
+		}
+
+		public String fail(String message) {
+			throw new IllegalStateException(message);
+		}
+	}
+}
@@ -0,0 +1,210 @@
+package org.webpieces.router.impl.params;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.webpieces.ctx.api.HttpMethod;
+import org.webpieces.ctx.api.RequestContext;
+import org.webpieces.ctx.api.RouterRequest;
+import org.webpieces.mock.benchmark.Benchmark;
+import org.webpieces.router.api.routes.Port;
+import org.webpieces.router.impl.ctx.FlashImpl;
+import org.webpieces.router.impl.ctx.SessionImpl;
+import org.webpieces.router.impl.ctx.ValidationImpl;
+import org.webpieces.router.impl.loader.LoadedController;
+import org.webpieces.router.impl.loader.MetaLoader;
+import org.webpieces.router.impl.routers.AbstractRouter;
+import org.webpieces.router.impl.routers.FakeDynamicRouter;
+import org.webpieces.router.impl.routers.RouteTrie;
+
+/**
+ * Not a unit test.  Run main to see ns/request and bytes/request for finding the route, binding the request to
+ * the controller method's arguments and calling it for a GET with 5 query params and a POST of a form with a 10
+ * field bean.
+ *
+ * The last two lines compare just calling the controller through Method.invoke vs. the generated invoker.
+ */
+public class ControllerBindingBenchmark {
+
+	private static final int REQUESTS_PER_ROUND = 1_000_000;
+	private static final Benchmark benchmark = new Benchmark(3, 5);
+
+	public static void main(String[] args) throws Exception {
+		ObjectTranslator objectTranslator = new ObjectTranslator();
+		objectTranslator.install(new HashSet<>());
+		ParamToObjectTranslatorImpl translator = new ParamToObjectTranslatorImpl(new ParamValueTreeCreator(), objectTranslator);
+		translator.install(new HashSet<>());
+
+		MetaLoader metaLoader = new MetaLoader();
+		BenchController controller = new BenchController();
+		LoadedController search = metaLoader.loadInstIntoMeta(controller, "search");
+		LoadedController postUser = metaLoader.loadInstIntoMeta(controller, "postUser");
+
+		List<AbstractRouter> routers = new ArrayList<>();
+		for(int i = 0; i < 50; i++) {
+			routers.add(FakeDynamicRouter.create(Port.BOTH, HttpMethod.GET, "/resource"+i+"/{id}"));
+			routers.add(FakeDynamicRouter.create(Port.BOTH, HttpMethod.POST, "/resource"+i+"/{id}"));
+		}
+		routers.add(FakeDynamicRouter.create(Port.BOTH, HttpMethod.GET, "/search"));
+		routers.add(FakeDynamicRouter.create(Port.BOTH, HttpMethod.POST, "/user/{id}/post"));
+		RouteTrie trie = new RouteTrie(routers);
+
+		RouterRequest get = new RouterRequest();
+		get.method = HttpMethod.GET;
+		get.relativePath = "/search";
+		put(get.queryParams, "query", "webpieces");
+		put(get.queryParams, "page", "3");
+		put(get.queryParams, "size", "50");
+		put(get.queryParams, "sort", "name");
+		put(get.queryParams, "descending", "true");
+
+		RouterRequest post = new RouterRequest();
+		post.method = HttpMethod.POST;
+		post.relativePath = "/user/5/post";
+		put(post.multiPartFields, "user.firstName", "Dean");
+		put(post.multiPartFields, "user.lastName", "Hiller");
+		put(post.multiPartFields, "user.email", "dean@somewhere.com");
+		put(post.multiPartFields, "user.phone", "555-5555");
+		put(post.multiPartFields, "user.street", "1 Main St");
+		put(post.multiPartFields, "user.city", "Boulder");
+		put(post.multiPartFields, "user.state", "CO");
+		put(post.multiPartFields, "user.zip", "80301");
+		put(post.multiPartFields, "user.age", "40");
+		put(post.multiPartFields, "user.admin", "true");
+
+		measure("GET 5 query params", () -> request(trie, translator, objectTranslator, get, search));
+		measure("POST 10 field bean", () -> request(trie, translator, objectTranslator, post, postUser));
+
+		Object[] searchArgs = { "webpieces", 3, 50, "name", true };
+		Method method = search.getControllerMethod();
+		measure("Method.invoke", () -> method.invoke(controller, searchArgs));
+		measure("generated invoke", () -> search.getInvoker().invoke(searchArgs));
+	}
+
+	private static Object request(RouteTrie trie, ParamToObjectTranslatorImpl translator, ObjectTranslator objectTranslator,
+			RouterRequest request, LoadedController loaded) throws Exception {
+		RouteTrie.RouteMatch match = trie.match(request, request.relativePath);
+		RequestContext ctx = new RequestContext(new ValidationImpl(objectTranslator), new FlashImpl(objectTranslator),
+				new SessionImpl(objectTranslator), request, null);
+		ctx.setPathParams(match.getResult().getPathParams());
+		List<Object> args = translator.createArgs(loaded, ctx, null).get();
+		return loaded.getInvoker().invoke(args.toArray());
+	}
+
+	private static void put(Map<String, List<String>> params, String key, String value) {
+		List<String> values = new ArrayList<>();
+		values.add(value);
+		params.put(key, values);
+	}
+
+	private static void measure(String name, Request request) {
+		benchmark.measure(name, "request", REQUESTS_PER_ROUND, () -> run(request));
+	}
+
+	private static long run(Request request) throws Exception {
+		int found = 0;
+		long start = System.nanoTime();
+		for(int i = 0; i < REQUESTS_PER_ROUND; i++) {
+			if(request.run() != null)
+				found++;
+		}
+		long time = System.nanoTime() - start;
+
+		if(found != REQUESTS_PER_ROUND)
+			throw new IllegalStateException("Bug, controller returned null for "+(REQUESTS_PER_ROUND-found)+" requests");
+		return time;
+	}
+
+	private interface Request {
+		Object run() throws Exception;
+	}
+
+	public static class BenchController {
+		public String search(String query, int page, int size, String sort, boolean descending) {
+			return query;
+		}
+
+		public String postUser(int id, UserBean user) {
+			if(user.getAge() != 40 || !user.isAdmin() || !"80301".equals(user.getZip()))
+				throw new IllegalStateException("Bug, bean not bound");
+			return user.getFirstName();
+		}
+	}
+
+	public static class UserBean {
+		private String firstName;
+		private String lastName;
+		private String email;
+		private String phone;
+		private String street;
+		private String city;
+		private String state;
+		private String zip;
+		private int age;
+		private boolean admin;
+
+		public String getFirstName() {
+			return firstName;
+		}
+		public void setFirstName(String firstName) {
+			this.firstName = firstName;
+		}
+		public String getLastName() {
+			return lastName;
+		}
+		public void setLastName(String lastName) {
+			this.lastName = lastName;
+		}
+		public String getEmail() {
+			return email;
+		}
+		public void setEmail(String email) {
+			this.email = email;
+		}
+		public String getPhone() {
+			return phone;
+		}
+		public void setPhone(String phone) {
+			this.phone = phone;
+		}
+		public String getStreet() {
+			return street;
+		}
+		public void setStreet(String street) {
+			this.street = street;
+		}
+		public String getCity() {
+			return city;
+		}
+		public void setCity(String city) {
+			this.city = city;
+		}
+		public String getState() {
+			return state;
+		}
+		public void setState(String state) {
+			this.state = state;
+		}
+		public String getZip() {
+			return zip;
+		}
+		public void setZip(String zip) {
+			this.zip = zip;
+		}
+		public int getAge() {
+			return age;
+		}
+		public void setAge(int age) {
+			this.age = age;
+		}
+		public boolean isAdmin() {
+			return admin;
+		}
+		public void setAdmin(boolean admin) {
+			this.admin = admin;
+		}
+	}
+}
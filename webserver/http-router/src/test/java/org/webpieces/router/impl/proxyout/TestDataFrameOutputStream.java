@@ -0,0 +1,68 @@
+package org.webpieces.router.impl.proxyout;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.webpieces.util.futures.XFuture;
+
+import com.webpieces.http2.api.dto.lowlevel.DataFrame;
+
+public class TestDataFrameOutputStream {
+
+	private List<DataFrame> frames = new ArrayList<>();
+	private List<XFuture<Void>> futures = new ArrayList<>();
+	private DataFrameOutputStream out = new DataFrameOutputStream(data -> {
+		frames.add((DataFrame) data);
+		XFuture<Void> future = new XFuture<>();
+		futures.add(future);
+		return future;
+	}, 10);
+
+	@Test
+	public void testFrameSentEachTimeChunkFills() {
+		out.write("0123456789abcdefghij".getBytes(StandardCharsets.UTF_8), 0, 20);
+		//the second chunk is full but not sent until more is written in case it is the last one
+		Assert.assertEquals(1, frames.size());
+		out.write("KLMNO".getBytes(StandardCharsets.UTF_8), 0, 5);
+		Assert.assertEquals(2, frames.size());
+
+		out.finish();
+
+		Assert.assertEquals(3, frames.size());
+		Assert.assertEquals("0123456789", body(0));
+		Assert.assertEquals("abcdefghij", body(1));
+		Assert.assertEquals("KLMNO", body(2));
+		Assert.assertFalse(frames.get(1).isEndOfStream());
+		Assert.assertTrue(frames.get(2).isEndOfStream());
+	}
+
+	@Test
+	public void testSentFutureWaitsForEveryFrame() {
+		for(int i = 0; i < 15; i++) {
+			out.write('a');
+		}
+		XFuture<Void> finished = out.finish();
+		Assert.assertEquals(2, futures.size());
+
+		futures.get(1).complete(null);
+		Assert.assertFalse(finished.isDone());
+		futures.get(0).complete(null);
+		Assert.assertTrue(finished.isDone());
+	}
+
+	@Test
+	public void testEmptyBodyStillEndsStream() {
+		out.finish();
+
+		Assert.assertEquals(1, frames.size());
+		Assert.assertEquals(0, frames.get(0).getData().getReadableSize());
+		Assert.assertTrue(frames.get(0).isEndOfStream());
+	}
+
+	private String body(int frame) {
+		return frames.get(frame).getData().createStringFromUtf8(0, frames.get(frame).getData().getReadableSize());
+	}
+}
@@ -0,0 +1,102 @@
+package org.webpieces.router.impl.proxyout.filereaders;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.webpieces.data.api.DataWrapper;
+import org.webpieces.util.threading.DirectExecutor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class TestStaticFileCache {
+
+	private Path dir;
+	//direct executor so a miss is loaded before lookup returns
+	private StaticFileCache cache;
+
+	@Before
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory("TestStaticFileCache");
+		cache = new StaticFileCache(10, 6, new SimpleMeterRegistry(), new DirectExecutor());
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(dir.toFile());
+	}
+
+	@Test
+	public void testMissThenHit() throws IOException {
+		Path file = createFile("a.css", "body");
+
+		Assert.assertNull(lookup(file));
+		DataWrapper body = lookup(file);
+		Assert.assertEquals("body", body.createStringFromUtf8(0, body.getReadableSize()));
+		Assert.assertEquals(1, cache.getHitCount(), 0);
+		Assert.assertEquals(1, cache.getMissCount(), 0);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEvictedOverMaxBytes() throws IOException {
+		Path a = createFile("a.css", "aaaa");
+		Path b = createFile("b.css", "bbbb");
+		Path c = createFile("c.css", "cccc");
+		lookup(a);
+		lookup(b);
+		lookup(a); //b is now least recently used
+		lookup(c);
+
+		Assert.assertEquals(8, cache.getTotalBytes());
+		Assert.assertNotNull(lookup(a));
+		Assert.assertNotNull(lookup(c));
+		Assert.assertNull(lookup(b));
+	}
+
+	@Test
+	public void testChangedFileIsReloaded() throws IOException {
+		Path file = createFile("a.js", "one");
+		lookup(file);
+
+		Files.writeString(file, "two");
+		Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+
+		Assert.assertNull(lookup(file));
+		DataWrapper body = lookup(file);
+		Assert.assertEquals("two", body.createStringFromUtf8(0, body.getReadableSize()));
+	}
+
+	@Test
+	public void testLargeFileNotCached() throws IOException {
+		Path file = createFile("big.js", "0123456789");
+		lookup(file);
+		Assert.assertNull(lookup(file));
+		Assert.assertEquals(0, cache.getTotalBytes());
+	}
+
+	@Test
+	public void testInvalidate() throws IOException {
+		Path file = createFile("a.css", "body");
+		lookup(file);
+		cache.invalidate(file);
+
+		Assert.assertEquals(0, cache.getTotalBytes());
+		Assert.assertNull(lookup(file));
+	}
+
+	private DataWrapper lookup(Path file) throws IOException {
+		return cache.lookup(file, Files.readAttributes(file, BasicFileAttributes.class));
+	}
+
+	private Path createFile(String name, String contents) throws IOException {
+		return Files.writeString(dir.resolve(name), contents);
+	}
+
+}
@@ -0,0 +1,45 @@
+package org.webpieces.router.impl.routers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+import org.webpieces.ctx.api.HttpMethod;
+import org.webpieces.ctx.api.RequestContext;
+import org.webpieces.router.api.routes.Port;
+import org.webpieces.router.impl.UrlPath;
+import org.webpieces.router.impl.dto.RouteType;
+import org.webpieces.router.impl.proxyout.ProxyStreamHandle;
+import org.webpieces.router.impl.routeinvoker.RouterStreamRef;
+import org.webpieces.util.urlparse.RegExResult;
+import org.webpieces.util.urlparse.RegExUtil;
+
+/**
+ * A dynamic route matched like the ones the route builders create but that can't be invoked
+ */
+public class FakeDynamicRouter extends AbstractDynamicRouter {
+
+	public FakeDynamicRouter(MatchInfo matchInfo) {
+		super(matchInfo);
+	}
+
+	public static FakeDynamicRouter create(Port port, HttpMethod method, String path) {
+		RegExResult result = RegExUtil.parsePath(path);
+		return create(port, method, path, Pattern.compile(result.regExToMatch));
+	}
+
+	public static FakeDynamicRouter create(Port port, HttpMethod method, String path, Pattern pattern) {
+		RegExResult result = RegExUtil.parsePath(path);
+		UrlPath urlPath = new UrlPath("", path);
+		return new FakeDynamicRouter(new MatchInfo(urlPath, port, method, StandardCharsets.UTF_8, pattern, result.argNames));
+	}
+
+	@Override
+	public RouterStreamRef invoke(RequestContext ctx, ProxyStreamHandle handler) {
+		throw new UnsupportedOperationException("not used in tests");
+	}
+
+	@Override
+	public RouteType getRouteType() {
+		return RouteType.CONTENT;
+	}
+}
@@ -0,0 +1,92 @@
+package org.webpieces.router.impl.routers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.webpieces.ctx.api.HttpMethod;
+import org.webpieces.ctx.api.RouterRequest;
+import org.webpieces.mock.benchmark.Benchmark;
+import org.webpieces.router.api.routes.Port;
+import org.webpieces.router.impl.model.MatchResult2;
+
+/**
+ * Not a unit test.  Run main to see ns/request and bytes/request for finding the route of a request in a 500
+ * route table by scanning every route's regex(like EScopedRouter used to) vs. the RouteTrie.
+ *
+ * The table is 100 resources with a list, get, edit, update and delete route each.  Requests hit routes spread
+ * over the table plus paths no route matches(the not found path pays for every route when scanning).
+ */
+public class RouteTrieBenchmark {
+
+	private static final int RESOURCES = 100;
+	private static final int REQUESTS_PER_ROUND = 1_000_000;
+	private static final Benchmark benchmark = new Benchmark(3, 5);
+
+	public static void main(String[] args) {
+		List<AbstractRouter> routers = new ArrayList<>();
+		for(int i = 0; i < RESOURCES; i++) {
+			String resource = "/resource"+i;
+			routers.add(FakeDynamicRouter.create(Port.BOTH, HttpMethod.GET, resource));
+			routers.add(FakeDynamicRouter.create(Port.BOTH, HttpMethod.GET, resource+"/{id}"));
+			routers.add(FakeDynamicRouter.create(Port.BOTH, HttpMethod.GET, resource+"/{id}/edit"));
+			routers.add(FakeDynamicRouter.create(Port.BOTH, HttpMethod.POST, resource+"/{id}"));
+			routers.add(FakeDynamicRouter.create(Port.BOTH, HttpMethod.POST, resource+"/{id}/delete"));
+		}
+		System.out.println("routes="+routers.size());
+
+		List<RouterRequest> hits = new ArrayList<>();
+		List<RouterRequest> misses = new ArrayList<>();
+		for(int i = 0; i < RESOURCES; i++) {
+			hits.add(request(HttpMethod.GET, "/resource"+i+"/"+i+"/edit"));
+			hits.add(request(HttpMethod.POST, "/resource"+i+"/"+i+"/delete"));
+			misses.add(request(HttpMethod.GET, "/missing"+i+"/"+i));
+		}
+
+		RouteTrie trie = new RouteTrie(routers);
+		measure("scan hit", hits, r -> scan(routers, r));
+		measure("trie hit", hits, r -> trie.match(r, r.relativePath) != null);
+		measure("scan miss", misses, r -> scan(routers, r));
+		measure("trie miss", misses, r -> trie.match(r, r.relativePath) != null);
+	}
+
+	private static boolean scan(List<AbstractRouter> routers, RouterRequest request) {
+		for(AbstractRouter router : routers) {
+			MatchResult2 result = router.matches(request, request.relativePath);
+			if(result.isMatches())
+				return true;
+		}
+		return false;
+	}
+
+	private static RouterRequest request(HttpMethod method, String path) {
+		RouterRequest request = new RouterRequest();
+		request.method = method;
+		request.relativePath = path;
+		return request;
+	}
+
+	private static void measure(String name, List<RouterRequest> requests, Finder finder) {
+		//scanning is so slow, it gets fewer requests
+		int count = name.startsWith("scan") ? REQUESTS_PER_ROUND / 100 : REQUESTS_PER_ROUND;
+		benchmark.measure(name, "request", count, () -> run(requests, finder, count));
+	}
+
+	private static long run(List<RouterRequest> requests, Finder finder, int count) {
+		int found = 0;
+		long start = System.nanoTime();
+		for(int i = 0; i < count; i++) {
+			if(finder.find(requests.get(i % requests.size())))
+				found++;
+		}
+		long time = System.nanoTime() - start;
+
+		boolean expectFound = requests.get(0).relativePath.startsWith("/resource");
+		if(found != (expectFound ? count : 0))
+			throw new IllegalStateException("Bug, found="+found+" of "+count);
+		return time;
+	}
+
+	private interface Finder {
+		boolean find(RouterRequest request);
+	}
+}
@@ -0,0 +1,144 @@
+package org.webpieces.router.impl.routers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.webpieces.ctx.api.HttpMethod;
+import org.webpieces.ctx.api.RouterRequest;
+import org.webpieces.router.api.routes.Port;
+import org.webpieces.router.impl.model.MatchResult2;
+
+public class TestRouteTrie {
+
+	private List<AbstractRouter> routers = new ArrayList<>();
+
+	@Test
+	public void testStaticAndParamRoutes() {
+		add(HttpMethod.GET, "/");
+		add(HttpMethod.GET, "/user/list");
+		add(HttpMethod.GET, "/user/{id}");
+		add(HttpMethod.POST, "/user/{id}/edit");
+
+		Assert.assertEquals(routers.get(0), match(HttpMethod.GET, "").getRouter());
+		Assert.assertEquals(routers.get(0), match(HttpMethod.GET, "/").getRouter());
+		Assert.assertEquals(routers.get(1), match(HttpMethod.GET, "/user/list/").getRouter());
+
+		RouteTrie.RouteMatch match = match(HttpMethod.GET, "/user/john+smith");
+		Assert.assertEquals(routers.get(2), match.getRouter());
+		Assert.assertEquals("john smith", match.getResult().getPathParams().get("id"));
+
+		Assert.assertEquals(routers.get(3), match(HttpMethod.POST, "/user/5/edit").getRouter());
+		Assert.assertNull(match(HttpMethod.GET, "/user/5/edit"));
+		Assert.assertNull(match(HttpMethod.GET, "/user//"));
+		Assert.assertNull(match(HttpMethod.GET, "/user/5//"));
+		Assert.assertNull(match(HttpMethod.GET, "/nothing"));
+	}
+
+	@Test
+	public void testFirstRouteAddedWinsLikeScanning() {
+		add(HttpMethod.GET, "/user/{id}");
+		add(HttpMethod.GET, "/user/new");
+
+		RouteTrie.RouteMatch match = match(HttpMethod.GET, "/user/new");
+		Assert.assertEquals(routers.get(0), match.getRouter());
+		Assert.assertEquals("new", match.getResult().getPathParams().get("id"));
+	}
+
+	@Test
+	public void testSegmentRegexAndFallbackRoutes() {
+		add(HttpMethod.GET, "/order/{id}-{version}");
+		//'.' in the regex also matches other characters and a / so this one can only be matched with it's regex
+		add(HttpMethod.GET, "/robots.txt");
+		routers.add(FakeDynamicRouter.create(Port.BOTH, HttpMethod.GET, "/files/", Pattern.compile("^/files/(?<resource>.*)$")));
+
+		RouteTrie.RouteMatch match = match(HttpMethod.GET, "/order/5-2");
+		Assert.assertEquals("5", match.getResult().getPathParams().get("id"));
+		Assert.assertEquals("2", match.getResult().getPathParams().get("version"));
+		Assert.assertNull(match(HttpMethod.GET, "/order/5"));
+
+		Assert.assertEquals(routers.get(1), match(HttpMethod.GET, "/robots.txt").getRouter());
+		Assert.assertEquals(routers.get(1), match(HttpMethod.GET, "/robots/txt").getRouter());
+		Assert.assertEquals(routers.get(2), match(HttpMethod.GET, "/files/css/a.css").getRouter());
+	}
+
+	@Test
+	public void testHttpsOnlyRouteIsSkipped() {
+		routers.add(FakeDynamicRouter.create(Port.HTTPS, HttpMethod.GET, "/secure/{id}"));
+		add(HttpMethod.GET, "/secure/{name}");
+
+		RouterRequest request = request(HttpMethod.GET, "/secure/5");
+		request.isHttps = false;
+		Assert.assertEquals(routers.get(1), new RouteTrie(routers).match(request, "/secure/5").getRouter());
+		request.isHttps = true;
+		Assert.assertEquals(routers.get(0), new RouteTrie(routers).match(request, "/secure/5").getRouter());
+	}
+
+	@Test
+	public void testSameResultAsScanningEveryRoute() {
+		Random random = new Random(7);
+		String[] words = {"user", "account", "list", "edit", "a", "b", "{id}", "{name}", "{id}-x", "v1.0"};
+		for(int i = 0; i < 300; i++) {
+			StringBuilder path = new StringBuilder();
+			int segments = random.nextInt(4);
+			for(int j = 0; j < segments; j++) {
+				path.append("/").append(words[random.nextInt(words.length)]);
+			}
+			HttpMethod method = random.nextBoolean() ? HttpMethod.GET : HttpMethod.POST;
+			if(path.toString().split("\\{id", -1).length > 2 || path.toString().split("\\{name", -1).length > 2)
+				continue; //the same param twice is not a valid route
+			add(method, path.toString());
+		}
+
+		String[] requestWords = {"user", "account", "list", "edit", "a", "b", "5", "5-x", "v1.0", "v1x0", ""};
+		RouteTrie trie = new RouteTrie(routers);
+		for(int i = 0; i < 5000; i++) {
+			StringBuilder path = new StringBuilder();
+			int segments = random.nextInt(5);
+			for(int j = 0; j < segments; j++) {
+				path.append("/").append(requestWords[random.nextInt(requestWords.length)]);
+			}
+			if(random.nextInt(4) == 0)
+				path.append("/");
+			HttpMethod method = random.nextBoolean() ? HttpMethod.GET : HttpMethod.POST;
+			RouterRequest request = request(method, path.toString());
+
+			AbstractRouter expected = null;
+			MatchResult2 expectedResult = null;
+			for(AbstractRouter router : routers) {
+				MatchResult2 result = router.matches(request, path.toString());
+				if(result.isMatches()) {
+					expected = router;
+					expectedResult = result;
+					break;
+				}
+			}
+
+			RouteTrie.RouteMatch match = trie.match(request, path.toString());
+			if(expected == null) {
+				Assert.assertNull("path="+path, match);
+			} else {
+				Assert.assertEquals("path="+path, expected, match.getRouter());
+				Assert.assertEquals("path="+path, expectedResult.getPathParams(), match.getResult().getPathParams());
+			}
+		}
+	}
+
+	private void add(HttpMethod method, String path) {
+		routers.add(FakeDynamicRouter.create(Port.BOTH, method, path));
+	}
+
+	private RouteTrie.RouteMatch match(HttpMethod method, String path) {
+		return new RouteTrie(routers).match(request(method, path), path);
+	}
+
+	private RouterRequest request(HttpMethod method, String path) {
+		RouterRequest request = new RouterRequest();
+		request.method = method;
+		request.relativePath = path;
+		return request;
+	}
+}
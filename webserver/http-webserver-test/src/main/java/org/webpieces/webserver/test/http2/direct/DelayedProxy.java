@@ -44,6 +44,21 @@ public class DelayedProxy implements Http2ChannelProxy {
 		}
 	}
 
+	@Override
+	public XFuture<Void> write(ByteBuffer[] buffers) {
+		//the server gets it as one packet like a socket read would
+		int size = 0;
+		for(ByteBuffer b : buffers) {
+			size += b.remaining();
+		}
+		ByteBuffer all = ByteBuffer.allocate(size);
+		for(ByteBuffer b : buffers) {
+			all.put(b);
+		}
+		all.flip();
+		return write(all);
+	}
+
 	@Override
 	public XFuture<Void> close() {
 		toServerDataListener.farEndClosed(channel);
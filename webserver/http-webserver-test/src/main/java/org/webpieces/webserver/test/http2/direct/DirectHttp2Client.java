@@ -36,9 +36,9 @@ public class DirectHttp2Client implements Http2Client {
 		this.mgr = mgr;
 		SimpleMeterRegistry metrics = new SimpleMeterRegistry();
 		TwoPools pool = new TwoPools("directhttp2.bufferpool", metrics);
-		HpackParser hpackParser = HpackParserFactory.createParser(pool, false);
+		HpackParser hpackParser = HpackParserFactory.createParser(pool, false, metrics);
 		Http2Config config = new Http2Config();
-		InjectionConfig injConfig = new InjectionConfig(hpackParser, new TimeImpl(), config);
+		InjectionConfig injConfig = new InjectionConfig(hpackParser, new TimeImpl(), config, metrics);
 		factory = new Http2ClientEngineFactory(injConfig);
 	}
 
@@ -13,6 +13,17 @@ public class WebServerConfig {
 	
 	private int numFrontendServerThreads = 20;
 	private int http2EngineThreadCount = 20;
+	/**
+	 * Number of selector threads reading/writing the sockets.  1 is the single selector of old.  On
+	 * large boxes with many connections, set this to Runtime.getRuntime().availableProcessors()
+	 */
+	private int numSelectorThreads = 1;
+	/**
+	 * Java 21+ only.  Instead of a pool of numFrontendServerThreads platform threads, every socket's work
+	 * runs on virtual threads(still in order per socket) so blocking controllers(hibernate, jdbc) are not
+	 * capped by pool size.  numFrontendServerThreads is ignored when this is true
+	 */
+	private boolean useVirtualThreads = false;
 
 	/**
 	 * Not used in production but we use this to override certain objects for a development
@@ -72,6 +83,24 @@ public class WebServerConfig {
 		return this;
 	}
 
+	public int getNumSelectorThreads() {
+		return numSelectorThreads;
+	}
+
+	public WebServerConfig setNumSelectorThreads(int numSelectorThreads) {
+		this.numSelectorThreads = numSelectorThreads;
+		return this;
+	}
+
+	public boolean isUseVirtualThreads() {
+		return useVirtualThreads;
+	}
+
+	public WebServerConfig setUseVirtualThreads(boolean useVirtualThreads) {
+		this.useVirtualThreads = useVirtualThreads;
+		return this;
+	}
+
 	public Http2Config getHttp2Config() {
 		return http2Config ;
 	}
@@ -22,6 +22,7 @@ import org.webpieces.templating.api.RouterLookup;
 import org.webpieces.util.cmdline2.Arguments;
 import org.webpieces.metrics.MetricsCreator;
 import org.webpieces.util.threading.NamedThreadFactory;
+import org.webpieces.util.threading.VirtualThreads;
 import org.webpieces.util.time.Time;
 import org.webpieces.util.time.TimeImpl;
 import org.webpieces.webserver.api.WebServer;
@@ -102,7 +103,11 @@ public class WebServerModule implements Module {
 	@Singleton
 	public Executor providesExecutor(WebServerConfig config, MeterRegistry metrics) {
 		String id = config.getId()+".tPool";
-		Executor executor = Executors.newFixedThreadPool(config.getNumFrontendServerThreads(), new NamedThreadFactory(id));
+		Executor executor;
+		if(config.isUseVirtualThreads())
+			executor = VirtualThreads.newThreadPerTaskExecutor(id);
+		else
+			executor = Executors.newFixedThreadPool(config.getNumFrontendServerThreads(), new NamedThreadFactory(id));
 		MetricsCreator.monitor(metrics, executor, id);
 		return executor;
 	}
@@ -110,7 +115,7 @@ public class WebServerModule implements Module {
 	@Provides
 	@Singleton
 	public ChannelManager providesChanMgr(WebServerConfig config, Executor executor, BufferPool pool, MeterRegistry metrics) {
-		ChannelManagerFactory factory = ChannelManagerFactory.createFactory(metrics);
+		ChannelManagerFactory factory = ChannelManagerFactory.createMultiSelectorFactory(config.getNumSelectorThreads(), metrics);
 		ChannelManager chanMgr = factory.createMultiThreadedChanMgr(config.getId(), pool, config.getBackpressureConfig(), executor);
 		
 		return chanMgr;
@@ -127,8 +132,8 @@ public class WebServerModule implements Module {
 			MeterRegistry metrics
 	) {		
 		HttpParser httpParser = HttpParserFactory.createParser("a", new SimpleMeterRegistry(), pool);
-		HpackParser http2Parser = HpackParserFactory.createParser(pool, true);
-		InjectionConfig injConfig = new InjectionConfig(http2Parser, time, config.getHttp2Config());
+		HpackParser http2Parser = HpackParserFactory.createParser(pool, true, metrics);
+		InjectionConfig injConfig = new InjectionConfig(http2Parser, time, config.getHttp2Config(), metrics);
 
 		return HttpFrontendFactory.createFrontEnd(chanMgr, timer, injConfig, httpParser, metrics);
 	}
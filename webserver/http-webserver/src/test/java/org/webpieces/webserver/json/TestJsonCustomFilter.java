@@ -146,6 +146,33 @@ public class TestJsonCustomFilter extends AbstractWebpiecesTest {
 		response.assertContentType("application/json");
 	}
 	
+	@Test
+	public void testLargeJsonPostIsStreamed() {
+		//larger than JacksonConfig's streamBodyThreshold so the body is parsed as it arrives
+		String json = "{ `query`: `"+"x".repeat(300 * 1024)+"`, `meta`: { `numResults`: 4 }, `testValidation`:`notBlank` }";
+		HttpFullRequest req = Requests.createJsonRequest(KnownHttpMethod.POST, "/json/async/45", json.replace("`", "\""));
+
+		XFuture<HttpFullResponse> respFuture = http11Socket.send(req);
+
+		ResponseWrapper response = ResponseExtract.waitResponseAndWrap(respFuture);
+		response.assertStatusCode(KnownStatusCode.HTTP_200_OK);
+		response.assertContains("{`searchTime`:98,`matches`:[`match1`,`match2`]}".replace("`", "\""));
+		response.assertContentType("application/json");
+	}
+
+	@Test
+	public void testLargeBadJsonPostIsStreamed() {
+		String json = "{ `query `cats and dogs`, `padding`: `"+"x".repeat(300 * 1024)+"` }";
+		HttpFullRequest req = Requests.createJsonRequest(KnownHttpMethod.POST, "/json/async/45", json.replace("`", "\""));
+
+		XFuture<HttpFullResponse> respFuture = http11Socket.send(req);
+
+		ResponseWrapper response = ResponseExtract.waitResponseAndWrap(respFuture);
+		response.assertStatusCode(KnownStatusCode.HTTP_400_BADREQUEST);
+		response.assertContains("{`error`:`invalid json in client request.  Unexpected character ('c' (code 99)): was expecting a colon to separate field name and value".replace("`", "\""));
+		response.assertContentType("application/json");
+	}
+
 	@Test
 	public void testAsyncJsonPost() {
 		HttpFullRequest req = Requests.createJsonRequest(KnownHttpMethod.POST, "/json/async/45");